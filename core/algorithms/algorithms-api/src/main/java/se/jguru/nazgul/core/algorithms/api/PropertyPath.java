@@ -0,0 +1,355 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.jguru.nazgul.core.algorithms.api.types.TypeMetadata;
+
+import javax.validation.constraints.NotNull;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * <p>Compiled, reusable JavaBean property path on the form {@code foo.bar.baz}, evaluated as
+ * {@code pointOfOrigin.getFoo().getBar().getBaz()}. The property expression is parsed once, and each
+ * JavaBean getter is resolved once against the declared return type of the preceding getter (or the root type
+ * for the first property) and invoked through a generated accessor rather than through reflection.
+ * If a declared type does not hold the requested JavaBean property but may have subclasses that do,
+ * the getter is instead resolved from the runtime type of each evaluated object, as done by
+ * {@link TypeAlgorithms#getProperty(Object, String)}. Accessors for such runtime types are cached per class.</p>
+ * <p>Evaluating a PropertyPath is null-safe: should the point of origin or any intermediary result be
+ * {@code null}, the evaluation yields {@code null}. Compiled PropertyPaths are immutable, thread-safe and
+ * cached per root type and property expression; the cache is discarded together with the root type
+ * should its ClassLoader be garbage collected.</p>
+ * <pre>
+ *     <code>
+ *         final PropertyPath countryPath = PropertyPath.compile(LocaleHolder.class, "locale.country");
+ *
+ *         // ... is equal to calling localeHolder.getLocale().getCountry(), unless either is null.
+ *         final Object country = countryPath.evaluate(localeHolder);
+ *     </code>
+ * </pre>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class PropertyPath {
+
+    // Our Log
+    private static final Logger log = LoggerFactory.getLogger(PropertyPath.class);
+
+    // Internal state
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType FUNCTION_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, PropertyPath>> COMPILED_PATHS =
+            new ClassValue<ConcurrentMap<String, PropertyPath>>() {
+                @Override
+                protected ConcurrentMap<String, PropertyPath> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final ClassValue<ConcurrentMap<String, Function<Object, Object>>> GETTER_ACCESSORS =
+            new ClassValue<ConcurrentMap<String, Function<Object, Object>>>() {
+                @Override
+                protected ConcurrentMap<String, Function<Object, Object>> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Class<?> rootType;
+    private final String expression;
+    private final String[] propertyNames;
+    private final Function<Object, Object>[] accessors;
+
+    /**
+     * Compiles a PropertyPath for the supplied root type and expression.
+     *
+     * @param rootType   The type of the objects on which this PropertyPath is evaluated.
+     * @param expression The property expression.
+     * @throws IllegalArgumentException if the expression was malformed, or referred to a JavaBean property
+     *                                  which could not be present within the (declared) type at hand.
+     */
+    @SuppressWarnings("unchecked")
+    private PropertyPath(final Class<?> rootType, final String expression) throws IllegalArgumentException {
+
+        final List<String> tokens = TypeAlgorithms.splicePropertyExpression(expression);
+        if (log.isDebugEnabled()) {
+            log.debug("Split propertyExpression [" + expression + "] into " + tokens.size() + " tokens: " + tokens);
+        }
+
+        // Assign internal state
+        this.rootType = rootType;
+        this.expression = expression;
+        this.propertyNames = tokens.toArray(new String[tokens.size()]);
+        this.accessors = new Function[propertyNames.length];
+
+        // Resolve each JavaBean getter against the declared type at hand, if possible.
+        Class<?> declaredType = rootType;
+        for (int i = 0; i < propertyNames.length; i++) {
+
+            final Function<Object, Object> staticAccessor = declaredType == null
+                    ? null
+                    : getAccessor(declaredType, propertyNames[i]);
+
+            if (staticAccessor != null) {
+
+                accessors[i] = staticAccessor;
+                declaredType = TypeMetadata.of(declaredType).getJavaBeanGetterMethods()
+                        .get(propertyNames[i])
+                        .getReturnType();
+
+            } else if (declaredType == null || !Modifier.isFinal(declaredType.getModifiers())) {
+
+                // A subclass of the declared type may hold the JavaBean property.
+                final String propertyName = propertyNames[i];
+                accessors[i] = current -> getRequiredAccessor(current.getClass(), propertyName).apply(current);
+                declaredType = null;
+
+            } else {
+                throw new IllegalArgumentException(getNonexistentGetterMessage(declaredType, propertyNames[i]));
+            }
+        }
+    }
+
+    /**
+     * Retrieves the (cached) PropertyPath for the supplied root type and property expression.
+     *
+     * @param rootType           The type of the objects on which the PropertyPath should be evaluated.
+     * @param propertyExpression The property expression, on the form {@code foo.bar.baz}.
+     * @return The compiled PropertyPath.
+     * @throws IllegalArgumentException if the propertyExpression was malformed, or referred to a JavaBean
+     *                                  property which could not be present within the (declared) type at hand.
+     * @see TypeAlgorithms#getProperty(Object, String)
+     */
+    @NotNull
+    public static PropertyPath compile(@NotNull final Class<?> rootType,
+                                       @NotNull final String propertyExpression) throws IllegalArgumentException {
+
+        // Check sanity
+        Validate.notNull(rootType, "rootType");
+        Validate.notEmpty(propertyExpression, "propertyExpression");
+
+        // All Done.
+        return COMPILED_PATHS.get(rootType).computeIfAbsent(propertyExpression, e -> new PropertyPath(rootType, e));
+    }
+
+    /**
+     * Evaluates this PropertyPath on the supplied pointOfOrigin, by invoking the chain of JavaBean getters.
+     *
+     * @param pointOfOrigin The object in which we should start the JavaBean invocation chain.
+     * @return The result of the last JavaBean getter within the chain, or {@code null} if the pointOfOrigin
+     * or any intermediary result was {@code null}.
+     * @throws IllegalArgumentException if the pointOfOrigin was not an instance of the root type of this
+     *                                  PropertyPath, or if a JavaBean getter could not be found or failed.
+     */
+    public Object evaluate(final Object pointOfOrigin) throws IllegalArgumentException {
+
+        // Check sanity
+        if (pointOfOrigin != null && !rootType.isInstance(pointOfOrigin)) {
+            throw new IllegalArgumentException("PropertyPath [" + expression + "] requires a ["
+                    + rootType.getName() + "] point of origin. Got: [" + pointOfOrigin.getClass().getName() + "]");
+        }
+
+        // Execute the JavaBean invocation chain.
+        Object current = pointOfOrigin;
+        for (int i = 0; i < accessors.length && current != null; i++) {
+
+            final Object previous = current;
+            try {
+                current = accessors[i].apply(previous);
+            } catch (IllegalArgumentException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalArgumentException("JavaBean property [" + propertyNames[i]
+                        + "] getter method call failed in class [" + previous.getClass().getName() + "]", e);
+            }
+        }
+
+        // All done.
+        return current;
+    }
+
+    /**
+     * @return The type of the objects on which this PropertyPath is evaluated.
+     */
+    @NotNull
+    public Class<?> getRootType() {
+        return rootType;
+    }
+
+    /**
+     * @return The property expression from which this PropertyPath was compiled.
+     */
+    @NotNull
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "PropertyPath [" + expression + "] from [" + rootType.getName() + "]";
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static Function<Object, Object> getRequiredAccessor(final Class<?> type, final String propertyName) {
+
+        final Function<Object, Object> toReturn = getAccessor(type, propertyName);
+        if (toReturn == null) {
+            throw new IllegalArgumentException(getNonexistentGetterMessage(type, propertyName));
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    private static Function<Object, Object> getAccessor(final Class<?> type, final String propertyName) {
+
+        final ConcurrentMap<String, Function<Object, Object>> accessors = GETTER_ACCESSORS.get(type);
+
+        Function<Object, Object> toReturn = accessors.get(propertyName);
+        if (toReturn == null) {
+
+            final Method getter = isIntrospectable(type)
+                    ? TypeMetadata.of(type).getJavaBeanGetterMethods().get(propertyName)
+                    : null;
+            if (getter != null) {
+                toReturn = createAccessor(getter);
+                accessors.putIfAbsent(propertyName, toReturn);
+            }
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    private static String getNonexistentGetterMessage(final Class<?> type, final String propertyName) {
+
+        final String foundProperties = !isIntrospectable(type)
+                ? "<none>"
+                : TypeMetadata.of(type).getJavaBeanGetterMethods().keySet()
+                .stream()
+                .reduce((l, r) -> l + ", " + r)
+                .orElse("<none>");
+
+        return "Nonexistent expected JavaBean getter for property [" + propertyName + "] within class ["
+                + type.getName() + "]. Found JavaBean properties: " + foundProperties;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createAccessor(final Method getter) {
+
+        // #1) Spin a Function for public getters within public classes visible from our ClassLoader.
+        final Class<?> declaringClass = getter.getDeclaringClass();
+        if (Modifier.isPublic(getter.getModifiers())
+                && Modifier.isPublic(declaringClass.getModifiers())
+                && isVisible(declaringClass)
+                && isVisible(getter.getReturnType())) {
+
+            try {
+
+                final CallSite callSite = LambdaMetafactory.metafactory(
+                        LOOKUP,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        FUNCTION_TYPE,
+                        LOOKUP.unreflect(getter),
+                        MethodType.methodType(getter.getReturnType(), declaringClass).wrap());
+
+                return (Function<Object, Object>) callSite.getTarget().invoke();
+
+            } catch (Throwable e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Could not spin an accessor for [" + getter + "]. Falling back to MethodHandle.", e);
+                }
+            }
+        }
+
+        // #2) Wrap a MethodHandle.
+        try {
+
+            getter.setAccessible(true);
+            final MethodHandle handle = LOOKUP.unreflect(getter).asType(FUNCTION_TYPE);
+            return instance -> {
+                try {
+                    return handle.invokeExact(instance);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            };
+
+        } catch (IllegalAccessException | SecurityException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Could not create a MethodHandle for [" + getter + "]. Falling back to reflection.", e);
+            }
+        }
+
+        // #3) Fallback to reflection.
+        return instance -> {
+            try {
+                return getter.invoke(instance);
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    private static boolean isIntrospectable(final Class<?> type) {
+
+        // JavaBean getters are found by introspecting classes up to (but excluding) Object.
+        return !type.isPrimitive() && !type.isInterface();
+    }
+
+    private static boolean isVisible(final Class<?> type) {
+
+        if (type.isPrimitive()) {
+            return true;
+        }
+
+        try {
+            return Class.forName(type.getName(), false, PropertyPath.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
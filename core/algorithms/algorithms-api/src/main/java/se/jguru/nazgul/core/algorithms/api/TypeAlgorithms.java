@@ -26,6 +26,7 @@ package se.jguru.nazgul.core.algorithms.api;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import se.jguru.nazgul.core.algorithms.api.types.TypeInformation;
+import se.jguru.nazgul.core.algorithms.api.types.TypeMetadata;
 
 import javax.validation.constraints.NotNull;
 import javax.xml.bind.annotation.XmlTransient;
@@ -44,7 +45,6 @@ import java.util.SortedSet;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
@@ -285,9 +285,12 @@ public final class TypeAlgorithms {
 
     /**
      * Collects a Set containing all types held by the supplied aClass (including its supertypes).
+     * The returned TypeInformation is owned by the caller; use {@link TypeMetadata#getTypeInformation()}
+     * to retrieve a shared, immutable TypeInformation computed once per Class.
      *
      * @param aClass The class to inspect, and retrieve all types for.
      * @return A TypeInformation object with data extracted for the supplied Class.
+     * @see TypeMetadata
      */
     @NotNull
     public static TypeInformation getAllTypesFor(@NotNull final Class<?> aClass) {
@@ -315,69 +318,31 @@ public final class TypeAlgorithms {
      *         final SomeType result = pointOfOrigin.getFoo().getBar().getBaz();
      *     </code>
      * </pre>
+     * <p>The propertyExpression is compiled into a {@link PropertyPath} once per type of pointOfOrigin, and
+     * evaluated null-safely; should any intermediary result be {@code null}, this method returns {@code null}.
+     * Use {@link PropertyPath#compile(Class, String)} directly to avoid the cache lookup for repeated calls.</p>
      *
      * @param pointOfOrigin      The object in which we should start the JavaBean invocation chain.
      * @param propertyExpression The property expression defining a chained
-     * @return The result of the
+     * @return The result of the last JavaBean getter invoked, or {@code null} if any intermediary result was null.
      * @throws IllegalArgumentException if a JavaBean getter method is not present within the current/intermediary
      *                                  type in which it was requested to be invoked.
      */
     public static Object getProperty(@NotNull final Object pointOfOrigin,
                                      @NotNull final String propertyExpression) throws IllegalArgumentException {
 
-        // #1) Check sanity
+        // Check sanity
         Validate.notNull(pointOfOrigin, "pointOfOrigin");
         Validate.notEmpty(propertyExpression, "propertyExpression");
 
-        // #2) Splice the propertyExpression into tokens, and define the intermediary state
-        final List<String> tokens = splicePropertyExpression(propertyExpression);
-        if (log.isDebugEnabled()) {
-            log.debug("Split propertyExpression [" + propertyExpression + "] into " + tokens.size() + " tokens: "
-                    + tokens);
-        }
-
-        // #3) Execute the JavaBean invocation chain.
-        Object currentResult = null;
-        final AtomicInteger index = new AtomicInteger();
-        for (Object current = pointOfOrigin; index.get() < tokens.size(); current = currentResult,
-                index.incrementAndGet()) {
-
-            // #1) Get the current class in which to invoke a JavaBean getter.
-            final Class<?> currentClass = current.getClass();
-
-            // #2) Find the current JavaBean property
-            final String currentPropertyName = tokens.get(index.get());
-
-            // #3) Find the JavaBean getters for this Class, and - more specifically - the Method
-            //     corresponding to the currentPropertyName.
-            final TypeInformation currentTypeInformation = new TypeInformation(currentClass);
-            final SortedMap<String, Method> currentGetters = currentTypeInformation.getJavaBeanGetterMethods();
-            final Method getter = currentGetters.get(currentPropertyName);
-
-            if (getter == null) {
-                throw new IllegalArgumentException("Nonexistent expected JavaBean getter for property [" +
-                        currentPropertyName + "] within class [" + currentClass.getName()
-                        + "]. Found JavaBean properties: "
-                        + currentGetters.keySet().stream().reduce((l, r) -> l + ", " + r).orElse("<none>"));
-            }
-
-            // #4) Invoke the getter, update the result.
-            try {
-                currentResult = getter.invoke(current);
-            } catch (Exception e) {
-                throw new IllegalArgumentException("JavaBean property [" + currentPropertyName
-                        + "] getter method call failed in class [" + currentClass.getName() + "]", e);
-            }
-        }
-
-        // All done.
-        return currentResult;
+        // Delegate to the (cached) compiled PropertyPath for the type of the pointOfOrigin.
+        return PropertyPath.compile(pointOfOrigin.getClass(), propertyExpression).evaluate(pointOfOrigin);
     }
 
     //
     // Private helpers
     //
-    private static List<String> splicePropertyExpression(@NotNull final String propertyExpression) {
+    static List<String> splicePropertyExpression(@NotNull final String propertyExpression) {
 
         final List<String> toReturn = new ArrayList<>();
 
@@ -0,0 +1,390 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.api.concurrent;
+
+import se.jguru.nazgul.core.algorithms.api.Validate;
+
+import javax.validation.constraints.NotNull;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Factory for the standard ExecutorStrategy implementations:</p>
+ * <dl>
+ * <dt>{@link #callerRuns()}</dt>
+ * <dd>Executes all commands synchronously, within the calling thread. No threads are created.</dd>
+ * <dt>{@link #dedicatedPool(int)}</dt>
+ * <dd>Each owner receives its own fixed-size thread pool, shut down when the owner closes its
+ * ManagedExecutor.</dd>
+ * <dt>{@link #sharedPool(String, int)}</dt>
+ * <dd>All owners using the same pool name share a single bounded thread pool, whose idle threads
+ * time out. The pool is shut down when its last owner closes its ManagedExecutor.</dd>
+ * <dt>{@link #threadPerTask()}</dt>
+ * <dd>Each command is executed within a new virtual thread, if the running JVM supports virtual
+ * threads. Otherwise, commands are executed within a cached pool of platform threads whose idle
+ * threads time out.</dd>
+ * </dl>
+ * <p>All threads created by these strategies are named by a {@link NamedSequenceThreadFactory}
+ * (or, for virtual threads, using the same naming scheme).</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class ExecutorStrategies {
+
+    /**
+     * The number of seconds an idle pooled thread is kept alive within shared and thread-per-task pools.
+     */
+    public static final long IDLE_THREAD_KEEPALIVE_SECONDS = 60L;
+
+    // Internal state
+    private static final Map<String, SharedPool> SHARED_POOLS = new HashMap<>();
+    private static final ExecutorStrategy CALLER_RUNS = new CallerRunsStrategy();
+    private static final ExecutorStrategy THREAD_PER_TASK = new ThreadPerTaskStrategy();
+
+    /*
+     * Hide constructor for utility classes.
+     */
+    private ExecutorStrategies() {
+        // Do nothing.
+    }
+
+    /**
+     * @return An ExecutorStrategy executing all commands synchronously within the calling thread.
+     */
+    public static ExecutorStrategy callerRuns() {
+        return CALLER_RUNS;
+    }
+
+    /**
+     * Retrieves an ExecutorStrategy providing each owner with its own fixed-size thread pool.
+     *
+     * @param numThreads The number of threads in each pool. Must be positive.
+     * @return An ExecutorStrategy providing each owner with its own fixed-size thread pool.
+     */
+    public static ExecutorStrategy dedicatedPool(final int numThreads) {
+
+        // Check sanity
+        Validate.isTrue(numThreads > 0, "Cannot handle zero or negative numThreads argument.");
+
+        // All done.
+        return new DedicatedPoolStrategy(numThreads);
+    }
+
+    /**
+     * Retrieves an ExecutorStrategy where all owners share a bounded thread pool identified by the
+     * supplied poolName. Strategies with the same poolName share the same pool, also when de-serialized.
+     * All strategies sharing a poolName must use the same maxThreads; acquiring a ManagedExecutor from a
+     * strategy whose maxThreads differs from that of the existing pool yields an IllegalArgumentException.
+     *
+     * @param poolName   The name of the shared pool, also used as the thread name prefix.
+     * @param maxThreads The maximum number of threads within the shared pool. Must be positive.
+     * @return An ExecutorStrategy sharing a single bounded thread pool among all its owners.
+     */
+    public static ExecutorStrategy sharedPool(@NotNull final String poolName, final int maxThreads) {
+
+        // Check sanity
+        Validate.notEmpty(poolName, "poolName");
+        Validate.isTrue(maxThreads > 0, "Cannot handle zero or negative maxThreads argument.");
+
+        // All done.
+        return new SharedPoolStrategy(poolName, maxThreads);
+    }
+
+    /**
+     * @return An ExecutorStrategy executing each command within a new virtual thread, falling back to a
+     * cached pool of platform threads when the running JVM does not support virtual threads.
+     * @see #isVirtualThreadsSupported()
+     */
+    public static ExecutorStrategy threadPerTask() {
+        return THREAD_PER_TASK;
+    }
+
+    /**
+     * @return {@code true} if the running JVM supports virtual threads.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    //
+    // Private helpers
+    //
+
+    /**
+     * ManagedExecutor delegating to an ExecutorService, and performing a release action when closed.
+     */
+    private static final class ExecutorServiceHandle implements ManagedExecutor {
+
+        // Internal state
+        private final ExecutorService delegate;
+        private final Runnable releaseAction;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private ExecutorServiceHandle(final ExecutorService delegate, final Runnable releaseAction) {
+            this.delegate = delegate;
+            this.releaseAction = releaseAction;
+        }
+
+        @Override
+        public void execute(final Runnable command) throws RejectedExecutionException {
+            if (closed.get()) {
+                throw new RejectedExecutionException("ManagedExecutor is closed.");
+            }
+            delegate.execute(command);
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                releaseAction.run();
+            }
+        }
+    }
+
+    /**
+     * ExecutorStrategy running all commands within the calling thread.
+     */
+    private static final class CallerRunsStrategy implements ExecutorStrategy {
+
+        private static final long serialVersionUID = 8829990120L;
+
+        @Override
+        public ManagedExecutor acquire(@NotNull final String ownerName) {
+
+            // Check sanity
+            Validate.notEmpty(ownerName, "ownerName");
+
+            final AtomicBoolean closed = new AtomicBoolean(false);
+            return new ManagedExecutor() {
+                @Override
+                public void execute(final Runnable command) throws RejectedExecutionException {
+                    if (closed.get()) {
+                        throw new RejectedExecutionException("ManagedExecutor is closed.");
+                    }
+                    command.run();
+                }
+
+                @Override
+                public boolean isClosed() {
+                    return closed.get();
+                }
+
+                @Override
+                public void close() {
+                    closed.set(true);
+                }
+            };
+        }
+
+        private Object readResolve() {
+            return CALLER_RUNS;
+        }
+    }
+
+    /**
+     * ExecutorStrategy creating a fixed-size thread pool for each owner.
+     */
+    private static final class DedicatedPoolStrategy implements ExecutorStrategy {
+
+        private static final long serialVersionUID = 8829990121L;
+
+        // Internal state
+        private final int numThreads;
+
+        private DedicatedPoolStrategy(final int numThreads) {
+            this.numThreads = numThreads;
+        }
+
+        @Override
+        public ManagedExecutor acquire(@NotNull final String ownerName) {
+
+            // Check sanity
+            Validate.notEmpty(ownerName, "ownerName");
+
+            final ExecutorService pool = Executors.newFixedThreadPool(numThreads,
+                    new NamedSequenceThreadFactory(ownerName));
+            return new ExecutorServiceHandle(pool, pool::shutdown);
+        }
+    }
+
+    /**
+     * ExecutorStrategy sharing a bounded thread pool between all owners.
+     */
+    private static final class SharedPoolStrategy implements ExecutorStrategy {
+
+        private static final long serialVersionUID = 8829990122L;
+
+        // Internal state
+        private final String poolName;
+        private final int maxThreads;
+
+        private SharedPoolStrategy(final String poolName, final int maxThreads) {
+            this.poolName = poolName;
+            this.maxThreads = maxThreads;
+        }
+
+        @Override
+        public ManagedExecutor acquire(@NotNull final String ownerName) throws IllegalArgumentException {
+
+            // Check sanity
+            Validate.notEmpty(ownerName, "ownerName");
+
+            final SharedPool pool;
+            synchronized (SHARED_POOLS) {
+                final SharedPool existing = SHARED_POOLS.get(poolName);
+                if (existing != null && existing.maxThreads != maxThreads) {
+                    throw new IllegalArgumentException("Shared pool [" + poolName + "] has " + existing.maxThreads
+                            + " maxThreads, and cannot be acquired with " + maxThreads + " maxThreads.");
+                }
+                pool = existing == null ? new SharedPool(poolName, maxThreads) : existing;
+                pool.numOwners++;
+                SHARED_POOLS.put(poolName, pool);
+            }
+
+            return new ExecutorServiceHandle(pool.executorService, () -> {
+                synchronized (SHARED_POOLS) {
+                    pool.numOwners--;
+                    if (pool.numOwners == 0) {
+                        SHARED_POOLS.remove(poolName);
+                        pool.executorService.shutdown();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Reference-counted, bounded thread pool.
+     */
+    private static final class SharedPool {
+
+        // Internal state
+        private final ExecutorService executorService;
+        private final int maxThreads;
+        private int numOwners;
+
+        private SharedPool(final String poolName, final int maxThreads) {
+
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads,
+                    IDLE_THREAD_KEEPALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new NamedSequenceThreadFactory(poolName, Integer.MAX_VALUE, true));
+            executor.allowCoreThreadTimeOut(true);
+
+            this.executorService = executor;
+            this.maxThreads = maxThreads;
+        }
+    }
+
+    /**
+     * ExecutorStrategy using a new (virtual, if possible) thread for each task.
+     */
+    private static final class ThreadPerTaskStrategy implements ExecutorStrategy {
+
+        private static final long serialVersionUID = 8829990123L;
+
+        @Override
+        public ManagedExecutor acquire(@NotNull final String ownerName) {
+
+            // Check sanity
+            Validate.notEmpty(ownerName, "ownerName");
+
+            final ExecutorService executorService = VirtualThreads.newThreadPerTaskExecutor(ownerName);
+            return new ExecutorServiceHandle(executorService, executorService::shutdown);
+        }
+
+        private Object readResolve() {
+            return THREAD_PER_TASK;
+        }
+    }
+
+    /**
+     * Reflective access to the virtual thread API, which is not available within all supported JVMs.
+     */
+    private static final class VirtualThreads {
+
+        // Internal state
+        private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+        private static final Method THREAD_BUILDER_NAME = findMethod(
+                findClass("java.lang.Thread$Builder"), "name", String.class, long.class);
+        private static final Method THREAD_BUILDER_FACTORY = findMethod(
+                findClass("java.lang.Thread$Builder"), "factory");
+        private static final Method NEW_THREAD_PER_TASK_EXECUTOR = findMethod(
+                Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+        private static boolean isSupported() {
+            return OF_VIRTUAL != null
+                    && THREAD_BUILDER_NAME != null
+                    && THREAD_BUILDER_FACTORY != null
+                    && NEW_THREAD_PER_TASK_EXECUTOR != null;
+        }
+
+        private static ExecutorService newThreadPerTaskExecutor(final String threadNamePrefix) {
+
+            if (isSupported()) {
+                try {
+                    final Object builder = THREAD_BUILDER_NAME.invoke(
+                            OF_VIRTUAL.invoke(null), threadNamePrefix + "-", 0L);
+                    final ThreadFactory factory = (ThreadFactory) THREAD_BUILDER_FACTORY.invoke(builder);
+                    return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+                } catch (ReflectiveOperationException e) {
+                    // Fall through to the platform thread executor.
+                }
+            }
+
+            // Platform threads, which time out when idle.
+            return Executors.newCachedThreadPool(
+                    new NamedSequenceThreadFactory(threadNamePrefix, Integer.MAX_VALUE, true));
+        }
+
+        private static Class<?> findClass(final String className) {
+            try {
+                return Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+        }
+
+        private static Method findMethod(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+            try {
+                return type == null ? null : type.getMethod(name, parameterTypes);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+}
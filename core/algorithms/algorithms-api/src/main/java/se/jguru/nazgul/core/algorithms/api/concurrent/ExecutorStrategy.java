@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.api.concurrent;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * Specification for how owners (such as caches or event producers) acquire the threads used to
+ * execute asynchronous work, implying that the threading model can be selected by configuration
+ * rather than being hardwired into each owner. Standard strategies are found in {@link ExecutorStrategies}.
+ * ExecutorStrategies are Serializable, to permit Serializable owners to re-acquire their
+ * ManagedExecutor after being de-serialized.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ * @see ExecutorStrategies
+ */
+public interface ExecutorStrategy extends Serializable {
+
+    /**
+     * Acquires a ManagedExecutor for the owner with the supplied name. The owner is responsible for
+     * closing the returned ManagedExecutor when it is itself closed.
+     *
+     * @param ownerName A human-readable name of the owner, typically used to name the threads
+     *                  executing the owner's work. Cannot be null or empty.
+     * @return A ManagedExecutor whose lifecycle is bound to the owner.
+     */
+    ManagedExecutor acquire(@NotNull String ownerName);
+}
@@ -0,0 +1,58 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.api.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor handle acquired from an {@link ExecutorStrategy} by an owner (such as a cache or an event producer),
+ * whose lifecycle is bound to that owner. The owner must close its ManagedExecutor when it is itself closed;
+ * closing releases the threads held on behalf of the owner - which may or may not imply shutting down the
+ * underlying thread pool, depending on whether the pool is shared with other owners.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public interface ManagedExecutor extends Executor, AutoCloseable {
+
+    /**
+     * Executes the supplied command at some time in the future.
+     *
+     * @param command The command to execute.
+     * @throws RejectedExecutionException if this ManagedExecutor is closed.
+     */
+    @Override
+    void execute(Runnable command) throws RejectedExecutionException;
+
+    /**
+     * @return {@code true} if this ManagedExecutor has been closed.
+     */
+    boolean isClosed();
+
+    /**
+     * Releases the resources held by this ManagedExecutor. Already submitted commands are permitted
+     * to complete, but no new commands are accepted. Closing an already closed ManagedExecutor has no effect.
+     */
+    @Override
+    void close();
+}
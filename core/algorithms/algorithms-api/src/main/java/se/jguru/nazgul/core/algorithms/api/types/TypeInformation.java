@@ -36,6 +36,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -53,10 +54,12 @@ import java.util.TreeSet;
 public class TypeInformation implements Serializable, Comparable<TypeInformation> {
 
     // Internal state
+    private static final long serialVersionUID = 1118235667523621820L;
     private Class<?> source;
     private List<Class<?>> classHierarchy;
     private SortedMap<Class<?>, List<Class<?>>> class2InterfaceMap;
     private SortedMap<Class<?>, List<Annotation>> class2AnnotationMap;
+    private boolean frozen;
 
     /**
      * Default constructor.
@@ -90,11 +93,16 @@ public class TypeInformation implements Serializable, Comparable<TypeInformation
      * does not sport interfaces or annotations.
      *
      * @param pointOfOrigin A non-null Class.
+     * @throws IllegalStateException if this TypeInformation is shared through {@link TypeMetadata}.
      */
-    public final void initializeWith(@NotNull Class<?> pointOfOrigin) {
+    public final void initializeWith(@NotNull Class<?> pointOfOrigin) throws IllegalStateException {
 
         // Check sanity
         Validate.notNull(pointOfOrigin, "pointOfOrigin");
+        if (frozen) {
+            throw new IllegalStateException("Cannot re-initialize the shared TypeInformation for ["
+                    + source.getName() + "].");
+        }
 
         // Create internal state
         this.source = pointOfOrigin;
@@ -141,6 +149,27 @@ public class TypeInformation implements Serializable, Comparable<TypeInformation
         }
     }
 
+    /**
+     * Replaces the internal state of this TypeInformation with unmodifiable views, and prevents
+     * it from being re-initialized. Invoked by {@link TypeMetadata} before sharing this TypeInformation.
+     */
+    final void freeze() {
+
+        final SortedMap<Class<?>, List<Class<?>>> frozenInterfaceMap =
+                new TreeMap<>(TypeAlgorithms.CLASSNAME_COMPARATOR);
+        class2InterfaceMap.forEach((k, v) -> frozenInterfaceMap.put(k, Collections.unmodifiableList(v)));
+
+        final SortedMap<Class<?>, List<Annotation>> frozenAnnotationMap =
+                new TreeMap<>(TypeAlgorithms.CLASSNAME_COMPARATOR);
+        class2AnnotationMap.forEach((k, v) -> frozenAnnotationMap.put(k, Collections.unmodifiableList(v)));
+
+        // Assign internal state
+        this.classHierarchy = Collections.unmodifiableList(classHierarchy);
+        this.class2InterfaceMap = Collections.unmodifiableSortedMap(frozenInterfaceMap);
+        this.class2AnnotationMap = Collections.unmodifiableSortedMap(frozenAnnotationMap);
+        this.frozen = true;
+    }
+
     /**
      * @return The Class which is the source of this TypeInformation, i.e. the Class
      * from which all information was ultimately collected.
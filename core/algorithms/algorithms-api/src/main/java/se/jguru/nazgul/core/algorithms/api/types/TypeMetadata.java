@@ -0,0 +1,283 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.algorithms.api.types;
+
+import se.jguru.nazgul.core.algorithms.api.TypeAlgorithms;
+import se.jguru.nazgul.core.algorithms.api.Validate;
+
+import javax.validation.constraints.NotNull;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * <p>Registry of immutable, per-class type metadata. The metadata of each Class is computed at most once
+ * (apart from benign races between threads requesting the same Class concurrently), and subsequently
+ * served from a {@link ClassValue} cache. Each part of the metadata - the {@link TypeInformation}, the
+ * JavaBean getter and setter maps and the sorted member sets - is computed lazily upon first access.</p>
+ * <p>All returned collections are unmodifiable views, and the returned TypeInformation may not be
+ * re-initialized. Since the ClassValue binds the metadata to the Class itself, the metadata is discarded
+ * together with the Class when its ClassLoader is garbage collected.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class TypeMetadata {
+
+    // Internal state
+    private static final ClassValue<TypeMetadata> METADATA = new ClassValue<TypeMetadata>() {
+        @Override
+        protected TypeMetadata computeValue(final Class<?> type) {
+            return new TypeMetadata(type);
+        }
+    };
+
+    private final Class<?> source;
+    private volatile TypeInformation typeInformation;
+    private volatile SortedSet<Class<?>> allInterfaces;
+    private volatile SortedSet<Annotation> allAnnotations;
+    private volatile SortedMap<String, Method> javaBeanGetterMethods;
+    private volatile SortedMap<String, Method> javaBeanSetterMethods;
+    private volatile SortedSet<Method> declaredMethods;
+    private volatile SortedSet<Method> publicMethods;
+    private volatile SortedSet<Constructor<?>> declaredConstructors;
+    private volatile SortedSet<Constructor<?>> publicConstructors;
+    private volatile SortedSet<Field> declaredFields;
+    private volatile SortedSet<Field> publicFields;
+
+    /**
+     * Creates a new TypeMetadata wrapping the supplied source class.
+     *
+     * @param source The non-null class for which this TypeMetadata holds metadata.
+     */
+    private TypeMetadata(final Class<?> source) {
+        this.source = source;
+    }
+
+    /**
+     * Retrieves the (cached) TypeMetadata for the supplied Class.
+     *
+     * @param aClass A non-null Class.
+     * @return The TypeMetadata for the supplied Class.
+     */
+    @NotNull
+    public static TypeMetadata of(@NotNull final Class<?> aClass) {
+
+        // Check sanity
+        Validate.notNull(aClass, "aClass");
+
+        // All Done.
+        return METADATA.get(aClass);
+    }
+
+    /**
+     * @return The Class for which this TypeMetadata holds metadata.
+     */
+    @NotNull
+    public Class<?> getSource() {
+        return source;
+    }
+
+    /**
+     * Retrieves the shared TypeInformation of the {@link #getSource()} class. The returned TypeInformation
+     * holds unmodifiable collections, and cannot be re-initialized.
+     *
+     * @return The shared and immutable TypeInformation of the {@link #getSource()} class.
+     */
+    @NotNull
+    public TypeInformation getTypeInformation() {
+
+        TypeInformation toReturn = typeInformation;
+        if (toReturn == null) {
+
+            toReturn = new TypeInformation(source);
+            toReturn.freeze();
+            typeInformation = toReturn;
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    /**
+     * @return An unmodifiable SortedSet holding the Interface types implemented by the {@link #getSource()}
+     * class (or any of its supertypes).
+     * @see TypeInformation#getAllInterfaces()
+     */
+    @NotNull
+    public SortedSet<Class<?>> getAllInterfaces() {
+
+        SortedSet<Class<?>> toReturn = allInterfaces;
+        if (toReturn == null) {
+            toReturn = Collections.unmodifiableSortedSet(getTypeInformation().getAllInterfaces());
+            allInterfaces = toReturn;
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    /**
+     * @return An unmodifiable SortedSet holding the runtime-retained Annotations of the {@link #getSource()}
+     * class (or any of its supertypes).
+     * @see TypeInformation#getAllAnnotations()
+     */
+    @NotNull
+    public SortedSet<Annotation> getAllAnnotations() {
+
+        SortedSet<Annotation> toReturn = allAnnotations;
+        if (toReturn == null) {
+            toReturn = Collections.unmodifiableSortedSet(getTypeInformation().getAllAnnotations());
+            allAnnotations = toReturn;
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    /**
+     * @return An unmodifiable SortedMap relating the names of readable JavaBean properties
+     * to their respective getter methods.
+     * @see TypeAlgorithms#FIND_JAVABEAN_GETTERS
+     */
+    @NotNull
+    public SortedMap<String, Method> getJavaBeanGetterMethods() {
+
+        SortedMap<String, Method> toReturn = javaBeanGetterMethods;
+        if (toReturn == null) {
+            toReturn = Collections.unmodifiableSortedMap(TypeAlgorithms.FIND_JAVABEAN_GETTERS.apply(source));
+            javaBeanGetterMethods = toReturn;
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    /**
+     * @return An unmodifiable SortedMap relating the names of writable JavaBean properties
+     * to their respective setter methods.
+     * @see TypeAlgorithms#FIND_JAVABEAN_SETTERS
+     */
+    @NotNull
+    public SortedMap<String, Method> getJavaBeanSetterMethods() {
+
+        SortedMap<String, Method> toReturn = javaBeanSetterMethods;
+        if (toReturn == null) {
+            toReturn = Collections.unmodifiableSortedMap(TypeAlgorithms.FIND_JAVABEAN_SETTERS.apply(source));
+            javaBeanSetterMethods = toReturn;
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    /**
+     * Retrieves all Methods found within the {@link #getSource()} class.
+     *
+     * @param declaredMethods if true, retrieves the {@link Class#getDeclaredMethods()}
+     *                        and otherwise {@link Class#getMethods()}.
+     * @return An unmodifiable SortedSet containing the methods of the {@link #getSource()} class, sorted
+     * according to the {@link TypeAlgorithms#MEMBER_COMPARATOR}.
+     */
+    @NotNull
+    public SortedSet<Method> getMethods(final boolean declaredMethods) {
+
+        SortedSet<Method> toReturn = declaredMethods ? this.declaredMethods : this.publicMethods;
+        if (toReturn == null) {
+
+            toReturn = Collections.unmodifiableSortedSet(getTypeInformation().getMethods(declaredMethods));
+            if (declaredMethods) {
+                this.declaredMethods = toReturn;
+            } else {
+                this.publicMethods = toReturn;
+            }
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    /**
+     * Retrieves all Constructors found within the {@link #getSource()} class.
+     *
+     * @param declaredConstructors if true, retrieves the {@link Class#getDeclaredConstructors()}
+     *                             and otherwise {@link Class#getConstructors()}.
+     * @return An unmodifiable SortedSet containing the constructors of the {@link #getSource()} class, sorted
+     * according to the {@link TypeAlgorithms#MEMBER_COMPARATOR}.
+     */
+    @NotNull
+    public SortedSet<Constructor<?>> getConstructors(final boolean declaredConstructors) {
+
+        SortedSet<Constructor<?>> toReturn = declaredConstructors ? this.declaredConstructors : this.publicConstructors;
+        if (toReturn == null) {
+
+            toReturn = Collections.unmodifiableSortedSet(getTypeInformation().getConstructors(declaredConstructors));
+            if (declaredConstructors) {
+                this.declaredConstructors = toReturn;
+            } else {
+                this.publicConstructors = toReturn;
+            }
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    /**
+     * Retrieves all Fields found within the {@link #getSource()} class.
+     *
+     * @param declaredFields if true, retrieves the {@link Class#getDeclaredFields()}
+     *                       and otherwise {@link Class#getFields()}.
+     * @return An unmodifiable SortedSet containing the fields of the {@link #getSource()} class, sorted
+     * according to the {@link TypeAlgorithms#MEMBER_COMPARATOR}.
+     */
+    @NotNull
+    public SortedSet<Field> getFields(final boolean declaredFields) {
+
+        SortedSet<Field> toReturn = declaredFields ? this.declaredFields : this.publicFields;
+        if (toReturn == null) {
+
+            toReturn = Collections.unmodifiableSortedSet(getTypeInformation().getFields(declaredFields));
+            if (declaredFields) {
+                this.declaredFields = toReturn;
+            } else {
+                this.publicFields = toReturn;
+            }
+        }
+
+        // All Done.
+        return toReturn;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "TypeMetadata for [" + source.getName() + "]";
+    }
+}
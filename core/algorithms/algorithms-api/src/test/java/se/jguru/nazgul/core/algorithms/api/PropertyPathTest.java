@@ -0,0 +1,154 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.api;
+
+import org.junit.Assert;
+import org.junit.Test;
+import se.jguru.nazgul.core.algorithms.api.types.BarSubtype;
+import se.jguru.nazgul.core.algorithms.api.types.FooSupertype;
+import se.jguru.nazgul.core.algorithms.api.types.LocaleHolder;
+
+import java.util.Locale;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class PropertyPathTest {
+
+    @Test
+    public void validateCompiledPathsAreCached() {
+
+        // Act
+        final PropertyPath path1 = PropertyPath.compile(LocaleHolder.class, "locale.country");
+        final PropertyPath path2 = PropertyPath.compile(LocaleHolder.class, "locale.country");
+        final PropertyPath path3 = PropertyPath.compile(LocaleHolder.class, "locale.language");
+
+        // Assert
+        Assert.assertSame(path1, path2);
+        Assert.assertNotSame(path1, path3);
+        Assert.assertSame(LocaleHolder.class, path1.getRootType());
+        Assert.assertEquals("locale.country", path1.getExpression());
+    }
+
+    @Test
+    public void validateEvaluation() {
+
+        // Assemble
+        final PropertyPath unitUnderTest = PropertyPath.compile(LocaleHolder.class, " locale . country ");
+
+        // Act
+        final Object result = unitUnderTest.evaluate(new LocaleHolder(Locale.UK));
+
+        // Assert
+        Assert.assertEquals(Locale.UK.getCountry(), result);
+        Assert.assertEquals(result, TypeAlgorithms.getProperty(new LocaleHolder(Locale.UK), "locale.country"));
+    }
+
+    @Test
+    public void validateNullSafeEvaluation() {
+
+        // Assemble
+        final PropertyPath unitUnderTest = PropertyPath.compile(FooHolder.class, "foo.readWriteValue");
+
+        // Act
+        final Object result1 = unitUnderTest.evaluate(null);
+        final Object result2 = unitUnderTest.evaluate(new FooHolder(null));
+        final Object result3 = TypeAlgorithms.getProperty(new FooHolder(null), "foo.readWriteValue");
+
+        // Assert
+        Assert.assertNull(result1);
+        Assert.assertNull(result2);
+        Assert.assertNull(result3);
+    }
+
+    @Test
+    public void validatePrimitiveAndSubtypeProperties() {
+
+        // Assemble
+        final BarSubtype bar = new BarSubtype("readOnly", "writeOnly", "readWrite", 42,
+                "subReadOnly", "subtypeReadOnly", "subtypeReadWrite");
+        final FooHolder holder = new FooHolder(bar);
+
+        // Act
+        final Object intValue = PropertyPath.compile(FooHolder.class, "foo.readWriteIntValue").evaluate(holder);
+        final Object overridden = PropertyPath.compile(FooHolder.class, "foo.readOnlyValue").evaluate(holder);
+        final Object subtypeValue = PropertyPath.compile(FooHolder.class, "foo.subtypeReadOnlyValue")
+                .evaluate(holder);
+
+        // Assert
+        Assert.assertEquals(42, intValue);
+        Assert.assertEquals("subReadOnly", overridden);
+        Assert.assertEquals("subtypeReadOnly", subtypeValue);
+    }
+
+    @Test
+    public void validateExceptionOnNonexistentSubtypeGetterAtEvaluation() {
+
+        // Assemble
+        final PropertyPath unitUnderTest = PropertyPath.compile(FooHolder.class, "foo.subtypeReadOnlyValue");
+        final FooHolder holder = new FooHolder(new FooSupertype("readOnly", "writeOnly", "readWrite", 42));
+
+        // Act & Assert
+        try {
+            unitUnderTest.evaluate(holder);
+            Assert.fail("Expected an IllegalArgumentException for a nonexistent JavaBean getter.");
+        } catch (IllegalArgumentException expected) {
+            Assert.assertTrue(expected.getMessage().contains("subtypeReadOnlyValue"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnNonexistentGetterInFinalType() {
+
+        // Act & Assert
+        PropertyPath.compile(LocaleHolder.class, "locale.foobar");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnIncorrectPointOfOrigin() {
+
+        // Assemble
+        final PropertyPath unitUnderTest = PropertyPath.compile(LocaleHolder.class, "locale.country");
+
+        // Act & Assert
+        unitUnderTest.evaluate("Not a LocaleHolder");
+    }
+
+    //
+    // Helper classes
+    //
+
+    public static class FooHolder {
+
+        // Internal state
+        private FooSupertype foo;
+
+        public FooHolder(final FooSupertype foo) {
+            this.foo = foo;
+        }
+
+        public FooSupertype getFoo() {
+            return foo;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.api.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class ExecutorStrategiesTest {
+
+    @Test
+    public void validateCallerRunsExecutesInCallingThread() {
+
+        // Assemble
+        final ManagedExecutor unitUnderTest = ExecutorStrategies.callerRuns().acquire("owner");
+        final List<String> threadNames = new CopyOnWriteArrayList<>();
+
+        // Act
+        unitUnderTest.execute(() -> threadNames.add(Thread.currentThread().getName()));
+        unitUnderTest.close();
+
+        // Assert
+        Assert.assertEquals(1, threadNames.size());
+        Assert.assertEquals(Thread.currentThread().getName(), threadNames.get(0));
+        Assert.assertTrue(unitUnderTest.isClosed());
+    }
+
+    @Test
+    public void validateDedicatedPoolThreadNaming() throws Exception {
+
+        // Assemble
+        final ManagedExecutor unitUnderTest = ExecutorStrategies.dedicatedPool(2).acquire("dedicatedOwner");
+
+        // Act
+        final List<String> threadNames = executeAndCollectThreadNames(unitUnderTest, 1);
+        unitUnderTest.close();
+
+        // Assert
+        Assert.assertEquals("dedicatedOwner-0", threadNames.get(0));
+    }
+
+    @Test
+    public void validateSharedPoolIsSharedUntilLastOwnerCloses() throws Exception {
+
+        // Assemble
+        final ExecutorStrategy strategy = ExecutorStrategies.sharedPool("sharedTestPool", 1);
+        final ManagedExecutor owner1 = strategy.acquire("owner1");
+        final ManagedExecutor owner2 = strategy.acquire("owner2");
+
+        // Act
+        final List<String> owner1ThreadNames = executeAndCollectThreadNames(owner1, 1);
+        owner1.close();
+        final List<String> owner2ThreadNames = executeAndCollectThreadNames(owner2, 1);
+        owner2.close();
+
+        // Assert
+        Assert.assertTrue(owner1ThreadNames.get(0).startsWith("sharedTestPool-"));
+        Assert.assertEquals(owner1ThreadNames.get(0), owner2ThreadNames.get(0));
+        Assert.assertTrue(owner1.isClosed());
+        Assert.assertTrue(owner2.isClosed());
+    }
+
+    @Test
+    public void validateSharedPoolIdentityRetainedOverSerialization() throws Exception {
+
+        // Assemble
+        final ExecutorStrategy strategy = ExecutorStrategies.sharedPool("serializedTestPool", 1);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(strategy);
+        }
+
+        // Act
+        final ExecutorStrategy resurrected;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            resurrected = (ExecutorStrategy) in.readObject();
+        }
+
+        final ManagedExecutor owner1 = strategy.acquire("owner1");
+        final ManagedExecutor owner2 = resurrected.acquire("owner2");
+        final List<String> owner1ThreadNames = executeAndCollectThreadNames(owner1, 1);
+        final List<String> owner2ThreadNames = executeAndCollectThreadNames(owner2, 1);
+        owner1.close();
+        owner2.close();
+
+        // Assert
+        Assert.assertEquals(owner1ThreadNames.get(0), owner2ThreadNames.get(0));
+    }
+
+    @Test
+    public void validateThreadPerTaskNaming() throws Exception {
+
+        // Assemble
+        final ManagedExecutor unitUnderTest = ExecutorStrategies.threadPerTask().acquire("perTaskOwner");
+
+        // Act
+        final List<String> threadNames = executeAndCollectThreadNames(unitUnderTest, 3);
+        unitUnderTest.close();
+
+        // Assert
+        Assert.assertEquals(3, threadNames.size());
+        for (String current : threadNames) {
+            Assert.assertTrue(current.startsWith("perTaskOwner-"));
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void validateExceptionOnExecutingWhenClosed() {
+
+        // Assemble
+        final ManagedExecutor unitUnderTest = ExecutorStrategies.dedicatedPool(1).acquire("owner");
+        unitUnderTest.close();
+
+        // Act & Assert
+        unitUnderTest.execute(() -> {
+            // Do nothing.
+        });
+    }
+
+    @Test
+    public void validateExceptionOnAcquiringSharedPoolWithMismatchedMaxThreads() {
+
+        // Assemble
+        final ManagedExecutor owner1 = ExecutorStrategies.sharedPool("mismatchedTestPool", 1).acquire("owner1");
+
+        // Act & Assert
+        try {
+            ExecutorStrategies.sharedPool("mismatchedTestPool", 2).acquire("owner2");
+            Assert.fail("Shared pools should not be acquired with mismatched maxThreads.");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("mismatchedTestPool"));
+        } finally {
+            owner1.close();
+        }
+
+        // A new pool can be created with other maxThreads once the last owner has closed.
+        final ManagedExecutor owner3 = ExecutorStrategies.sharedPool("mismatchedTestPool", 2).acquire("owner3");
+        owner3.close();
+        Assert.assertTrue(owner3.isClosed());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnZeroThreads() {
+
+        // Act & Assert
+        ExecutorStrategies.sharedPool("foo", 0);
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static List<String> executeAndCollectThreadNames(final ManagedExecutor executor, final int numTasks)
+            throws InterruptedException {
+
+        final List<String> toReturn = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            executor.execute(() -> {
+                toReturn.add(Thread.currentThread().getName());
+                latch.countDown();
+            });
+        }
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        return toReturn;
+    }
+}
@@ -0,0 +1,127 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.api.types;
+
+import org.junit.Assert;
+import org.junit.Test;
+import se.jguru.nazgul.core.algorithms.api.TypeAlgorithms;
+
+import java.lang.reflect.Method;
+import java.util.SortedMap;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class TypeMetadataTest {
+
+    @Test(expected = NullPointerException.class)
+    public void validateExceptionOnNullClass() {
+
+        // Act & Assert
+        TypeMetadata.of(null);
+    }
+
+    @Test
+    public void validateMetadataIsComputedOncePerClass() {
+
+        // Assemble
+        final TypeMetadata unitUnderTest = TypeMetadata.of(BarSubtype.class);
+
+        // Act
+        final TypeInformation typeInformation = unitUnderTest.getTypeInformation();
+        final SortedMap<String, Method> getters = unitUnderTest.getJavaBeanGetterMethods();
+
+        // Assert
+        Assert.assertSame(unitUnderTest, TypeMetadata.of(BarSubtype.class));
+        Assert.assertNotSame(unitUnderTest, TypeMetadata.of(FooSupertype.class));
+        Assert.assertSame(BarSubtype.class, unitUnderTest.getSource());
+
+        Assert.assertSame(typeInformation, unitUnderTest.getTypeInformation());
+        Assert.assertEquals(new TypeInformation(BarSubtype.class), typeInformation);
+        Assert.assertSame(getters, unitUnderTest.getJavaBeanGetterMethods());
+        Assert.assertEquals(TypeAlgorithms.FIND_JAVABEAN_GETTERS.apply(BarSubtype.class), getters);
+        Assert.assertEquals(TypeAlgorithms.FIND_JAVABEAN_SETTERS.apply(BarSubtype.class),
+                unitUnderTest.getJavaBeanSetterMethods());
+
+        Assert.assertSame(unitUnderTest.getMethods(true), unitUnderTest.getMethods(true));
+        Assert.assertEquals(typeInformation.getMethods(false), unitUnderTest.getMethods(false));
+        Assert.assertEquals(typeInformation.getConstructors(true), unitUnderTest.getConstructors(true));
+        Assert.assertEquals(typeInformation.getFields(true), unitUnderTest.getFields(true));
+        Assert.assertEquals(typeInformation.getAllInterfaces(), unitUnderTest.getAllInterfaces());
+        Assert.assertEquals(typeInformation.getAllAnnotations(), unitUnderTest.getAllAnnotations());
+    }
+
+    @Test
+    public void validateReturnedMetadataIsImmutable() {
+
+        // Assemble
+        final TypeMetadata unitUnderTest = TypeMetadata.of(BarSubtype.class);
+        final TypeInformation typeInformation = unitUnderTest.getTypeInformation();
+
+        // Act & Assert
+        assertUnsupported(() -> unitUnderTest.getJavaBeanGetterMethods().clear());
+        assertUnsupported(() -> unitUnderTest.getMethods(true).clear());
+        assertUnsupported(() -> unitUnderTest.getFields(false).clear());
+        assertUnsupported(() -> typeInformation.getClassHierarchy().clear());
+        assertUnsupported(() -> typeInformation.getClass2InterfaceMap().get(BarSubtype.class).clear());
+        assertUnsupported(() -> typeInformation.getClass2AnnotationMap().clear());
+
+        try {
+            typeInformation.initializeWith(FooSupertype.class);
+            Assert.fail("Shared TypeInformation should not be re-initializable.");
+        } catch (IllegalStateException expected) {
+            // Expected
+        }
+        Assert.assertSame(BarSubtype.class, typeInformation.getSource());
+    }
+
+    @Test
+    public void validateGetAllTypesForReturnsCallerOwnedInstance() {
+
+        // Assemble
+        final TypeInformation shared = TypeMetadata.of(BarSubtype.class).getTypeInformation();
+
+        // Act
+        final TypeInformation callerOwned = TypeAlgorithms.getAllTypesFor(BarSubtype.class);
+        callerOwned.initializeWith(FooSupertype.class);
+
+        // Assert
+        Assert.assertNotSame(shared, callerOwned);
+        Assert.assertSame(FooSupertype.class, callerOwned.getSource());
+        Assert.assertSame(BarSubtype.class, shared.getSource());
+        Assert.assertSame(shared, TypeMetadata.of(BarSubtype.class).getTypeInformation());
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static void assertUnsupported(final Runnable modification) {
+        try {
+            modification.run();
+            Assert.fail("Modification should not be permitted.");
+        } catch (UnsupportedOperationException expected) {
+            // Expected
+        }
+    }
+}
@@ -25,6 +25,9 @@ package se.jguru.nazgul.core.algorithms.event.api.producer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import se.jguru.nazgul.core.algorithms.api.Validate;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ExecutorStrategies;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ExecutorStrategy;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ManagedExecutor;
 import se.jguru.nazgul.core.algorithms.event.api.consumer.EventConsumer;
 import se.jguru.nazgul.core.algorithms.event.api.consumer.EventConsumerCallback;
 import se.jguru.nazgul.core.clustering.api.AbstractClusterable;
@@ -34,16 +37,21 @@ import se.jguru.nazgul.core.clustering.api.IdGenerator;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.bind.annotation.XmlType;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Abstract implementation of the EventProducer interface, sporting Clusterable behaviour.
  * That is - this AbstractEventProducer implementation is intended for use within a cluster.
+ * EventConsumers are notified using threads acquired from an {@link ExecutorStrategy}; by default
+ * all notifications are performed synchronously within the thread calling {@code notifyConsumers}.
+ * Close the AbstractEventProducer when it is no longer used, to release its notification threads.
  *
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
  */
@@ -51,7 +59,7 @@ import java.util.concurrent.ConcurrentMap;
 @XmlType(namespace = "http://www.jguru.se/nazgul/core", propOrder = {"tClass", "consumers"})
 @XmlAccessorType(XmlAccessType.FIELD)
 public abstract class AbstractEventProducer<T extends EventConsumer>
-        extends AbstractClusterable implements EventProducer<T> {
+        extends AbstractClusterable implements EventProducer<T>, AutoCloseable {
 
     // Our log
     private static final Logger log = LoggerFactory.getLogger(AbstractEventProducer.class);
@@ -61,24 +69,47 @@ public abstract class AbstractEventProducer<T extends EventConsumer>
     private Class<T> tClass;
     private ConcurrentMap<String, T> consumers;
 
+    @XmlTransient
+    private ExecutorStrategy notificationStrategy;
+    private transient volatile ManagedExecutor notificationExecutor;
+    private transient volatile boolean closed;
+
     /**
-     * Creates a new AbstractEventProducer with the provided IdGenerator and EventConsumer type.
+     * Creates a new AbstractEventProducer with the provided IdGenerator and EventConsumer type,
+     * notifying its EventConsumers synchronously within the thread calling {@code notifyConsumers}.
      *
      * @param idGenerator        The ID generator used to acquire a cluster-unique identifier for
      *                           this AbstractEventProducer instance.
      * @param eventConsumerClass The type of EventConsumer handled by this AbstractEventProducer.
      */
     public AbstractEventProducer(final IdGenerator idGenerator, final Class<T> eventConsumerClass) {
+        this(idGenerator, eventConsumerClass, ExecutorStrategies.callerRuns());
+    }
+
+    /**
+     * Creates a new AbstractEventProducer with the provided IdGenerator, EventConsumer type and ExecutorStrategy.
+     *
+     * @param idGenerator          The ID generator used to acquire a cluster-unique identifier for
+     *                             this AbstractEventProducer instance.
+     * @param eventConsumerClass   The type of EventConsumer handled by this AbstractEventProducer.
+     * @param notificationStrategy The ExecutorStrategy from which the threads used to notify
+     *                             EventConsumers are acquired.
+     */
+    public AbstractEventProducer(final IdGenerator idGenerator,
+                                 final Class<T> eventConsumerClass,
+                                 final ExecutorStrategy notificationStrategy) {
 
         // Delegate
         super(idGenerator, false);
 
         // Check sanity
         Validate.notNull(eventConsumerClass, "eventConsumerClass");
+        Validate.notNull(notificationStrategy, "notificationStrategy");
 
         // Assign internal state
         this.tClass = eventConsumerClass;
         this.consumers = new ConcurrentHashMap<>();
+        this.notificationStrategy = notificationStrategy;
     }
 
     /**
@@ -272,6 +303,8 @@ public abstract class AbstractEventProducer<T extends EventConsumer>
 
     /**
      * {@inheritDoc}
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if this AbstractEventProducer is closed.
      */
     @Override
     public final void notifyConsumers(final EventConsumerCallback<T> consumerCallback) {
@@ -280,14 +313,63 @@ public abstract class AbstractEventProducer<T extends EventConsumer>
         Validate.notNull(consumerCallback, "Cannot handle null callback argument.");
 
         // Perform notification
-        for (final String current : getConsumerIDs()) {
-            final T listener = getConsumer(current);
+        final ManagedExecutor executor = getNotificationExecutor();
+        for (final T listener : consumers.values()) {
+            executor.execute(() -> {
+                try {
+                    consumerCallback.onEvent(listener);
+                } catch (final Exception exception) {
+                    onExceptionDuringConsumerNotification(listener, exception);
+                }
+            });
+        }
+    }
+
+    /**
+     * Releases the threads used by this AbstractEventProducer to notify its EventConsumers.
+     * Closing an already closed AbstractEventProducer has no effect.
+     */
+    @Override
+    public void close() {
+
+        // Only close the ManagedExecutor if one was acquired.
+        final ManagedExecutor toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = notificationExecutor;
+        }
+
+        if (toClose != null) {
+            toClose.close();
+        }
+    }
 
-            try {
-                consumerCallback.onEvent(listener);
-            } catch (final Exception exception) {
-                onExceptionDuringConsumerNotification(listener, exception);
+    //
+    // Private helpers
+    //
+
+    private ManagedExecutor getNotificationExecutor() {
+
+        // The ManagedExecutor is transient, and must be re-acquired after de-serialization.
+        ManagedExecutor toReturn = notificationExecutor;
+        if (toReturn == null) {
+            synchronized (this) {
+                toReturn = notificationExecutor;
+                if (toReturn == null) {
+                    if (closed) {
+                        throw new RejectedExecutionException("AbstractEventProducer [" + getClusterId()
+                                + "] is closed.");
+                    }
+                    final ExecutorStrategy strategy = notificationStrategy == null
+                            ? ExecutorStrategies.callerRuns()
+                            : notificationStrategy;
+                    toReturn = strategy.acquire("EventProducer-" + getClusterId());
+                    notificationExecutor = toReturn;
+                }
             }
         }
+
+        // All done.
+        return toReturn;
     }
 }
@@ -23,6 +23,7 @@
 
 package se.jguru.nazgul.core.algorithms.event.api.producer;
 
+import se.jguru.nazgul.core.algorithms.api.concurrent.ExecutorStrategy;
 import se.jguru.nazgul.core.algorithms.event.api.consumer.MockEventConsumer;
 import se.jguru.nazgul.core.clustering.api.IdGenerator;
 
@@ -41,6 +42,17 @@ public class MockEventProducer extends AbstractEventProducer<MockEventConsumer>
         super(idGenerator, MockEventConsumer.class);
     }
 
+    /**
+     * Creates a new AbstractEventProducer with the provided IdGenerator and ExecutorStrategy.
+     *
+     * @param idGenerator          The ID generator used to acquire a cluster-unique identifier for
+     *                             this AbstractEventProducer instance.
+     * @param notificationStrategy The ExecutorStrategy used to notify consumers.
+     */
+    public MockEventProducer(final IdGenerator idGenerator, final ExecutorStrategy notificationStrategy) {
+        super(idGenerator, MockEventConsumer.class, notificationStrategy);
+    }
+
     /**
      * Creates a new AbstractIdentifiable and assigns the provided
      * cluster-unique ID to this AbstractClusterable instance.
@@ -26,10 +26,15 @@ package se.jguru.nazgul.core.algorithms.event.api.producer;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ExecutorStrategies;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ExecutorStrategy;
 import se.jguru.nazgul.core.algorithms.event.api.consumer.MockEvent;
 import se.jguru.nazgul.core.algorithms.event.api.consumer.MockEventConsumer;
+import se.jguru.nazgul.core.clustering.api.ConstantIdGenerator;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
@@ -157,4 +162,64 @@ public class T_AbstractEventProducerTest {
         Assert.assertEquals("consume [event1]", callTrace.get(0));
         Assert.assertEquals("consume [event2]", callTrace.get(1));
     }
+
+    @Test
+    public void validateAsynchronousEventCallback() throws Exception {
+
+        // Assemble
+        final MockEventProducer asyncProducer = new MockEventProducer(
+                new ConstantIdGenerator("asyncProducer"), ExecutorStrategies.dedicatedPool(1));
+        asyncProducer.addConsumer(consumer);
+
+        // Act
+        asyncProducer.notifyConsumers(new MockEventConsumerCallback(new MockEvent("event1")));
+        asyncProducer.notifyConsumers(new MockEventConsumerCallback(new MockEvent("event2")));
+        asyncProducer.close();
+
+        for (int i = 0; i < 100 && consumer.callTrace.size() < 2; i++) {
+            Thread.sleep(20L);
+        }
+
+        // Assert
+        final List<String> callTrace = consumer.callTrace;
+        Assert.assertEquals(2, callTrace.size());
+        Assert.assertEquals("consume [event1]", callTrace.get(0));
+        Assert.assertEquals("consume [event2]", callTrace.get(1));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void validateExceptionOnNotifyingWhenClosed() {
+
+        // Assemble
+        unitUnderTest.addConsumer(consumer);
+        unitUnderTest.close();
+
+        // Act & Assert
+        unitUnderTest.notifyConsumers(new MockEventConsumerCallback(new MockEvent("event1")));
+    }
+
+    @Test
+    public void validateClosingUnusedProducerDoesNotAcquireExecutor() {
+
+        // Assemble
+        final AtomicInteger numAcquired = new AtomicInteger();
+        final ExecutorStrategy countingStrategy = ownerName -> {
+            numAcquired.incrementAndGet();
+            return ExecutorStrategies.callerRuns().acquire(ownerName);
+        };
+        final MockEventProducer producer = new MockEventProducer(
+                new ConstantIdGenerator("unusedProducer"), countingStrategy);
+
+        // Act
+        producer.close();
+
+        // Assert
+        Assert.assertEquals(0, numAcquired.get());
+        try {
+            producer.notifyConsumers(new MockEventConsumerCallback(new MockEvent("event1")));
+            Assert.fail("Closed producers should not notify their consumers.");
+        } catch (RejectedExecutionException e) {
+            Assert.assertEquals(0, numAcquired.get());
+        }
+    }
 }
@@ -0,0 +1,198 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-event-spi-topic
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.event.spi.topic;
+
+import se.jguru.nazgul.core.algorithms.api.Validate;
+import se.jguru.nazgul.core.reflection.api.serialization.DeserializationFilter;
+import se.jguru.nazgul.core.reflection.api.serialization.JavaSerializationCodec;
+
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Immutable message holding a batch of events transmitted over a LightweightTopic by a
+ * {@link TopicEventPublisher}. The events are serialized (and optionally deflate-compressed)
+ * into a single byte array when the batch is created, implying that the batch can be sent
+ * over any LightweightTopic implementation capable of transmitting Serializable messages.
+ * As EventBatches may be received from any node, their events are unpacked under a
+ * {@link DeserializationFilter}, which also caps the inflated size of compressed payloads.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class EventBatch implements Serializable {
+
+    // Internal state
+    private static final long serialVersionUID = 8829990101L;
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+    private static final JavaSerializationCodec CODEC = new JavaSerializationCodec();
+    private final String originId;
+    private final int size;
+    private final boolean compressed;
+    private final byte[] payload;
+
+    /**
+     * Creates a new EventBatch holding the supplied, already packed data.
+     *
+     * @param originId   The clusterID of the TopicEventPublisher which created this EventBatch.
+     * @param size       The number of events within this EventBatch.
+     * @param compressed {@code true} if the payload is deflate-compressed.
+     * @param payload    The serialized events.
+     */
+    private EventBatch(final String originId, final int size, final boolean compressed, final byte[] payload) {
+        this.originId = originId;
+        this.size = size;
+        this.compressed = compressed;
+        this.payload = payload;
+    }
+
+    /**
+     * @return The clusterID of the TopicEventPublisher which created this EventBatch.
+     */
+    public String getOriginId() {
+        return originId;
+    }
+
+    /**
+     * @return The number of events within this EventBatch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if the payload of this EventBatch is deflate-compressed.
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * @return The number of bytes in the (possibly compressed) payload of this EventBatch.
+     */
+    public int getPayloadSize() {
+        return payload.length;
+    }
+
+    /**
+     * Packs the supplied events into a new EventBatch.
+     *
+     * @param originId The clusterID of the TopicEventPublisher creating the EventBatch.
+     * @param events   A Map relating the cluster-unique ID of each event to the event itself.
+     *                 The iteration order of the Map is retained within the EventBatch.
+     * @param compress if {@code true}, the payload is deflate-compressed.
+     * @return An EventBatch holding the supplied events.
+     * @throws IllegalArgumentException if any of the events could not be serialized.
+     */
+    public static EventBatch pack(@NotNull final String originId,
+                                  @NotNull final Map<String, ? extends Serializable> events,
+                                  final boolean compress) throws IllegalArgumentException {
+
+        // Check sanity
+        Validate.notEmpty(originId, "originId");
+        Validate.notNull(events, "events");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * (events.size() + 1));
+        try (ObjectOutputStream out = new ObjectOutputStream(compress
+                ? new DeflaterOutputStream(bytes)
+                : bytes)) {
+
+            out.writeInt(events.size());
+            for (Map.Entry<String, ? extends Serializable> current : events.entrySet()) {
+                out.writeUTF(current.getKey());
+                out.writeObject(current.getValue());
+            }
+
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not serialize " + events.size() + " events.", e);
+        }
+
+        // All done.
+        return new EventBatch(originId, events.size(), compress, bytes.toByteArray());
+    }
+
+    /**
+     * Unpacks the events within this EventBatch.
+     *
+     * @param classLoader The ClassLoader used to resolve the types of the events.
+     * @param filter      The DeserializationFilter which the events must satisfy. Its limits apply to
+     *                    the EventBatch as a whole, so its maximum number of bytes caps the inflated
+     *                    size of the payload.
+     * @return A Map relating the cluster-unique ID of each event to the event itself,
+     * in the order the events were packed.
+     * @throws IllegalStateException if the events could not be de-serialized, or violated the supplied filter.
+     */
+    public Map<String, Serializable> unpack(@NotNull final ClassLoader classLoader,
+                                            @NotNull final DeserializationFilter filter)
+            throws IllegalStateException {
+
+        // Check sanity
+        Validate.notNull(classLoader, "classLoader");
+        Validate.notNull(filter, "filter");
+
+        final InputStream bytes = new ByteArrayInputStream(payload);
+        try (ObjectInputStream in = CODEC.createObjectInputStream(compressed
+                ? new InflaterInputStream(bytes)
+                : bytes, filter, classLoader)) {
+
+            // Never trust the number of events read from the wire.
+            final int numEvents = in.readInt();
+            if (numEvents < 0 || numEvents != size) {
+                throw new IllegalStateException("Corrupt EventBatch from [" + originId + "]: expected "
+                        + size + " events, but found " + numEvents);
+            }
+
+            final Map<String, Serializable> toReturn = new LinkedHashMap<>(
+                    2 * Math.min(numEvents, MAX_INITIAL_CAPACITY));
+            for (int i = 0; i < numEvents; i++) {
+                final String eventId = in.readUTF();
+                toReturn.put(eventId, (Serializable) in.readObject());
+            }
+
+            // All done.
+            return Collections.unmodifiableMap(toReturn);
+
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not de-serialize EventBatch from [" + originId + "]", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "EventBatch from [" + originId + "]: " + size + " events, " + payload.length + " bytes"
+                + (compressed ? " (compressed)" : "");
+    }
+}
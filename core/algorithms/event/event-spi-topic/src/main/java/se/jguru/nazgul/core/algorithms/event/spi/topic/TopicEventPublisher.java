@@ -0,0 +1,469 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-event-spi-topic
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.event.spi.topic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.jguru.nazgul.core.algorithms.api.Validate;
+import se.jguru.nazgul.core.algorithms.event.api.publisher.EventPublisher;
+import se.jguru.nazgul.core.cache.api.distributed.async.DestinationProvider;
+import se.jguru.nazgul.core.cache.api.distributed.async.LightweightTopic;
+import se.jguru.nazgul.core.cache.api.distributed.async.LightweightTopicListener;
+import se.jguru.nazgul.core.clustering.api.IdGenerator;
+import se.jguru.nazgul.core.clustering.api.UUIDGenerator;
+import se.jguru.nazgul.core.reflection.api.serialization.DeserializationFilter;
+
+import javax.validation.constraints.NotNull;
+import java.io.Closeable;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Clustered EventPublisher implementation, which delivers published events to locally registered
+ * consumers and bridges them onto a {@link LightweightTopic} for delivery to consumers registered with
+ * TopicEventPublishers on all other nodes within the cluster. No separate message broker is required;
+ * the distributed cache providing the LightweightTopic (i.e. a {@link DestinationProvider}) transports
+ * the events.</p>
+ * <p>Outbound events are batched, and flushed onto the LightweightTopic once per flush interval
+ * (or as soon as the batch grows to its maximum size). Each batch can optionally be compressed.
+ * Every event is assigned a cluster-unique ID when published, and inbound events whose IDs
+ * have already been seen are silently discarded - implying that duplicate deliveries from the
+ * underlying topic never reach the consumers twice.</p>
+ * <p>Inbound events are de-serialized under a {@link DeserializationFilter}, whose allow-list should
+ * hold the event types (and the types they refer to) but nothing else, as any peer with access to the
+ * LightweightTopic can send EventBatches.</p>
+ * <pre>
+ *     <code>
+ *         // Create one TopicEventPublisher per node, using the same topic ID.
+ *         TopicEventPublisher&lt;SomeEvent&gt; publisher = new TopicEventPublisher&lt;&gt;(
+ *              destinationProvider, "someEventTopic", 100L, true,
+ *              new DeserializationFilter("com.acme.events.**"));
+ *
+ *         publisher.addConsumer(someEventConsumer);
+ *         publisher.publish(new SomeEvent(...));
+ *
+ *         // ... and release the flushing resources when done.
+ *         publisher.close();
+ *     </code>
+ * </pre>
+ *
+ * @param <E> The type of event published.
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class TopicEventPublisher<E extends Serializable>
+        implements EventPublisher<E, LightweightTopicListener<E>>, Closeable {
+
+    // Our log
+    private static final Logger log = LoggerFactory.getLogger(TopicEventPublisher.class);
+
+    /**
+     * The default maximum number of events within a single EventBatch.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+    /**
+     * The default number of received event IDs remembered for de-duplication purposes.
+     */
+    public static final int DEFAULT_DEDUPLICATION_WINDOW = 10000;
+
+    // Internal state
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();
+    private final String clusterId;
+    private final LightweightTopic<EventBatch> topic;
+    private final boolean compress;
+    private final int maxBatchSize;
+    private final DeserializationFilter deserializationFilter;
+    private final AtomicLong eventSequence;
+    private final ConcurrentMap<String, LightweightTopicListener<E>> consumers;
+    private final Map<String, Boolean> seenEventIDs;
+    private final InboundListener inboundListener;
+    private final ScheduledExecutorService flusher;
+    private Map<String, E> pending;
+    private volatile boolean closed;
+
+    /**
+     * Convenience constructor creating a TopicEventPublisher using the LightweightTopic with the supplied
+     * topicId within the given DestinationProvider, and using a UUIDGenerator to acquire its clusterID.
+     *
+     * @param destinationProvider   The DestinationProvider from which the LightweightTopic should be retrieved.
+     * @param topicId               The ID of the LightweightTopic. All TopicEventPublishers exchanging events
+     *                              must use the same topicId.
+     * @param flushIntervalMillis   The interval between flushing outbound events to the LightweightTopic,
+     *                              in milliseconds. A non-positive value implies that each event is flushed
+     *                              immediately when published.
+     * @param compress              if {@code true}, outbound EventBatches are compressed.
+     * @param deserializationFilter The DeserializationFilter which inbound events must satisfy.
+     */
+    public TopicEventPublisher(@NotNull final DestinationProvider<?, ?> destinationProvider,
+                               @NotNull final String topicId,
+                               final long flushIntervalMillis,
+                               final boolean compress,
+                               @NotNull final DeserializationFilter deserializationFilter) {
+        this(UUIDGenerator.getInstance(),
+                Validate.notNull(destinationProvider, "destinationProvider")
+                        .<EventBatch>getTopic(Validate.notEmpty(topicId, "topicId")),
+                flushIntervalMillis,
+                DEFAULT_MAX_BATCH_SIZE,
+                compress,
+                deserializationFilter);
+    }
+
+    /**
+     * Compound constructor creating a TopicEventPublisher wrapping the supplied data.
+     *
+     * @param idGenerator           The IdGenerator used to acquire a cluster-unique ID for this
+     *                              TopicEventPublisher. Event IDs are derived from this ID.
+     * @param topic                 The LightweightTopic used to transport events between cluster nodes.
+     * @param flushIntervalMillis   The interval between flushing outbound events to the LightweightTopic,
+     *                              in milliseconds. A non-positive value implies that each event is flushed
+     *                              immediately when published.
+     * @param maxBatchSize          The maximum number of events within a single EventBatch. Must be positive.
+     * @param compress              if {@code true}, outbound EventBatches are compressed.
+     * @param deserializationFilter The DeserializationFilter which inbound events must satisfy.
+     */
+    public TopicEventPublisher(@NotNull final IdGenerator idGenerator,
+                               @NotNull final LightweightTopic<EventBatch> topic,
+                               final long flushIntervalMillis,
+                               final int maxBatchSize,
+                               final boolean compress,
+                               @NotNull final DeserializationFilter deserializationFilter) {
+
+        // Check sanity
+        Validate.notNull(idGenerator, "idGenerator");
+        Validate.notNull(topic, "topic");
+        Validate.isTrue(maxBatchSize > 0, "Cannot handle non-positive maxBatchSize.");
+        Validate.notNull(deserializationFilter, "deserializationFilter");
+
+        // Assign internal state
+        this.clusterId = idGenerator.getIdentifier();
+        this.topic = topic;
+        this.compress = compress;
+        this.maxBatchSize = maxBatchSize;
+        this.deserializationFilter = deserializationFilter;
+        this.eventSequence = new AtomicLong();
+        this.consumers = new ConcurrentHashMap<>();
+        this.pending = new LinkedHashMap<>();
+        this.seenEventIDs = new LinkedHashMap<String, Boolean>(DEFAULT_DEDUPLICATION_WINDOW, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                return size() > DEFAULT_DEDUPLICATION_WINDOW;
+            }
+        };
+
+        // Start the periodic flushing of outbound events?
+        if (flushIntervalMillis > 0) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread toReturn = new Thread(runnable, "TopicEventPublisher-" + clusterId);
+                toReturn.setDaemon(true);
+                return toReturn;
+            });
+            this.flusher.scheduleWithFixedDelay(this::scheduledFlush,
+                    flushIntervalMillis,
+                    flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+
+        // Listen for inbound EventBatches.
+        this.inboundListener = new InboundListener(clusterId);
+        topic.addListener(inboundListener);
+    }
+
+    /**
+     * @return The cluster-unique ID of this TopicEventPublisher.
+     */
+    public String getClusterId() {
+        return clusterId;
+    }
+
+    /**
+     * @return The DeserializationFilter which inbound events must satisfy, holding the allow-list of event types.
+     */
+    public DeserializationFilter getDeserializationFilter() {
+        return deserializationFilter;
+    }
+
+    /**
+     * Publishes the supplied event to all consumers registered with this TopicEventPublisher, and
+     * queues it for delivery to the consumers of all other TopicEventPublishers sharing the same
+     * LightweightTopic.
+     *
+     * @param event The event to publish. Should not be {@code null}.
+     * @throws IllegalStateException if this TopicEventPublisher is closed.
+     */
+    @Override
+    public void publish(@NotNull final E event) throws IllegalStateException {
+
+        // Check sanity
+        Validate.notNull(event, "event");
+        if (closed) {
+            throw new IllegalStateException("TopicEventPublisher [" + clusterId + "] is closed.");
+        }
+
+        // Queue the event for delivery to all other nodes.
+        // Re-check the closed flag under the lock, as close() may have flushed the pending events.
+        final String eventId = clusterId + "-" + eventSequence.incrementAndGet();
+        final boolean flushNow;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("TopicEventPublisher [" + clusterId + "] is closed.");
+            }
+            pending.put(eventId, event);
+            flushNow = flusher == null || pending.size() >= maxBatchSize;
+        }
+
+        // Deliver the event locally.
+        deliver(event);
+
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    /**
+     * Publishes all events queued for delivery to other nodes onto the LightweightTopic.
+     * This method is invoked periodically, but may also be called explicitly.
+     */
+    public void flush() {
+
+        // Serialize flushes, to publish the batches in the order their events were queued.
+        synchronized (flushLock) {
+
+            final Map<String, E> toSend;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+
+                toSend = pending;
+                pending = new LinkedHashMap<>();
+            }
+
+            final EventBatch batch = EventBatch.pack(clusterId, toSend, compress);
+            if (log.isDebugEnabled()) {
+                log.debug("Publishing " + batch);
+            }
+
+            topic.publish(batch);
+        }
+    }
+
+    /**
+     * Flushes all queued events, stops periodic flushing and de-registers this
+     * TopicEventPublisher from its LightweightTopic. Closing an already closed
+     * TopicEventPublisher has no effect.
+     */
+    @Override
+    public void close() {
+
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+
+        try {
+            flush();
+        } finally {
+            topic.removeListener(inboundListener);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String addConsumer(@NotNull final LightweightTopicListener<E> consumer) {
+
+        // Check sanity
+        Validate.notNull(consumer, "consumer");
+
+        final String consumerID = consumer.getClusterId();
+        final LightweightTopicListener<E> previous = consumers.putIfAbsent(consumerID, consumer);
+        if (previous != null && previous != consumer) {
+            log.warn("Consumer with id [" + consumerID + "] already registered.");
+        }
+
+        // All done.
+        return consumerID;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getConsumerIDs() {
+        return Collections.unmodifiableList(new ArrayList<>(consumers.keySet()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeConsumer(@NotNull final String consumerID) {
+
+        // Check sanity
+        Validate.notNull(consumerID, "consumerID");
+
+        // All done.
+        return consumers.remove(consumerID) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LightweightTopicListener<E> getConsumer(@NotNull final String consumerID) {
+
+        // Check sanity
+        Validate.notNull(consumerID, "consumerID");
+
+        // All done.
+        return consumers.get(consumerID);
+    }
+
+    /**
+     * If an exception occurs during delivery of an event to a consumer, it will be sent to this method.
+     * The default implementation simply logs the exception.
+     *
+     * @param consumer  The consumer which threw the exception.
+     * @param event     The event being delivered.
+     * @param exception The exception thrown.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected void onExceptionDuringConsumerNotification(final LightweightTopicListener<E> consumer,
+                                                         final E event,
+                                                         final Exception exception) {
+        log.error("Unable to deliver event [" + event + "] to consumer '" + consumer.getClusterId() + "'",
+                exception);
+    }
+
+    //
+    // Private helpers
+    //
+
+    private void deliver(final E event) {
+        for (LightweightTopicListener<E> current : consumers.values()) {
+            try {
+                current.onMessage(event);
+            } catch (final Exception exception) {
+                onExceptionDuringConsumerNotification(current, event, exception);
+            }
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (final Exception e) {
+
+            // Don't let the exception cancel future flushes.
+            log.error("Could not flush events from TopicEventPublisher [" + clusterId + "]", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onInboundBatch(final EventBatch batch) {
+
+        // Events published by this TopicEventPublisher were already delivered locally.
+        if (batch == null || clusterId.equals(batch.getOriginId())) {
+            return;
+        }
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader() == null
+                ? getClass().getClassLoader()
+                : Thread.currentThread().getContextClassLoader();
+
+        final Map<String, Serializable> events;
+        try {
+            events = batch.unpack(classLoader, deserializationFilter);
+        } catch (IllegalStateException e) {
+
+            // Don't let a corrupt or malicious EventBatch reach the consumers.
+            log.error("Discarding " + batch + ", which could not be unpacked using " + deserializationFilter, e);
+            return;
+        }
+
+        for (Map.Entry<String, Serializable> current : events.entrySet()) {
+
+            final boolean firstSeen;
+            synchronized (seenEventIDs) {
+                firstSeen = seenEventIDs.put(current.getKey(), Boolean.TRUE) == null;
+            }
+
+            if (firstSeen) {
+                deliver((E) current.getValue());
+            } else if (log.isDebugEnabled()) {
+                log.debug("Discarding duplicate event [" + current.getKey() + "]");
+            }
+        }
+    }
+
+    /**
+     * LightweightTopicListener receiving EventBatches from the LightweightTopic.
+     */
+    private final class InboundListener implements LightweightTopicListener<EventBatch> {
+
+        private static final long serialVersionUID = 8829990102L;
+
+        // Internal state
+        private final String listenerId;
+
+        private InboundListener(final String listenerId) {
+            this.listenerId = listenerId;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onMessage(final EventBatch message) {
+            onInboundBatch(message);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getClusterId() {
+            return listenerId;
+        }
+    }
+}
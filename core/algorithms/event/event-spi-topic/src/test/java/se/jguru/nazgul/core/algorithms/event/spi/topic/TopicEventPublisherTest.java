@@ -0,0 +1,374 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-event-spi-topic
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.event.spi.topic;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import se.jguru.nazgul.core.algorithms.event.spi.topic.helpers.InMemoryLightweightTopic;
+import se.jguru.nazgul.core.algorithms.event.spi.topic.helpers.TraceConsumer;
+import se.jguru.nazgul.core.clustering.api.ConstantIdGenerator;
+import se.jguru.nazgul.core.reflection.api.serialization.DeserializationFilter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class TopicEventPublisherTest {
+
+    // Shared state
+    private static final DeserializationFilter EVENTS = new DeserializationFilter("java.lang.String");
+    private InMemoryLightweightTopic<EventBatch> topic;
+    private List<TopicEventPublisher<String>> publishers;
+
+    @Before
+    public void setupSharedState() {
+        topic = new InMemoryLightweightTopic<>("testTopic");
+        publishers = new ArrayList<>();
+    }
+
+    @After
+    public void teardownSharedState() {
+        publishers.forEach(TopicEventPublisher::close);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void validateExceptionOnNullTopic() {
+
+        // Act & Assert
+        new TopicEventPublisher<String>(new ConstantIdGenerator("node1"), null, 0, 10, false, EVENTS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnNonPositiveBatchSize() {
+
+        // Act & Assert
+        new TopicEventPublisher<String>(new ConstantIdGenerator("node1"), topic, 0, 0, false, EVENTS);
+    }
+
+    @Test
+    public void validateEventReachesConsumersOnAllNodes() {
+
+        // Assemble
+        final TopicEventPublisher<String> node1 = createPublisher("node1", 0, false);
+        final TopicEventPublisher<String> node2 = createPublisher("node2", 0, false);
+        final TopicEventPublisher<String> node3 = createPublisher("node3", 0, true);
+
+        final TraceConsumer consumer1 = new TraceConsumer("consumer1");
+        final TraceConsumer consumer2 = new TraceConsumer("consumer2");
+        final TraceConsumer consumer3 = new TraceConsumer("consumer3");
+
+        node1.addConsumer(consumer1);
+        node2.addConsumer(consumer2);
+        node3.addConsumer(consumer3);
+
+        // Act
+        node1.publish("fromNode1");
+        node3.publish("fromNode3");
+
+        // Assert
+        Assert.assertEquals(2, topic.published.size());
+        for (TraceConsumer current : new TraceConsumer[]{consumer1, consumer2, consumer3}) {
+            Assert.assertEquals(2, current.callTrace.size());
+            Assert.assertEquals("fromNode1", current.callTrace.get(0));
+            Assert.assertEquals("fromNode3", current.callTrace.get(1));
+        }
+    }
+
+    @Test
+    public void validateBatchingUntilFlush() {
+
+        // Assemble
+        final TopicEventPublisher<String> node1 = createPublisher("node1", 60000L, false);
+        final TopicEventPublisher<String> node2 = createPublisher("node2", 0, false);
+        final TraceConsumer consumer1 = new TraceConsumer("consumer1");
+        final TraceConsumer consumer2 = new TraceConsumer("consumer2");
+        node1.addConsumer(consumer1);
+        node2.addConsumer(consumer2);
+
+        // Act
+        node1.publish("event1");
+        node1.publish("event2");
+        node1.publish("event3");
+
+        final int remoteEventsBeforeFlush = consumer2.callTrace.size();
+        node1.flush();
+
+        // Assert
+        Assert.assertEquals(3, consumer1.callTrace.size());
+        Assert.assertEquals(0, remoteEventsBeforeFlush);
+        Assert.assertEquals(1, topic.published.size());
+        Assert.assertEquals(3, topic.published.get(0).size());
+        Assert.assertEquals(3, consumer2.callTrace.size());
+        Assert.assertEquals("event3", consumer2.callTrace.get(2));
+    }
+
+    @Test
+    public void validateFlushWhenMaxBatchSizeIsReached() {
+
+        // Assemble
+        final TopicEventPublisher<String> node1 = new TopicEventPublisher<>(
+                new ConstantIdGenerator("node1"), topic, 60000L, 2, false, EVENTS);
+        publishers.add(node1);
+
+        // Act
+        node1.publish("event1");
+        node1.publish("event2");
+        node1.publish("event3");
+
+        // Assert
+        Assert.assertEquals(1, topic.published.size());
+        Assert.assertEquals(2, topic.published.get(0).size());
+    }
+
+    @Test
+    public void validatePeriodicFlushing() throws Exception {
+
+        // Assemble
+        final TopicEventPublisher<String> node1 = createPublisher("node1", 10L, true);
+        final TopicEventPublisher<String> node2 = createPublisher("node2", 10L, true);
+        final TraceConsumer consumer2 = new TraceConsumer("consumer2");
+        node2.addConsumer(consumer2);
+
+        // Act
+        node1.publish("event1");
+        for (int i = 0; i < 200 && consumer2.callTrace.isEmpty(); i++) {
+            Thread.sleep(10L);
+        }
+
+        // Assert
+        Assert.assertEquals(1, consumer2.callTrace.size());
+        Assert.assertEquals("event1", consumer2.callTrace.get(0));
+    }
+
+    @Test
+    public void validateDuplicateEventsAreDiscarded() {
+
+        // Assemble
+        final TopicEventPublisher<String> node2 = createPublisher("node2", 0, false);
+        final TraceConsumer consumer2 = new TraceConsumer("consumer2");
+        node2.addConsumer(consumer2);
+
+        final Map<String, Serializable> events = new LinkedHashMap<>();
+        events.put("node1-1", "event1");
+        events.put("node1-2", "event2");
+        final EventBatch batch = EventBatch.pack("node1", events, true);
+
+        // Act
+        topic.publish(batch);
+        topic.publish(batch);
+
+        // Assert
+        Assert.assertEquals(2, consumer2.callTrace.size());
+        Assert.assertEquals("event1", consumer2.callTrace.get(0));
+        Assert.assertEquals("event2", consumer2.callTrace.get(1));
+    }
+
+    @Test
+    public void validateCompressedBatchRoundTrip() {
+
+        // Assemble
+        final Map<String, Serializable> events = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            events.put("node1-" + i, "A rather repetitive event, number " + i);
+        }
+
+        // Act
+        final EventBatch plain = EventBatch.pack("node1", events, false);
+        final EventBatch compressed = EventBatch.pack("node1", events, true);
+
+        // Assert
+        Assert.assertTrue(compressed.isCompressed());
+        Assert.assertTrue(compressed.getPayloadSize() < plain.getPayloadSize());
+        Assert.assertEquals(events, plain.unpack(getClass().getClassLoader(), EVENTS));
+        Assert.assertEquals(events, compressed.unpack(getClass().getClassLoader(), EVENTS));
+    }
+
+    @Test
+    public void validateDisallowedEventTypesAreRejected() {
+
+        // Assemble
+        final Map<String, Serializable> events = new LinkedHashMap<>();
+        events.put("node1-1", new StringBuilder("event1"));
+        final EventBatch batch = EventBatch.pack("node1", events, false);
+
+        // Act & Assert
+        try {
+            batch.unpack(getClass().getClassLoader(), EVENTS);
+            Assert.fail("Event types not allowed by the DeserializationFilter should be rejected.");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        Assert.assertEquals(events.toString(), batch.unpack(getClass().getClassLoader(),
+                new DeserializationFilter("java.lang.StringBuilder", "java.lang.AbstractStringBuilder"))
+                .toString());
+    }
+
+    @Test
+    public void validateInflatedSizeOfBatchesIsCapped() {
+
+        // Assemble
+        final Map<String, Serializable> events = new LinkedHashMap<>();
+        events.put("node1-1", new byte[100000]);
+        final EventBatch batch = EventBatch.pack("node1", events, true);
+        final DeserializationFilter small = new DeserializationFilter(10, 1000000, 1000, 1000, "*");
+
+        // Act & Assert
+        Assert.assertTrue(batch.getPayloadSize() < 1000);
+        try {
+            batch.unpack(getClass().getClassLoader(), small);
+            Assert.fail("EventBatches inflating beyond the maximum number of bytes should be rejected.");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        Assert.assertEquals(100000, ((byte[]) batch.unpack(getClass().getClassLoader(),
+                DeserializationFilter.DEFAULT).get("node1-1")).length);
+    }
+
+    @Test
+    public void validateDisallowedInboundEventsAreNotDelivered() {
+
+        // Assemble
+        final TopicEventPublisher<String> node2 = createPublisher("node2", 0, false);
+        final TraceConsumer consumer2 = new TraceConsumer("consumer2");
+        node2.addConsumer(consumer2);
+
+        final Map<String, Serializable> events = new LinkedHashMap<>();
+        events.put("node1-1", new StringBuilder("event1"));
+
+        // Act
+        topic.publish(EventBatch.pack("node1", events, true));
+
+        // Assert
+        Assert.assertSame(EVENTS, node2.getDeserializationFilter());
+        Assert.assertEquals(0, consumer2.callTrace.size());
+    }
+
+    @Test
+    public void validateCloseFlushesAndDeregisters() {
+
+        // Assemble
+        final TopicEventPublisher<String> node1 = createPublisher("node1", 60000L, false);
+        node1.publish("event1");
+
+        // Act
+        node1.close();
+        node1.close();
+
+        // Assert
+        Assert.assertEquals(1, topic.published.size());
+        Assert.assertEquals(0, topic.getNumListeners());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void validateExceptionOnPublishingWhenClosed() {
+
+        // Assemble
+        final TopicEventPublisher<String> node1 = createPublisher("node1", 0, false);
+        node1.close();
+
+        // Act & Assert
+        node1.publish("event1");
+    }
+
+    @Test
+    public void validateConsumerIdManipulations() {
+
+        // Assemble
+        final TopicEventPublisher<String> unitUnderTest = createPublisher("node1", 0, false);
+        final TraceConsumer consumer = new TraceConsumer("consumer1");
+
+        // Act
+        final String consumerID = unitUnderTest.addConsumer(consumer);
+        final String secondConsumerID = unitUnderTest.addConsumer(consumer);
+
+        // Assert
+        Assert.assertEquals("consumer1", consumerID);
+        Assert.assertEquals(consumerID, secondConsumerID);
+        Assert.assertEquals(1, unitUnderTest.getConsumerIDs().size());
+        Assert.assertSame(consumer, unitUnderTest.getConsumer(consumerID));
+        Assert.assertNull(unitUnderTest.getConsumer("someNonexistentConsumerId"));
+        Assert.assertFalse(unitUnderTest.removeConsumer("someNonexistentConsumerId"));
+        Assert.assertTrue(unitUnderTest.removeConsumer(consumerID));
+        Assert.assertEquals(0, unitUnderTest.getConsumerIDs().size());
+    }
+
+    @Test
+    public void validateNoEventsAreLostWhenClosingConcurrently() throws Exception {
+
+        // Assemble
+        final TopicEventPublisher<String> unitUnderTest = createPublisher("node1", 60000L, false);
+        final AtomicInteger accepted = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(4);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                started.countDown();
+                for (int j = 0; j < 10000; j++) {
+                    try {
+                        unitUnderTest.publish("event_" + j);
+                        accepted.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                }
+            }));
+        }
+
+        // Act
+        threads.forEach(Thread::start);
+        started.await();
+        unitUnderTest.close();
+        for (Thread current : threads) {
+            current.join();
+        }
+
+        // Assert
+        int numPublished = 0;
+        for (EventBatch current : topic.published) {
+            numPublished += current.size();
+        }
+        Assert.assertEquals(accepted.get(), numPublished);
+    }
+
+    //
+    // Private helpers
+    //
+
+    private TopicEventPublisher<String> createPublisher(final String id,
+                                                       final long flushIntervalMillis,
+                                                       final boolean compress) {
+        final TopicEventPublisher<String> toReturn = new TopicEventPublisher<>(
+                new ConstantIdGenerator(id), topic, flushIntervalMillis, 10, compress, EVENTS);
+        publishers.add(toReturn);
+        return toReturn;
+    }
+}
@@ -0,0 +1,82 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-event-spi-topic
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.event.spi.topic.helpers;
+
+import se.jguru.nazgul.core.cache.api.distributed.async.LightweightTopic;
+import se.jguru.nazgul.core.cache.api.distributed.async.LightweightTopicListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory LightweightTopic stand-in, synchronously delivering each published message
+ * to all registered listeners - i.e. simulating a cluster-wide topic within a single JVM.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class InMemoryLightweightTopic<M> implements LightweightTopic<M> {
+
+    // Internal state
+    private String clusterId;
+    private Map<String, LightweightTopicListener<M>> listeners;
+    public List<M> published;
+
+    public InMemoryLightweightTopic(final String clusterId) {
+        this.clusterId = clusterId;
+        this.listeners = new ConcurrentSkipListMap<>();
+        this.published = new ArrayList<>();
+    }
+
+    @Override
+    public void publish(final M message) {
+
+        synchronized (this) {
+            published.add(message);
+        }
+
+        for (LightweightTopicListener<M> current : listeners.values()) {
+            current.onMessage(message);
+        }
+    }
+
+    @Override
+    public void addListener(final LightweightTopicListener<M> listener) {
+        listeners.put(listener.getClusterId(), listener);
+    }
+
+    @Override
+    public void removeListener(final LightweightTopicListener<M> listener) {
+        listeners.remove(listener.getClusterId());
+    }
+
+    public int getNumListeners() {
+        return listeners.size();
+    }
+
+    @Override
+    public String getClusterId() {
+        return clusterId;
+    }
+}
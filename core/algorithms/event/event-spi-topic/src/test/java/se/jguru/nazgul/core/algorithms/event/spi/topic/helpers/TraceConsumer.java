@@ -0,0 +1,54 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-algorithms-event-spi-topic
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.algorithms.event.spi.topic.helpers;
+
+import se.jguru.nazgul.core.cache.api.distributed.async.LightweightTopicListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * LightweightTopicListener tracing all received messages.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class TraceConsumer implements LightweightTopicListener<String> {
+
+    // Internal state
+    private String clusterId;
+    public List<String> callTrace = new CopyOnWriteArrayList<>();
+
+    public TraceConsumer(final String clusterId) {
+        this.clusterId = clusterId;
+    }
+
+    @Override
+    public void onMessage(final String message) {
+        callTrace.add(message);
+    }
+
+    @Override
+    public String getClusterId() {
+        return clusterId;
+    }
+}
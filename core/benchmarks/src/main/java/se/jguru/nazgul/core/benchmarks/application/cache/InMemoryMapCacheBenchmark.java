@@ -0,0 +1,222 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ExecutorStrategies;
+import se.jguru.nazgul.core.cache.api.AbstractCacheListener;
+import se.jguru.nazgul.core.cache.api.CacheListener;
+import se.jguru.nazgul.core.cache.impl.inmemory.InMemoryMapCache;
+import se.jguru.nazgul.core.clustering.api.UUIDGenerator;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks get and put operations on an {@link InMemoryMapCache}, with and without registered CacheListeners.
+ * Listeners are notified on the calling thread, implying that the measured put time includes the
+ * listener notification overhead.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryMapCacheBenchmark {
+
+    /**
+     * The number of distinct keys within the cache.
+     */
+    private static final int NUM_KEYS = 1024;
+
+    /**
+     * The number of CacheListeners registered to the cache.
+     */
+    @Param({"0", "4"})
+    public int numListeners;
+
+    // Internal state
+    private InMemoryMapCache unitUnderTest;
+    private String[] keys;
+    private String[] values;
+
+    /**
+     * Creates and populates the InMemoryMapCache, and registers the CacheListeners.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        unitUnderTest = new InMemoryMapCache(UUIDGenerator.getInstance(),
+                20 * 60 * 1000L,
+                new ConcurrentHashMap<String, Serializable>(),
+                new ConcurrentHashMap<String, CacheListener<String, Serializable>>(),
+                ExecutorStrategies.callerRuns(),
+                false);
+
+        keys = new String[NUM_KEYS];
+        values = new String[NUM_KEYS];
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keys[i] = "key_" + i;
+            values[i] = "value_" + i;
+            unitUnderTest.put(keys[i], values[i]);
+        }
+
+        for (int i = 0; i < numListeners; i++) {
+            unitUnderTest.addListener(new CountingCacheListener("listener_" + i));
+        }
+    }
+
+    /**
+     * Releases the listener notification resources of the InMemoryMapCache.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        unitUnderTest.close();
+    }
+
+    /**
+     * Benchmarks retrieving existing values from the cache.
+     *
+     * @param cursor The per-thread key cursor.
+     * @return The value retrieved from the cache.
+     */
+    @Benchmark
+    public Serializable get(final KeyCursor cursor) {
+        return unitUnderTest.get(keys[cursor.next()]);
+    }
+
+    /**
+     * Benchmarks updating existing values within the cache.
+     *
+     * @param cursor The per-thread key cursor.
+     * @return The previous value within the cache.
+     */
+    @Benchmark
+    public Serializable put(final KeyCursor cursor) {
+        final int index = cursor.next();
+        return unitUnderTest.put(keys[index], values[index]);
+    }
+
+    /**
+     * Per-thread cursor cycling through the keys of the cache.
+     */
+    @State(Scope.Thread)
+    public static class KeyCursor {
+
+        // Internal state
+        private int index;
+
+        /**
+         * @return The next key index to use.
+         */
+        public int next() {
+            index = (index + 1) & (NUM_KEYS - 1);
+            return index;
+        }
+    }
+
+    /**
+     * CacheListener counting all put and update events, implying that the
+     * listener notification cannot be eliminated by the JIT compiler.
+     */
+    public static class CountingCacheListener extends AbstractCacheListener<String, Serializable> {
+
+        // Internal state
+        private static final long serialVersionUID = 8829990102L;
+        private long numEvents;
+
+        /**
+         * Externalizable-friendly constructor.
+         */
+        public CountingCacheListener() {
+            super();
+        }
+
+        /**
+         * Creates a new CountingCacheListener with the supplied id.
+         *
+         * @param id The identifier of this CountingCacheListener.
+         */
+        public CountingCacheListener(final String id) {
+            super(id);
+        }
+
+        /**
+         * @return The number of events received by this CountingCacheListener.
+         */
+        public long getNumEvents() {
+            return numEvents;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void doOnPut(final String key, final Serializable value) {
+            numEvents++;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void doOnUpdate(final String key, final Serializable newValue, final Serializable oldValue) {
+            numEvents++;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void performWriteExternal(final ObjectOutput out) throws IOException {
+            out.writeLong(numEvents);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void performReadExternal(final ObjectInput in) throws IOException {
+            numEvents = in.readLong();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.algorithms.api.collections.CollectionAlgorithms;
+import se.jguru.nazgul.core.algorithms.api.collections.predicate.Filter;
+import se.jguru.nazgul.core.algorithms.api.collections.predicate.Transformer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link CollectionAlgorithms#filter(java.util.Collection, Filter)} and
+ * {@link CollectionAlgorithms#transform(java.util.Collection, Transformer)} for Lists of varying size.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionAlgorithmsBenchmark {
+
+    /**
+     * The number of elements within the source List.
+     */
+    @Param({"100", "10000"})
+    public int numElements;
+
+    // Internal state
+    private List<Integer> source;
+    private Filter<Integer> evenFilter;
+    private Transformer<Integer, String> toStringTransformer;
+
+    /**
+     * Creates the source List, Filter and Transformer.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        source = new ArrayList<>(numElements);
+        for (int i = 0; i < numElements; i++) {
+            source.add(i);
+        }
+
+        evenFilter = candidate -> candidate % 2 == 0;
+        toStringTransformer = String::valueOf;
+    }
+
+    /**
+     * Benchmarks filtering the source List.
+     *
+     * @return The filtered List.
+     */
+    @Benchmark
+    public List<Integer> filter() {
+        return CollectionAlgorithms.filter(source, evenFilter);
+    }
+
+    /**
+     * Benchmarks transforming the source List.
+     *
+     * @return The transformed List.
+     */
+    @Benchmark
+    public List<String> transform() {
+        return CollectionAlgorithms.transform(source, toStringTransformer);
+    }
+}
@@ -0,0 +1,60 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.conversion;
+
+import se.jguru.nazgul.core.reflection.api.conversion.Converter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Converter class used by the {@link ConverterRegistryBenchmark}.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class BenchmarkConverters {
+
+    /**
+     * Converts a String to a StringBuilder.
+     *
+     * @param aString The string to convert.
+     * @return A StringBuilder containing the supplied aString.
+     */
+    @Converter
+    public StringBuilder convertToStringBuilder(final String aString) {
+        return new StringBuilder(aString);
+    }
+
+    /**
+     * Converts a Collection to a List.
+     *
+     * @param collection The collection to convert.
+     * @param <T>        The type of element within the collection.
+     * @return A List containing all elements of the supplied collection.
+     */
+    @Converter
+    public <T> List<T> convertToList(final Collection<T> collection) {
+        return new ArrayList<>(collection);
+    }
+}
@@ -0,0 +1,127 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.conversion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.reflection.api.conversion.TypeConverter;
+import se.jguru.nazgul.core.reflection.api.conversion.registry.PrioritizedTypeConverter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the invocation cost of a single {@code @Converter} method, comparing a direct call,
+ * reflective {@link Method#invoke(Object, Object...)}, a bound {@link MethodHandle} and the
+ * {@link TypeConverter} created by a {@link PrioritizedTypeConverter}.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterInvocationBenchmark {
+
+    // Internal state
+    private BenchmarkConverters converters;
+    private Method converterMethod;
+    private MethodHandle converterHandle;
+    private TypeConverter<String, StringBuilder> typeConverter;
+    private String source;
+
+    /**
+     * Creates the converter invocation variants and the conversion source.
+     *
+     * @throws Exception if the converter method could not be found.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        converters = new BenchmarkConverters();
+        converterMethod = BenchmarkConverters.class.getMethod("convertToStringBuilder", String.class);
+        converterHandle = MethodHandles.publicLookup().unreflect(converterMethod).bindTo(converters);
+
+        final PrioritizedTypeConverter<String> prioritizedTypeConverter =
+                new PrioritizedTypeConverter<>(String.class);
+        prioritizedTypeConverter.add(converters);
+        typeConverter = prioritizedTypeConverter.getTypeConverters(StringBuilder.class).get(0);
+
+        source = "Some string to convert";
+    }
+
+    /**
+     * Baseline: invokes the converter method directly.
+     *
+     * @return The conversion result.
+     */
+    @Benchmark
+    public StringBuilder direct() {
+        return converters.convertToStringBuilder(source);
+    }
+
+    /**
+     * Invokes the converter method using standard reflection.
+     *
+     * @return The conversion result.
+     * @throws Exception if the reflective invocation failed.
+     */
+    @Benchmark
+    public Object reflective() throws Exception {
+        return converterMethod.invoke(converters, source);
+    }
+
+    /**
+     * Invokes the converter method through a MethodHandle bound to the converter instance.
+     *
+     * @return The conversion result.
+     * @throws Throwable if the invocation failed.
+     */
+    @Benchmark
+    public StringBuilder methodHandle() throws Throwable {
+        return (StringBuilder) converterHandle.invoke(source);
+    }
+
+    /**
+     * Invokes the converter method through the TypeConverter created by the PrioritizedTypeConverter.
+     *
+     * @return The conversion result.
+     */
+    @Benchmark
+    public StringBuilder typeConverter() {
+        return typeConverter.convert(source);
+    }
+}
@@ -0,0 +1,97 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.conversion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.reflection.api.conversion.registry.DefaultConverterRegistry;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DefaultConverterRegistry#convert(Object, Class)} for exact matches
+ * (i.e. where a converter is registered for the runtime type of the source), and fuzzy
+ * matches (i.e. where the registry must find the closest registered source type).
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterRegistryBenchmark {
+
+    // Internal state
+    private DefaultConverterRegistry unitUnderTest;
+    private String exactSource;
+    private Set<String> fuzzySource;
+
+    /**
+     * Creates the DefaultConverterRegistry and the conversion sources.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        unitUnderTest = new DefaultConverterRegistry();
+        unitUnderTest.add(new BenchmarkConverters());
+
+        exactSource = "Some string to convert";
+        fuzzySource = new HashSet<>(Arrays.asList("foo", "bar", "gnat", "baz"));
+    }
+
+    /**
+     * Benchmarks converting a String to a StringBuilder, for which an exact converter is registered.
+     *
+     * @return The conversion result.
+     */
+    @Benchmark
+    public StringBuilder convertExact() {
+        return unitUnderTest.convert(exactSource, StringBuilder.class);
+    }
+
+    /**
+     * Benchmarks converting a HashSet to a List, which requires fuzzy lookup of the
+     * Collection converter.
+     *
+     * @return The conversion result.
+     */
+    @Benchmark
+    public List convertFuzzy() {
+        return unitUnderTest.convert(fuzzySource, List.class);
+    }
+}
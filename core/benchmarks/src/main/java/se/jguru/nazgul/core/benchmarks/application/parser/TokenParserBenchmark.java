@@ -0,0 +1,109 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.parser.api.CompiledTemplate;
+import se.jguru.nazgul.core.parser.api.DefaultTokenParser;
+import se.jguru.nazgul.core.parser.api.agent.DefaultParserAgent;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DefaultTokenParser#substituteTokens(String)} for data containing
+ * static tokens, dynamic (system property) tokens and unknown tokens.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenParserBenchmark {
+
+    /**
+     * The number of static replacement tokens known to the DefaultParserAgent.
+     */
+    @Param({"5", "50"})
+    public int numStaticTokens;
+
+    // Internal state
+    private DefaultTokenParser unitUnderTest;
+    private String data;
+    private CompiledTemplate compiledTemplate;
+
+    /**
+     * Creates the DefaultTokenParser, its DefaultParserAgent and the data to parse.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        final Map<String, String> staticTokens = new TreeMap<>();
+        for (int i = 0; i < numStaticTokens; i++) {
+            staticTokens.put("token" + i, "value" + i);
+        }
+
+        unitUnderTest = new DefaultTokenParser();
+        unitUnderTest.addAgent(new DefaultParserAgent(staticTokens));
+
+        data = "Dear ${token0}, your home directory is [${sysprop:user.home}] and ${unknownToken} "
+                + "was not replaced. The last token is ${token" + (numStaticTokens - 1) + "}, whereas "
+                + "this text holds no further tokens at all. Regards, ${token1}.";
+        compiledTemplate = unitUnderTest.compile(data);
+    }
+
+    /**
+     * Benchmarks substituting all tokens within the data.
+     *
+     * @return The token-substituted data.
+     */
+    @Benchmark
+    public String substituteTokens() {
+        return unitUnderTest.substituteTokens(data);
+    }
+
+    /**
+     * Benchmarks substituting all tokens within the pre-compiled data.
+     *
+     * @return The token-substituted data.
+     */
+    @Benchmark
+    public String substituteTokensInCompiledTemplate() {
+        return unitUnderTest.substituteTokens(compiledTemplate);
+    }
+}
@@ -0,0 +1,173 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.properties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.algorithms.api.PropertyPath;
+import se.jguru.nazgul.core.algorithms.api.TypeAlgorithms;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks evaluating the three-step property path {@code customer.address.city}, comparing direct
+ * getter calls, a chain of reflective {@link Method#invoke(Object, Object...)} calls,
+ * {@link TypeAlgorithms#getProperty(Object, String)} and a pre-compiled {@link PropertyPath}.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyPathBenchmark {
+
+    private static final String EXPRESSION = "customer.address.city";
+
+    // Internal state
+    private Order order;
+    private Method[] getters;
+    private PropertyPath propertyPath;
+
+    /**
+     * Creates the object graph, the reflective getters and the compiled PropertyPath.
+     *
+     * @throws Exception if the getters could not be found.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        order = new Order(new Customer(new Address("Stockholm")));
+        getters = new Method[]{
+                Order.class.getMethod("getCustomer"),
+                Customer.class.getMethod("getAddress"),
+                Address.class.getMethod("getCity")};
+        propertyPath = PropertyPath.compile(Order.class, EXPRESSION);
+    }
+
+    /**
+     * Baseline: invokes the getters directly.
+     *
+     * @return The city.
+     */
+    @Benchmark
+    public String direct() {
+        return order.getCustomer().getAddress().getCity();
+    }
+
+    /**
+     * Invokes the getters using standard reflection.
+     *
+     * @return The city.
+     * @throws Exception if the reflective invocation failed.
+     */
+    @Benchmark
+    public Object reflective() throws Exception {
+
+        Object current = order;
+        for (Method getter : getters) {
+            current = getter.invoke(current);
+        }
+        return current;
+    }
+
+    /**
+     * Evaluates the property expression using TypeAlgorithms.getProperty.
+     *
+     * @return The city.
+     */
+    @Benchmark
+    public Object getProperty() {
+        return TypeAlgorithms.getProperty(order, EXPRESSION);
+    }
+
+    /**
+     * Evaluates the pre-compiled PropertyPath.
+     *
+     * @return The city.
+     */
+    @Benchmark
+    public Object compiledPath() {
+        return propertyPath.evaluate(order);
+    }
+
+    /**
+     * JavaBean root type.
+     */
+    public static class Order {
+
+        private final Customer customer;
+
+        public Order(final Customer customer) {
+            this.customer = customer;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+    }
+
+    /**
+     * JavaBean intermediary type.
+     */
+    public static class Customer {
+
+        private final Address address;
+
+        public Customer(final Address address) {
+            this.address = address;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+    }
+
+    /**
+     * JavaBean leaf type.
+     */
+    public static final class Address {
+
+        private final String city;
+
+        public Address(final String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.serialization;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.reflection.api.serialization.Armour;
+import se.jguru.nazgul.core.reflection.api.serialization.Serializer;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Serializer#serialize(java.io.Serializable, Armour)} and {@link Serializer#deSerialize(String)}
+ * for object graphs of varying size, using all available Armours.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+    /**
+     * The number of Strings within the serialized List.
+     */
+    @Param({"10", "1000"})
+    public int numElements;
+
+    /**
+     * The Armour wrapping the serialized List.
+     */
+    @Param({"HEX", "BASE64", "DEFLATED_BASE64"})
+    public Armour armour;
+
+    // Internal state
+    private ArrayList<String> toSerialize;
+    private String serialized;
+
+    /**
+     * Creates the object graph to serialize, and its serialized form.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        toSerialize = new ArrayList<>(numElements);
+        for (int i = 0; i < numElements; i++) {
+            toSerialize.add("element_" + i);
+        }
+
+        serialized = Serializer.serialize(toSerialize, armour);
+    }
+
+    /**
+     * Benchmarks serializing the object graph.
+     *
+     * @return The serialized form of the object graph.
+     */
+    @Benchmark
+    public String serialize() {
+        return Serializer.serialize(toSerialize, armour);
+    }
+
+    /**
+     * Benchmarks de-serializing the object graph.
+     *
+     * @return The de-serialized object graph.
+     */
+    @Benchmark
+    public Object deSerialize() {
+        return Serializer.deSerialize(serialized);
+    }
+}
@@ -0,0 +1,110 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.tree;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.algorithms.api.trees.node.Node;
+import se.jguru.nazgul.core.algorithms.tree.api.common.SimpleTree;
+import se.jguru.nazgul.core.algorithms.tree.model.node.StringNode;
+import se.jguru.nazgul.core.algorithms.tree.model.path.StringPath;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link SimpleTree#get(se.jguru.nazgul.core.algorithms.api.trees.path.Path)} for
+ * trees of varying width, where the requested node is found at depth 3.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimpleTreeBenchmark {
+
+    /**
+     * The number of children of each non-leaf node within the tree.
+     */
+    @Param({"5", "50"})
+    public int width;
+
+    // Internal state
+    private SimpleTree<String, String> unitUnderTest;
+    private StringPath lastLeafPath;
+    private StringPath missingPath;
+
+    /**
+     * Creates and populates the SimpleTree, and the paths to search for.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        final StringNode root = new StringNode("root", "rootValue", null);
+        for (int i = 0; i < width; i++) {
+
+            final StringNode child = new StringNode("child_" + i, "childValue_" + i, root);
+            for (int j = 0; j < width; j++) {
+                new StringNode("leaf_" + i + "_" + j, "leafValue_" + i + "_" + j, child);
+            }
+        }
+
+        unitUnderTest = new SimpleTree<>(root);
+
+        final int last = width - 1;
+        lastLeafPath = new StringPath("root/child_" + last + "/leaf_" + last + "_" + last);
+        missingPath = new StringPath("root/child_" + last + "/nonexistent");
+    }
+
+    /**
+     * Benchmarks acquiring the last leaf node of the tree.
+     *
+     * @return The found leaf node.
+     */
+    @Benchmark
+    public Node<String, String> getExisting() {
+        return unitUnderTest.get(lastLeafPath);
+    }
+
+    /**
+     * Benchmarks searching for a node which does not exist within the tree.
+     *
+     * @return null, as the node should not be found.
+     */
+    @Benchmark
+    public Node<String, String> getMissing() {
+        return unitUnderTest.get(missingPath);
+    }
+}
@@ -0,0 +1,91 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.xmlbinding;
+
+import se.jguru.nazgul.core.xmlbinding.api.XmlBinder;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * Simple JAXB-annotated type used by the {@link JaxbXmlBinderBenchmark}.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@XmlType(namespace = XmlBinder.CORE_NAMESPACE, propOrder = {"name", "email"})
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BenchmarkPerson {
+
+    // Internal state
+    @XmlElement(required = true)
+    private String name;
+
+    @XmlElement
+    private String email;
+
+    @XmlAttribute(required = true)
+    private int age;
+
+    /**
+     * JAXB-friendly constructor.
+     */
+    public BenchmarkPerson() {
+    }
+
+    /**
+     * Compound constructor creating a BenchmarkPerson wrapping the supplied data.
+     *
+     * @param name  The name of this BenchmarkPerson.
+     * @param email The email address of this BenchmarkPerson.
+     * @param age   The age of this BenchmarkPerson.
+     */
+    public BenchmarkPerson(final String name, final String email, final int age) {
+        this.name = name;
+        this.email = email;
+        this.age = age;
+    }
+
+    /**
+     * @return The name of this BenchmarkPerson.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The email address of this BenchmarkPerson.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * @return The age of this BenchmarkPerson.
+     */
+    public int getAge() {
+        return age;
+    }
+}
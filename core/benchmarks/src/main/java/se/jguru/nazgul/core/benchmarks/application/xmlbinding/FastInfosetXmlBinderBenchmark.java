@@ -0,0 +1,159 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.xmlbinding;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.xmlbinding.spi.fastinfoset.FastInfosetXmlBinder;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.JaxbXmlBinder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput and payload size of the Fast Infoset (binary) XmlBinder with the
+ * JAXB (textual XML) XmlBinder, for a varying number of JAXB-annotated objects.
+ * The payload sizes are reported as the secondary {@code bytes} result of each marshal benchmark, holding the
+ * total number of bytes marshalled; divide by the number of operations to get the size of each payload.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FastInfosetXmlBinderBenchmark {
+
+    /**
+     * The number of objects marshalled or unmarshalled per invocation.
+     */
+    @Param({"1", "100"})
+    public int numObjects;
+
+    // Internal state
+    private JaxbXmlBinder jaxbXmlBinder;
+    private FastInfosetXmlBinder fastInfosetXmlBinder;
+    private Object[] toMarshal;
+    private String marshalledXml;
+    private byte[] marshalledBinary;
+
+    /**
+     * Per-invocation payload size, reported as a secondary benchmark result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        /**
+         * The accumulated number of bytes marshalled.
+         */
+        public long bytes;
+    }
+
+    /**
+     * Creates the XmlBinders, the objects to marshal and the payloads to unmarshal.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        jaxbXmlBinder = new JaxbXmlBinder();
+        fastInfosetXmlBinder = new FastInfosetXmlBinder();
+
+        toMarshal = new Object[numObjects];
+        for (int i = 0; i < numObjects; i++) {
+            toMarshal[i] = new BenchmarkPerson("Person " + i, "person" + i + "@jguru.se", 20 + i % 50);
+        }
+
+        marshalledXml = jaxbXmlBinder.marshal(toMarshal);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        fastInfosetXmlBinder.marshal(out, toMarshal);
+        marshalledBinary = out.toByteArray();
+    }
+
+    /**
+     * Benchmarks marshalling the objects to textual XML.
+     *
+     * @param size The payload size counter.
+     * @return The marshalled XML.
+     */
+    @Benchmark
+    public String marshalXml(final PayloadSize size) {
+
+        final String toReturn = jaxbXmlBinder.marshal(toMarshal);
+        size.bytes += toReturn.getBytes(StandardCharsets.UTF_8).length;
+        return toReturn;
+    }
+
+    /**
+     * Benchmarks marshalling the objects to Fast Infoset.
+     *
+     * @param size The payload size counter.
+     * @return The marshalled Fast Infoset document.
+     */
+    @Benchmark
+    public byte[] marshalFastInfoset(final PayloadSize size) {
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(marshalledBinary.length);
+        fastInfosetXmlBinder.marshal(out, toMarshal);
+        size.bytes += out.size();
+        return out.toByteArray();
+    }
+
+    /**
+     * Benchmarks unmarshalling the objects from textual XML.
+     *
+     * @return The unmarshalled objects.
+     */
+    @Benchmark
+    public List<Object> unmarshalXml() {
+        return jaxbXmlBinder.unmarshal(new StringReader(marshalledXml));
+    }
+
+    /**
+     * Benchmarks unmarshalling the objects from Fast Infoset.
+     *
+     * @return The unmarshalled objects.
+     */
+    @Benchmark
+    public List<Object> unmarshalFastInfoset() {
+        return fastInfosetXmlBinder.unmarshal(new ByteArrayInputStream(marshalledBinary));
+    }
+}
@@ -0,0 +1,116 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.xmlbinding;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.JaxbNamespacePrefixResolver;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.JaxbUtils;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.transport.EntityTransporter;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares marshalling using a freshly created and configured Marshaller per invocation to
+ * marshalling using a Marshaller acquired from (and released to) the pool within JaxbUtils.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JaxbMarshallerPoolBenchmark {
+
+    /**
+     * The number of objects marshalled per invocation.
+     */
+    @Param({"1", "100"})
+    public int numObjects;
+
+    // Internal state
+    private final JaxbNamespacePrefixResolver resolver = new JaxbNamespacePrefixResolver();
+    private EntityTransporter<Object> transporter;
+    private JAXBContext ctx;
+
+    /**
+     * Creates the EntityTransporter to marshal, and its (cached) JAXBContext.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        transporter = new EntityTransporter<Object>();
+        for (int i = 0; i < numObjects; i++) {
+            transporter.addItem(new BenchmarkPerson("Person " + i, "person" + i + "@jguru.se", 20 + i % 50));
+        }
+
+        ctx = JaxbUtils.getJaxbContext(transporter, true);
+    }
+
+    /**
+     * Benchmarks marshalling using a new Marshaller for each invocation.
+     *
+     * @return The marshalled XML.
+     * @throws JAXBException if the marshalling failed.
+     */
+    @Benchmark
+    public String createMarshallerPerInvocation() throws JAXBException {
+
+        final Marshaller marshaller = JaxbUtils.getHumanReadableStandardMarshaller(ctx, resolver, true);
+        final StringWriter out = new StringWriter();
+        marshaller.marshal(transporter, out);
+        return out.toString();
+    }
+
+    /**
+     * Benchmarks marshalling using a pooled Marshaller.
+     *
+     * @return The marshalled XML.
+     * @throws JAXBException if the marshalling failed.
+     */
+    @Benchmark
+    public String pooledMarshaller() throws JAXBException {
+
+        final Marshaller marshaller = JaxbUtils.acquireMarshaller(ctx, resolver, true);
+        final StringWriter out = new StringWriter();
+        marshaller.marshal(transporter, out);
+        JaxbUtils.releaseMarshaller(ctx, marshaller);
+        return out.toString();
+    }
+}
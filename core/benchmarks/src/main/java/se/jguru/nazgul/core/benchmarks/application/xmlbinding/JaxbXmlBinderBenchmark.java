@@ -0,0 +1,103 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-benchmarks-application
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.benchmarks.application.xmlbinding;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.JaxbXmlBinder;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link JaxbXmlBinder#marshal(Object...)} and {@link JaxbXmlBinder#unmarshal(java.io.Reader)}
+ * for a varying number of JAXB-annotated objects.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JaxbXmlBinderBenchmark {
+
+    /**
+     * The number of objects marshalled or unmarshalled per invocation.
+     */
+    @Param({"1", "100"})
+    public int numObjects;
+
+    // Internal state
+    private JaxbXmlBinder unitUnderTest;
+    private Object[] toMarshal;
+    private String marshalled;
+
+    /**
+     * Creates the JaxbXmlBinder, the objects to marshal and the XML to unmarshal.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        unitUnderTest = new JaxbXmlBinder();
+
+        toMarshal = new Object[numObjects];
+        for (int i = 0; i < numObjects; i++) {
+            toMarshal[i] = new BenchmarkPerson("Person " + i, "person" + i + "@jguru.se", 20 + i % 50);
+        }
+
+        marshalled = unitUnderTest.marshal(toMarshal);
+    }
+
+    /**
+     * Benchmarks marshalling the objects to XML.
+     *
+     * @return The marshalled XML.
+     */
+    @Benchmark
+    public String marshal() {
+        return unitUnderTest.marshal(toMarshal);
+    }
+
+    /**
+     * Benchmarks unmarshalling the objects from XML.
+     *
+     * @return The unmarshalled objects.
+     */
+    @Benchmark
+    public List<Object> unmarshal() {
+        return unitUnderTest.unmarshal(new StringReader(marshalled));
+    }
+}
@@ -0,0 +1,152 @@
+#!/usr/bin/env python3
+#
+# #%L
+# Nazgul Project: nazgul-core-benchmarks-application
+# %%
+# Copyright (C) 2010 - 2018 jGuru Europe AB
+# %%
+# Licensed under the jGuru Europe AB license (the "License"), based
+# on Apache License, Version 2.0; you may not use this file except
+# in compliance with the License.
+#
+# You may obtain a copy of the License at
+#
+#       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+# #L%
+#
+"""
+Compares two JMH result files (as produced by "java -jar benchmarks.jar -rf json -rff <file>")
+and flags benchmarks whose score regressed by more than a given threshold.
+
+Usage:  compare_benchmarks.py [--threshold PERCENT] baseline.json candidate.json
+
+A benchmark is flagged as a regression only if its score changed for the worse by more than
+the threshold AND the difference exceeds the combined score errors of both runs. For
+throughput modes, a higher score is better; for all time-based modes, a lower score is better.
+
+Exit codes: 0 = no regressions, 1 = regressions found, 2 = usage or input error.
+"""
+
+import argparse
+import json
+import sys
+
+HIGHER_IS_BETTER_MODES = {"thrpt"}
+
+
+def load_results(path):
+    """Reads a JMH JSON result file into a dict keyed by (benchmark, params)."""
+    with open(path, "r", encoding="utf-8") as source:
+        results = json.load(source)
+
+    to_return = {}
+    for current in results:
+        params = current.get("params") or {}
+        key = (current["benchmark"], current["mode"], tuple(sorted(params.items())))
+        to_return[key] = current
+    return to_return
+
+
+def describe(key):
+    """Creates a human-readable description of a result key."""
+    benchmark, mode, params = key
+    param_text = ", ".join("%s=%s" % (name, value) for name, value in params)
+    return "%s [%s]%s" % (benchmark, mode, " (" + param_text + ")" if param_text else "")
+
+
+def error_of(metric):
+    """Retrieves the score error of a primary metric, treating NaN/missing as zero."""
+    error = metric.get("scoreError")
+    try:
+        error = float(error)
+    except (TypeError, ValueError):
+        return 0.0
+    return 0.0 if error != error else error
+
+
+def compare(baseline, candidate, threshold):
+    """Compares the results, returning (regressions, improvements, unchanged, missing) lists."""
+    regressions, improvements, unchanged, missing = [], [], [], []
+
+    for key in sorted(baseline):
+        if key not in candidate:
+            missing.append(key)
+            continue
+
+        old_metric = baseline[key]["primaryMetric"]
+        new_metric = candidate[key]["primaryMetric"]
+        old_score = float(old_metric["score"])
+        new_score = float(new_metric["score"])
+        unit = new_metric.get("scoreUnit", "")
+
+        if old_score == 0.0:
+            unchanged.append((key, old_score, new_score, 0.0, unit))
+            continue
+
+        # A positive change is always a change for the worse.
+        change = (new_score - old_score) / old_score * 100.0
+        if key[1] in HIGHER_IS_BETTER_MODES:
+            change = -change
+
+        significant = abs(new_score - old_score) > error_of(old_metric) + error_of(new_metric)
+        row = (key, old_score, new_score, change, unit)
+
+        if significant and change > threshold:
+            regressions.append(row)
+        elif significant and change < -threshold:
+            improvements.append(row)
+        else:
+            unchanged.append(row)
+
+    return regressions, improvements, unchanged, missing
+
+
+def print_rows(title, rows):
+    """Prints a titled table of comparison rows."""
+    if not rows:
+        return
+    print(title)
+    for key, old_score, new_score, change, unit in rows:
+        print("  %-90s %14.3f -> %14.3f %-10s (%+.1f%%)" % (describe(key), old_score, new_score, unit, change))
+    print()
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Flags regressions between two JMH JSON result files.")
+    parser.add_argument("baseline", help="JMH JSON result file of the baseline run")
+    parser.add_argument("candidate", help="JMH JSON result file of the candidate run")
+    parser.add_argument("--threshold", type=float, default=10.0,
+                        help="Percentage by which a score must worsen to be flagged (default: 10)")
+    arguments = parser.parse_args()
+
+    try:
+        baseline = load_results(arguments.baseline)
+        candidate = load_results(arguments.candidate)
+    except (IOError, ValueError, KeyError) as e:
+        print("Could not read JMH results: %s" % e, file=sys.stderr)
+        return 2
+
+    regressions, improvements, unchanged, missing = compare(baseline, candidate, arguments.threshold)
+
+    print_rows("REGRESSIONS (worse by more than %.1f%%):" % arguments.threshold, regressions)
+    print_rows("Improvements:", improvements)
+    print_rows("Unchanged (within threshold or score error):", unchanged)
+    if missing:
+        print("Missing from candidate run:")
+        for key in missing:
+            print("  " + describe(key))
+        print()
+
+    print("%d regression(s), %d improvement(s), %d unchanged, %d missing."
+          % (len(regressions), len(improvements), len(unchanged), len(missing)))
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -23,6 +23,9 @@
 package se.jguru.nazgul.core.cache.impl.inmemory;
 
 import se.jguru.nazgul.core.algorithms.api.Validate;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ExecutorStrategies;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ExecutorStrategy;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ManagedExecutor;
 import se.jguru.nazgul.core.cache.api.Cache;
 import se.jguru.nazgul.core.cache.api.CacheListener;
 import se.jguru.nazgul.core.cache.api.transaction.TransactedAction;
@@ -45,15 +48,26 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Abstract Map-backed implementation of the Cache interface.
+ * CacheListeners are notified asynchronously, using threads acquired from an {@link ExecutorStrategy}.
+ * Close the InMemoryMapCache when it is no longer used, to release its listener notification threads.
  *
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
  */
-public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<String, Serializable> {
+public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<String, Serializable>, AutoCloseable {
+
+    /**
+     * The ExecutorStrategy used by default constructed InMemoryMapCaches, implying that all
+     * such caches share a single pool of at most 15 listener notification threads.
+     */
+    public static final ExecutorStrategy DEFAULT_LISTENER_EXECUTOR_STRATEGY =
+            ExecutorStrategies.sharedPool("InMemoryCacheListener", 15);
+
+    // Marks the externalized format holding an ExecutorStrategy. Older formats held the (positive)
+    // number of listener threads in its place.
+    private static final int EXECUTOR_STRATEGY_FORMAT = -2;
 
     // Internal state
     private long timeoutMillis;
@@ -61,24 +75,52 @@ public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<
     private ConcurrentMap<String, CacheListener<String, Serializable>> listeners;
     private boolean fakeTransactions;
     private String threadPoolPrefix;
-    private int numEventListenerThreads;
+    private ExecutorStrategy listenerExecutorStrategy;
 
-    private transient ExecutorService listenerThreadService;
+    private transient ManagedExecutor listenerThreadService;
 
     /**
      * Default convenience constructor, using an UUIDGenerator, 20 minutes timeout,
-     * empty ConcurrentHashMaps for cache and listener maps, 15 threads in the pool
-     * and not faking transactedActions.
+     * empty ConcurrentHashMaps for cache and listener maps, the
+     * {@link #DEFAULT_LISTENER_EXECUTOR_STRATEGY} and not faking transactedActions.
      */
     public InMemoryMapCache() {
 
         this(UUIDGenerator.getInstance(), 20 * 60 * 60L,
                 new ConcurrentHashMap<String, Serializable>(),
                 new ConcurrentHashMap<String, CacheListener<String, Serializable>>(),
-                15,
+                DEFAULT_LISTENER_EXECUTOR_STRATEGY,
                 false);
     }
 
+    /**
+     * Creates a new InMemoryMapCache using a dedicated pool of numEventListenerThreads
+     * threads to notify CacheListeners.
+     *
+     * @param idGenerator             The ID generator used to acquire a cluster-unique
+     *                                identifier for this AbstractClusterable instance.
+     * @param timeoutMillis           The cache element timeout in milliseconds.
+     *                                A value of zero implies no timeout/autonomous eviction.
+     * @param cache                   The map used for caching instances.
+     * @param listeners               The map used for storing cache listeners.
+     * @param numEventListenerThreads The number of threads within the dedicated listener notification pool.
+     * @param fakeTransactions        if {@code true}, this InMemoryMapCache does not throw an
+     *                                UnsupportedOperationException when requested to perform transacted actions.
+     */
+    public InMemoryMapCache(final IdGenerator idGenerator,
+                            @Min(value = 1) final long timeoutMillis,
+                            @NotNull final ConcurrentMap<String, Serializable> cache,
+                            @NotNull final ConcurrentMap<String, CacheListener<String, Serializable>> listeners,
+                            final int numEventListenerThreads,
+                            final boolean fakeTransactions) {
+        this(idGenerator,
+                timeoutMillis,
+                cache,
+                listeners,
+                ExecutorStrategies.dedicatedPool(numEventListenerThreads),
+                fakeTransactions);
+    }
+
     /**
      * Creates a new AbstractIdentifiable and assigns the internal ID state.
      *
@@ -88,6 +130,7 @@ public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<
      *                         A value of zero implies no timeout/autonomous eviction.
      * @param cache            The map used for caching instances.
      * @param listeners        The map used for storing cache listeners.
+     * @param executorStrategy The ExecutorStrategy from which the threads notifying CacheListeners are acquired.
      * @param fakeTransactions if {@code true}, this InMemoryMapCache does not throw an UnsupportedOperationException
      *                         when requested to perform transacted actions.
      */
@@ -95,7 +138,7 @@ public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<
                             @Min(value = 1) final long timeoutMillis,
                             @NotNull final ConcurrentMap<String, Serializable> cache,
                             @NotNull final ConcurrentMap<String, CacheListener<String, Serializable>> listeners,
-                            final int numEventListenerThreads,
+                            @NotNull final ExecutorStrategy executorStrategy,
                             final boolean fakeTransactions) {
         super(idGenerator, false);
 
@@ -103,18 +146,27 @@ public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<
         Validate.isTrue(timeoutMillis > 0, "Cannot handle zero or negative milliseconds argument.");
         Validate.notNull(cache, "cache");
         Validate.notNull(listeners, "listeners");
+        Validate.notNull(executorStrategy, "executorStrategy");
 
         // Assign internal state
         this.timeoutMillis = timeoutMillis;
         this.cache = cache;
         this.listeners = listeners;
-        this.numEventListenerThreads = numEventListenerThreads;
+        this.listenerExecutorStrategy = executorStrategy;
         this.threadPoolPrefix = "InMemoryCacheListener-(" + hashCode() + ")";
-        listenerThreadService = Executors.newFixedThreadPool(
-                numEventListenerThreads, new NamedSequenceThreadFactory(threadPoolPrefix));
+        listenerThreadService = executorStrategy.acquire(threadPoolPrefix);
         this.fakeTransactions = fakeTransactions;
     }
 
+    /**
+     * Releases the listener notification threads of this InMemoryMapCache, after which no
+     * CacheListeners are notified of changes. Closing an already closed InMemoryMapCache has no effect.
+     */
+    @Override
+    public void close() {
+        listenerThreadService.close();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -125,7 +177,7 @@ public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<
         final Serializable oldValue = cache.remove(key);
 
         // Notify any listeners
-        if (!listeners.isEmpty()) {
+        if (!listeners.isEmpty() && !listenerThreadService.isClosed()) {
 
             final Set<CacheListener<String, Serializable>> localListeners
                     = new HashSet<CacheListener<String, Serializable>>(listeners.values());
@@ -148,7 +200,7 @@ public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<
         final Serializable oldValue = cache.put(key, value);
 
         // Notify any listeners
-        if (!listeners.isEmpty()) {
+        if (!listeners.isEmpty() && !listenerThreadService.isClosed()) {
 
             final Set<CacheListener<String, Serializable>> localListeners
                     = new HashSet<CacheListener<String, Serializable>>(listeners.values());
@@ -224,7 +276,8 @@ public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<
         // Write out state
         out.writeLong(timeoutMillis);
         out.writeBoolean(fakeTransactions);
-        out.writeInt(numEventListenerThreads);
+        out.writeInt(EXECUTOR_STRATEGY_FORMAT);
+        out.writeObject(listenerExecutorStrategy);
         out.writeUTF(threadPoolPrefix);
         out.writeObject(listeners);
         out.writeObject(cache);
@@ -239,14 +292,18 @@ public class InMemoryMapCache extends AbstractSwiftClusterable implements Cache<
         // Read in state
         timeoutMillis = in.readLong();
         fakeTransactions = in.readBoolean();
-        numEventListenerThreads = in.readInt();
+
+        // Caches externalized in the older format hold the number of threads in a dedicated pool.
+        final int formatOrNumThreads = in.readInt();
+        listenerExecutorStrategy = formatOrNumThreads == EXECUTOR_STRATEGY_FORMAT
+                ? (ExecutorStrategy) in.readObject()
+                : ExecutorStrategies.dedicatedPool(formatOrNumThreads);
         threadPoolPrefix = in.readUTF();
         listeners = (ConcurrentMap<String, CacheListener<String, Serializable>>) in.readObject();
         cache = (ConcurrentMap<String, Serializable>) in.readObject();
 
-        // Re-create the (transient) ExecutorService
-        this.listenerThreadService = Executors.newFixedThreadPool(
-                numEventListenerThreads, new NamedSequenceThreadFactory(threadPoolPrefix));
+        // Re-acquire the (transient) ManagedExecutor
+        this.listenerThreadService = listenerExecutorStrategy.acquire(threadPoolPrefix);
     }
 
     /**
@@ -22,26 +22,20 @@
 
 package se.jguru.nazgul.core.cache.impl.inmemory;
 
-import se.jguru.nazgul.core.algorithms.api.Validate;
-
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ThreadFactory which gives all made Threads a name and sequence number.
  *
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ * @deprecated Moved to the algorithms-api, to be shared by all ExecutorStrategy implementations.
+ * Use {@link se.jguru.nazgul.core.algorithms.api.concurrent.NamedSequenceThreadFactory} instead.
  */
-public class NamedSequenceThreadFactory implements ThreadFactory {
-
-    // Internal state
-    private final AtomicInteger sequenceCounter = new AtomicInteger(0);
-    private String threadNamePrefix;
-    private int maxSequenceNumber;
-    private final Object lock = new Object();
+@Deprecated
+public class NamedSequenceThreadFactory
+        extends se.jguru.nazgul.core.algorithms.api.concurrent.NamedSequenceThreadFactory {
 
     /**
      * Convenience constructor using {@code Integer.MAX_VALUE} for the maximum sequence number.
@@ -49,7 +43,7 @@ public class NamedSequenceThreadFactory implements ThreadFactory {
      * @param threadNamePrefix A string prepended to the name of any Thread created by this NamedSequenceThreadFactory.
      */
     public NamedSequenceThreadFactory(final String threadNamePrefix) {
-        this(threadNamePrefix, Integer.MAX_VALUE);
+        super(threadNamePrefix);
     }
 
     /**
@@ -60,38 +54,6 @@ public class NamedSequenceThreadFactory implements ThreadFactory {
      */
     public NamedSequenceThreadFactory(@NotNull @Size(min = 1) final String threadNamePrefix,
                                       @Min(1) final int maxSequenceNumber) {
-        // Check sanity
-        Validate.notEmpty(threadNamePrefix, "threadNamePrefix");
-        Validate.isTrue(maxSequenceNumber > 0, "Cannot handle zero or negative maxSequenceNumber argument.");
-
-        // Assign internal state
-        this.threadNamePrefix = threadNamePrefix;
-        this.maxSequenceNumber = maxSequenceNumber;
-    }
-
-    /**
-     * Constructs a new {@code Thread}, using a default threadname on the form
-     * {@code threadNamePrefix-nn}, where {@code nn} is the sequence number of the
-     * retrieved Thread.
-     *
-     * @param runnable a runnable to be executed by new thread instance.
-     * @return constructed thread, or {@code null} if the request to
-     * create a thread is rejected
-     */
-    @Override
-    @SuppressWarnings("all")
-    public Thread newThread(@NotNull final Runnable runnable) {
-
-        // Check sanity
-        Validate.notNull(runnable, "runnable");
-
-        synchronized (lock) {
-            if (sequenceCounter.get() == maxSequenceNumber) {
-                sequenceCounter.set(0);
-            }
-        }
-
-        // All done.
-        return new Thread(runnable, threadNamePrefix + "-" + sequenceCounter.getAndIncrement());
+        super(threadNamePrefix, maxSequenceNumber);
     }
 }
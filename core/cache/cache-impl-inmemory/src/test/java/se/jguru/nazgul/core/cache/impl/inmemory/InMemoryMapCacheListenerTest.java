@@ -24,9 +24,11 @@
 
 package se.jguru.nazgul.core.cache.impl.inmemory;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import se.jguru.nazgul.core.algorithms.api.concurrent.ExecutorStrategies;
 import se.jguru.nazgul.core.cache.api.CacheListener;
 import se.jguru.nazgul.core.clustering.api.UUIDGenerator;
 
@@ -58,6 +60,11 @@ public class InMemoryMapCacheListenerTest {
                 true);
     }
 
+    @After
+    public void teardownSharedState() {
+        unitUnderTest.close();
+    }
+
     @Test
     public void validateSilentRemovalOfNonExistentCacheListener() {
 
@@ -152,4 +159,29 @@ public class InMemoryMapCacheListenerTest {
         Assert.assertTrue(callTrace.contains("onUpdate [" + key + "]: value --> value2"));
         Assert.assertTrue(callTrace.contains("onRemove [" + key + "]: value2"));
     }
+
+    @Test
+    public void validateListenerNotificationUsingSuppliedExecutorStrategy() {
+
+        // Assemble
+        final String key = "key";
+        final MockCacheListener listener = new MockCacheListener("testListener");
+        final InMemoryMapCache callerRunsCache = new InMemoryMapCache(UUIDGenerator.getInstance(),
+                2000L,
+                new ConcurrentHashMap<String, Serializable>(),
+                new ConcurrentHashMap<String, CacheListener<String, Serializable>>(),
+                ExecutorStrategies.callerRuns(),
+                true);
+        callerRunsCache.addListener(listener);
+
+        // Act
+        callerRunsCache.put(key, "value");
+        callerRunsCache.close();
+        callerRunsCache.put(key, "value2");
+
+        // Assert
+        final List<String> callTrace = listener.callStack;
+        Assert.assertEquals(1, callTrace.size());
+        Assert.assertEquals("onPut [" + key + "]: value", callTrace.get(0));
+    }
 }
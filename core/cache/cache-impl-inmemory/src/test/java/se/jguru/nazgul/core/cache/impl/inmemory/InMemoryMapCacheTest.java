@@ -170,4 +170,33 @@ public class InMemoryMapCacheTest {
         Assert.assertEquals(1, messages.size());
         Assert.assertEquals("Performed transacted action.", messages.get(0));
     }
+    @Test
+    public void validateReadingPreviousExternalizedFormat() throws Exception {
+
+        // Assemble
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final ObjectOutputStream oos = new ObjectOutputStream(baos);
+        final ConcurrentMap<String, Serializable> cachedData = new ConcurrentHashMap<>();
+        cachedData.put("foo", "bar");
+
+        oos.writeUTF("oldCacheId");
+        oos.writeBoolean(false);
+        oos.writeLong(1000L);
+        oos.writeBoolean(true);
+        oos.writeInt(5);
+        oos.writeUTF("oldPrefix");
+        oos.writeObject(new ConcurrentHashMap<String, CacheListener<String, Serializable>>());
+        oos.writeObject(cachedData);
+        oos.close();
+
+        final InMemoryMapCache unitUnderTest = new InMemoryMapCache();
+
+        // Act
+        unitUnderTest.readExternal(new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())));
+
+        // Assert
+        Assert.assertEquals("oldCacheId", unitUnderTest.getClusterId());
+        Assert.assertEquals("bar", unitUnderTest.get("foo"));
+        unitUnderTest.close();
+    }
 }
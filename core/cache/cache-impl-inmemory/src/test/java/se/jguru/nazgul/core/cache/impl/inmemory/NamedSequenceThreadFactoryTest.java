@@ -30,6 +30,7 @@ import org.junit.Test;
 /**
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
  */
+@SuppressWarnings("deprecation")
 public class NamedSequenceThreadFactoryTest {
 
     @Test
@@ -0,0 +1,160 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-parser-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.parser.api;
+
+import se.jguru.nazgul.core.algorithms.api.Validate;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+
+/**
+ * Immutable, pre-compiled representation of a template, consisting of a list of literal text chunks and
+ * token slots. Substituting the tokens within a CompiledTemplate is a single linear pass over its
+ * segments, without any regular expression matching.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class CompiledTemplate {
+
+    // Internal state
+    private final String template;
+    private final String[] literals;
+    private final String[] tokens;
+    private final String[] tokenMatches;
+    private final int literalLength;
+
+    private CompiledTemplate(final String template,
+                             final String[] literals,
+                             final String[] tokens,
+                             final String[] tokenMatches) {
+
+        // Assign internal state
+        this.template = template;
+        this.literals = literals;
+        this.tokens = tokens;
+        this.tokenMatches = tokenMatches;
+
+        int length = 0;
+        for (String current : literals) {
+            length += current.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles the supplied template into literal text chunks and token slots,
+     * identifying tokens using the supplied TokenDefinitions.
+     *
+     * @param template         The non-null template to compile.
+     * @param tokenDefinitions The non-null TokenDefinitions used to identify tokens within the template.
+     * @return A CompiledTemplate for the supplied template.
+     */
+    public static CompiledTemplate compile(@NotNull final String template,
+                                           @NotNull final TokenDefinitions tokenDefinitions) {
+
+        // Check sanity
+        Validate.notNull(template, "template");
+        Validate.notNull(tokenDefinitions, "tokenDefinitions");
+
+        final List<String> literals = new ArrayList<>();
+        final List<String> tokens = new ArrayList<>();
+        final List<String> tokenMatches = new ArrayList<>();
+
+        // Split the template into literal chunks, separated by token slots.
+        final Matcher matcher = tokenDefinitions.getTokenRegExpPattern().matcher(template);
+        int currentStartIndex = 0;
+        while (matcher.find(currentStartIndex)) {
+
+            final String tokenMatch = matcher.group();
+            literals.add(template.substring(currentStartIndex, matcher.start()));
+            tokens.add(tokenDefinitions.getToken(tokenMatch));
+            tokenMatches.add(tokenMatch);
+
+            currentStartIndex = matcher.end();
+        }
+        literals.add(template.substring(currentStartIndex));
+
+        // All done.
+        return new CompiledTemplate(template,
+                literals.toArray(new String[literals.size()]),
+                tokens.toArray(new String[tokens.size()]),
+                tokenMatches.toArray(new String[tokenMatches.size()]));
+    }
+
+    /**
+     * @return The template from which this CompiledTemplate was compiled.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return An unmodifiable List holding the names of all tokens within this CompiledTemplate,
+     * in order of appearance.
+     */
+    public List<String> getTokens() {
+        return Collections.unmodifiableList(Arrays.asList(tokens));
+    }
+
+    /**
+     * Substitutes all tokens within this CompiledTemplate with the values retrieved from the supplied resolver.
+     *
+     * @param resolver A non-null Function resolving the replacement value of a token name. If the resolver
+     *                 returns {@code null}, the original token (including its delimiters) is retained.
+     * @return The token-substituted template.
+     */
+    public String substitute(@NotNull final Function<String, String> resolver) {
+
+        // Check sanity
+        Validate.notNull(resolver, "resolver");
+
+        // No tokens to replace?
+        if (tokens.length == 0) {
+            return template;
+        }
+
+        final StringBuilder toReturn = new StringBuilder(literalLength + 16 * tokens.length);
+        for (int i = 0; i < tokens.length; i++) {
+
+            final String replacement = resolver.apply(tokens[i]);
+            toReturn.append(literals[i]).append(replacement == null ? tokenMatches[i] : replacement);
+        }
+        toReturn.append(literals[tokens.length]);
+
+        // All done.
+        return toReturn.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CompiledTemplate [" + literals.length + " literal chunks, " + tokens.length + " tokens]";
+    }
+}
@@ -23,25 +23,64 @@
 package se.jguru.nazgul.core.parser.api;
 
 import se.jguru.nazgul.core.algorithms.api.Validate;
+import se.jguru.nazgul.core.parser.api.agent.AbstractParserAgent;
 import se.jguru.nazgul.core.parser.api.agent.ParserAgent;
 
 import javax.validation.constraints.NotNull;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Simple implementation of a String replacement parser.
+ * Templates are compiled into {@link CompiledTemplate}s, and recently used CompiledTemplates are
+ * cached, implying that repeated substitution of the same template requires no regular expression work.
  *
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
  */
 public class DefaultTokenParser implements TokenParser {
 
+    /**
+     * The maximum number of CompiledTemplates cached by each DefaultTokenParser.
+     */
+    public static final int MAX_CACHED_TEMPLATES = 256;
+
+    /**
+     * The maximum length of templates whose CompiledTemplate is cached.
+     * Longer templates are compiled on each substitution.
+     */
+    public static final int MAX_CACHED_TEMPLATE_LENGTH = 8192;
+
+    /**
+     * The maximum length of tokens (including delimiters) recognized when substituting tokens
+     * within streamed data. Longer character sequences are passed through as-is.
+     */
+    public static final int MAX_STREAMED_TOKEN_LENGTH = 1024;
+
+    /**
+     * The size of the window (in chars) used when substituting tokens within streamed data.
+     */
+    private static final int STREAMING_WINDOW_SIZE = 8 * MAX_STREAMED_TOKEN_LENGTH;
+
     // Internal state
     private boolean canBeInitialized = true;
     private TokenDefinitions tokenDefinitions = new DefaultTokenDefinitions();
-    private final List<ParserAgent> parseAgents = new ArrayList<>();
+    private final List<ParserAgent> parseAgents = new CopyOnWriteArrayList<>();
+    private final Map<String, CompiledTemplate> templateCache =
+            new LinkedHashMap<String, CompiledTemplate>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 8829990103L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, CompiledTemplate> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            };
 
     /**
      * {@inheritDoc}
@@ -60,10 +99,16 @@ public class DefaultTokenParser implements TokenParser {
             this.tokenDefinitions = tokenDefinitions;
             canBeInitialized = false;
         }
+
+        // Templates compiled using other TokenDefinitions are no longer valid.
+        synchronized (templateCache) {
+            templateCache.clear();
+        }
     }
 
     /**
      * Adds a parserAgent to the list of known AbstractParserAgents.
+     * The token patterns of AbstractParserAgents are compiled when they are added.
      *
      * @param parserAgent the parserAgent to add.
      */
@@ -73,10 +118,52 @@ public class DefaultTokenParser implements TokenParser {
         Validate.notNull(parserAgent, "parserAgent");
 
         if (!parseAgents.contains(parserAgent)) {
+
+            if (parserAgent instanceof AbstractParserAgent) {
+                ((AbstractParserAgent) parserAgent).compilePatterns();
+            }
+
             parseAgents.add(parserAgent);
         }
     }
 
+    /**
+     * Compiles the supplied data into a CompiledTemplate, using the TokenDefinitions of this DefaultTokenParser.
+     * This DefaultTokenParser cannot be initialized after this method has been invoked.
+     *
+     * @param data The data to compile.
+     * @return A CompiledTemplate for the supplied data, which can be used for repeated token substitution.
+     */
+    public final CompiledTemplate compile(@NotNull final String data) {
+
+        // Check sanity
+        Validate.notNull(data, "data");
+
+        // Flip the switch.
+        if (canBeInitialized) {
+            synchronized (parseAgents) {
+                canBeInitialized = false;
+            }
+        }
+
+        // Don't cache very long templates, as they are unlikely to be re-used.
+        if (data.length() > MAX_CACHED_TEMPLATE_LENGTH) {
+            return CompiledTemplate.compile(data, tokenDefinitions);
+        }
+
+        synchronized (templateCache) {
+
+            CompiledTemplate toReturn = templateCache.get(data);
+            if (toReturn == null) {
+                toReturn = CompiledTemplate.compile(data, tokenDefinitions);
+                templateCache.put(data, toReturn);
+            }
+
+            // All done.
+            return toReturn;
+        }
+    }
+
     /**
      * Replaces the tokens found within the data.
      *
@@ -85,8 +172,43 @@ public class DefaultTokenParser implements TokenParser {
      */
     @Override
     public final String substituteTokens(final String data) {
+        return substituteTokens(compile(data));
+    }
+
+    /**
+     * Replaces the tokens found within the supplied CompiledTemplate, by letting the first
+     * ParserAgent capable of handling each token substitute its value. Tokens which cannot
+     * be handled by any ParserAgent are retained as-is.
+     *
+     * @param template The CompiledTemplate in which to replace existing tokens.
+     * @return The token-substituted data.
+     */
+    public final String substituteTokens(@NotNull final CompiledTemplate template) {
 
-        StringBuilder toReturn = new StringBuilder();
+        // Check sanity
+        Validate.notNull(template, "template");
+
+        // All done.
+        return template.substitute(this::resolveToken);
+    }
+
+    /**
+     * Replaces the tokens found within the data read from the supplied Reader, writing the token-substituted
+     * data to the supplied Writer. The data is processed in a streaming fashion, using a bounded window holding
+     * at most a few KBs of the data. Tokens straddling the boundary between two windows are retained until the
+     * next window is read, implying that tokens longer than {@link #MAX_STREAMED_TOKEN_LENGTH} chars are not
+     * substituted. Neither the Reader nor the Writer is closed.
+     *
+     * @param in  The non-null Reader from which the data in which to replace tokens is read.
+     * @param out The non-null Writer to which the token-substituted data is written.
+     * @throws IOException if the data could not be read or written.
+     */
+    @Override
+    public final void substituteTokens(@NotNull final Reader in, @NotNull final Writer out) throws IOException {
+
+        // Check sanity
+        Validate.notNull(in, "in");
+        Validate.notNull(out, "out");
 
         // Flip the switch.
         if (canBeInitialized) {
@@ -95,49 +217,73 @@ public class DefaultTokenParser implements TokenParser {
             }
         }
 
-        // Find all matches within data
-        final Pattern pattern = tokenDefinitions.getTokenRegExpPattern();
-        Matcher m = pattern.matcher(data);
-        int currentStartIndex = 0;
+        final Matcher matcher = tokenDefinitions.getTokenRegExpPattern().matcher("");
+        final StringBuilder window = new StringBuilder(STREAMING_WINDOW_SIZE + MAX_STREAMED_TOKEN_LENGTH);
+        final char[] buffer = new char[STREAMING_WINDOW_SIZE];
+        boolean endOfData = false;
 
-        while (m.find(currentStartIndex)) {
+        while (!endOfData || window.length() > 0) {
 
-            // Found a token hit within the data.
-            int matchStartIndex = m.start();
-            int matchEndIndex = m.end();
-            String actualToken = tokenDefinitions.getToken(m.group());
-            boolean handled = false;
+            // Fill the window.
+            while (!endOfData && window.length() < STREAMING_WINDOW_SIZE) {
+                final int numRead = in.read(buffer, 0, STREAMING_WINDOW_SIZE - window.length());
+                if (numRead == -1) {
+                    endOfData = true;
+                } else {
+                    window.append(buffer, 0, numRead);
+                }
+            }
 
-            // Let all known parseAgents attempt to replace the token.
-            for (ParserAgent currentParser : parseAgents) {
+            // Substitute all tokens within the window, except those which could be altered by further data.
+            final int length = window.length();
+            final int lookBehindStart = Math.max(0, length - MAX_STREAMED_TOKEN_LENGTH);
+            int currentStartIndex = 0;
+            int retainFromIndex = length;
 
-                boolean canHandle = currentParser.canHandle(actualToken);
-                if (canHandle) {
-                    handled = true;
+            matcher.reset(window);
+            while (matcher.find(currentStartIndex)) {
 
-                    // Inject the data into the return buffer.
-                    String replacement = currentParser.substituteValue(actualToken);
-                    toReturn.append(data.substring(currentStartIndex, matchStartIndex));
-                    toReturn.append(replacement);
+                if (!endOfData && matcher.hitEnd() && matcher.start() >= lookBehindStart) {
 
-                    currentStartIndex = matchEndIndex;
+                    // The match touches the end of the window, and may be changed by further data.
+                    retainFromIndex = matcher.start();
                     break;
                 }
-            }
 
-            if (!handled) {
+                final String tokenMatch = matcher.group();
+                final String replacement = resolveToken(tokenDefinitions.getToken(tokenMatch));
+                out.append(window, currentStartIndex, matcher.start());
+                out.write(replacement == null ? tokenMatch : replacement);
+                currentStartIndex = matcher.end();
+            }
 
-                // Found no ParseAgents capable of handling the token substitution.
-                // Re-inject the original token into the return buffer.
-                toReturn.append(data.substring(currentStartIndex, matchEndIndex));
-                currentStartIndex = matchEndIndex;
+            // Retain the look-behind part of the window, if it may hold the start of a token.
+            if (retainFromIndex == length && !endOfData && matcher.hitEnd()) {
+                retainFromIndex = Math.max(currentStartIndex, lookBehindStart);
             }
+            retainFromIndex = Math.max(retainFromIndex, currentStartIndex);
+
+            out.append(window, currentStartIndex, retainFromIndex);
+            window.delete(0, retainFromIndex);
         }
 
-        // Append the rest of the data.
-        toReturn.append(data.substring(currentStartIndex, data.length()));
+        out.flush();
+    }
+
+    //
+    // Private helpers
+    //
 
-        // All done.
-        return toReturn.toString();
+    private String resolveToken(final String token) {
+
+        // Let all known parseAgents attempt to replace the token.
+        for (ParserAgent currentParser : parseAgents) {
+            if (currentParser.canHandle(token)) {
+                return String.valueOf(currentParser.substituteValue(token));
+            }
+        }
+
+        // Found no ParseAgents capable of handling the token substitution.
+        return null;
     }
 }
@@ -26,6 +26,9 @@ package se.jguru.nazgul.core.parser.api;
 import se.jguru.nazgul.core.parser.api.agent.ParserAgent;
 
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 
 /**
  * Specification for a Parser that recognizes String tokens, and offers
@@ -62,4 +65,25 @@ public interface TokenParser {
      * @return The token-substituted data.
      */
     String substituteTokens(String data);
+
+    /**
+     * Replaces the tokens found within the data read from the supplied Reader, writing the
+     * token-substituted data to the supplied Writer. Neither the Reader nor the Writer is closed.
+     * This default implementation reads all data into memory before substituting its tokens;
+     * implementations should override it to process the data in a streaming fashion.
+     *
+     * @param in  The non-null Reader from which the data in which to replace tokens is read.
+     * @param out The non-null Writer to which the token-substituted data is written.
+     * @throws IOException if the data could not be read or written.
+     */
+    default void substituteTokens(@NotNull final Reader in, @NotNull final Writer out) throws IOException {
+
+        final StringBuilder data = new StringBuilder();
+        final char[] buffer = new char[4096];
+        for (int numRead = in.read(buffer); numRead != -1; numRead = in.read(buffer)) {
+            data.append(buffer, 0, numRead);
+        }
+
+        out.write(substituteTokens(data.toString()));
+    }
 }
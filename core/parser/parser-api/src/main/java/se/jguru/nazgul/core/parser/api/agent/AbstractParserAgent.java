@@ -24,22 +24,39 @@ package se.jguru.nazgul.core.parser.api.agent;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 /**
  * Abstract parser agent which handles token substitution with static and/or dynamic tokens.
  * Static token replacement is performend within this class, while dynamic replacement
  * is delegated to concrete subclasses.
+ * <p>
+ * Token patterns are compiled only once. Static tokens whose keys are plain text (i.e. not containing
+ * any regular expression constructs) are resolved using a hash lookup, implying that regular expression
+ * matching is only required for dynamic tokens and for static tokens defined as regular expressions.</p>
  *
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
  */
 public abstract class AbstractParserAgent implements ParserAgent {
 
+    /**
+     * Regular expression matching static token keys which are plain text, and therefore
+     * match exactly the token identical to themselves. Keys containing dots are plain text
+     * in this sense, but may match other tokens as well (since the dot matches any char).
+     */
+    private static final Pattern PLAIN_TEXT_KEY = Pattern.compile("[\\w\\s.:/,@#%&~'\"-]*");
+
     // Internal state
     private Map<String, String> staticTokens = new TreeMap<String, String>();
+    private final Map<String, String> plainTextStaticTokens = new HashMap<String, String>();
+    private final Map<String, String> patternStaticTokens = new TreeMap<String, String>();
+    private final ConcurrentMap<String, Pattern> compiledPatterns = new ConcurrentHashMap<String, Pattern>();
     protected List<String> dynamicTokens = new ArrayList<String>();
 
     /**
@@ -50,7 +67,30 @@ public abstract class AbstractParserAgent implements ParserAgent {
      */
     @Override
     public void addStaticReplacement(final String key, final String value) {
+
         staticTokens.put(key, value);
+
+        // Plain text keys are resolved using hash lookups.
+        final boolean plainText = PLAIN_TEXT_KEY.matcher(key).matches();
+        if (plainText) {
+            plainTextStaticTokens.put(key, value);
+        }
+
+        // Keys which may match other tokens than themselves require pattern matching.
+        if (!plainText || key.indexOf('.') != -1) {
+            patternStaticTokens.put(key, value);
+            getPattern(key);
+        }
+    }
+
+    /**
+     * Compiles the patterns of all known dynamic tokens, to avoid compiling them during token substitution.
+     * Patterns for dynamic tokens added after this method is invoked are compiled when first used.
+     */
+    public void compilePatterns() {
+        for (String current : dynamicTokens) {
+            getPattern(current);
+        }
     }
 
     /**
@@ -69,7 +109,8 @@ public abstract class AbstractParserAgent implements ParserAgent {
             return true;
         }
 
-        if (tokenMatchInCollection(token, staticTokens.keySet())) {
+        if (plainTextStaticTokens.containsKey(token)
+                || tokenMatchInCollection(token, patternStaticTokens.keySet())) {
             // This is a static token
             return true;
         }
@@ -94,8 +135,11 @@ public abstract class AbstractParserAgent implements ParserAgent {
         }
 
         // This should be a static token.
-        for (Map.Entry<String, String> current : staticTokens.entrySet()) {
-            if (Pattern.compile(current.getKey()).matcher(token).matches()) {
+        if (plainTextStaticTokens.containsKey(token)) {
+            return plainTextStaticTokens.get(token);
+        }
+        for (Map.Entry<String, String> current : patternStaticTokens.entrySet()) {
+            if (getPattern(current.getKey()).matcher(token).matches()) {
                 return current.getValue();
             }
         }
@@ -119,11 +163,23 @@ public abstract class AbstractParserAgent implements ParserAgent {
     private boolean tokenMatchInCollection(final String token, final Collection<String> coll) {
 
         for (String current : coll) {
-            if (Pattern.compile(current).matcher(token).matches()) {
+            if (getPattern(current).matcher(token).matches()) {
                 return true;
             }
         }
 
         return false;
     }
+
+    private Pattern getPattern(final String regExp) {
+
+        Pattern toReturn = compiledPatterns.get(regExp);
+        if (toReturn == null) {
+            toReturn = Pattern.compile(regExp);
+            compiledPatterns.putIfAbsent(regExp, toReturn);
+        }
+
+        // All done.
+        return toReturn;
+    }
 }
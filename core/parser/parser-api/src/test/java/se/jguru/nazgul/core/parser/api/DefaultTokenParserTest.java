@@ -28,7 +28,11 @@ import org.junit.Test;
 import se.jguru.nazgul.core.parser.api.agent.DefaultParserAgent;
 import se.jguru.nazgul.core.parser.api.agent.ParserAgent;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -135,6 +139,121 @@ public class DefaultTokenParserTest {
         Assert.assertEquals(expected, result);
     }
 
+    @Test
+    public void validateReusingCompiledTemplates() {
+
+        // Assemble
+        final String data = "Static ${good}, dynamic ${sysprop:java.version} and unknown ${unknown} tokens.";
+        final String expected = "Static bad, dynamic " + System.getProperty("java.version")
+                + " and unknown ${unknown} tokens.";
+
+        final DefaultParserAgent parserAgent = new DefaultParserAgent();
+        parserAgent.addStaticReplacement("good", "bad");
+
+        final DefaultTokenParser unitUnderTest = new DefaultTokenParser();
+        unitUnderTest.addAgent(parserAgent);
+
+        // Act
+        final CompiledTemplate template1 = unitUnderTest.compile(data);
+        final CompiledTemplate template2 = unitUnderTest.compile(data);
+        final String result1 = unitUnderTest.substituteTokens(template1);
+        final String result2 = unitUnderTest.substituteTokens(data);
+
+        // Assert
+        Assert.assertSame(template1, template2);
+        Assert.assertEquals(Arrays.asList("good", "sysprop:java.version", "unknown"), template1.getTokens());
+        Assert.assertEquals(expected, result1);
+        Assert.assertEquals(expected, result2);
+    }
+
+    @Test
+    public void validateStaticReplacementsAddedAfterCompilation() {
+
+        // Assemble
+        final String data = "${first} and ${second}";
+        final DefaultParserAgent parserAgent = new DefaultParserAgent();
+        parserAgent.addStaticReplacement("first", "1");
+
+        final DefaultTokenParser unitUnderTest = new DefaultTokenParser();
+        unitUnderTest.addAgent(parserAgent);
+        final CompiledTemplate template = unitUnderTest.compile(data);
+
+        // Act
+        final String result1 = unitUnderTest.substituteTokens(template);
+        parserAgent.addStaticReplacement("second", "2");
+        final String result2 = unitUnderTest.substituteTokens(template);
+
+        // Assert
+        Assert.assertEquals("1 and ${second}", result1);
+        Assert.assertEquals("1 and 2", result2);
+    }
+
+    @Test
+    public void validateTemplateWithoutTokens() {
+
+        // Assemble
+        final String data = "No tokens {here}, $ or there.";
+        final DefaultTokenParser unitUnderTest = new DefaultTokenParser();
+        unitUnderTest.addAgent(new DefaultParserAgent());
+
+        // Act
+        final CompiledTemplate template = unitUnderTest.compile(data);
+        final String result = unitUnderTest.substituteTokens(template);
+
+        // Assert
+        Assert.assertEquals(0, template.getTokens().size());
+        Assert.assertSame(data, result);
+    }
+
+    @Test
+    public void validateStreamingSubstitution() throws Exception {
+
+        // Assemble
+        final DefaultParserAgent parserAgent = new DefaultParserAgent();
+        parserAgent.addStaticReplacement("good", "bad");
+        parserAgent.addStaticReplacement("longerToken", "short");
+
+        final DefaultTokenParser unitUnderTest = new DefaultTokenParser();
+        unitUnderTest.addAgent(parserAgent);
+
+        // Create data larger than the streaming window, with tokens at all offsets
+        // relative to the window boundaries.
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; builder.length() < 5 * DefaultTokenParser.MAX_STREAMED_TOKEN_LENGTH * 8; i++) {
+            builder.append("Line ").append(i).append(" is ${good}, ${unknown} and ${longerToken}. $ { } {${");
+        }
+        builder.append("Incomplete ${good");
+        final String data = builder.toString();
+        final String expected = unitUnderTest.substituteTokens(data);
+
+        // Act
+        final StringWriter result1 = new StringWriter();
+        unitUnderTest.substituteTokens(new StringReader(data), result1);
+
+        final StringWriter result2 = new StringWriter();
+        unitUnderTest.substituteTokens(new OneCharAtATimeReader(data), result2);
+
+        // Assert
+        Assert.assertEquals(expected, result1.toString());
+        Assert.assertEquals(expected, result2.toString());
+        Assert.assertTrue(expected.endsWith("Incomplete ${good"));
+    }
+
+    @Test
+    public void validateStreamingSubstitutionOfEmptyData() throws Exception {
+
+        // Assemble
+        final DefaultTokenParser unitUnderTest = new DefaultTokenParser();
+        unitUnderTest.addAgent(new DefaultParserAgent());
+        final StringWriter out = new StringWriter();
+
+        // Act
+        unitUnderTest.substituteTokens(new StringReader(""), out);
+
+        // Assert
+        Assert.assertEquals("", out.toString());
+    }
+
     //
     // Private helpers
     //
@@ -152,4 +271,33 @@ public class DefaultTokenParserTest {
             throw new IllegalArgumentException("Could not acquire parseAgents List.", e);
         }
     }
+
+    /**
+     * Reader returning a single char for each read operation.
+     */
+    static class OneCharAtATimeReader extends Reader {
+
+        private final String data;
+        private int index;
+
+        OneCharAtATimeReader(final String data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) {
+
+            if (index >= data.length()) {
+                return -1;
+            }
+
+            cbuf[off] = data.charAt(index++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close.
+        }
+    }
 }
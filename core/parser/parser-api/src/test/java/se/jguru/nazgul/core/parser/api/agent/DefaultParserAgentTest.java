@@ -129,4 +129,24 @@ public class DefaultParserAgentTest {
         Assert.assertEquals("This is a text where we have one " +
                 "token " + System.getProperty("user.dir") + ". :)", result);
     }
+
+    @Test
+    public void validateStaticReplacementUsingPlainTextAndPatternKeys() {
+
+        // Assemble
+        final DefaultParserAgent unitUnderTest = new DefaultParserAgent();
+        unitUnderTest.addStaticReplacement("plain", "plainValue");
+        unitUnderTest.addStaticReplacement("dotted.key", "dottedValue");
+        unitUnderTest.addStaticReplacement("pattern_[0-9]+", "patternValue");
+
+        // Act & Assert
+        Assert.assertTrue(unitUnderTest.canHandle("plain"));
+        Assert.assertEquals("plainValue", unitUnderTest.substituteValue("plain"));
+        Assert.assertEquals("dottedValue", unitUnderTest.substituteValue("dotted.key"));
+        Assert.assertEquals("dottedValue", unitUnderTest.substituteValue("dottedXkey"));
+        Assert.assertEquals("patternValue", unitUnderTest.substituteValue("pattern_42"));
+
+        Assert.assertFalse(unitUnderTest.canHandle("plainer"));
+        Assert.assertFalse(unitUnderTest.canHandle("pattern_[0-9]+"));
+    }
 }
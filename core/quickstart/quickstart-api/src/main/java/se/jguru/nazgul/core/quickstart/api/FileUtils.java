@@ -27,6 +27,7 @@ import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import se.jguru.nazgul.core.parser.api.TokenParser;
 import se.jguru.nazgul.core.quickstart.model.SimpleArtifact;
 
 import java.io.BufferedReader;
@@ -40,6 +41,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -392,6 +394,52 @@ public final class FileUtils {
         return readFully(in, resourceURL);
     }
 
+    /**
+     * Copies all (text) data from the supplied source File to the target File, optionally substituting
+     * all tokens within the data using the supplied TokenParser. The data is streamed from the source to
+     * the target File, implying that only a small window of the data is held in memory at any time.
+     * All line feeds are converted to {@code System.getProperty("line.separator")}, as done by
+     * {@link #readFile(File)}.
+     *
+     * @param source      The non-null File to read data from.
+     * @param target      The non-null File to write data to. Its parent must be an existing directory.
+     * @param tokenParser An optional TokenParser used to substitute tokens within the data.
+     *                    If {@code null}, the data is copied without token substitution.
+     */
+    public static void copyFile(final File source, final File target, final TokenParser tokenParser) {
+
+        // Check sanity
+        Validate.notNull(source, "Cannot handle null source argument.");
+        Validate.notNull(target, "Cannot handle null target argument.");
+        Validate.isTrue(FILE_FILTER.accept(source), "File [" + getCanonicalPath(source)
+                + "] must exist and be a (text) file.");
+
+        final File dirForFile = target.getParentFile();
+        if (dirForFile == null || !(dirForFile.exists() && dirForFile.isDirectory())) {
+            throw new IllegalArgumentException("Cannot write file [" + FileUtils.getCanonicalPath(target)
+                    + "], since its parent is not an existing directory.");
+        }
+
+        try (Reader reader = new LineEndingNormalizingReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(source))));
+             BufferedWriter writer = new BufferedWriter(new FileWriter(target))) {
+
+            if (tokenParser == null) {
+                final char[] buffer = new char[4096];
+                for (int numRead = reader.read(buffer); numRead != -1; numRead = reader.read(buffer)) {
+                    writer.write(buffer, 0, numRead);
+                }
+            } else {
+                tokenParser.substituteTokens(reader, writer);
+            }
+            writer.flush();
+
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not copy [" + getCanonicalPath(source) + "] to ["
+                    + getCanonicalPath(target) + "]", e);
+        }
+    }
+
     /**
      * Maps the relative path of all files found under the supplied aDirectory to the files themselves.
      * Note that this operation consumes considerable amounts of resources (memory buffers) when mapping large file
@@ -486,4 +534,54 @@ public final class FileUtils {
             populate(toPopulate, current, rootDirectory);
         }
     }
+
+    /**
+     * Reader which reads lines from a wrapped BufferedReader, converting all line
+     * feeds to {@code System.getProperty("line.separator")}.
+     */
+    private static final class LineEndingNormalizingReader extends Reader {
+
+        // Internal state
+        private final BufferedReader reader;
+        private String currentLine = "";
+        private int currentIndex;
+
+        private LineEndingNormalizingReader(final BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+
+            // Acquire the next line, if the current one is consumed.
+            if (currentIndex >= currentLine.length()) {
+
+                final String aLine = reader.readLine();
+                if (aLine == null) {
+                    return -1;
+                }
+
+                currentLine = aLine + LINE_ENDING;
+                currentIndex = 0;
+            }
+
+            final int numChars = Math.min(len, currentLine.length() - currentIndex);
+            currentLine.getChars(currentIndex, currentIndex + numChars, cbuf, off);
+            currentIndex += numChars;
+
+            // All done.
+            return numChars;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
 }
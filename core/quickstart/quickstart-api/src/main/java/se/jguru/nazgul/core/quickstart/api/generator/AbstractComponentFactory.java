@@ -599,11 +599,8 @@ public abstract class AbstractComponentFactory extends AbstractFactory implement
         final SortedMap<String, File> path2FileMap = FileUtils.listFilesRecursively(extractedTemplatesRoot);
         for (Map.Entry<String, File> current : path2FileMap.entrySet()) {
 
-            // Tokenize the relative path, and the file data if applicable.
+            // Tokenize the relative path.
             final String relativePath = tokenParser.substituteTokens(current.getKey());
-            final String data = shouldTokenizeFilter.accept(current.getValue())
-                    ? tokenParser.substituteTokens(FileUtils.readFile(current.getValue()))
-                    : FileUtils.readFile(current.getValue());
 
             final File toWrite = new File(targetDirectory, relativePath);
             final File parentFile = toWrite.getParentFile();
@@ -611,8 +608,10 @@ public abstract class AbstractComponentFactory extends AbstractFactory implement
                 parentFile.mkdirs();
             }
 
-            // Finally, write the file.
-            FileUtils.writeFile(toWrite, data);
+            // Finally, stream the file data to its target, tokenizing it if applicable.
+            FileUtils.copyFile(current.getValue(),
+                    toWrite,
+                    shouldTokenizeFilter.accept(current.getValue()) ? tokenParser : null);
         }
     }
 }
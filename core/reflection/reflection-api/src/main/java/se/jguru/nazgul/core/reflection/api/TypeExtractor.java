@@ -26,7 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import se.jguru.nazgul.core.algorithms.api.TypeAlgorithms;
 import se.jguru.nazgul.core.algorithms.api.Validate;
-import se.jguru.nazgul.core.algorithms.api.types.TypeInformation;
+import se.jguru.nazgul.core.algorithms.api.types.TypeMetadata;
 
 import javax.validation.constraints.NotNull;
 import java.lang.reflect.Constructor;
@@ -64,7 +64,8 @@ public final class TypeExtractor {
      * @param selector an optional (i.e. nullable) Predicate. If provided, the Predicate is used to
      *                 filter all interfaces implemented by the supplied Class.
      * @return All interfaces implemented by the provided class, and which
-     * matched the supplied selector's acceptance criteria.
+     * matched the supplied selector's acceptance criteria. If no selector was supplied,
+     * the returned SortedSet is an unmodifiable view shared between callers.
      */
     @NotNull
     public static SortedSet<Class<?>> getInterfaces(@NotNull final Class<?> clazz,
@@ -74,8 +75,7 @@ public final class TypeExtractor {
         Validate.notNull(clazz, "clazz");
 
         // Extract all interfaces
-        final TypeInformation typeInfo = new TypeInformation(clazz);
-        final SortedSet<Class<?>> allInterfaces = typeInfo.getAllInterfaces();
+        final SortedSet<Class<?>> allInterfaces = TypeMetadata.of(clazz).getAllInterfaces();
 
         if (log.isDebugEnabled()) {
             log.debug(clazz.getName() + " implements " + allInterfaces.size() + " interfaces: "
@@ -111,9 +111,7 @@ public final class TypeExtractor {
         final SortedSet<Constructor<?>> toReturn = new TreeSet<>(TypeAlgorithms.MEMBER_COMPARATOR);
 
         // Acquire all methods found within the class of the provided instance.
-        final SortedSet<Constructor<?>> declaredConstructors = TypeAlgorithms
-                .getAllTypesFor(clazz)
-                .getConstructors(true);
+        final SortedSet<Constructor<?>> declaredConstructors = TypeMetadata.of(clazz).getConstructors(true);
 
         if (log.isDebugEnabled()) {
             log.debug(clazz.getName() + " has " + declaredConstructors.size() + " constructors: "
@@ -145,7 +143,8 @@ public final class TypeExtractor {
      * @param selector an optional (i.e. nullable) Predicate. If provided, the Predicate is used to
      *                 filter all Methods found within the supplied Class.
      * @return All methods (including private ones) found by the provided class, and
-     * which matched the supplied selector's acceptance criteria.
+     * which matched the supplied selector's acceptance criteria. If no selector was supplied,
+     * the returned SortedSet is an unmodifiable view shared between callers.
      */
     public static SortedSet<Method> getMethods(@NotNull final Class<?> clazz,
                                                final Predicate<Method> selector) {
@@ -154,7 +153,7 @@ public final class TypeExtractor {
         Validate.notNull(clazz, "clazz");
 
         // Acquire all methods found within the class of the provided instance.
-        final SortedSet<Method> declaredMethods = TypeAlgorithms.getAllTypesFor(clazz).getMethods(true);
+        final SortedSet<Method> declaredMethods = TypeMetadata.of(clazz).getMethods(true);
 
         // All Done.
         if (selector == null) {
@@ -174,6 +173,7 @@ public final class TypeExtractor {
      * @param selector The selector defining which fields to filter out.
      * @return All fields (including private ones) within the provided instance
      * or its superclasses, and which matched the supplied selector's acceptance criteria.
+     * If no selector was supplied, the returned SortedSet is an unmodifiable view shared between callers.
      */
     public static SortedSet<Field> getFields(@NotNull final Class<?> clazz,
                                              final Predicate<Field> selector) {
@@ -182,7 +182,7 @@ public final class TypeExtractor {
         Validate.notNull(clazz, "clazz");
 
         // Acquire all methods found within the class of the provided instance.
-        final SortedSet<Field> declaredFields = TypeAlgorithms.getAllTypesFor(clazz).getFields(true);
+        final SortedSet<Field> declaredFields = TypeMetadata.of(clazz).getFields(true);
 
         // All Done.
         if (selector == null) {
@@ -24,7 +24,11 @@ package se.jguru.nazgul.core.reflection.api.conversion;
 
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Type converter registry specification, used as a generic type conversion service.
@@ -65,6 +69,44 @@ public interface ConverterRegistry {
      */
     <From, To> To convert(@NotNull From source, @NotNull Class<To> desiredType) throws IllegalArgumentException;
 
+    /**
+     * Converts all provided source objects to the desired type. The default implementation simply
+     * invokes {@link #convert(Object, Class)} for each source object; implementations are encouraged to
+     * resolve the conversion only once per distinct source type.
+     *
+     * @param sources     The objects to convert.
+     * @param desiredType The type to which the source objects should be converted.
+     * @param <From>      The source type.
+     * @param <To>        The resulting type.
+     * @return A List holding the converted objects, in the iteration order of the sources Collection.
+     * Source objects which could not be converted yield {@code null} elements.
+     * @throws IllegalArgumentException if any conversion failed.
+     */
+    default <From, To> List<To> convertAll(@NotNull final Collection<From> sources,
+                                           @NotNull final Class<To> desiredType) throws IllegalArgumentException {
+        return sources.stream()
+                .map(current -> this.<From, To>convert(current, desiredType))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lazily converts all objects within the provided Stream to the desired type. Parallel
+     * source Streams yield parallel result Streams. The default implementation simply
+     * invokes {@link #convert(Object, Class)} for each source object; implementations are encouraged
+     * to resolve the conversion only once per distinct source type.
+     *
+     * @param sources     The Stream of objects to convert.
+     * @param desiredType The type to which the source objects should be converted.
+     * @param <From>      The source type.
+     * @param <To>        The resulting type.
+     * @return A Stream of the converted objects. Source objects which could not be converted
+     * yield {@code null} elements.
+     */
+    default <From, To> Stream<To> convertAll(@NotNull final Stream<From> sources,
+                                             @NotNull final Class<To> desiredType) {
+        return sources.map(current -> this.<From, To>convert(current, desiredType));
+    }
+
     /**
      * Retrieves the available targetTypes for the supplied sourceType, implying the closure of Classes
      * to which the supplied sourceType can be converted by this ConverterRegistry.
@@ -0,0 +1,263 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.reflection.api.conversion.registry;
+
+import se.jguru.nazgul.core.reflection.api.TypeExtractor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Directed and weighted graph of all conversions offered by a set of PrioritizedTypeConverters,
+ * used to plan multi-hop conversions (i.e. A &rarr; B &rarr; C, where no A &rarr; C converter exists).
+ * Each edge represents a single conversion from a (runtime) type to a target type, using a
+ * PrioritizedTypeConverter whose source type is assignable from the runtime type. The cost of an edge is</p>
+ * <pre>
+ *     1 + [priority of the best TypeConverter to the target type] + |relation difference|
+ * </pre>
+ * <p>where the relation difference is the number of type hops between the runtime type and the source type
+ * of the PrioritizedTypeConverter, as calculated by {@link TypeExtractor#getRelationDifference(Class, Class)}.
+ * The outgoing edges of each target type are computed lazily and cached, since the PrioritizedTypeConverters
+ * supplied to a ConversionGraph are immutable.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class ConversionGraph {
+
+    /**
+     * The maximum number of conversions within a planned conversion chain.
+     */
+    static final int MAX_HOPS = 4;
+
+    // Internal state
+    private final SortedMap<Class<?>, PrioritizedTypeConverter> sourceTypeToTypeConvertersMap;
+    private final ConcurrentMap<Class<?>, List<Edge>> type2OutgoingEdges;
+
+    /**
+     * Creates a new ConversionGraph from the supplied PrioritizedTypeConverters.
+     *
+     * @param sourceTypeToTypeConvertersMap An immutable Map relating source types to their
+     *                                      PrioritizedTypeConverters.
+     */
+    ConversionGraph(final SortedMap<Class<?>, PrioritizedTypeConverter> sourceTypeToTypeConvertersMap) {
+        this.sourceTypeToTypeConvertersMap = sourceTypeToTypeConvertersMap;
+        this.type2OutgoingEdges = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Finds the cheapest chain of conversions from the supplied sourceType to a type assignable to the
+     * given desiredType, holding at least one and at most {@link #MAX_HOPS} conversions.
+     *
+     * @param sourceType  The (runtime) type to convert from.
+     * @param desiredType The type to convert to.
+     * @return The Edges of the cheapest conversion chain, in conversion order, or an empty List if no
+     * conversion chain could be found.
+     */
+    List<Edge> findCheapestPath(final Class<?> sourceType, final Class<?> desiredType) {
+
+        // The cheapest known cost to reach each type, indexed by the number of hops required.
+        // A cheap chain to a type may use too many hops to continue to the desiredType, so
+        // a costlier chain to the same type is only pruned if it requires at least as many hops.
+        final Map<Class<?>, int[]> cheapestKnownCost = new HashMap<>();
+        final PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparingInt(node -> node.cost));
+
+        final int[] sourceCosts = createUnknownCosts();
+        sourceCosts[0] = 0;
+        cheapestKnownCost.put(sourceType, sourceCosts);
+        queue.add(new Node(sourceType, null, null, 0, 0));
+
+        while (!queue.isEmpty()) {
+
+            final Node current = queue.poll();
+            if (current.cost > cheapestKnownCost.get(current.type)[current.hops]) {
+
+                // A cheaper path to the current type and hops was found after this Node was queued.
+                continue;
+            }
+
+            // Done?
+            if (current.previous != null && desiredType.isAssignableFrom(current.type)) {
+
+                final LinkedList<Edge> toReturn = new LinkedList<>();
+                for (Node node = current; node.previous != null; node = node.previous) {
+                    toReturn.addFirst(node.edge);
+                }
+                return toReturn;
+            }
+
+            if (current.hops < MAX_HOPS) {
+
+                // Only the outgoing edges of target types (i.e. of the PrioritizedTypeConverters) are cached,
+                // implying that a ConversionGraph never pins the ClassLoader of a source type.
+                final List<Edge> outgoingEdges = current.previous == null
+                        ? createOutgoingEdges(current.type)
+                        : getOutgoingEdges(current.type);
+                for (Edge currentEdge : outgoingEdges) {
+
+                    final int cost = current.cost + currentEdge.cost;
+                    final int hops = current.hops + 1;
+                    int[] knownCosts = cheapestKnownCost.get(currentEdge.toType);
+                    if (knownCosts == null) {
+                        knownCosts = createUnknownCosts();
+                        cheapestKnownCost.put(currentEdge.toType, knownCosts);
+                    }
+
+                    if (!isDominated(knownCosts, cost, hops)) {
+                        knownCosts[hops] = cost;
+                        queue.add(new Node(currentEdge.toType, current, currentEdge, cost, hops));
+                    }
+                }
+            }
+        }
+
+        // No conversion chain found.
+        return Collections.emptyList();
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static int[] createUnknownCosts() {
+
+        final int[] toReturn = new int[MAX_HOPS + 1];
+        Arrays.fill(toReturn, Integer.MAX_VALUE);
+
+        // All done.
+        return toReturn;
+    }
+
+    private static boolean isDominated(final int[] knownCosts, final int cost, final int hops) {
+
+        // A chain is dominated by any chain to the same type with no more hops and no higher cost.
+        for (int i = 0; i <= hops; i++) {
+            if (knownCosts[i] <= cost) {
+                return true;
+            }
+        }
+
+        // All done.
+        return false;
+    }
+
+    private List<Edge> getOutgoingEdges(final Class<?> type) {
+
+        final List<Edge> toReturn = type2OutgoingEdges.get(type);
+        if (toReturn != null) {
+            return toReturn;
+        }
+
+        final List<Edge> edges = createOutgoingEdges(type);
+        final List<Edge> existing = type2OutgoingEdges.putIfAbsent(type, edges);
+
+        // All done.
+        return existing == null ? edges : existing;
+    }
+
+    private List<Edge> createOutgoingEdges(final Class<?> type) {
+
+        final List<Edge> edges = new ArrayList<>();
+        for (Map.Entry<Class<?>, PrioritizedTypeConverter> current : sourceTypeToTypeConvertersMap.entrySet()) {
+
+            final Class<?> currentSourceType = current.getKey();
+            if (!currentSourceType.isAssignableFrom(type)) {
+                continue;
+            }
+
+            final PrioritizedTypeConverter typeConverter = current.getValue();
+            final int relationDifference = Math.abs(TypeExtractor.getRelationDifference(currentSourceType, type));
+            for (Class<?> currentTargetType : (Iterable<Class<?>>) typeConverter.getAvailableTargetTypes()) {
+                if (currentTargetType != type) {
+                    edges.add(new Edge(typeConverter, currentTargetType,
+                            1 + typeConverter.getPriority(currentTargetType) + relationDifference));
+                }
+            }
+        }
+
+        // All done.
+        return edges;
+    }
+
+    /**
+     * A single conversion within a ConversionGraph.
+     */
+    static final class Edge {
+
+        // Internal state
+        private final PrioritizedTypeConverter typeConverter;
+        private final Class<?> toType;
+        private final int cost;
+
+        private Edge(final PrioritizedTypeConverter typeConverter, final Class<?> toType, final int cost) {
+            this.typeConverter = typeConverter;
+            this.toType = toType;
+            this.cost = cost;
+        }
+
+        /**
+         * @return The PrioritizedTypeConverter performing the conversion.
+         */
+        PrioritizedTypeConverter getTypeConverter() {
+            return typeConverter;
+        }
+
+        /**
+         * @return The type to which the conversion converts.
+         */
+        Class<?> getToType() {
+            return toType;
+        }
+    }
+
+    /**
+     * A node within the search for the cheapest conversion chain.
+     */
+    private static final class Node {
+
+        // Internal state
+        private final Class<?> type;
+        private final Node previous;
+        private final Edge edge;
+        private final int cost;
+        private final int hops;
+
+        private Node(final Class<?> type, final Node previous, final Edge edge, final int cost, final int hops) {
+            this.type = type;
+            this.previous = previous;
+            this.edge = edge;
+            this.cost = cost;
+            this.hops = hops;
+        }
+    }
+}
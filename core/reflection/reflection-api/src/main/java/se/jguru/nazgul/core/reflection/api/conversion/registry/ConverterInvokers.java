@@ -0,0 +1,395 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.reflection.api.conversion.registry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <p>Factory for direct invokers of {@code @Converter}-annotated methods and constructors (and of their
+ * conditional conversion methods), avoiding the boxing and access checks of reflective invocation.
+ * Invokers are created using the following strategies, in order:</p>
+ * <ol>
+ * <li>A Function or Predicate implementation spun by the {@link LambdaMetafactory}, which requires that
+ * the converter is public, has reference-typed parameter and return types and is visible from the
+ * ClassLoader of this class.</li>
+ * <li>A Function or Predicate wrapping a {@link MethodHandle}.</li>
+ * <li>A Function or Predicate using standard reflective invocation.</li>
+ * </ol>
+ * <p>Regardless of the strategy used, any Throwable thrown by an invoked converter - including
+ * RuntimeExceptions and Errors - is wrapped within an {@link UndeclaredThrowableException}
+ * whose cause is the Throwable thrown.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+final class ConverterInvokers {
+
+    // Our Log
+    private static final Logger log = LoggerFactory.getLogger(ConverterInvokers.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType FUNCTION_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType PREDICATE_TYPE = MethodType.methodType(boolean.class, Object.class);
+
+    /*
+     * Hide the utility class constructor.
+     */
+    private ConverterInvokers() {
+        // Do nothing
+    }
+
+    /**
+     * The strategies used to create invokers, in order of preference.
+     */
+    enum Strategy {
+
+        /**
+         * Invoke using a Function or Predicate implementation spun by the {@link LambdaMetafactory}.
+         */
+        LAMBDA,
+
+        /**
+         * Invoke using a {@link MethodHandle}.
+         */
+        METHOD_HANDLE,
+
+        /**
+         * Invoke using standard reflective invocation.
+         */
+        REFLECTION
+    }
+
+    /**
+     * Creates a Function invoking the supplied converter method on the given converter instance.
+     *
+     * @param converter       The converter instance on which the converter method should be invoked.
+     * @param converterMethod The converter method, with a single parameter.
+     * @return A Function invoking the converterMethod.
+     */
+    static Function<Object, Object> forMethod(final Object converter, final Method converterMethod) {
+        return forMethod(converter, converterMethod, Strategy.LAMBDA);
+    }
+
+    /**
+     * Creates a Function invoking the supplied converter method on the given converter instance, using the
+     * first applicable Strategy starting with the supplied one.
+     *
+     * @param converter       The converter instance on which the converter method should be invoked.
+     * @param converterMethod The converter method, with a single parameter.
+     * @param firstStrategy   The first Strategy to attempt.
+     * @return A Function invoking the converterMethod.
+     */
+    static Function<Object, Object> forMethod(final Object converter,
+                                              final Method converterMethod,
+                                              final Strategy firstStrategy) {
+
+        final Function<Object, Object> generated = firstStrategy == Strategy.LAMBDA
+                ? spin(Function.class, "apply", FUNCTION_TYPE, converterMethod, converter)
+                : null;
+        if (generated != null) {
+            return instance -> {
+                try {
+                    return generated.apply(instance);
+                } catch (Throwable e) {
+                    throw converterFailure(e);
+                }
+            };
+        }
+
+        final MethodHandle handle = firstStrategy != Strategy.REFLECTION
+                ? unreflect(converterMethod, converter, FUNCTION_TYPE)
+                : null;
+        if (handle != null) {
+            return instance -> {
+                try {
+                    return handle.invokeExact(instance);
+                } catch (Throwable e) {
+                    throw converterFailure(e);
+                }
+            };
+        }
+
+        // Fallback to reflection.
+        makeAccessible(converterMethod);
+        return instance -> {
+            try {
+                return converterMethod.invoke(converter, instance);
+            } catch (Throwable e) {
+                throw converterFailure(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a Function invoking the supplied converter constructor.
+     *
+     * @param converterConstructor The converter constructor, with a single parameter.
+     * @return A Function invoking the converterConstructor.
+     */
+    static Function<Object, Object> forConstructor(final Constructor<?> converterConstructor) {
+        return forConstructor(converterConstructor, Strategy.LAMBDA);
+    }
+
+    /**
+     * Creates a Function invoking the supplied converter constructor, using the first applicable
+     * Strategy starting with the supplied one.
+     *
+     * @param converterConstructor The converter constructor, with a single parameter.
+     * @param firstStrategy        The first Strategy to attempt.
+     * @return A Function invoking the converterConstructor.
+     */
+    static Function<Object, Object> forConstructor(final Constructor<?> converterConstructor,
+                                                   final Strategy firstStrategy) {
+
+        final Function<Object, Object> generated = firstStrategy == Strategy.LAMBDA
+                ? spin(Function.class, "apply", FUNCTION_TYPE, converterConstructor, null)
+                : null;
+        if (generated != null) {
+            return instance -> {
+                try {
+                    return generated.apply(instance);
+                } catch (Throwable e) {
+                    throw converterFailure(e);
+                }
+            };
+        }
+
+        final MethodHandle handle = firstStrategy != Strategy.REFLECTION
+                ? unreflect(converterConstructor, null, FUNCTION_TYPE)
+                : null;
+        if (handle != null) {
+            return instance -> {
+                try {
+                    return handle.invokeExact(instance);
+                } catch (Throwable e) {
+                    throw converterFailure(e);
+                }
+            };
+        }
+
+        // Fallback to reflection.
+        makeAccessible(converterConstructor);
+        return instance -> {
+            try {
+                return converterConstructor.newInstance(instance);
+            } catch (Throwable e) {
+                throw converterFailure(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a Predicate invoking the supplied conditional conversion method on the given converter instance.
+     *
+     * @param converter                   The converter instance on which the method should be invoked.
+     * @param conditionalConversionMethod The conditional conversion method, with a single parameter and
+     *                                    a boolean or Boolean return type.
+     * @return A Predicate invoking the conditionalConversionMethod.
+     */
+    static Predicate<Object> forConditionalMethod(final Object converter, final Method conditionalConversionMethod) {
+        return forConditionalMethod(converter, conditionalConversionMethod, Strategy.LAMBDA);
+    }
+
+    /**
+     * Creates a Predicate invoking the supplied conditional conversion method on the given converter instance,
+     * using the first applicable Strategy starting with the supplied one.
+     *
+     * @param converter                   The converter instance on which the method should be invoked.
+     * @param conditionalConversionMethod The conditional conversion method, with a single parameter and
+     *                                    a boolean or Boolean return type.
+     * @param firstStrategy               The first Strategy to attempt.
+     * @return A Predicate invoking the conditionalConversionMethod.
+     */
+    static Predicate<Object> forConditionalMethod(final Object converter,
+                                                  final Method conditionalConversionMethod,
+                                                  final Strategy firstStrategy) {
+
+        final Predicate<Object> generated = firstStrategy == Strategy.LAMBDA
+                && conditionalConversionMethod.getReturnType() == boolean.class
+                ? spin(Predicate.class, "test", PREDICATE_TYPE, conditionalConversionMethod, converter)
+                : null;
+        if (generated != null) {
+            return instance -> {
+                try {
+                    return generated.test(instance);
+                } catch (Throwable e) {
+                    throw converterFailure(e);
+                }
+            };
+        }
+
+        final MethodHandle handle = firstStrategy != Strategy.REFLECTION
+                ? unreflect(conditionalConversionMethod, converter, PREDICATE_TYPE)
+                : null;
+        if (handle != null) {
+            return instance -> {
+                try {
+                    return (boolean) handle.invokeExact(instance);
+                } catch (Throwable e) {
+                    throw converterFailure(e);
+                }
+            };
+        }
+
+        // Fallback to reflection.
+        makeAccessible(conditionalConversionMethod);
+        return instance -> {
+            try {
+                return (Boolean) conditionalConversionMethod.invoke(converter, instance);
+            } catch (Throwable e) {
+                throw converterFailure(e);
+            }
+        };
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static UndeclaredThrowableException converterFailure(final Throwable thrown) {
+
+        // Unwrap the exceptions thrown by converters invoked reflectively.
+        final Throwable cause = thrown instanceof InvocationTargetException && thrown.getCause() != null
+                ? thrown.getCause()
+                : thrown;
+
+        // All done.
+        return new UndeclaredThrowableException(cause, "Converter threw " + cause.getClass().getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T spin(final Class<? super T> interfaceType,
+                              final String interfaceMethodName,
+                              final MethodType interfaceMethodType,
+                              final Executable target,
+                              final Object converter) {
+
+        // Only spin public, reference-typed converters within public classes visible from our ClassLoader.
+        final Class<?> declaringClass = target.getDeclaringClass();
+        final Class<?> parameterType = target.getParameterTypes()[0];
+        final Class<?> returnType = target instanceof Method ? ((Method) target).getReturnType() : declaringClass;
+        final boolean isStatic = Modifier.isStatic(target.getModifiers());
+        if (!Modifier.isPublic(target.getModifiers())
+                || !Modifier.isPublic(declaringClass.getModifiers())
+                || parameterType.isPrimitive()
+                || (returnType.isPrimitive() && returnType != interfaceMethodType.returnType())
+                || !isVisible(declaringClass)
+                || !isVisible(parameterType)) {
+            return null;
+        }
+
+        try {
+
+            final MethodHandle implementation = target instanceof Method
+                    ? LOOKUP.unreflect((Method) target)
+                    : LOOKUP.unreflectConstructor((Constructor<?>) target);
+            final boolean bindConverter = target instanceof Method && !isStatic;
+
+            final CallSite callSite = LambdaMetafactory.metafactory(
+                    LOOKUP,
+                    interfaceMethodName,
+                    bindConverter
+                            ? MethodType.methodType(interfaceType, declaringClass)
+                            : MethodType.methodType(interfaceType),
+                    interfaceMethodType,
+                    implementation,
+                    MethodType.methodType(returnType, parameterType));
+
+            // All done.
+            return (T) (bindConverter
+                    ? callSite.getTarget().invoke(converter)
+                    : callSite.getTarget().invoke());
+
+        } catch (Throwable e) {
+
+            if (log.isDebugEnabled()) {
+                log.debug("Could not spin a " + interfaceType.getSimpleName() + " for [" + target
+                        + "]. Falling back to MethodHandle invocation.", e);
+            }
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflect(final Executable target,
+                                          final Object converter,
+                                          final MethodType invokerType) {
+
+        try {
+
+            target.setAccessible(true);
+            if (target instanceof Constructor) {
+                return LOOKUP.unreflectConstructor((Constructor<?>) target).asType(invokerType);
+            }
+
+            final MethodHandle handle = LOOKUP.unreflect((Method) target);
+            return Modifier.isStatic(target.getModifiers())
+                    ? handle.asType(invokerType)
+                    : handle.bindTo(converter).asType(invokerType);
+
+        } catch (IllegalAccessException | SecurityException | IllegalArgumentException e) {
+
+            if (log.isDebugEnabled()) {
+                log.debug("Could not create a MethodHandle for [" + target
+                        + "]. Falling back to reflective invocation.", e);
+            }
+            return null;
+        }
+    }
+
+    private static void makeAccessible(final Executable target) {
+        try {
+            target.setAccessible(true);
+        } catch (SecurityException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Could not make [" + target + "] accessible.", e);
+            }
+        }
+    }
+
+    private static boolean isVisible(final Class<?> type) {
+
+        if (type.isPrimitive()) {
+            return true;
+        }
+
+        try {
+            return Class.forName(type.getName(), false, ConverterInvokers.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
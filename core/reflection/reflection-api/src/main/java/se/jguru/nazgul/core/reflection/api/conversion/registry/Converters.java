@@ -32,6 +32,7 @@ import javax.validation.constraints.NotNull;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.function.Function;
@@ -157,6 +158,7 @@ public final class Converters {
     /**
      * Function which extracts all methods and constructors able to convert types within a class.
      * Should a null class be passed as argument, an empty Function.
+     * The methods and constructors are extracted once per class, and returned as unmodifiable SortedSets.
      */
     @NotNull
     public static Function<Class<?>, Tuple<SortedSet<Method>, SortedSet<Constructor<?>>>> GET_CONVERTERS = aClass -> {
@@ -166,15 +168,28 @@ public final class Converters {
             return new Tuple<>(new TreeSet<>(), new TreeSet<>());
         }
 
-        final SortedSet<Method> converterMethods = TypeExtractor.getMethods(aClass,
-                Converters.CONVERSION_METHOD_FILTER);
-        final SortedSet<Constructor<?>> converterConstructors = TypeExtractor.getConstructors(aClass,
-                Converters.CONVERSION_CONSTRUCTOR_FILTER);
-
         // All Done.
-        return new Tuple<>(converterMethods, converterConstructors);
+        return Converters.CONVERTERS.get(aClass);
     };
 
+    // Cache of the converter methods and constructors per class, held by the class itself
+    // and therefore discarded with it should its ClassLoader be garbage collected.
+    private static final ClassValue<Tuple<SortedSet<Method>, SortedSet<Constructor<?>>>> CONVERTERS =
+            new ClassValue<Tuple<SortedSet<Method>, SortedSet<Constructor<?>>>>() {
+                @Override
+                protected Tuple<SortedSet<Method>, SortedSet<Constructor<?>>> computeValue(final Class<?> aClass) {
+
+                    final SortedSet<Method> converterMethods = TypeExtractor.getMethods(aClass,
+                            Converters.CONVERSION_METHOD_FILTER);
+                    final SortedSet<Constructor<?>> converterConstructors = TypeExtractor.getConstructors(aClass,
+                            Converters.CONVERSION_CONSTRUCTOR_FILTER);
+
+                    // All Done.
+                    return new Tuple<>(Collections.unmodifiableSortedSet(converterMethods),
+                            Collections.unmodifiableSortedSet(converterConstructors));
+                }
+            };
+
     /*
      * Helper method to extract a Tuple of converter methods and constructors, as found within the supplied
      * object instance.
@@ -34,21 +34,40 @@ import se.jguru.nazgul.core.reflection.api.conversion.ConverterRegistry;
 
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Default implementation of the ConverterRegistry specification.
  * Not intended for clustered operation.
+ * <p>The internal state is held within immutable, versioned snapshots which are replaced whenever converters
+ * are added, removed or replaced. Conversions acquire the current snapshot once, implying that in-flight
+ * conversions complete against a consistent view of the registry while subsequent conversions see the
+ * updated converters. Cached conversion paths are retained for all source types unaffected by a change,
+ * and never prevent the (source or desired) types for which they are cached from being unloaded.</p>
+ * <p>Should no single converter be able to perform a requested conversion, the cheapest chain of conversions
+ * (i.e. A &rarr; B &rarr; C) is planned using a {@link ConversionGraph} of all registered converters. Planned
+ * chains are cached as composed converters, just like single-step conversion paths.</p>
  *
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
  */
@@ -58,16 +77,81 @@ public class DefaultConverterRegistry implements ConverterRegistry {
     // Our Log
     private static final Logger log = LoggerFactory.getLogger(DefaultConverterRegistry.class);
 
+    /**
+     * Cache key used in place of {@code null} source or desired types, since
+     * {@code void} is never the class of a converted instance.
+     */
+    private static final Class<?> NULL_TYPE_KEY = void.class;
+
+    /**
+     * The minimum number of conversion path cache misses between two purges of the paths of unloaded types.
+     */
+    private static final long MIN_PURGE_INTERVAL = 64L;
+
+    /**
+     * The TypeKeys of all classes, used as conversion path cache keys. Each TypeKey is held by its class
+     * and refers to the class only weakly, so cached conversion paths never pin the ClassLoaders of their
+     * source or desired types. Conversion paths of unloaded types are purged when a new RegistrySnapshot is
+     * published, and otherwise once the number of cache misses has reached the number of cached paths.
+     */
+    private static final ClassValue<TypeKey> TYPE_KEYS = new ClassValue<TypeKey>() {
+        @Override
+        protected TypeKey computeValue(final Class<?> type) {
+            return new TypeKey(type);
+        }
+    };
+
+    /**
+     * The default minimum number of source objects for which {@link #convertAll(Collection, Class)}
+     * converts in parallel, implying that conversions are sequential unless a lower threshold is supplied.
+     * Parallel conversion runs converters within the common ForkJoinPool, and requires thread-safe converters.
+     */
+    public static final int DEFAULT_PARALLEL_CONVERSION_THRESHOLD = Integer.MAX_VALUE;
+
     // Internal state
-    @NotNull
-    private SortedMap<Class<?>, PrioritizedTypeConverter> sourceTypeToTypeConvertersMap;
+    private final Object lock = new Object();
+    private volatile RegistrySnapshot snapshot;
+    private final int parallelConversionThreshold;
 
     /**
      * Default constructor, yielding an empty internal state - i.e. no default
-     * converters added.
+     * converters added - and always converting sequentially.
      */
     public DefaultConverterRegistry() {
-        sourceTypeToTypeConvertersMap = new TreeMap<>(TypeAlgorithms.CLASSNAME_COMPARATOR);
+        this(DEFAULT_PARALLEL_CONVERSION_THRESHOLD);
+    }
+
+    /**
+     * Compound constructor, yielding an empty internal state - i.e. no default
+     * converters added.
+     *
+     * @param parallelConversionThreshold The minimum number of source objects for which
+     *                                    {@link #convertAll(Collection, Class)} converts in parallel.
+     *                                    Supply {@link #DEFAULT_PARALLEL_CONVERSION_THRESHOLD} to always
+     *                                    convert sequentially. Parallel conversion requires thread-safe
+     *                                    converters.
+     */
+    public DefaultConverterRegistry(final int parallelConversionThreshold) {
+
+        // Check sanity
+        Validate.isTrue(parallelConversionThreshold > 0, "parallelConversionThreshold must be positive.");
+
+        // Assign internal state
+        this.parallelConversionThreshold = parallelConversionThreshold;
+        this.snapshot = new RegistrySnapshot(0L,
+                new TreeMap<>(TypeAlgorithms.CLASSNAME_COMPARATOR),
+                new HashMap<>(),
+                new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Retrieves the version of the internal state of this DefaultConverterRegistry, which is
+     * incremented whenever converters are added, removed or replaced.
+     *
+     * @return The current version of this DefaultConverterRegistry.
+     */
+    public long getVersion() {
+        return snapshot.version;
     }
 
     /**
@@ -78,87 +162,49 @@ public class DefaultConverterRegistry implements ConverterRegistry {
 
         // Check sanity
         Validate.notEmpty(converters, "converters");
-        final Map<Object, Tuple<SortedSet<Method>, SortedSet<Constructor<?>>>> validConverters = new HashMap<>();
-
-        // All converters have annotations?
-        for (Object current : converters) {
-
-            // Find the TypeInformation for the current class.
-            final Tuple<SortedSet<Method>, SortedSet<Constructor<?>>> methodsAndConstructors =
-                    Converters.GET_CONVERTERS.apply(current.getClass());
-
-            if (methodsAndConstructors == null
-                    || (methodsAndConstructors.getKey().isEmpty() && methodsAndConstructors.getValue().isEmpty())) {
-
-                // No converters methods or constructors found within the supplied converter. Complain.
-                throw new IllegalArgumentException("Found no @Converter-annotated methods within class ["
-                        + current.getClass().getName() + "]. No @Converters added.");
-            }
-
-            // Map the current converter to its converter methods and constructors, respectively.
-            validConverters.put(current, methodsAndConstructors);
-        }
-
-        // Map the respective converters to the sourceTypes of their @Converters.
-        final Map<Class<?>, Set<Object>> sourceTypeToConverterInstanceMap = new HashMap<Class<?>, Set<Object>>();
-        validConverters.forEach((key, converterTuple) -> {
-
-            final Object theObject = key;
-
-            converterTuple.getKey().forEach(currentMethod -> {
-
-                // Extract the type from the only argument of the current Method (i.e. the "From" type).
-                final Class<?> currentType = currentMethod.getParameterTypes()[0];
-                addCurrentConverter(sourceTypeToConverterInstanceMap, theObject, currentType);
-            });
-
-            converterTuple.getValue().forEach(currentConstructor -> {
 
-                // Extract the type from the only argument of the current Constructor (i.e. the "From" type).
-                final Class<?> currentType = currentConstructor.getParameterTypes()[0];
-                addCurrentConverter(sourceTypeToConverterInstanceMap, theObject, currentType);
-            });
-        });
-
-        /*
-        for (Map.Entry<Object, Tuple<List<Method>, List<Constructor<?>>>> currentEntry : validConverters.entrySet()) {
-
-            final Tuple<List<Method>, List<Constructor<?>>> methodsAndConstructors = currentEntry.getValue();
-
-            // Map the source types of all Methods & Constructors
-            for (Method currentMethod : methodsAndConstructors.getKey()) {
-
-                final Class<?> currentType = currentMethod.getParameterTypes()[0];
-                addCurrentConverter(sourceTypeToConverterInstanceMap, currentEntry.getKey(), currentType);
-            }
-
-            for (Constructor<?> currentConstructor : methodsAndConstructors.getValue()) {
-
-                final Class<?> currentType = currentConstructor.getParameterTypes()[0];
-                addCurrentConverter(sourceTypeToConverterInstanceMap, currentEntry.getKey(), currentType);
-            }
-        }
-        */
+        // Publish a new snapshot holding the added converters.
+        update(Collections.emptySet(), mapToSourceTypes(converters));
+    }
 
-        // Create PrioritizedTypeConverters for all source types.
-        for (Map.Entry<Class<?>, Set<Object>> current : sourceTypeToConverterInstanceMap.entrySet()) {
+    /**
+     * Removes the supplied converter instance from this ConverterRegistry. Cached conversion
+     * paths are invalidated for all source types which could be converted by the removed converter.
+     * Removing a converter instance which is not registered within this ConverterRegistry is a no-op.
+     *
+     * @param converter The converter to remove.
+     */
+    @Override
+    public void remove(@NotNull final Object converter) {
 
-            PrioritizedTypeConverter prioritizedTypeConverter = new PrioritizedTypeConverter(
-                    current.getKey(), current.getValue().toArray());
+        // Check sanity
+        Validate.notNull(converter, "converter");
 
-            // Finally, add the PrioritizedTypeConverter instance.
-            sourceTypeToTypeConvertersMap.put(current.getKey(), prioritizedTypeConverter);
-        }
+        // Publish a new snapshot without the removed converter.
+        update(Collections.singleton(converter), Collections.emptyMap());
     }
 
     /**
-     * Throws {@code UnsupportedOperationException}.
+     * Atomically replaces the supplied converters with the given new ones, implying that no conversion
+     * will see a state where the old converters are removed but the new ones not yet added.
+     * This is typically used when the bundle/module contributing a set of converters is redeployed.
      *
-     * @param converter The converter to remove.
+     * @param toRemove The converter instances to remove. Instances not registered within this
+     *                 DefaultConverterRegistry are ignored.
+     * @param toAdd    The converters to add.
+     * @throws IllegalArgumentException if any of the converters to add was not annotated with @Converter,
+     *                                  in which case the internal state of this DefaultConverterRegistry
+     *                                  is unchanged.
      */
-    @Override
-    public void remove(final Object converter) {
-        throw new UnsupportedOperationException("Converter removal not yet implemented.");
+    public void replace(@NotNull final Collection<?> toRemove,
+                        @NotNull @Size(min = 1) final Object... toAdd) throws IllegalArgumentException {
+
+        // Check sanity
+        Validate.notNull(toRemove, "toRemove");
+        Validate.notEmpty(toAdd, "toAdd");
+
+        // Publish a new snapshot holding the replaced converters.
+        update(toRemove, mapToSourceTypes(toAdd));
     }
 
     /**
@@ -168,44 +214,63 @@ public class DefaultConverterRegistry implements ConverterRegistry {
     public <From, To> To convert(final From source, final Class<To> desiredType)
             throws IllegalArgumentException {
 
-        // Find the best PrioritizedTypeConverter instance for the supplied source.
+        // Find the (cached) conversion path for the supplied source within the current snapshot.
         final Class<From> sourceType = source == null ? null : (Class<From>) source.getClass();
-        PrioritizedTypeConverter<From> typeConverter = sourceTypeToTypeConvertersMap.get(sourceType);
+        final ConversionPath conversionPath = getConversionPath(snapshot, sourceType, desiredType);
 
-        if (typeConverter == null) {
-
-            // Resort to fuzzy logic to acquire the PrioritizedTypeConverter
-            final SortedMap<Integer, PrioritizedTypeConverter> prioritized = getPrioritizedConverters(sourceType);
-
-            // Get the least divergent type converter
-            typeConverter = prioritized.get(prioritized.lastKey());
-        }
-
-        // No TypeConverter found at all?
-        if (typeConverter == null) {
+        // All done.
+        return conversionPath == ConversionPath.NONE
+                ? null
+                : (To) conversionPath.converter.apply(source);
+    }
 
-            // Holler a tad...
-            log.info("TypeConverter not found. [" + desiredType.getSimpleName() + " --> " + typeConverter + "]");
-            return null;
-        }
+    /**
+     * Converts all source objects against a single snapshot of this DefaultConverterRegistry, resolving
+     * the conversion path only once per distinct runtime type of the source objects. Collections holding
+     * at least {@code parallelConversionThreshold} source objects are converted in parallel; by default,
+     * all Collections are converted sequentially.
+     *
+     * @param sources     The objects to convert.
+     * @param desiredType The type to which the source objects should be converted.
+     * @param <From>      The source type.
+     * @param <To>        The resulting type.
+     * @return A List holding the converted objects, in the iteration order of the sources Collection.
+     * @throws IllegalArgumentException if any conversion failed.
+     */
+    @Override
+    public <From, To> List<To> convertAll(@NotNull final Collection<From> sources,
+                                          @NotNull final Class<To> desiredType) throws IllegalArgumentException {
 
-        // Dig out the corresponding optimalToType for the acquired TypeConverter.
-        // We may acquire a null response here, if no optimalToType can be found.
-        final Class<To> optimalToType = getOptimalToType(typeConverter, desiredType);
+        // Check sanity
+        Validate.notNull(sources, "sources");
 
-        To toReturn = null;
-        if (optimalToType != null) {
+        // Use a parallel Spliterator for large inputs.
+        final boolean parallel = sources.size() >= parallelConversionThreshold;
+        return StreamSupport.stream(sources.spliterator(), parallel)
+                .map(getBulkConverter(desiredType))
+                .collect(Collectors.toList());
+    }
 
-            log.debug("Found TypeConverter [" + desiredType.getSimpleName()
-                    + (optimalToType == desiredType ? "" : " (fuzzy: " + optimalToType.getSimpleName() + ")")
-                    + " --> " + typeConverter + "]");
+    /**
+     * Lazily converts all objects within the source Stream against a single snapshot of this
+     * DefaultConverterRegistry, resolving the conversion path only once per distinct runtime type
+     * of the source objects.
+     *
+     * @param sources     The Stream of objects to convert.
+     * @param desiredType The type to which the source objects should be converted.
+     * @param <From>      The source type.
+     * @param <To>        The resulting type.
+     * @return A Stream of the converted objects.
+     */
+    @Override
+    public <From, To> Stream<To> convertAll(@NotNull final Stream<From> sources,
+                                            @NotNull final Class<To> desiredType) {
 
-            // Convert the data
-            toReturn = (To) typeConverter.convert(source, optimalToType);
-        }
+        // Check sanity
+        Validate.notNull(sources, "sources");
 
         // All done.
-        return toReturn;
+        return sources.map(getBulkConverter(desiredType));
     }
 
     /**
@@ -219,7 +284,8 @@ public class DefaultConverterRegistry implements ConverterRegistry {
         Validate.notNull(sourceType, "Cannot handle null sourceType argument.");
 
         // Acquire the TypeConverter instance
-        final SortedMap<Integer, PrioritizedTypeConverter> converterMap = getPrioritizedConverters(sourceType);
+        final SortedMap<Integer, PrioritizedTypeConverter> converterMap = getPrioritizedConverters(
+                snapshot.sourceTypeToTypeConvertersMap, sourceType);
 
         if (converterMap.size() == 0) {
             return new HashSet<Class<?>>();
@@ -250,6 +316,9 @@ public class DefaultConverterRegistry implements ConverterRegistry {
     @Override
     public String toString() {
 
+        final SortedMap<Class<?>, PrioritizedTypeConverter> sourceTypeToTypeConvertersMap =
+                snapshot.sourceTypeToTypeConvertersMap;
+
         // Create a preamble
         final StringBuilder builder = new StringBuilder("DefaultConverterRegistry ["
                 + sourceTypeToTypeConvertersMap.size() + "] source types.\n");
@@ -272,6 +341,316 @@ public class DefaultConverterRegistry implements ConverterRegistry {
     // Private helpers
     //
 
+    private <From, To> Function<From, To> getBulkConverter(final Class<To> desiredType) {
+
+        // Pin the current snapshot, and resolve each source type only once.
+        final RegistrySnapshot current = snapshot;
+        final ConcurrentMap<Class<?>, ConversionPath> resolvedPaths = new ConcurrentHashMap<>();
+
+        return source -> {
+
+            final Class<From> sourceType = source == null ? null : (Class<From>) source.getClass();
+            final Class<?> sourceTypeKey = sourceType == null ? NULL_TYPE_KEY : sourceType;
+
+            ConversionPath conversionPath = resolvedPaths.get(sourceTypeKey);
+            if (conversionPath == null) {
+                conversionPath = getConversionPath(current, sourceType, desiredType);
+                resolvedPaths.putIfAbsent(sourceTypeKey, conversionPath);
+            }
+
+            // All done.
+            return conversionPath == ConversionPath.NONE
+                    ? null
+                    : (To) conversionPath.converter.apply(source);
+        };
+    }
+
+    private Map<Class<?>, Set<Object>> mapToSourceTypes(final Object... converters) {
+
+        final Map<Object, Tuple<SortedSet<Method>, SortedSet<Constructor<?>>>> validConverters = new HashMap<>();
+
+        // All converters have annotations?
+        for (Object current : converters) {
+
+            // Find the TypeInformation for the current class.
+            final Tuple<SortedSet<Method>, SortedSet<Constructor<?>>> methodsAndConstructors =
+                    Converters.GET_CONVERTERS.apply(current.getClass());
+
+            if (methodsAndConstructors == null
+                    || (methodsAndConstructors.getKey().isEmpty() && methodsAndConstructors.getValue().isEmpty())) {
+
+                // No converters methods or constructors found within the supplied converter. Complain.
+                throw new IllegalArgumentException("Found no @Converter-annotated methods within class ["
+                        + current.getClass().getName() + "]. No @Converters added.");
+            }
+
+            // Map the current converter to its converter methods and constructors, respectively.
+            validConverters.put(current, methodsAndConstructors);
+        }
+
+        // Map the respective converters to the sourceTypes of their @Converters.
+        final Map<Class<?>, Set<Object>> sourceTypeToConverterInstanceMap = new HashMap<Class<?>, Set<Object>>();
+        validConverters.forEach((key, converterTuple) -> {
+
+            final Object theObject = key;
+
+            converterTuple.getKey().forEach(currentMethod -> {
+
+                // Extract the type from the only argument of the current Method (i.e. the "From" type).
+                final Class<?> currentType = currentMethod.getParameterTypes()[0];
+                addCurrentConverter(sourceTypeToConverterInstanceMap, theObject, currentType);
+            });
+
+            converterTuple.getValue().forEach(currentConstructor -> {
+
+                // Extract the type from the only argument of the current Constructor (i.e. the "From" type).
+                final Class<?> currentType = currentConstructor.getParameterTypes()[0];
+                addCurrentConverter(sourceTypeToConverterInstanceMap, theObject, currentType);
+            });
+        });
+
+        // All done.
+        return sourceTypeToConverterInstanceMap;
+    }
+
+    private void update(final Collection<?> toRemove, final Map<Class<?>, Set<Object>> toAdd) {
+
+        synchronized (lock) {
+
+            final RegistrySnapshot current = snapshot;
+
+            // Copy the converter instances of the current snapshot.
+            final Map<Class<?>, Set<Object>> sourceTypeToConverters = new HashMap<>();
+            current.sourceTypeToConverters.forEach((sourceType, converters) -> {
+                final Set<Object> copy = Collections.newSetFromMap(new IdentityHashMap<>());
+                copy.addAll(converters);
+                sourceTypeToConverters.put(sourceType, copy);
+            });
+
+            // Remove and add converters, noting all affected source types.
+            final Set<Class<?>> affectedSourceTypes = new HashSet<>();
+            for (Object currentConverter : toRemove) {
+                sourceTypeToConverters.forEach((sourceType, converters) -> {
+                    if (converters.remove(currentConverter)) {
+                        affectedSourceTypes.add(sourceType);
+                    }
+                });
+            }
+            toAdd.forEach((sourceType, converters) -> {
+                sourceTypeToConverters.computeIfAbsent(sourceType,
+                        k -> Collections.newSetFromMap(new IdentityHashMap<>())).addAll(converters);
+                affectedSourceTypes.add(sourceType);
+            });
+
+            if (affectedSourceTypes.isEmpty()) {
+
+                if (log.isDebugEnabled()) {
+                    log.debug("No converters added or removed. Retaining state version " + current.version);
+                }
+                return;
+            }
+
+            // Re-create the PrioritizedTypeConverters for the affected source types only.
+            final SortedMap<Class<?>, PrioritizedTypeConverter> sourceTypeToTypeConvertersMap =
+                    new TreeMap<>(TypeAlgorithms.CLASSNAME_COMPARATOR);
+            sourceTypeToTypeConvertersMap.putAll(current.sourceTypeToTypeConvertersMap);
+            for (Class<?> currentSourceType : affectedSourceTypes) {
+
+                final Set<Object> converters = sourceTypeToConverters.get(currentSourceType);
+                if (converters.isEmpty()) {
+                    sourceTypeToConverters.remove(currentSourceType);
+                    sourceTypeToTypeConvertersMap.remove(currentSourceType);
+                } else {
+                    sourceTypeToTypeConvertersMap.put(currentSourceType,
+                            new PrioritizedTypeConverter(currentSourceType, converters.toArray()));
+                }
+            }
+
+            // Retain the resolved conversion paths which are unaffected by the change.
+            final boolean convertersAdded = !toAdd.isEmpty();
+            final ConcurrentMap<TypeKey, ConcurrentMap<TypeKey, ConversionPath>> conversionPathCache =
+                    new ConcurrentHashMap<>();
+            current.conversionPathCache.forEach((sourceTypeKey, desiredTypeToPathMap) -> {
+
+                // Skip the conversion paths of unloaded source types.
+                final Class<?> sourceType = sourceTypeKey.get();
+                if (sourceType == null) {
+                    return;
+                }
+
+                final ConcurrentMap<TypeKey, ConversionPath> retained = new ConcurrentHashMap<>();
+                desiredTypeToPathMap.forEach((desiredTypeKey, conversionPath) -> {
+                    if (desiredTypeKey.get() != null
+                            && isRetained(sourceType, conversionPath, affectedSourceTypes, convertersAdded)) {
+                        retained.put(desiredTypeKey, conversionPath);
+                    }
+                });
+
+                if (!retained.isEmpty()) {
+                    conversionPathCache.put(sourceTypeKey, retained);
+                }
+            });
+
+            // Publish the new snapshot.
+            final RegistrySnapshot updated = new RegistrySnapshot(current.version + 1,
+                    sourceTypeToTypeConvertersMap,
+                    sourceTypeToConverters,
+                    conversionPathCache);
+            snapshot = updated;
+
+            if (log.isDebugEnabled()) {
+                log.debug("Published state version " + updated.version + ". Affected source types: "
+                        + affectedSourceTypes);
+            }
+        }
+    }
+
+    private static boolean isRetained(final Class<?> cachedSourceType,
+                                      final ConversionPath conversionPath,
+                                      final Set<Class<?>> affectedSourceTypes,
+                                      final boolean convertersAdded) {
+
+        // Added converters may provide a conversion where none was found, or
+        // a cheaper chain of conversions than the one planned.
+        if (conversionPath == ConversionPath.NONE) {
+            return !convertersAdded && !isAffected(cachedSourceType, affectedSourceTypes);
+        }
+        if (!conversionPath.planned) {
+            return !isAffected(cachedSourceType, affectedSourceTypes);
+        }
+        if (convertersAdded || isAffected(cachedSourceType, affectedSourceTypes)) {
+            return false;
+        }
+
+        // Removing converters retains a planned chain, unless any of its steps is affected.
+        for (Class<?> current : conversionPath.intermediateTypes) {
+            if (isAffected(current, affectedSourceTypes)) {
+                return false;
+            }
+        }
+
+        // All done.
+        return true;
+    }
+
+    private static boolean isAffected(final Class<?> cachedSourceType, final Set<Class<?>> affectedSourceTypes) {
+
+        // null values are converted by the PrioritizedTypeConverter for Object.
+        if (cachedSourceType == NULL_TYPE_KEY) {
+            return affectedSourceTypes.contains(Object.class);
+        }
+
+        // Conversion paths depend on all PrioritizedTypeConverters whose source type is
+        // assignable from the cached source type (i.e. both exact and fuzzy matches).
+        for (Class<?> current : affectedSourceTypes) {
+            if (current.isAssignableFrom(cachedSourceType)) {
+                return true;
+            }
+        }
+
+        // All done.
+        return false;
+    }
+
+    private <From, To> ConversionPath getConversionPath(final RegistrySnapshot current,
+                                                        final Class<From> sourceType,
+                                                        final Class<To> desiredType) {
+
+        // Check the cache first; negative results are cached as well.
+        final TypeKey sourceTypeKey = TYPE_KEYS.get(sourceType == null ? NULL_TYPE_KEY : sourceType);
+        ConcurrentMap<TypeKey, ConversionPath> desiredTypeToPathMap = current.conversionPathCache.get(sourceTypeKey);
+        if (desiredTypeToPathMap == null) {
+            current.onCacheMiss();
+            desiredTypeToPathMap = current.conversionPathCache.computeIfAbsent(sourceTypeKey,
+                    k -> new ConcurrentHashMap<>());
+        }
+
+        final TypeKey desiredTypeKey = TYPE_KEYS.get(desiredType == null ? NULL_TYPE_KEY : desiredType);
+        ConversionPath toReturn = desiredTypeToPathMap.get(desiredTypeKey);
+        if (toReturn == null) {
+            current.onCacheMiss();
+            toReturn = resolveConversionPath(current, sourceType, desiredType);
+            desiredTypeToPathMap.putIfAbsent(desiredTypeKey, toReturn);
+        }
+
+        // All done.
+        return toReturn;
+    }
+
+    private <From, To> ConversionPath resolveConversionPath(final RegistrySnapshot current,
+                                                           final Class<From> sourceType,
+                                                           final Class<To> desiredType) {
+
+        // Single-step conversions go first.
+        final ConversionPath singleStepPath = resolveSingleStepConversionPath(
+                current.sourceTypeToTypeConvertersMap, sourceType, desiredType);
+        if (singleStepPath != ConversionPath.NONE || sourceType == null || desiredType == null) {
+            return singleStepPath;
+        }
+
+        // Resort to planning the cheapest chain of conversions.
+        final List<ConversionGraph.Edge> chain = current.getConversionGraph().findCheapestPath(
+                sourceType, desiredType);
+        if (chain.isEmpty()) {
+            return ConversionPath.NONE;
+        }
+
+        if (log.isDebugEnabled()) {
+            final List<String> steps = new ArrayList<>();
+            chain.forEach(edge -> steps.add(edge.getToType().getSimpleName()));
+            log.debug("Planned conversion chain [" + sourceType.getSimpleName() + " --> "
+                    + String.join(" --> ", steps) + "] for desired type [" + desiredType.getSimpleName() + "]");
+        }
+
+        // All done.
+        return new ConversionPath(chain);
+    }
+
+    private <From, To> ConversionPath resolveSingleStepConversionPath(
+            final SortedMap<Class<?>, PrioritizedTypeConverter> sourceTypeToTypeConvertersMap,
+            final Class<From> sourceType,
+            final Class<To> desiredType) {
+
+        // Find the best PrioritizedTypeConverter instance for the supplied sourceType.
+        PrioritizedTypeConverter<From> typeConverter = sourceTypeToTypeConvertersMap.get(sourceType);
+
+        if (typeConverter == null) {
+
+            // Resort to fuzzy logic to acquire the PrioritizedTypeConverter
+            final SortedMap<Integer, PrioritizedTypeConverter> prioritized = getPrioritizedConverters(
+                    sourceTypeToTypeConvertersMap, sourceType);
+
+            // Get the least divergent type converter
+            typeConverter = prioritized.isEmpty() ? null : prioritized.get(prioritized.lastKey());
+        }
+
+        // No TypeConverter found at all?
+        if (typeConverter == null) {
+
+            // Holler a tad...
+            if (log.isInfoEnabled()) {
+                log.info("TypeConverter not found. [" + desiredType.getSimpleName() + " --> " + typeConverter + "]");
+            }
+            return ConversionPath.NONE;
+        }
+
+        // Dig out the corresponding optimalToType for the acquired TypeConverter.
+        // We may acquire a null response here, if no optimalToType can be found.
+        final Class<To> optimalToType = getOptimalToType(typeConverter, desiredType);
+        if (optimalToType == null) {
+            return ConversionPath.NONE;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Found TypeConverter [" + desiredType.getSimpleName()
+                    + (optimalToType == desiredType ? "" : " (fuzzy: " + optimalToType.getSimpleName() + ")")
+                    + " --> " + typeConverter + "]");
+        }
+
+        // All done.
+        return new ConversionPath(typeConverter, optimalToType);
+    }
+
     private <From, To> Class<To> getOptimalToType(@NotNull final PrioritizedTypeConverter<From> typeConverter,
                                                   final Class<To> requestedToType) {
 
@@ -282,8 +661,10 @@ public class DefaultConverterRegistry implements ConverterRegistry {
         if (availableTargetTypes.contains(requestedToType)) {
 
             // Debug somewhat.
-            log.debug("Exact conversion [" + typeConverter.getSourceType().getSimpleName() + " --> "
-                    + requestedToType.getSimpleName() + "] found in " + typeConverter);
+            if (log.isDebugEnabled()) {
+                log.debug("Exact conversion [" + typeConverter.getSourceType().getSimpleName() + " --> "
+                        + requestedToType.getSimpleName() + "] found in " + typeConverter);
+            }
 
             return requestedToType;
         }
@@ -302,9 +683,11 @@ public class DefaultConverterRegistry implements ConverterRegistry {
         final Class<To> optimalToClass = (Class<To>) getOptimalClosestType(bestChoiceToTypes);
 
         // Debug somewhat.
-        log.debug("Fuzzy conversion [" + typeConverter.getSourceType().getSimpleName() + " --> "
-                + optimalToClass.getSimpleName() + " (" + requestedToType.getSimpleName() + ")] found in "
-                + typeConverter);
+        if (log.isDebugEnabled()) {
+            log.debug("Fuzzy conversion [" + typeConverter.getSourceType().getSimpleName() + " --> "
+                    + optimalToClass.getSimpleName() + " (" + requestedToType.getSimpleName() + ")] found in "
+                    + typeConverter);
+        }
 
         // All done.
         return optimalToClass;
@@ -314,13 +697,16 @@ public class DefaultConverterRegistry implements ConverterRegistry {
      * Acquires a SortedMap holding all available PrioritizedTypeConverter instances
      * which can convert from the supplied sourceType.
      *
-     * @param sourceType The type to convert from.
-     * @param <From>     The type to convert from.
+     * @param sourceTypeToTypeConvertersMap The PrioritizedTypeConverters of the current snapshot,
+     *                                      mapped to their respective source types.
+     * @param sourceType                    The type to convert from.
+     * @param <From>                        The type to convert from.
      * @return a SortedMap holding all available PrioritizedTypeConverter instances
      * which can convert from the supplied sourceType, mapped to their priority
      * as defined by the algorithm found in the TypeClosenessTransformer class.
      */
     private <From> SortedMap<Integer, PrioritizedTypeConverter> getPrioritizedConverters(
+            final SortedMap<Class<?>, PrioritizedTypeConverter> sourceTypeToTypeConvertersMap,
             final Class<From> sourceType) {
 
         // Create the List of converters to return
@@ -377,8 +763,10 @@ public class DefaultConverterRegistry implements ConverterRegistry {
         }
 
         // Debug somewhat
-        final String sourceTypeSimpleName = sourceType == null ? "<null>" : sourceType.getSimpleName();
-        log.debug("Source type [" + sourceTypeSimpleName + "] yields converters: " + toReturn);
+        if (log.isDebugEnabled()) {
+            final String sourceTypeSimpleName = sourceType == null ? "<null>" : sourceType.getSimpleName();
+            log.debug("Source type [" + sourceTypeSimpleName + "] yields converters: " + toReturn);
+        }
 
         // All done.
         return toReturn;
@@ -423,15 +811,17 @@ public class DefaultConverterRegistry implements ConverterRegistry {
             optimalToClass = optimalClasses.size() > 0 ? optimalClasses.get(0) : initialBestChoices.get(0);
 
             // Debug somewhat
-            List<String> initialBestChoicesClassNames = new ArrayList<String>();
-            for (Class<?> current : initialBestChoices) {
-                initialBestChoicesClassNames.add(current.getSimpleName());
-            }
+            if (log.isDebugEnabled()) {
+                List<String> initialBestChoicesClassNames = new ArrayList<String>();
+                for (Class<?> current : initialBestChoices) {
+                    initialBestChoicesClassNames.add(current.getSimpleName());
+                }
 
-            log.debug("Optimal type [" + optimalToClass.getSimpleName()
-                    + "] selected from choices " + initialBestChoicesClassNames);
+                log.debug("Optimal type [" + optimalToClass.getSimpleName()
+                        + "] selected from choices " + initialBestChoicesClassNames);
+            }
 
-        } else {
+        } else if (log.isDebugEnabled()) {
             log.debug("Single/optimal best choice type: " + initialBestChoices);
         }
 
@@ -463,4 +853,163 @@ public class DefaultConverterRegistry implements ConverterRegistry {
         }
         return prioritizedTypes;
     }
+
+    /**
+     * Resolved (and cached) conversion path, holding a composed converter which performs a single
+     * conversion or a planned chain of conversions from a given source type to a desired type.
+     * ConversionPaths refer to no types other than those of the registered converters, and therefore
+     * never pin the ClassLoaders of the source or desired types for which they are cached.
+     */
+    private static final class ConversionPath {
+
+        /**
+         * Negative conversion path, indicating that no conversion is possible.
+         */
+        private static final ConversionPath NONE = new ConversionPath(null, null);
+
+        // Internal state
+        private final Class<?>[] intermediateTypes;
+        private final Function<Object, Object> converter;
+        private final boolean planned;
+
+        /**
+         * Creates a single-step ConversionPath.
+         *
+         * @param typeConverter The PrioritizedTypeConverter performing the conversion.
+         * @param toType        The type to which the typeConverter should convert.
+         */
+        private ConversionPath(final PrioritizedTypeConverter typeConverter, final Class<?> toType) {
+            this.intermediateTypes = new Class<?>[0];
+            this.converter = toConvert -> typeConverter.convert(toConvert, toType);
+            this.planned = false;
+        }
+
+        /**
+         * Creates a ConversionPath composed from a planned chain of conversions.
+         *
+         * @param chain The non-empty chain of conversions, in conversion order.
+         */
+        private ConversionPath(final List<ConversionGraph.Edge> chain) {
+
+            this.intermediateTypes = new Class<?>[chain.size() - 1];
+
+            Function<Object, Object> composed = null;
+            for (int i = 0; i < chain.size(); i++) {
+
+                final PrioritizedTypeConverter typeConverter = chain.get(i).getTypeConverter();
+                final Class<?> toType = chain.get(i).getToType();
+                if (i > 0) {
+                    intermediateTypes[i - 1] = chain.get(i - 1).getToType();
+                }
+
+                if (composed == null) {
+                    composed = toConvert -> typeConverter.convert(toConvert, toType);
+                } else {
+
+                    // Abort the chain if any intermediate conversion yields null.
+                    final Function<Object, Object> previous = composed;
+                    composed = toConvert -> {
+                        final Object intermediate = previous.apply(toConvert);
+                        return intermediate == null ? null : typeConverter.convert(intermediate, toType);
+                    };
+                }
+            }
+
+            this.converter = composed;
+            this.planned = true;
+        }
+    }
+
+    /**
+     * Conversion path cache key for a class, which refers to the class only weakly.
+     * Each class has a single TypeKey, implying that TypeKeys are compared by identity.
+     */
+    private static final class TypeKey extends WeakReference<Class<?>> {
+
+        private TypeKey(final Class<?> type) {
+            super(type);
+        }
+
+        /**
+         * @return {@code true} if the class of this TypeKey has been unloaded.
+         */
+        private boolean isCleared() {
+            return get() == null;
+        }
+    }
+
+    /**
+     * Immutable and versioned snapshot of the internal state of a DefaultConverterRegistry.
+     * The conversion path cache and the ConversionGraph are populated lazily, but only with
+     * data derived from this snapshot.
+     */
+    private static final class RegistrySnapshot {
+
+        // Internal state
+        private final long version;
+        private final SortedMap<Class<?>, PrioritizedTypeConverter> sourceTypeToTypeConvertersMap;
+        private final Map<Class<?>, Set<Object>> sourceTypeToConverters;
+        private final ConcurrentMap<TypeKey, ConcurrentMap<TypeKey, ConversionPath>> conversionPathCache;
+        private volatile ConversionGraph conversionGraph;
+        private final AtomicLong cacheMisses = new AtomicLong();
+        private volatile long purgeInterval = MIN_PURGE_INTERVAL;
+
+        private RegistrySnapshot(
+                final long version,
+                final SortedMap<Class<?>, PrioritizedTypeConverter> sourceTypeToTypeConvertersMap,
+                final Map<Class<?>, Set<Object>> sourceTypeToConverters,
+                final ConcurrentMap<TypeKey, ConcurrentMap<TypeKey, ConversionPath>> conversionPathCache) {
+
+            this.version = version;
+            this.sourceTypeToTypeConvertersMap = Collections.unmodifiableSortedMap(sourceTypeToTypeConvertersMap);
+            this.sourceTypeToConverters = Collections.unmodifiableMap(sourceTypeToConverters);
+            this.conversionPathCache = conversionPathCache;
+        }
+
+        /**
+         * @return The ConversionGraph of all PrioritizedTypeConverters within this RegistrySnapshot.
+         */
+        private ConversionGraph getConversionGraph() {
+
+            // Creating two ConversionGraphs in parallel is harmless; one of them is discarded.
+            ConversionGraph toReturn = conversionGraph;
+            if (toReturn == null) {
+                toReturn = new ConversionGraph(sourceTypeToTypeConvertersMap);
+                conversionGraph = toReturn;
+            }
+
+            // All done.
+            return toReturn;
+        }
+
+        /**
+         * Registers a conversion path cache miss, and purges the conversion paths of unloaded types once the
+         * number of misses since the last purge has reached the number of cached paths. This keeps the
+         * amortized purge cost per cache miss constant.
+         */
+        private void onCacheMiss() {
+
+            if (cacheMisses.incrementAndGet() < purgeInterval) {
+                return;
+            }
+
+            synchronized (this) {
+
+                // Check sanity; another thread may have purged already.
+                if (cacheMisses.get() < purgeInterval) {
+                    return;
+                }
+
+                long cachedPaths = 0;
+                conversionPathCache.keySet().removeIf(TypeKey::isCleared);
+                for (ConcurrentMap<TypeKey, ConversionPath> current : conversionPathCache.values()) {
+                    current.keySet().removeIf(TypeKey::isCleared);
+                    cachedPaths += current.size();
+                }
+
+                purgeInterval = Math.max(MIN_PURGE_INTERVAL, cachedPaths);
+                cacheMisses.set(0);
+            }
+        }
+    }
 }
@@ -36,6 +36,7 @@ import javax.validation.constraints.NotNull;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -46,10 +47,14 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Holder class for a set of prioritized TypeConverter instances, all of which convert objects
- * from a single source class/type.
+ * from a single source class/type. The TypeConverters are held within an immutable snapshot which
+ * is replaced (under a lock) whenever TypeConverters are added, implying that lookups and conversions
+ * never block and do not need to rebuild any collections.
  *
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
  */
@@ -62,7 +67,7 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
     // Internal state
     private Class<From> sourceType;
     private final Object lock = new Object();
-    private SortedMap<Integer, Map<Class<?>, TypeConverter<From, ?>>> prioritizedTypeConverterMap;
+    private volatile TypeConverterSnapshot<From> snapshot;
 
     /**
      * Creates an empty PrioritizedTypeConverter which holds TypeConverter instances with the supplied sourceType.
@@ -87,7 +92,7 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
         Validate.notNull(sourceType, "sourceType");
 
         // Assign internal state
-        this.prioritizedTypeConverterMap = Collections.synchronizedSortedMap(
+        this.snapshot = new TypeConverterSnapshot<From>(
                 new TreeMap<Integer, Map<Class<?>, TypeConverter<From, ?>>>());
         this.sourceType = sourceType;
         if (converters != null && converters.length > 0) {
@@ -106,31 +111,10 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
      * Acquires all available targetTypes known to this PrioritizedTypeConverter instance, indicating the closure of
      * all Classes to which this PrioritizedTypeConverter can convert objects.
      *
-     * @return An unordered Set holding all available target type objects.
+     * @return An unordered and unmodifiable Set holding all available target type objects.
      */
     public Set<Class<?>> getAvailableTargetTypes() {
-
-        final Set<Class<?>> toReturn = new HashSet<Class<?>>();
-
-        for (Map.Entry<Integer, Map<Class<?>, TypeConverter<From, ?>>> prioTypeConverterMap
-                : prioritizedTypeConverterMap.entrySet()) {
-
-            // Acquire the current TypeConverter instances.
-            final Map<Class<?>, TypeConverter<From, ?>> from2ConverterMap = prioTypeConverterMap.getValue();
-
-            for (Map.Entry<Class<?>, TypeConverter<From, ?>> currentFrom2Converter : from2ConverterMap.entrySet()) {
-
-                final TypeConverter<From, ?> currentTypeConverter = currentFrom2Converter.getValue();
-                final Class<?> currentToType = currentTypeConverter.getToType();
-
-                if (!toReturn.contains(currentToType)) {
-                    toReturn.add(currentToType);
-                }
-            }
-        }
-
-        // All done.
-        return toReturn;
+        return snapshot.availableTargetTypes;
     }
 
     /**
@@ -250,7 +234,7 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
      *
      * @param targetType The type to which all retrieved TypeConverters should be able to convert to.
      * @param <To>       The target Type desired.
-     * @return a prioritized list holding all known TypeConverters able to convert between the
+     * @return a prioritized and unmodifiable list holding all known TypeConverters able to convert between the
      * sourceType to the targetType.
      */
     public <To> List<TypeConverter<From, To>> getTypeConverters(@NotNull final Class<To> targetType) {
@@ -258,37 +242,29 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
         // Check sanity
         Validate.notNull(targetType, "targetType");
 
-        final List<TypeConverter<From, To>> toReturn = new ArrayList<TypeConverter<From, To>>();
-
-        for (Map.Entry<Integer, Map<Class<?>, TypeConverter<From, ?>>> current
-                : prioritizedTypeConverterMap.entrySet()) {
-
-            // Acquire the TypeConverter to return.
-            final Map<Class<?>, TypeConverter<From, ?>> from2TypeConvMap = current.getValue();
+        // Delegate
+        return (List<TypeConverter<From, To>>) (List<?>) snapshot.getTypeConverters(targetType);
+    }
 
-            // Exact match?
-            final TypeConverter<From, ?> candidate = from2TypeConvMap.get(targetType);
-            if (candidate != null) {
-                toReturn.add((TypeConverter<From, To>) candidate);
-            }
-        }
+    /**
+     * Retrieves the priority of the highest-prioritized TypeConverter converting exactly to the supplied
+     * targetType, i.e. the lowest {@link Converter#priority()} value among those TypeConverters.
+     *
+     * @param targetType The type to which the TypeConverters should convert.
+     * @return The priority of the highest-prioritized TypeConverter converting to the targetType, or
+     * {@link Converter#DEFAULT_PRIORITY} if no TypeConverter converts exactly to the targetType.
+     */
+    int getPriority(final Class<?> targetType) {
 
         for (Map.Entry<Integer, Map<Class<?>, TypeConverter<From, ?>>> current
-                : prioritizedTypeConverterMap.entrySet()) {
-
-            // Acquire the TypeConverter to return.
-            final Map<Class<?>, TypeConverter<From, ?>> from2TypeConvMap = current.getValue();
-
-            // Fuzzy matches go after exact matches
-            for (Map.Entry<Class<?>, TypeConverter<From, ?>> currentSourceClass2TypeConverter : from2TypeConvMap.entrySet()) {
-                if (currentSourceClass2TypeConverter.getKey().isAssignableFrom(targetType)) {
-                    toReturn.add((TypeConverter<From, To>) currentSourceClass2TypeConverter.getValue());
-                }
+                : snapshot.prioritizedTypeConverterMap.entrySet()) {
+            if (current.getValue().containsKey(targetType)) {
+                return current.getKey();
             }
         }
 
         // All done.
-        return toReturn;
+        return Converter.DEFAULT_PRIORITY;
     }
 
     /**
@@ -310,9 +286,11 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
         // Acquire all possible TypeConverters
         final List<TypeConverter<From, To>> typeConverters = getTypeConverters(toType);
 
-        final String toConvertTypeName = toConvert == null ? "null" : toConvert.getClass().getSimpleName();
-        log.warn("Converting [" + toConvertTypeName + " --> " + toType.getSimpleName()
-                + "] using " + typeConverters + ". My Converters: " + this.prioritizedTypeConverterMap);
+        if (log.isDebugEnabled()) {
+            final String toConvertTypeName = toConvert == null ? "null" : toConvert.getClass().getSimpleName();
+            log.debug("Converting [" + toConvertTypeName + " --> " + toType.getSimpleName()
+                    + "] using " + typeConverters + ". My Converters: " + snapshot.prioritizedTypeConverterMap);
+        }
 
         if (!typeConverters.isEmpty()) {
             for (TypeConverter<From, To> current : typeConverters) {
@@ -336,8 +314,10 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
     public String toString() {
 
         // Acquire all target types.
+        final SortedMap<Integer, Map<Class<?>, TypeConverter<From, ?>>> prioritizedTypeConverterMap =
+                snapshot.prioritizedTypeConverterMap;
         final SortedMap<Integer, SortedSet<String>> priorityTargetTypeMap = new TreeMap<Integer, SortedSet<String>>();
-        for (int currentIndex : this.prioritizedTypeConverterMap.keySet()) {
+        for (int currentIndex : prioritizedTypeConverterMap.keySet()) {
 
             // Acquire all [simple] class names of the target types.
             final List<String> classNames = CollectionAlgorithms.flatten(
@@ -458,6 +438,7 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
 
         // Internal state
         private Constructor<To> converterConstructor;
+        private Function<Object, Object> converterInvoker;
 
         /**
          * Creates a new ConstructorTypeConverter instance wrapping the supplied Constructor.
@@ -471,6 +452,7 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
 
             // Assign internal state
             this.converterConstructor = converterConstructor;
+            this.converterInvoker = ConverterInvokers.forConstructor(converterConstructor);
             converterAnnotation = converterConstructor.getAnnotation(Converter.class);
         }
 
@@ -480,7 +462,7 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
         @Override
         public To convert(final From instance) {
             try {
-                return converterConstructor.newInstance(instance);
+                return (To) converterInvoker.apply(instance);
             } catch (Exception e) {
                 final String typeName = instance == null ? "<null>" : instance.getClass().getName();
                 throw new IllegalArgumentException("Could not convert [" + typeName + "] to ["
@@ -500,6 +482,8 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
         private Method converterMethod;
         private Method conditionalConvertionMethod;
         private Object converterInstance;
+        private Function<Object, Object> converterInvoker;
+        private Predicate<Object> conditionalConversionInvoker;
 
         /**
          * Creates a new MethodTypeConverter instance which invokes the supplied converter instance using the
@@ -520,6 +504,7 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
             // Assign internal state
             this.converterInstance = converter;
             this.converterMethod = converterMethod;
+            this.converterInvoker = ConverterInvokers.forMethod(converter, converterMethod);
             converterAnnotation = converterMethod.getAnnotation(Converter.class);
 
             // Do we have a defined conditionalConversionMethod?
@@ -529,6 +514,8 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
                 conditionalConvertionMethod = converter.getClass().getMethod(
                         converterAnnotation.conditionalConversionMethod(),
                         PrioritizedTypeConverter.this.getSourceType());
+                conditionalConversionInvoker = ConverterInvokers.forConditionalMethod(
+                        converter, conditionalConvertionMethod);
             }
         }
 
@@ -564,9 +551,9 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
         public boolean canConvert(final From instance) {
 
             // Do we have a complex evaluator?
-            if (conditionalConvertionMethod != null) {
+            if (conditionalConversionInvoker != null) {
                 try {
-                    return (Boolean) conditionalConvertionMethod.invoke(converterInstance, instance);
+                    return conditionalConversionInvoker.test(instance);
                 } catch (Exception e) {
                     throw new IllegalStateException("Could not invoke [" + conditionalConvertionMethod + "]", e);
                 }
@@ -582,7 +569,7 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
         @Override
         public To convert(final From instance) {
             try {
-                return (To) converterMethod.invoke(converterInstance, instance);
+                return (To) converterInvoker.apply(instance);
             } catch (Exception e) {
                 final String typeName = instance == null ? "<null>" : instance.getClass().getName();
                 throw new IllegalArgumentException("Could not convert [" + typeName + "] to ["
@@ -609,17 +596,127 @@ public class PrioritizedTypeConverter<From> implements Comparable<PrioritizedTyp
         final int priority = toAdd.converterAnnotation.priority();
         final Class<?> toClass = toAdd.getToType();
 
-        Map<Class<?>, TypeConverter<From, ?>> priorityMap = prioritizedTypeConverterMap.get(priority);
-
         synchronized (lock) {
 
+            // Copy the current state, and add the supplied TypeConverter to the copy.
+            final SortedMap<Integer, Map<Class<?>, TypeConverter<From, ?>>> prioritizedTypeConverterMap =
+                    new TreeMap<Integer, Map<Class<?>, TypeConverter<From, ?>>>();
+            for (Map.Entry<Integer, Map<Class<?>, TypeConverter<From, ?>>> current
+                    : snapshot.prioritizedTypeConverterMap.entrySet()) {
+                prioritizedTypeConverterMap.put(current.getKey(),
+                        new HashMap<Class<?>, TypeConverter<From, ?>>(current.getValue()));
+            }
+
+            Map<Class<?>, TypeConverter<From, ?>> priorityMap = prioritizedTypeConverterMap.get(priority);
             if (priorityMap == null) {
                 priorityMap = new HashMap<Class<?>, TypeConverter<From, ?>>();
                 prioritizedTypeConverterMap.put(priority, priorityMap);
             }
+            final T replaced = (T) priorityMap.put(toClass, toAdd);
+
+            // Publish the new state
+            snapshot = new TypeConverterSnapshot<From>(prioritizedTypeConverterMap);
+
+            // All done.
+            return replaced;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the TypeConverters within a PrioritizedTypeConverter, holding precomputed
+     * prioritized TypeConverter lists for the available target types. Lists for other (i.e. fuzzy) target
+     * types are computed on each request rather than cached, to avoid retaining arbitrary target types -
+     * and thereby their ClassLoaders.
+     *
+     * @param <From> The source type of the TypeConverters.
+     */
+    private static final class TypeConverterSnapshot<From> {
+
+        // Internal state
+        private final SortedMap<Integer, Map<Class<?>, TypeConverter<From, ?>>> prioritizedTypeConverterMap;
+        private final Set<Class<?>> availableTargetTypes;
+        private final Map<Class<?>, List<TypeConverter<From, ?>>> targetType2TypeConverters;
+
+        /**
+         * Creates a new TypeConverterSnapshot from the supplied, priority-sorted TypeConverter Map.
+         * The supplied Map must not be modified after this constructor is invoked.
+         *
+         * @param prioritizedTypeConverterMap A SortedMap relating priority to Maps relating target type
+         *                                    to TypeConverter.
+         */
+        private TypeConverterSnapshot(
+                final SortedMap<Integer, Map<Class<?>, TypeConverter<From, ?>>> prioritizedTypeConverterMap) {
+
+            final SortedMap<Integer, Map<Class<?>, TypeConverter<From, ?>>> frozen =
+                    new TreeMap<Integer, Map<Class<?>, TypeConverter<From, ?>>>();
+            final Set<Class<?>> targetTypes = new HashSet<Class<?>>();
+            for (Map.Entry<Integer, Map<Class<?>, TypeConverter<From, ?>>> current
+                    : prioritizedTypeConverterMap.entrySet()) {
+
+                frozen.put(current.getKey(), Collections.unmodifiableMap(current.getValue()));
+                for (TypeConverter<From, ?> currentTypeConverter : current.getValue().values()) {
+                    targetTypes.add(currentTypeConverter.getToType());
+                }
+            }
+
+            // Assign internal state
+            this.prioritizedTypeConverterMap = Collections.unmodifiableSortedMap(frozen);
+            this.availableTargetTypes = Collections.unmodifiableSet(targetTypes);
+
+            // Precompute the TypeConverter lists for all known target types.
+            final Map<Class<?>, List<TypeConverter<From, ?>>> precomputed =
+                    new HashMap<Class<?>, List<TypeConverter<From, ?>>>();
+            for (Class<?> current : targetTypes) {
+                precomputed.put(current, findTypeConverters(current));
+            }
+            this.targetType2TypeConverters = Collections.unmodifiableMap(precomputed);
+        }
+
+        /**
+         * Retrieves the prioritized TypeConverters for the supplied target type; exact matches first,
+         * followed by fuzzy matches.
+         *
+         * @param targetType The type to which all retrieved TypeConverters should be able to convert to.
+         * @return An unmodifiable List holding the prioritized TypeConverters for the supplied targetType.
+         */
+        private List<TypeConverter<From, ?>> getTypeConverters(final Class<?> targetType) {
+
+            final List<TypeConverter<From, ?>> toReturn = targetType2TypeConverters.get(targetType);
+
+            // All done.
+            return toReturn != null ? toReturn : findTypeConverters(targetType);
+        }
+
+        private List<TypeConverter<From, ?>> findTypeConverters(final Class<?> targetType) {
+
+            final List<TypeConverter<From, ?>> toReturn = new ArrayList<TypeConverter<From, ?>>();
+
+            // Exact matches go first
+            for (Map<Class<?>, TypeConverter<From, ?>> current : prioritizedTypeConverterMap.values()) {
+
+                final TypeConverter<From, ?> candidate = current.get(targetType);
+                if (candidate != null) {
+                    toReturn.add(candidate);
+                }
+            }
+
+            // Fuzzy matches go after exact matches
+            for (Map<Class<?>, TypeConverter<From, ?>> current : prioritizedTypeConverterMap.values()) {
+                for (Map.Entry<Class<?>, TypeConverter<From, ?>> currentTargetType2TypeConverter
+                        : current.entrySet()) {
+                    if (currentTargetType2TypeConverter.getKey().isAssignableFrom(targetType)) {
+                        toReturn.add(currentTargetType2TypeConverter.getValue());
+                    }
+                }
+            }
+
+            if (toReturn.isEmpty()) {
+                return Collections.emptyList();
+            }
 
             // All done.
-            return (T) priorityMap.put(toClass, toAdd);
+            final TypeConverter<From, ?>[] typeConverters = toReturn.toArray(new TypeConverter[toReturn.size()]);
+            return Collections.unmodifiableList(Arrays.asList(typeConverters));
         }
     }
 }
@@ -0,0 +1,80 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.reflection.api.serialization;
+
+/**
+ * Definitions of the ASCII armour used by the {@link Serializer} to wrap serialized objects into Strings.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
+ */
+public enum Armour {
+
+    /**
+     * Uppercase hexadecimal armour, using two characters per serialized byte.
+     * This is the original armour of the Serializer.
+     */
+    HEX("hex"),
+
+    /**
+     * Standard Base64 armour, using four characters per three serialized bytes.
+     */
+    BASE64("b64"),
+
+    /**
+     * Standard Base64 armour of the deflate-compressed serialized bytes.
+     */
+    DEFLATED_BASE64("z64");
+
+    // Internal state
+    private final String token;
+
+    Armour(final String token) {
+        this.token = token;
+    }
+
+    /**
+     * @return The token identifying this Armour within armoured Strings.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Retrieves the Armour with the supplied token.
+     *
+     * @param token The token of an Armour.
+     * @return The Armour with the supplied token, or {@code null} if no such Armour exists.
+     */
+    public static Armour forToken(final String token) {
+
+        for (Armour current : values()) {
+            if (current.token.equals(token)) {
+                return current;
+            }
+        }
+
+        // None found.
+        return null;
+    }
+}
@@ -0,0 +1,161 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.reflection.api.serialization;
+
+import se.jguru.nazgul.core.algorithms.api.Validate;
+
+import javax.validation.constraints.NotNull;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream wrapper refusing to read more than a maximum number of bytes from its wrapped InputStream.
+ * Reading beyond the maximum number of bytes yields an IOException rather than the end of the stream,
+ * implying that truncated data is never mistaken for complete data. Wrap inflating (i.e. decompressing)
+ * InputStreams to cap the amount of data they produce.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
+ */
+public final class BoundedInputStream extends FilterInputStream {
+
+    // Internal state
+    private final long maxBytes;
+    private long bytesRead;
+
+    /**
+     * Creates a BoundedInputStream wrapping the supplied InputStream.
+     *
+     * @param in       The non-null InputStream to wrap.
+     * @param maxBytes The maximum number of bytes which may be read from the wrapped InputStream.
+     *                 Must not be negative.
+     */
+    public BoundedInputStream(@NotNull final InputStream in, final long maxBytes) {
+
+        super(in);
+
+        // Check sanity
+        Validate.notNull(in, "in");
+        Validate.isTrue(maxBytes >= 0, "maxBytes cannot be negative. Got: " + maxBytes);
+
+        // Assign internal state
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return The number of bytes read from the wrapped InputStream so far.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+
+        final int toReturn = super.read();
+        if (toReturn != -1) {
+            count(1);
+        }
+
+        // All done.
+        return toReturn;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+
+        // Refuse further reads once the limit was exceeded, and read
+        // at most one byte beyond the limit to detect streams exceeding it.
+        count(0);
+        final long remaining = maxBytes - bytesRead;
+        final int toReturn = super.read(b, off, remaining < len ? (int) remaining + 1 : len);
+        if (toReturn > 0) {
+            count(toReturn);
+        }
+
+        // All done.
+        return toReturn;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(final long n) throws IOException {
+
+        count(0);
+        final long remaining = maxBytes - bytesRead;
+        final long toReturn = super.skip(remaining < n ? remaining + 1 : n);
+        if (toReturn > 0) {
+            count(toReturn);
+        }
+
+        // All done.
+        return toReturn;
+    }
+
+    /**
+     * Marking is not supported, as it would permit reading more than the maximum number of bytes.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void mark(final int readlimit) {
+        // Marking is not supported.
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("BoundedInputStream does not support reset.");
+    }
+
+    //
+    // Private helpers
+    //
+
+    private void count(final long numBytes) throws IOException {
+
+        bytesRead += numBytes;
+        if (bytesRead > maxBytes) {
+            throw new IOException("Stream exceeds the maximum permitted size of " + maxBytes + " bytes.");
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.reflection.api.serialization;
+
+import se.jguru.nazgul.core.algorithms.api.Validate;
+
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Immutable allow-list and resource limits applied when de-serializing objects using standard
+ * Java serialization. Each allowed pattern is one of the following:</p>
+ * <ul>
+ * <li>{@code *}, which allows all classes.</li>
+ * <li>{@code some.package.*}, which allows all classes within the package {@code some.package}.</li>
+ * <li>{@code some.package.**}, which allows all classes within {@code some.package} and its sub-packages.</li>
+ * <li>{@code some.package.Prefix*}, which allows all classes whose name starts with
+ * {@code some.package.Prefix}.</li>
+ * <li>{@code some.package.SomeClass}, which allows the class {@code some.package.SomeClass} only.</li>
+ * </ul>
+ * <p>Primitive types and arrays of primitive types are always allowed. Arrays of other types are allowed
+ * if their component type is allowed. The limits are enforced using the serialization filter mechanism of
+ * the JVM, which is available in Java 8u121 and later. The maximum number of bytes is also enforced by
+ * bounding the de-serialized stream itself, which caps the size of inflated (i.e. decompressed) streams.</p>
+ * <p>The default limits reject the well-known object graphs crafted to exhaust CPU or memory during
+ * de-serialization, such as nested HashSets, while still permitting ordinary object graphs.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
+ */
+public final class DeserializationFilter {
+
+    /**
+     * The default maximum depth of de-serialized object graphs.
+     */
+    public static final long DEFAULT_MAX_DEPTH = 20L;
+
+    /**
+     * The default maximum length of de-serialized arrays.
+     */
+    public static final long DEFAULT_MAX_ARRAY_LENGTH = 1000000L;
+
+    /**
+     * The default maximum number of object references within a de-serialized stream.
+     */
+    public static final long DEFAULT_MAX_REFERENCES = 100000L;
+
+    /**
+     * The default maximum number of bytes within a de-serialized stream.
+     */
+    public static final long DEFAULT_MAX_BYTES = 10L * 1024L * 1024L;
+
+    /**
+     * DeserializationFilter allowing all classes, and imposing no limits.
+     */
+    public static final DeserializationFilter UNRESTRICTED = new DeserializationFilter(
+            Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, "*");
+
+    /**
+     * DeserializationFilter allowing all classes, but imposing the default limits.
+     */
+    public static final DeserializationFilter DEFAULT = new DeserializationFilter(
+            DEFAULT_MAX_DEPTH, DEFAULT_MAX_ARRAY_LENGTH, DEFAULT_MAX_REFERENCES, DEFAULT_MAX_BYTES, "*");
+
+    // Internal state
+    private final long maxDepth;
+    private final long maxArrayLength;
+    private final long maxReferences;
+    private final long maxBytes;
+    private final List<String> allowedPatterns;
+    private final String[] exactNames;
+    private final String[] packageNames;
+    private final String[] prefixes;
+
+    /**
+     * Creates a DeserializationFilter allowing classes matching the supplied patterns,
+     * and imposing the default limits.
+     *
+     * @param allowedPatterns The patterns of all classes permitted within de-serialized streams.
+     */
+    public DeserializationFilter(@NotNull final String... allowedPatterns) {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_MAX_ARRAY_LENGTH, DEFAULT_MAX_REFERENCES, DEFAULT_MAX_BYTES, allowedPatterns);
+    }
+
+    /**
+     * Creates a DeserializationFilter allowing classes matching the supplied patterns, imposing the supplied
+     * limits and the default maximum number of bytes. Use {@code Long.MAX_VALUE} to lift a limit.
+     *
+     * @param maxDepth        The maximum depth of de-serialized object graphs. Must be positive.
+     * @param maxArrayLength  The maximum length of de-serialized arrays. Must not be negative.
+     * @param maxReferences   The maximum number of object references within a de-serialized stream.
+     *                        Must be positive.
+     * @param allowedPatterns The patterns of all classes permitted within de-serialized streams.
+     */
+    public DeserializationFilter(final long maxDepth,
+                                 final long maxArrayLength,
+                                 final long maxReferences,
+                                 @NotNull final String... allowedPatterns) {
+        this(maxDepth, maxArrayLength, maxReferences, DEFAULT_MAX_BYTES, allowedPatterns);
+    }
+
+    /**
+     * Creates a DeserializationFilter allowing classes matching the supplied patterns,
+     * and imposing the supplied limits. Use {@code Long.MAX_VALUE} to lift a limit.
+     *
+     * @param maxDepth        The maximum depth of de-serialized object graphs. Must be positive.
+     * @param maxArrayLength  The maximum length of de-serialized arrays. Must not be negative.
+     * @param maxReferences   The maximum number of object references within a de-serialized stream.
+     *                        Must be positive.
+     * @param maxBytes        The maximum number of bytes within a de-serialized stream. Must be positive.
+     * @param allowedPatterns The patterns of all classes permitted within de-serialized streams.
+     */
+    public DeserializationFilter(final long maxDepth,
+                                 final long maxArrayLength,
+                                 final long maxReferences,
+                                 final long maxBytes,
+                                 @NotNull final String... allowedPatterns) {
+
+        // Check sanity
+        Validate.isTrue(maxDepth > 0, "maxDepth must be positive. Got: " + maxDepth);
+        Validate.isTrue(maxArrayLength >= 0, "maxArrayLength cannot be negative. Got: " + maxArrayLength);
+        Validate.isTrue(maxReferences > 0, "maxReferences must be positive. Got: " + maxReferences);
+        Validate.isTrue(maxBytes > 0, "maxBytes must be positive. Got: " + maxBytes);
+        Validate.notNull(allowedPatterns, "allowedPatterns");
+
+        // Assign internal state
+        this.maxDepth = maxDepth;
+        this.maxArrayLength = maxArrayLength;
+        this.maxReferences = maxReferences;
+        this.maxBytes = maxBytes;
+        this.allowedPatterns = Collections.unmodifiableList(Arrays.asList(allowedPatterns.clone()));
+
+        // Split the patterns by kind, to simplify matching.
+        final String[] exact = new String[allowedPatterns.length];
+        final String[] packages = new String[allowedPatterns.length];
+        final String[] prefix = new String[allowedPatterns.length];
+        int numExact = 0;
+        int numPackages = 0;
+        int numPrefixes = 0;
+
+        for (String current : allowedPatterns) {
+
+            Validate.notEmpty(current, "allowedPattern");
+            if (current.endsWith(".**")) {
+                prefix[numPrefixes++] = current.substring(0, current.length() - 2);
+            } else if (current.endsWith(".*")) {
+                packages[numPackages++] = current.substring(0, current.length() - 1);
+            } else if (current.endsWith("*")) {
+                prefix[numPrefixes++] = current.substring(0, current.length() - 1);
+            } else {
+                exact[numExact++] = current;
+            }
+        }
+
+        this.exactNames = Arrays.copyOf(exact, numExact);
+        this.packageNames = Arrays.copyOf(packages, numPackages);
+        this.prefixes = Arrays.copyOf(prefix, numPrefixes);
+    }
+
+    /**
+     * @return The maximum depth of de-serialized object graphs.
+     */
+    public long getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return The maximum length of de-serialized arrays.
+     */
+    public long getMaxArrayLength() {
+        return maxArrayLength;
+    }
+
+    /**
+     * @return The maximum number of object references within a de-serialized stream.
+     */
+    public long getMaxReferences() {
+        return maxReferences;
+    }
+
+    /**
+     * @return The maximum number of bytes within a de-serialized stream.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return An unmodifiable List holding the patterns of all classes permitted within de-serialized streams.
+     */
+    public List<String> getAllowedPatterns() {
+        return allowedPatterns;
+    }
+
+    /**
+     * Checks if the class with the supplied name is permitted within de-serialized streams.
+     *
+     * @param className The name of a class, as returned by {@link Class#getName()}.
+     * @return {@code true} if the supplied className is permitted within de-serialized streams.
+     */
+    public boolean isAllowed(@NotNull final String className) {
+
+        // Check sanity
+        Validate.notNull(className, "className");
+
+        // Arrays are permitted if their component type is.
+        String toCheck = className;
+        if (toCheck.startsWith("[")) {
+
+            final int componentStart = toCheck.lastIndexOf('[') + 1;
+            if (toCheck.charAt(componentStart) != 'L') {
+
+                // Array of primitives.
+                return true;
+            }
+            toCheck = toCheck.substring(componentStart + 1, toCheck.length() - 1);
+        }
+
+        for (String current : exactNames) {
+            if (current.equals(toCheck)) {
+                return true;
+            }
+        }
+        for (String current : prefixes) {
+            if (toCheck.startsWith(current)) {
+                return true;
+            }
+        }
+        for (String current : packageNames) {
+            if (toCheck.startsWith(current) && toCheck.indexOf('.', current.length()) < 0) {
+                return true;
+            }
+        }
+
+        // Not allowed.
+        return false;
+    }
+
+    /**
+     * Checks if the supplied state of a de-serialized stream is within the limits of this DeserializationFilter.
+     *
+     * @param depth       The current depth of the de-serialized object graph.
+     * @param arrayLength The length of the array being de-serialized, or a negative value if none.
+     * @param references  The number of object references de-serialized so far.
+     * @param streamBytes The number of bytes read from the de-serialized stream so far.
+     * @return {@code true} if the supplied state is within the limits of this DeserializationFilter.
+     */
+    public boolean isWithinLimits(final long depth,
+                                  final long arrayLength,
+                                  final long references,
+                                  final long streamBytes) {
+        return depth <= maxDepth
+                && arrayLength <= maxArrayLength
+                && references <= maxReferences
+                && streamBytes <= maxBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "DeserializationFilter [maxDepth: " + maxDepth + ", maxArrayLength: " + maxArrayLength
+                + ", maxReferences: " + maxReferences + ", maxBytes: " + maxBytes
+                + ", allowedPatterns: " + allowedPatterns + "]";
+    }
+}
@@ -0,0 +1,412 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.reflection.api.serialization;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.jguru.nazgul.core.algorithms.api.Validate;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>SerializationCodec using standard Java serialization, i.e. {@link ObjectOutputStream} and
+ * {@link ObjectInputStream}.</p>
+ * <p>When decoding, the classes within the stream are checked against the allow-list of a
+ * {@link DeserializationFilter} before being loaded, and the limits of the DeserializationFilter are
+ * enforced using the serialization filter mechanism of the JVM (i.e. {@code java.io.ObjectInputFilter},
+ * or {@code sun.misc.ObjectInputFilter} in Java 8). Any filter already assigned to the stream (such as the
+ * JVM-wide filter given by the {@code jdk.serialFilter} property) is retained, and consulted before the
+ * limits of the DeserializationFilter. The maximum number of bytes of the DeserializationFilter is also
+ * enforced by reading through a {@link BoundedInputStream}. Resolved classes are cached per ClassLoader.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
+ */
+public class JavaSerializationCodec implements SerializationCodec {
+
+    // Our Log
+    private static final Logger log = LoggerFactory.getLogger(JavaSerializationCodec.class);
+
+    /**
+     * The identifier of the JavaSerializationCodec.
+     */
+    public static final String ID = "java";
+
+    // Internal state
+    private static final Map<ClassLoader, ConcurrentMap<String, WeakReference<Class<?>>>> RESOLVED_CLASSES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    private static final String[] PLATFORM_FILTER_TYPES = {"java.io.ObjectInputFilter", "sun.misc.ObjectInputFilter"};
+    private static final Constructor<?> PLATFORM_FILTER_CONSTRUCTOR;
+    private static final Method GET_PLATFORM_FILTER;
+    private static final Method SET_PLATFORM_FILTER;
+    private static final Method CHECK_PLATFORM_FILTER;
+    private static final Method FILTER_INFO_DEPTH;
+    private static final Method FILTER_INFO_ARRAY_LENGTH;
+    private static final Method FILTER_INFO_REFERENCES;
+    private static final Method FILTER_INFO_STREAM_BYTES;
+    private static final Object STATUS_UNDECIDED;
+    private static final Object STATUS_REJECTED;
+
+    static {
+
+        Constructor<?> filterConstructor = null;
+        Method getFilter = null;
+        Method setFilter = null;
+        Method checkFilter = null;
+        Method depth = null;
+        Method arrayLength = null;
+        Method references = null;
+        Method streamBytes = null;
+        Object undecided = null;
+        Object rejected = null;
+
+        for (String current : PLATFORM_FILTER_TYPES) {
+            try {
+
+                final ClassLoader bootstrap = ObjectInputStream.class.getClassLoader();
+                final Class<?> filterType = Class.forName(current, false, bootstrap);
+                final Class<?> filterInfoType = Class.forName(current + "$FilterInfo", false, bootstrap);
+                final Class<?> statusType = Class.forName(current + "$Status", false, bootstrap);
+                final Class<?> configType = Class.forName(current + "$Config", false, bootstrap);
+
+                // Java 9+ accesses the filter of a stream using ObjectInputStream methods,
+                // whereas Java 8 uses static methods within sun.misc.ObjectInputFilter.Config.
+                if (filterType.getName().startsWith("java.")) {
+                    getFilter = ObjectInputStream.class.getMethod("getObjectInputFilter");
+                    setFilter = ObjectInputStream.class.getMethod("setObjectInputFilter", filterType);
+                } else {
+                    getFilter = configType.getMethod("getObjectInputFilter", ObjectInputStream.class);
+                    setFilter = configType.getMethod("setObjectInputFilter", ObjectInputStream.class, filterType);
+                }
+                checkFilter = filterType.getMethod("checkInput", filterInfoType);
+                depth = filterInfoType.getMethod("depth");
+                arrayLength = filterInfoType.getMethod("arrayLength");
+                references = filterInfoType.getMethod("references");
+                streamBytes = filterInfoType.getMethod("streamBytes");
+                undecided = statusType.getField("UNDECIDED").get(null);
+                rejected = statusType.getField("REJECTED").get(null);
+                filterConstructor = Proxy.getProxyClass(JavaSerializationCodec.class.getClassLoader(), filterType)
+                        .getConstructor(InvocationHandler.class);
+                break;
+
+            } catch (Exception e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Serialization filter type [" + current + "] unavailable.", e);
+                }
+            }
+        }
+
+        if (filterConstructor == null) {
+            log.warn("No serialization filter mechanism found in this JVM. DeserializationFilter limits "
+                    + "will not be enforced; only the class allow-list will be.");
+        }
+
+        // Assign internal state
+        PLATFORM_FILTER_CONSTRUCTOR = filterConstructor;
+        GET_PLATFORM_FILTER = getFilter;
+        SET_PLATFORM_FILTER = setFilter;
+        CHECK_PLATFORM_FILTER = checkFilter;
+        FILTER_INFO_DEPTH = depth;
+        FILTER_INFO_ARRAY_LENGTH = arrayLength;
+        FILTER_INFO_REFERENCES = references;
+        FILTER_INFO_STREAM_BYTES = streamBytes;
+        STATUS_UNDECIDED = undecided;
+        STATUS_REJECTED = rejected;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void encode(final Serializable toEncode, final OutputStream out) throws IOException {
+
+        final ObjectOutputStream oos = new ObjectOutputStream(out);
+        oos.writeObject(toEncode);
+        oos.flush();
+    }
+
+    /**
+     * The JavaSerializationCodec enforces the allow-list and (where supported by the JVM) the limits
+     * of all DeserializationFilters.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean supportsFiltering() {
+        return true;
+    }
+
+    /**
+     * Decodes an object from the supplied InputStream without any restrictions, implying that
+     * {@link DeserializationFilter#UNRESTRICTED} is used.
+     *
+     * @param in The non-null InputStream from which an object should be decoded.
+     * @return The decoded (possibly null) object.
+     * @throws IOException            if the object could not be decoded.
+     * @throws ClassNotFoundException if the class of the decoded object could not be found.
+     */
+    @Override
+    public Object decode(final InputStream in) throws IOException, ClassNotFoundException {
+        return decode(in, DeserializationFilter.UNRESTRICTED);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object decode(final InputStream in, @NotNull final DeserializationFilter filter)
+            throws IOException, ClassNotFoundException {
+
+        // Check sanity
+        Validate.notNull(filter, "filter");
+
+        // All done.
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return createObjectInputStream(in, filter, contextClassLoader == null
+                ? JavaSerializationCodec.class.getClassLoader()
+                : contextClassLoader).readObject();
+    }
+
+    /**
+     * Creates an ObjectInputStream enforcing the supplied DeserializationFilter, for reading several objects
+     * (and primitive data) from a single stream. The limits of the DeserializationFilter apply to the stream
+     * as a whole, implying that its maximum number of bytes caps the total size of all data read.
+     *
+     * @param in          The non-null InputStream from which data should be read.
+     * @param filter      The non-null DeserializationFilter which all objects within the stream must satisfy.
+     * @param classLoader The non-null ClassLoader used to resolve the classes within the stream.
+     * @return An ObjectInputStream reading from the supplied InputStream.
+     * @throws IOException if the stream header could not be read, or if the DeserializationFilter
+     *                     could not be enforced.
+     */
+    public ObjectInputStream createObjectInputStream(@NotNull final InputStream in,
+                                                     @NotNull final DeserializationFilter filter,
+                                                     @NotNull final ClassLoader classLoader) throws IOException {
+
+        // Check sanity
+        Validate.notNull(in, "in");
+        Validate.notNull(filter, "filter");
+        Validate.notNull(classLoader, "classLoader");
+
+        // Bound the stream itself, as the platform filter is only consulted between objects.
+        final InputStream bounded = filter.getMaxBytes() == Long.MAX_VALUE
+                ? in
+                : new BoundedInputStream(in, filter.getMaxBytes());
+
+        // All done.
+        return new FilteringObjectInputStream(bounded, filter, classLoader);
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static ConcurrentMap<String, WeakReference<Class<?>>> getResolvedClasses(final ClassLoader classLoader) {
+
+        // The synchronized Map performs computeIfAbsent atomically.
+        return RESOLVED_CLASSES.computeIfAbsent(classLoader, k -> new ConcurrentHashMap<>());
+    }
+
+    private static void installPlatformFilter(final ObjectInputStream stream, final DeserializationFilter filter)
+            throws IOException {
+
+        if (PLATFORM_FILTER_CONSTRUCTOR == null || filter == DeserializationFilter.UNRESTRICTED) {
+            return;
+        }
+
+        try {
+
+            // Retain any filter already assigned to the stream, such as the JVM-wide filter.
+            final Object existingFilter = invokeOnStream(GET_PLATFORM_FILTER, stream);
+            final InvocationHandler handler = (proxy, method, args) -> {
+
+                if (method.getDeclaringClass() == Object.class) {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return "Platform serialization filter for " + filter
+                                    + (existingFilter == null ? "" : ", chained after " + existingFilter);
+                    }
+                }
+
+                // This is ObjectInputFilter.checkInput(FilterInfo).
+                // Consult the existing filter first, and reject anything it rejects.
+                final Object info = args[0];
+                final Object existingStatus = existingFilter == null
+                        ? STATUS_UNDECIDED
+                        : invoke(CHECK_PLATFORM_FILTER, existingFilter, info);
+                if (existingStatus == STATUS_REJECTED) {
+                    return STATUS_REJECTED;
+                }
+
+                final boolean withinLimits = filter.isWithinLimits(
+                        (Long) FILTER_INFO_DEPTH.invoke(info),
+                        (Long) FILTER_INFO_ARRAY_LENGTH.invoke(info),
+                        (Long) FILTER_INFO_REFERENCES.invoke(info),
+                        (Long) FILTER_INFO_STREAM_BYTES.invoke(info));
+
+                return withinLimits ? existingStatus : STATUS_REJECTED;
+            };
+
+            invokeOnStream(SET_PLATFORM_FILTER, stream, PLATFORM_FILTER_CONSTRUCTOR.newInstance(handler));
+
+        } catch (Exception e) {
+
+            // Don't decode streams whose limits cannot be enforced.
+            final InvalidObjectException toThrow = new InvalidObjectException(
+                    "Could not install serialization filter enforcing " + filter);
+            toThrow.initCause(e);
+            throw toThrow;
+        }
+    }
+
+    private static Object invokeOnStream(final Method method, final ObjectInputStream stream, final Object... args)
+            throws Exception {
+
+        // Static (Java 8) methods take the stream as their first argument.
+        if (!Modifier.isStatic(method.getModifiers())) {
+            return invoke(method, stream, args);
+        }
+
+        final Object[] staticArgs = new Object[args.length + 1];
+        staticArgs[0] = stream;
+        System.arraycopy(args, 0, staticArgs, 1, args.length);
+        return invoke(method, null, staticArgs);
+    }
+
+    private static Object invoke(final Method method, final Object target, final Object... args) throws Exception {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+
+            // Propagate the original exception.
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * ObjectInputStream resolving allowed classes using a supplied ClassLoader,
+     * caching resolved classes per ClassLoader.
+     */
+    private static final class FilteringObjectInputStream extends ObjectInputStream {
+
+        // Internal state
+        private final DeserializationFilter filter;
+        private final ClassLoader classLoader;
+        private final ConcurrentMap<String, WeakReference<Class<?>>> resolvedClasses;
+
+        private FilteringObjectInputStream(final InputStream in,
+                                           final DeserializationFilter filter,
+                                           final ClassLoader classLoader) throws IOException {
+
+            super(in);
+
+            // Assign internal state
+            this.filter = filter;
+            this.classLoader = classLoader;
+            this.resolvedClasses = getResolvedClasses(classLoader);
+
+            installPlatformFilter(this, filter);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+
+            // Check sanity
+            final String className = desc.getName();
+            if (!filter.isAllowed(className)) {
+                throw new InvalidClassException(className, "Class not allowed by " + filter);
+            }
+
+            final WeakReference<Class<?>> cached = resolvedClasses.get(className);
+            Class<?> toReturn = cached == null ? null : cached.get();
+            if (toReturn == null) {
+                try {
+                    toReturn = Class.forName(className, false, classLoader);
+                    resolvedClasses.put(className, new WeakReference<>(toReturn));
+                } catch (ClassNotFoundException e) {
+                    return super.resolveClass(desc);
+                }
+            }
+
+            // All done.
+            return toReturn;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Class<?> resolveProxyClass(final String[] interfaces) throws IOException, ClassNotFoundException {
+
+            // Check sanity
+            for (String current : interfaces) {
+                if (!filter.isAllowed(current)) {
+                    throw new InvalidClassException(current, "Interface not allowed by " + filter);
+                }
+            }
+
+            // All done.
+            return super.resolveProxyClass(interfaces);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.reflection.api.serialization;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+/**
+ * Specification for a pluggable codec translating objects to and from a stream of bytes, used by the
+ * {@link Serializer} to (de-)serialize objects. The standard Java serialization codec
+ * ({@link JavaSerializationCodec}) is always available; other codecs (such as Kryo or FST based ones)
+ * can be made available by {@link Serializer#registerCodec(SerializationCodec)}.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
+ */
+public interface SerializationCodec {
+
+    /**
+     * Retrieves the identifier of this SerializationCodec, which is written as a prefix within all
+     * ASCII-armoured strings produced with this SerializationCodec. The identifier must therefore
+     * be stable, and may not contain any colon (':') characters.
+     *
+     * @return The non-empty identifier of this SerializationCodec.
+     */
+    @NotNull
+    String getId();
+
+    /**
+     * Encodes the supplied object onto the supplied OutputStream. Implementations must flush - but
+     * not close - the OutputStream.
+     *
+     * @param toEncode The (possibly null) object to encode.
+     * @param out      The non-null OutputStream to which the encoded object should be written.
+     * @throws IOException if the object could not be encoded.
+     */
+    void encode(Serializable toEncode, @NotNull OutputStream out) throws IOException;
+
+    /**
+     * Decodes an object from the supplied InputStream, which is not closed by this method.
+     *
+     * @param in The non-null InputStream from which an object should be decoded.
+     * @return The decoded (possibly null) object.
+     * @throws IOException            if the object could not be decoded.
+     * @throws ClassNotFoundException if the class of the decoded object could not be found.
+     */
+    Object decode(@NotNull InputStream in) throws IOException, ClassNotFoundException;
+
+    /**
+     * Indicates if this SerializationCodec enforces the DeserializationFilter supplied to
+     * {@link #decode(InputStream, DeserializationFilter)}. SerializationCodecs which do not enforce
+     * DeserializationFilters can only decode streams using {@link DeserializationFilter#UNRESTRICTED}.
+     * The default implementation returns {@code false}.
+     *
+     * @return {@code true} if this SerializationCodec enforces the DeserializationFilter supplied when decoding.
+     */
+    default boolean supportsFiltering() {
+        return false;
+    }
+
+    /**
+     * Decodes an object from the supplied InputStream, which is not closed by this method, rejecting
+     * streams which violate the supplied DeserializationFilter. SerializationCodecs enforcing
+     * DeserializationFilters must override this method as well as {@link #supportsFiltering()}.
+     * The default implementation decodes the stream using {@link #decode(InputStream)} only if
+     * the DeserializationFilter is {@link DeserializationFilter#UNRESTRICTED}, and rejects it otherwise.
+     *
+     * @param in     The non-null InputStream from which an object should be decoded.
+     * @param filter The non-null DeserializationFilter which the decoded stream must satisfy.
+     * @return The decoded (possibly null) object.
+     * @throws IOException            if the object could not be decoded, or if the stream violated the filter.
+     * @throws ClassNotFoundException if the class of the decoded object could not be found.
+     */
+    default Object decode(@NotNull final InputStream in, @NotNull final DeserializationFilter filter)
+            throws IOException, ClassNotFoundException {
+
+        if (filter != DeserializationFilter.UNRESTRICTED) {
+            throw new InvalidObjectException("SerializationCodec [" + getId() + "] cannot enforce " + filter);
+        }
+
+        // All done.
+        return decode(in);
+    }
+}
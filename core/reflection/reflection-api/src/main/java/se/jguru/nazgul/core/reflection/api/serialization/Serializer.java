@@ -25,15 +25,37 @@ package se.jguru.nazgul.core.reflection.api.serialization;
 
 import se.jguru.nazgul.core.algorithms.api.Validate;
 
+import javax.validation.constraints.NotNull;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
- * Trivial implementations of Java serialization and de-serialization into
- * ASCII-armoured byte[] instances.
+ * <p>Trivial implementations of Java serialization and de-serialization into
+ * ASCII-armoured byte[] instances.</p>
+ * <p>Objects serialized using standard Java serialization and {@link Armour#HEX} armour are rendered
+ * in the original format, i.e. as a plain uppercase hexadecimal String. All other combinations of
+ * {@link SerializationCodec} and {@link Armour} are rendered as {@code codecId:armourToken:payload},
+ * such as {@code java:b64:rO0ABXNyABdqYXZh...}, implying that {@link #deSerialize(String)} can de-serialize
+ * Strings produced using any Armour and any registered SerializationCodec.</p>
+ * <p>Serialization into Strings uses a reusable, thread-local buffer instead of allocating
+ * intermediary byte arrays for each call.</p>
+ * <p>De-serialization is restricted by a {@link DeserializationFilter}, which is either supplied in each call
+ * or set globally using {@link #setDefaultFilter(DeserializationFilter)}. The global DeserializationFilter is
+ * {@link DeserializationFilter#DEFAULT} unless set, which allows all classes but limits the depth, array
+ * lengths, number of references and number of bytes within de-serialized streams. The inflated size of
+ * {@link Armour#DEFLATED_BASE64} payloads is capped by the maximum number of bytes. Strings produced by
+ * SerializationCodecs which do not {@link SerializationCodec#supportsFiltering() enforce DeserializationFilters}
+ * are rejected, unless de-serialized using {@link DeserializationFilter#UNRESTRICTED}.</p>
  *
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
  */
@@ -45,6 +67,17 @@ public abstract class Serializer {
     private static final byte[] HEX_NUMBER_TABLE = new byte[BASELENGTH];
     private static final char[] LOOK_UP_HEX_ALPHABET = new char[LOOKUPLENGTH];
     private static final String ERROR_PREFIX = "Incorrect ASCII-armoured instance: ";
+    private static final char HEADER_SEPARATOR = ':';
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    // Holds the byte[] buffer of each thread, or null while the buffer is in use.
+    // Only JDK types are held, to avoid pinning the ClassLoader of this class within pooled threads.
+    private static final ThreadLocal<byte[][]> BUFFERS = ThreadLocal.withInitial(() -> new byte[1][]);
+
+    private static final SerializationCodec DEFAULT_CODEC = new JavaSerializationCodec();
+    private static final ConcurrentMap<String, SerializationCodec> CODECS = new ConcurrentHashMap<>();
+    private static volatile DeserializationFilter defaultFilter = DeserializationFilter.DEFAULT;
 
     static {
 
@@ -71,6 +104,9 @@ public abstract class Serializer {
         for (int i = numDigits; i <= 15; i++) {
             LOOK_UP_HEX_ALPHABET[i] = (char) ('A' + i - numDigits);
         }
+
+        // Register the standard Java serialization codec.
+        CODECS.put(DEFAULT_CODEC.getId(), DEFAULT_CODEC);
     }
 
     /**
@@ -81,100 +117,348 @@ public abstract class Serializer {
      * or {@code null} if given a null argument.
      */
     public static String serialize(final Serializable toSerialize) {
+        return serialize(toSerialize, Armour.HEX, JavaSerializationCodec.ID);
+    }
+
+    /**
+     * Serializes the provided object using standard Java serialization, and wraps the result in the
+     * supplied Armour.
+     *
+     * @param toSerialize The object to serialize and wrap in an ASCII-armoured String.
+     * @param armour      The Armour used to wrap the serialized object.
+     * @return The ASCII-armoured String from the provided {@code toSerialize} object,
+     * or {@code null} if given a null argument.
+     */
+    public static String serialize(final Serializable toSerialize, @NotNull final Armour armour) {
+        return serialize(toSerialize, armour, JavaSerializationCodec.ID);
+    }
+
+    /**
+     * Serializes the provided object using the SerializationCodec with the supplied identifier,
+     * and wraps the result in the supplied Armour.
+     *
+     * @param toSerialize The object to serialize and wrap in an ASCII-armoured String.
+     * @param armour      The Armour used to wrap the serialized object.
+     * @param codecId     The identifier of a registered SerializationCodec.
+     * @return The ASCII-armoured String from the provided {@code toSerialize} object,
+     * or {@code null} if given a null argument.
+     * @throws IllegalArgumentException if no SerializationCodec with the supplied codecId was registered,
+     *                                  or if the object could not be serialized.
+     */
+    public static String serialize(final Serializable toSerialize,
+                                   @NotNull final Armour armour,
+                                   @NotNull final String codecId) throws IllegalArgumentException {
 
         // Check sanity
-        String toReturn = null;
-        if (toSerialize != null) {
+        Validate.notNull(armour, "armour");
+        final SerializationCodec codec = getRequiredCodec(codecId);
+        if (toSerialize == null) {
+            return null;
+        }
+
+        final BufferOutputStream buffer = new BufferOutputStream(acquireBuffer());
+        try {
 
-            try {
+            // Only the original armour format lacks a header.
+            if (armour != Armour.HEX || codec != DEFAULT_CODEC) {
+                buffer.writeAscii(codec.getId());
+                buffer.write(HEADER_SEPARATOR);
+                buffer.writeAscii(armour.getToken());
+                buffer.write(HEADER_SEPARATOR);
+            }
+            final int payloadStart = buffer.size();
 
-                // Serialize the object to a byte array
-                ByteArrayOutputStream bits = new ByteArrayOutputStream();
+            switch (armour) {
 
-                ObjectOutputStream oos = new ObjectOutputStream(bits);
-                oos.writeObject(toSerialize);
-                oos.flush();
+                case HEX:
+                    codec.encode(toSerialize, buffer);
+                    return buffer.toArmouredString(payloadStart);
 
-                // Wrap the byte array in ASCII armour.
-                toReturn = encode(bits.toByteArray());
+                case BASE64:
+                    try (OutputStream base64 = Base64.getEncoder().wrap(buffer)) {
+                        codec.encode(toSerialize, base64);
+                    }
+                    return buffer.toArmouredString(buffer.size());
 
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Could not serialize object of type ["
-                        + toSerialize.getClass().getName() + "]", e);
+                default:
+                    try (OutputStream deflater = new DeflaterOutputStream(Base64.getEncoder().wrap(buffer))) {
+                        codec.encode(toSerialize, deflater);
+                    }
+                    return buffer.toArmouredString(buffer.size());
             }
+
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not serialize object of type ["
+                    + toSerialize.getClass().getName() + "]", e);
+        } finally {
+            releaseBuffer(buffer.getBuffer());
         }
+    }
 
-        // All done.
-        return toReturn;
+    /**
+     * Serializes the provided object onto the supplied OutputStream using standard Java serialization.
+     * The OutputStream is flushed, but not closed.
+     *
+     * @param toSerialize The (possibly null) object to serialize.
+     * @param out         The non-null OutputStream to which the object should be serialized.
+     * @throws IllegalArgumentException if the object could not be serialized.
+     */
+    public static void serializeTo(final Serializable toSerialize, @NotNull final OutputStream out)
+            throws IllegalArgumentException {
+
+        // Check sanity
+        Validate.notNull(out, "out");
+
+        try {
+            DEFAULT_CODEC.encode(toSerialize, out);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not serialize object of type ["
+                    + (toSerialize == null ? "null" : toSerialize.getClass().getName()) + "]", e);
+        }
     }
 
     /**
-     * De-serializes the provided ASCII-armoured byte array to a Java Object.
+     * De-serializes the provided ASCII-armoured byte array to a Java Object, using the default
+     * DeserializationFilter. Handles all Armours and all registered SerializationCodecs.
      *
      * @param serializedInstance an ASCII-armoured byte array being a serialized Java Object.
      * @return The de-serialized Java Object.
      */
     public static Object deSerialize(final String serializedInstance) {
+        return deSerialize(serializedInstance, defaultFilter);
+    }
+
+    /**
+     * De-serializes the provided ASCII-armoured byte array to a Java Object, using the supplied
+     * DeserializationFilter. Handles all Armours and all registered SerializationCodecs.
+     *
+     * @param serializedInstance an ASCII-armoured byte array being a serialized Java Object.
+     * @param filter             The DeserializationFilter which the serialized Java Object must satisfy.
+     * @return The de-serialized Java Object.
+     * @throws IllegalArgumentException if the object could not be de-serialized, if it violated the
+     *                                  supplied DeserializationFilter, or if it was produced by a
+     *                                  SerializationCodec unable to enforce the DeserializationFilter.
+     */
+    public static Object deSerialize(final String serializedInstance, @NotNull final DeserializationFilter filter)
+            throws IllegalArgumentException {
 
         // Check sanity
-        Object toReturn = null;
-        if (serializedInstance != null) {
+        Validate.notNull(filter, "filter");
+        if (serializedInstance == null) {
+            return null;
+        }
 
-            try {
-                ByteArrayInputStream decoded = new ByteArrayInputStream(decode(serializedInstance));
+        // Parse the header, if present.
+        SerializationCodec codec = DEFAULT_CODEC;
+        Armour armour = Armour.HEX;
+        int payloadStart = 0;
 
-                ObjectInputStream ois = new ObjectInputStream(decoded);
-                toReturn = ois.readObject();
-                ois.close();
+        final int codecEnd = serializedInstance.indexOf(HEADER_SEPARATOR);
+        if (codecEnd >= 0) {
 
-            } catch (IllegalArgumentException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Could not deserialize object.", e);
+            final int armourEnd = serializedInstance.indexOf(HEADER_SEPARATOR, codecEnd + 1);
+            if (armourEnd < 0) {
+                throw new IllegalArgumentException(ERROR_PREFIX + "Missing armour token.");
             }
+
+            codec = getRequiredCodec(serializedInstance.substring(0, codecEnd));
+            if (!codec.supportsFiltering() && filter != DeserializationFilter.UNRESTRICTED) {
+                throw new IllegalArgumentException("SerializationCodec [" + codec.getId() + "] cannot enforce "
+                        + filter + ". Only DeserializationFilter.UNRESTRICTED can be used to de-serialize it.");
+            }
+            armour = Armour.forToken(serializedInstance.substring(codecEnd + 1, armourEnd));
+            if (armour == null) {
+                throw new IllegalArgumentException(ERROR_PREFIX + "Unknown armour token ["
+                        + serializedInstance.substring(codecEnd + 1, armourEnd) + "]");
+            }
+            payloadStart = armourEnd + 1;
         }
 
+        try {
+
+            final byte[] payload = armour == Armour.HEX
+                    ? decode(serializedInstance, payloadStart)
+                    : Base64.getDecoder().decode(serializedInstance.substring(payloadStart));
+
+            try (InputStream in = armour == Armour.DEFLATED_BASE64
+                    ? new BoundedInputStream(
+                            new InflaterInputStream(new ByteArrayInputStream(payload)), filter.getMaxBytes())
+                    : new ByteArrayInputStream(payload)) {
+
+                // All done.
+                return codec.decode(in, filter);
+            }
+
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not deserialize object.", e);
+        }
+    }
+
+    /**
+     * De-serializes a Java Object from the supplied InputStream using standard Java serialization
+     * and the default DeserializationFilter. The InputStream is not closed.
+     *
+     * @param in The non-null InputStream from which an object should be de-serialized.
+     * @return The de-serialized Java Object.
+     * @throws IllegalArgumentException if the object could not be de-serialized.
+     */
+    public static Object deSerializeFrom(@NotNull final InputStream in) throws IllegalArgumentException {
+        return deSerializeFrom(in, defaultFilter);
+    }
+
+    /**
+     * De-serializes a Java Object from the supplied InputStream using standard Java serialization
+     * and the supplied DeserializationFilter. The InputStream is not closed.
+     *
+     * @param in     The non-null InputStream from which an object should be de-serialized.
+     * @param filter The DeserializationFilter which the serialized Java Object must satisfy.
+     * @return The de-serialized Java Object.
+     * @throws IllegalArgumentException if the object could not be de-serialized, or if it violated the
+     *                                  supplied DeserializationFilter.
+     */
+    public static Object deSerializeFrom(@NotNull final InputStream in, @NotNull final DeserializationFilter filter)
+            throws IllegalArgumentException {
+
+        // Check sanity
+        Validate.notNull(in, "in");
+        Validate.notNull(filter, "filter");
+
+        try {
+            return DEFAULT_CODEC.decode(in, filter);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Could not deserialize object.", e);
+        }
+    }
+
+    /**
+     * Registers the supplied SerializationCodec, replacing any SerializationCodec with the same identifier.
+     *
+     * @param codec The SerializationCodec to register.
+     * @throws IllegalArgumentException if the identifier of the supplied codec was empty, contained a colon
+     *                                  or was the identifier of the standard {@link JavaSerializationCodec}.
+     */
+    public static void registerCodec(@NotNull final SerializationCodec codec) throws IllegalArgumentException {
+
+        // Check sanity
+        Validate.notNull(codec, "codec");
+        final String id = Validate.notEmpty(codec.getId(), "codec.getId()");
+        Validate.isTrue(id.indexOf(HEADER_SEPARATOR) < 0,
+                "SerializationCodec identifiers cannot contain '" + HEADER_SEPARATOR + "'. Got: [" + id + "]");
+        Validate.isTrue(!JavaSerializationCodec.ID.equals(id),
+                "Cannot replace the standard Java serialization codec.");
+
         // All done.
-        return toReturn;
+        CODECS.put(id, codec);
+    }
+
+    /**
+     * Retrieves the registered SerializationCodec with the supplied identifier.
+     *
+     * @param codecId The identifier of a SerializationCodec.
+     * @return The SerializationCodec with the supplied identifier, or {@code null} if none was registered.
+     */
+    public static SerializationCodec getCodec(@NotNull final String codecId) {
+
+        // Check sanity
+        Validate.notNull(codecId, "codecId");
+
+        // All done.
+        return CODECS.get(codecId);
+    }
+
+    /**
+     * Assigns the DeserializationFilter used by all de-serialization calls not supplying a DeserializationFilter.
+     *
+     * @param filter The non-null default DeserializationFilter.
+     */
+    public static void setDefaultFilter(@NotNull final DeserializationFilter filter) {
+
+        // Check sanity
+        Validate.notNull(filter, "filter");
+
+        // Assign internal state
+        defaultFilter = filter;
+    }
+
+    /**
+     * @return The DeserializationFilter used by all de-serialization calls not supplying a DeserializationFilter.
+     */
+    public static DeserializationFilter getDefaultFilter() {
+        return defaultFilter;
     }
 
     //
     // Private helpers
     //
 
+    private static SerializationCodec getRequiredCodec(final String codecId) {
+
+        // Check sanity
+        Validate.notEmpty(codecId, "codecId");
+
+        final SerializationCodec toReturn = CODECS.get(codecId);
+        if (toReturn == null) {
+            throw new IllegalArgumentException("No SerializationCodec registered with id [" + codecId + "]");
+        }
+
+        // All done.
+        return toReturn;
+    }
+
+    private static byte[] acquireBuffer() {
+
+        // Nested calls (i.e. from within a codec) find no buffer, and must allocate their own.
+        final byte[][] holder = BUFFERS.get();
+        final byte[] toReturn = holder[0];
+        holder[0] = null;
+
+        return toReturn == null ? new byte[INITIAL_BUFFER_SIZE] : toReturn;
+    }
+
+    private static void releaseBuffer(final byte[] buffer) {
+
+        // Don't retain huge buffers.
+        if (buffer.length <= MAX_RETAINED_BUFFER_SIZE) {
+            BUFFERS.get()[0] = buffer;
+        }
+    }
+
     /**
      * Decodes the provided ASCII-armoured String into a byte array.
      *
      * @param encoded encoded string
+     * @param offset  the index of the first character to decode
      * @return return array of byte to encode
      */
-    private static byte[] decode(final String encoded) throws IllegalArgumentException {
+    private static byte[] decode(final String encoded, final int offset) throws IllegalArgumentException {
 
         // Check sanity
-        final int lengthData = encoded.length();
+        final int lengthData = encoded.length() - offset;
         if (lengthData % 2 != 0) {
             throw new IllegalArgumentException(ERROR_PREFIX + "Must be an even number of bytes.");
         }
 
         final int returnSize = lengthData / 2;
         final byte[] toReturn = new byte[returnSize];
-        final char[] binaryData = encoded.toCharArray();
 
-        char char1, char2;
         for (int i = 0; i < returnSize; i++) {
 
             // Read the bytes in order
-            char1 = binaryData[i * 2];
-            char2 = binaryData[i * 2 + 1];
+            final char char1 = encoded.charAt(offset + i * 2);
+            final char char2 = encoded.charAt(offset + i * 2 + 1);
 
             // Check sanity
-            Validate.isTrue(char1 < BASELENGTH, ERROR_PREFIX
-                    + "Each byte must be < " + BASELENGTH + " [Got: " + char1 + "].");
-            Validate.isTrue(char2 < BASELENGTH, ERROR_PREFIX
-                    + "Each byte must be < " + BASELENGTH + " [Got: " + char2 + "].");
+            final int high = char1 < BASELENGTH ? HEX_NUMBER_TABLE[char1] : -1;
+            final int low = char2 < BASELENGTH ? HEX_NUMBER_TABLE[char2] : -1;
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException(ERROR_PREFIX + "Each character must be a hexadecimal digit "
+                        + "[Got: " + (high < 0 ? char1 : char2) + "].");
+            }
 
             // Restore the byte.
-            toReturn[i] = (byte) ((HEX_NUMBER_TABLE[char1] << 4) | HEX_NUMBER_TABLE[char2]);
+            toReturn[i] = (byte) ((high << 4) | low);
         }
 
         // All done.
@@ -182,32 +466,79 @@ public abstract class Serializer {
     }
 
     /**
-     * Encodes the provided byte array to an ASCII-armoured String.
-     *
-     * @param toEncode array of byte to encode
-     * @return the ASCII encoded String
+     * OutputStream writing into a growable byte array, which is rendered as a String where all bytes
+     * from a given index are hex-encoded.
      */
-    private static String encode(final byte[] toEncode) {
+    private static final class BufferOutputStream extends OutputStream {
 
-        // toEncode should not be null
-        final int returnSize = toEncode.length * 2;
+        // Internal state
+        private byte[] buffer;
+        private int count;
 
-        char[] toReturn = new char[returnSize];
-        int current;
-        for (int i = 0; i < toEncode.length; i++) {
+        private BufferOutputStream(final byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(final int b) {
+            ensureCapacity(count + 1);
+            buffer[count++] = (byte) b;
+        }
 
-            // Get the data, and compensate for the signed nature of Java's bytes.
-            current = toEncode[i];
-            if (current < 0) {
-                current += 256;
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        private void writeAscii(final String value) {
+            for (int i = 0; i < value.length(); i++) {
+                write(value.charAt(i));
             }
+        }
 
-            // The bytes are assumed to be sent in LSB order.
-            toReturn[i * 2] = LOOK_UP_HEX_ALPHABET[current >> 4];
-            toReturn[i * 2 + 1] = LOOK_UP_HEX_ALPHABET[current & 0xf];
+        private int size() {
+            return count;
         }
 
-        // All done.
-        return new String(toReturn);
+        private byte[] getBuffer() {
+            return buffer;
+        }
+
+        private String toArmouredString(final int hexStart) {
+
+            if (hexStart == count) {
+                return new String(buffer, 0, count, StandardCharsets.ISO_8859_1);
+            }
+
+            // Encode all bytes from hexStart.
+            final char[] toReturn = new char[hexStart + (count - hexStart) * 2];
+            for (int i = 0; i < hexStart; i++) {
+                toReturn[i] = (char) buffer[i];
+            }
+            for (int i = hexStart, j = hexStart; i < count; i++) {
+
+                // Compensate for the signed nature of Java's bytes.
+                final int current = buffer[i] & 0xff;
+                toReturn[j++] = LOOK_UP_HEX_ALPHABET[current >> 4];
+                toReturn[j++] = LOOK_UP_HEX_ALPHABET[current & 0xf];
+            }
+
+            // All done.
+            return new String(toReturn);
+        }
+
+        private void ensureCapacity(final int minCapacity) {
+            if (minCapacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, minCapacity));
+            }
+        }
     }
 }
@@ -0,0 +1,207 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.reflection.api.conversion.registry;
+
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Test;
+import se.jguru.nazgul.core.reflection.api.conversion.registry.helpers.MultiConverter;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
+ */
+public class ConverterInvokersTest {
+
+    @Test
+    public void validateInvokingPublicConverterMethod() throws Exception {
+
+        // Assemble
+        final Method converterMethod = MultiConverter.class.getMethod("convert", String.class);
+        final Method conditionalMethod = MultiConverter.class.getMethod("isDateHourMinuteFormat", String.class);
+        final MultiConverter converter = new MultiConverter("foo");
+
+        // Act
+        final Function<Object, Object> unitUnderTest = ConverterInvokers.forMethod(converter, converterMethod);
+        final Predicate<Object> conditional = ConverterInvokers.forConditionalMethod(converter, conditionalMethod);
+
+        // Assert
+        Assert.assertEquals("bar", unitUnderTest.apply("bar").toString());
+        Assert.assertEquals("nothing!", unitUnderTest.apply(null).toString());
+        Assert.assertTrue(conditional.test("2013-05-01T12:34"));
+        Assert.assertFalse(conditional.test("not a date"));
+    }
+
+    @Test
+    public void validateInvokingPublicConverterConstructor() throws Exception {
+
+        // Assemble
+        final Constructor<MultiConverter> constructor = MultiConverter.class.getConstructor(String.class);
+
+        // Act
+        final Function<Object, Object> unitUnderTest = ConverterInvokers.forConstructor(constructor);
+        final Object result = unitUnderTest.apply("foo");
+
+        // Assert
+        Assert.assertTrue(result instanceof MultiConverter);
+        Assert.assertEquals("foo", ((MultiConverter) result).getValue());
+    }
+
+    @Test
+    public void validateFallbackInvocationForNonPublicConverterTypes() throws Exception {
+
+        // Assemble
+        final NonPublicConverter converter = new NonPublicConverter();
+        final Method converterMethod = NonPublicConverter.class.getMethod("convert", String.class);
+        final Method conditionalMethod = NonPublicConverter.class.getMethod("isConvertible", String.class);
+        final Method primitiveMethod = NonPublicConverter.class.getMethod("length", String.class);
+
+        // Act
+        final Function<Object, Object> unitUnderTest = ConverterInvokers.forMethod(converter, converterMethod);
+        final Predicate<Object> conditional = ConverterInvokers.forConditionalMethod(converter, conditionalMethod);
+        final Function<Object, Object> primitive = ConverterInvokers.forMethod(converter, primitiveMethod);
+
+        // Assert
+        Assert.assertEquals("foo!", unitUnderTest.apply("foo"));
+        Assert.assertTrue(conditional.test("foo"));
+        Assert.assertFalse(conditional.test(null));
+        Assert.assertEquals(3, primitive.apply("foo"));
+    }
+
+    @Test
+    public void validateExceptionPropagationFromConverterMethod() throws Exception {
+
+        // Assemble
+        final Method converterMethod = MultiConverter.class.getMethod("convertToDateTime", String.class);
+        final Function<Object, Object> unitUnderTest = ConverterInvokers.forMethod(
+                new MultiConverter("foo"), converterMethod);
+
+        // Act
+        final DateTime result = (DateTime) unitUnderTest.apply("20130501T123456Z");
+        try {
+            unitUnderTest.apply("not a date");
+            Assert.fail("Conversion of non-date Strings should yield an UndeclaredThrowableException.");
+        } catch (UndeclaredThrowableException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+
+        // Assert
+        Assert.assertEquals(2013, result.getYear());
+    }
+
+    @Test
+    public void validateSameExceptionTypeFromAllInvocationStrategies() throws Exception {
+
+        // Assemble
+        final Method converterMethod = ThrowingConverter.class.getMethod("convert", Object.class);
+        final Method conditionalMethod = ThrowingConverter.class.getMethod("isConvertible", Object.class);
+        final Constructor<ThrowingConverter> constructor = ThrowingConverter.class.getConstructor(Object.class);
+        final Method nonPublicMethod = NonPublicConverter.class.getMethod("length", String.class);
+        final ThrowingConverter converter = new ThrowingConverter(null);
+        final Throwable[] failures = {new IllegalStateException(), new Exception(), new AssertionError()};
+
+        for (ConverterInvokers.Strategy current : ConverterInvokers.Strategy.values()) {
+
+            final Function<Object, Object> method = ConverterInvokers.forMethod(converter, converterMethod, current);
+            final Function<Object, Object> ctor = ConverterInvokers.forConstructor(constructor, current);
+            final Predicate<Object> conditional = ConverterInvokers.forConditionalMethod(
+                    converter, conditionalMethod, current);
+            final Function<Object, Object> nonPublic = ConverterInvokers.forMethod(
+                    new NonPublicConverter(), nonPublicMethod, current);
+
+            for (Throwable failure : failures) {
+
+                // Act & Assert
+                assertConverterFailure(failure, () -> method.apply(failure));
+                assertConverterFailure(failure, () -> ctor.apply(failure));
+                assertConverterFailure(failure, () -> conditional.test(failure));
+            }
+            assertConverterFailureType(NullPointerException.class, () -> nonPublic.apply(null));
+        }
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static void assertConverterFailure(final Throwable expected, final Runnable invocation) {
+        try {
+            invocation.run();
+            Assert.fail("Converter failure [" + expected + "] should yield an UndeclaredThrowableException.");
+        } catch (UndeclaredThrowableException e) {
+            Assert.assertSame(expected, e.getCause());
+        }
+    }
+
+    private static void assertConverterFailureType(final Class<? extends Throwable> expected,
+                                                   final Runnable invocation) {
+        try {
+            invocation.run();
+            Assert.fail("Converter failure [" + expected + "] should yield an UndeclaredThrowableException.");
+        } catch (UndeclaredThrowableException e) {
+            Assert.assertEquals(expected, e.getCause().getClass());
+        }
+    }
+
+    public static class ThrowingConverter {
+
+        public ThrowingConverter(final Object failure) {
+            if (failure != null) {
+                sneakyThrow((Throwable) failure);
+            }
+        }
+
+        public Object convert(final Object failure) {
+            return sneakyThrow((Throwable) failure);
+        }
+
+        public boolean isConvertible(final Object failure) {
+            return sneakyThrow((Throwable) failure) != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T extends Throwable> Object sneakyThrow(final Throwable failure) throws T {
+            throw (T) failure;
+        }
+    }
+
+    private static class NonPublicConverter {
+
+        public String convert(final String aString) {
+            return aString + "!";
+        }
+
+        public Boolean isConvertible(final String aString) {
+            return aString != null;
+        }
+
+        public int length(final String aString) {
+            return aString.length();
+        }
+    }
+}
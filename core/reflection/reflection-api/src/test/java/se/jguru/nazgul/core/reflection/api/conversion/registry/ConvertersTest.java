@@ -25,12 +25,15 @@ package se.jguru.nazgul.core.reflection.api.conversion.registry;
 
 import org.junit.Assert;
 import org.junit.Test;
+import se.jguru.nazgul.core.algorithms.api.collections.predicate.Tuple;
 import se.jguru.nazgul.core.reflection.api.conversion.Converter;
+import se.jguru.nazgul.core.reflection.api.conversion.registry.helpers.MultiConverter;
 import se.jguru.nazgul.core.reflection.api.conversion.registry.helpers.StringConstructorConverter;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.Date;
+import java.util.SortedSet;
 import java.util.function.Predicate;
 
 /**
@@ -188,6 +191,26 @@ public class ConvertersTest {
         Assert.assertFalse(result);
     }
 
+    @Test
+    public void validateConvertersAreExtractedOncePerClass() {
+
+        // Act
+        final Tuple<SortedSet<Method>, SortedSet<Constructor<?>>> result1 =
+                Converters.GET_CONVERTERS.apply(MultiConverter.class);
+        final Tuple<SortedSet<Method>, SortedSet<Constructor<?>>> result2 =
+                Converters.GET_CONVERTERS.apply(MultiConverter.class);
+
+        // Assert
+        Assert.assertSame(result1, result2);
+        Assert.assertFalse(result1.getKey().isEmpty());
+        try {
+            result1.getKey().clear();
+            Assert.fail("Cached converter methods should be unmodifiable.");
+        } catch (UnsupportedOperationException expected) {
+            // Expected
+        }
+    }
+
     /*
     @Test
     public void validateNullReturnedForNoConvertersFound() {
@@ -28,14 +28,20 @@ import org.junit.Before;
 import org.junit.Test;
 import se.jguru.nazgul.core.reflection.api.conversion.registry.helpers.CollectionsConverter;
 import se.jguru.nazgul.core.reflection.api.conversion.registry.helpers.FakeConverter;
+import se.jguru.nazgul.core.reflection.api.conversion.registry.helpers.HopConverter;
 import se.jguru.nazgul.core.reflection.api.conversion.registry.helpers.MultiConverter;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +49,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
@@ -101,6 +108,57 @@ public class DefaultConverterRegistryTest {
         Assert.assertNull(result);
     }
 
+    @Test
+    public void validateNullReturnedForConversionWithoutConverters() {
+
+        // Act
+        final DateTime result = unitUnderTest.convert("2012-05-06T20:08", DateTime.class);
+
+        // Assert
+        Assert.assertNull(result);
+    }
+
+    @Test
+    public void validateCachedConversionPathsInvalidatedOnAdd() {
+
+        // Assemble
+        final String hourMinuteDateForm = "2012-05-06T20:08";
+
+        // Act
+        final DateTime result1 = unitUnderTest.convert(hourMinuteDateForm, DateTime.class);
+        final DateTime result2 = unitUnderTest.convert(hourMinuteDateForm, DateTime.class);
+        unitUnderTest.add(multiConverter);
+        final DateTime result3 = unitUnderTest.convert(hourMinuteDateForm, DateTime.class);
+        final DateTime result4 = unitUnderTest.convert(hourMinuteDateForm, DateTime.class);
+
+        // Assert
+        Assert.assertNull(result1);
+        Assert.assertNull(result2);
+        Assert.assertNotNull(result3);
+        Assert.assertEquals(result3, result4);
+    }
+
+    @Test
+    public void validateCachedConversionPathsDoNotPinClassLoaders() throws Exception {
+
+        // Assemble
+        final URL testClasses = FakeConverter.class.getProtectionDomain().getCodeSource().getLocation();
+        final WeakReference<ClassLoader> isolatedClassLoader = new WeakReference<>(
+                new URLClassLoader(new URL[]{testClasses}, null));
+        unitUnderTest.add(multiConverter);
+
+        // Act
+        final Collection<?> result = convertInstanceOfIsolatedType(isolatedClassLoader);
+        for (int i = 0; i < 50 && isolatedClassLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+
+        // Assert
+        Assert.assertNull(result);
+        Assert.assertNull(isolatedClassLoader.get());
+    }
+
     @Test(expected = NullPointerException.class)
     public void validateExceptionOnNullConversionToType() {
 
@@ -113,7 +171,6 @@ public class DefaultConverterRegistryTest {
 
         // Assemble
         final FakeConverter nonConverter = new FakeConverter();
-        final Map<Class<?>, PrioritizedTypeConverter> convertersMap = getConvertersMap(unitUnderTest);
 
         // Act
         try {
@@ -124,7 +181,8 @@ public class DefaultConverterRegistryTest {
         }
 
         // Assert.
-        Assert.assertEquals(0, convertersMap.size());
+        Assert.assertEquals(0, getConvertersMap(unitUnderTest).size());
+        Assert.assertEquals(0L, unitUnderTest.getVersion());
     }
 
     @Test
@@ -132,10 +190,10 @@ public class DefaultConverterRegistryTest {
 
         // Assemble
         final List<Class<?>> expectedFroms = Arrays.asList(DateTime.class, String.class, Object.class);
-        final Map<Class<?>, PrioritizedTypeConverter> convertersMap = getConvertersMap(unitUnderTest);
 
         // Act
         unitUnderTest.add(multiConverter);
+        final Map<Class<?>, PrioritizedTypeConverter> convertersMap = getConvertersMap(unitUnderTest);
 
         // Assert
         Assert.assertEquals(3, convertersMap.size());
@@ -185,11 +243,147 @@ public class DefaultConverterRegistryTest {
         Assert.assertEquals(6, result2.getDayOfMonth());
     }
 
-    @Test(expected = UnsupportedOperationException.class)
-    public void validateRemovalOfConvertersNotYetImplemented() {
+    @Test
+    public void validateRemovalOfConverters() {
+
+        // Assemble
+        final String hourMinuteDateForm = "2012-05-06T20:08";
+        final HashSet<String> set = new HashSet<String>(Arrays.asList("foo", "bar"));
+        final CollectionsConverter collectionsConverter = new CollectionsConverter();
+        unitUnderTest.add(multiConverter, collectionsConverter);
+
+        // Act
+        final DateTime result1 = unitUnderTest.convert(hourMinuteDateForm, DateTime.class);
+        final List result2 = unitUnderTest.convert(set, List.class);
+        final long versionBeforeRemoval = unitUnderTest.getVersion();
 
-        // Act & Assert
         unitUnderTest.remove(multiConverter);
+        unitUnderTest.remove(new MultiConverter("notRegistered"));
+
+        final DateTime result3 = unitUnderTest.convert(hourMinuteDateForm, DateTime.class);
+        final List result4 = unitUnderTest.convert(set, List.class);
+
+        // Assert
+        Assert.assertNotNull(result1);
+        Assert.assertNotNull(result2);
+        Assert.assertNull(result3);
+        Assert.assertNotNull(result4);
+        Assert.assertEquals(versionBeforeRemoval + 1, unitUnderTest.getVersion());
+        Assert.assertEquals(0, unitUnderTest.getPossibleConversions(String.class).size());
+        Assert.assertFalse(getConvertersMap(unitUnderTest).containsKey(String.class));
+    }
+
+    @Test
+    public void validateRetainingConvertersOnSubsequentAdd() {
+
+        // Assemble
+        final HashSet<String> set = new HashSet<String>(Arrays.asList("foo", "bar"));
+        unitUnderTest.add(new CollectionsConverter());
+
+        // Act
+        final List result1 = unitUnderTest.convert(set, List.class);
+        unitUnderTest.add(multiConverter);
+        final List result2 = unitUnderTest.convert(set, List.class);
+        final DateTime result3 = unitUnderTest.convert("2012-05-06T20:08", DateTime.class);
+
+        // Assert
+        Assert.assertNotNull(result1);
+        Assert.assertNotNull(result2);
+        Assert.assertNotNull(result3);
+    }
+
+    @Test
+    public void validateAtomicReplacementOfConverters() {
+
+        // Assemble
+        final String hourMinuteDateForm = "2012-05-06T20:08";
+        unitUnderTest.add(multiConverter);
+        final long initialVersion = unitUnderTest.getVersion();
+
+        // Act
+        try {
+            unitUnderTest.replace(Arrays.asList(multiConverter), new FakeConverter());
+            Assert.fail("Replacing with a non-converter-annotated object should yield exception.");
+        } catch (IllegalArgumentException expected) {
+            // Do nothing
+        }
+        final DateTime result1 = unitUnderTest.convert(hourMinuteDateForm, DateTime.class);
+
+        final MultiConverter replacement = new MultiConverter("replacement");
+        unitUnderTest.replace(Arrays.asList(multiConverter), replacement);
+        final StringBuffer result2 = unitUnderTest.convert("foo", StringBuffer.class);
+
+        // Assert
+        Assert.assertNotNull(result1);
+        Assert.assertEquals("foo", result2.toString());
+        Assert.assertEquals(initialVersion + 1, unitUnderTest.getVersion());
+        Assert.assertEquals(3, getConvertersMap(unitUnderTest).size());
+    }
+
+    @Test
+    public void validateMultiHopConversion() {
+
+        // Assemble
+        final String hourMinuteDateForm = "2012-05-06T20:08";
+        unitUnderTest.add(multiConverter);
+
+        // Act
+        final Date result1 = unitUnderTest.convert(hourMinuteDateForm, Date.class);
+        final Date result2 = unitUnderTest.convert(hourMinuteDateForm, Date.class);
+        final Date hopByHop = unitUnderTest.convert(
+                unitUnderTest.convert(hourMinuteDateForm, DateTime.class), Date.class);
+        final Date unconvertible = unitUnderTest.convert("not a date", Date.class);
+
+        unitUnderTest.remove(multiConverter);
+        final Date afterRemoval = unitUnderTest.convert(hourMinuteDateForm, Date.class);
+
+        // Assert
+        Assert.assertNotNull(result1);
+        Assert.assertEquals(hopByHop, result1);
+        Assert.assertEquals(result1, result2);
+        Assert.assertNull(unconvertible);
+        Assert.assertNull(afterRemoval);
+    }
+
+    @Test
+    public void validateMultiHopConversionWithinMaximumHops() {
+
+        // Assemble
+        unitUnderTest.add(new HopConverter());
+
+        // Act
+        final BigDecimal result = unitUnderTest.convert(42, BigDecimal.class);
+
+        // Assert
+        Assert.assertEquals(BigDecimal.valueOf(42.0), result);
+    }
+
+    @Test
+    public void validateBulkConversion() {
+
+        // Assemble
+        final List<String> sources = Arrays.asList("foo", null, "bar", "baz");
+        final DefaultConverterRegistry parallelRegistry = new DefaultConverterRegistry(1);
+        unitUnderTest.add(multiConverter);
+        parallelRegistry.add(multiConverter);
+
+        // Act
+        final List<StringBuffer> result1 = unitUnderTest.convertAll(sources, StringBuffer.class);
+        final List<StringBuffer> result2 = parallelRegistry.convertAll(sources, StringBuffer.class);
+        final List<StringBuffer> result3 = unitUnderTest.convertAll(sources.stream(), StringBuffer.class)
+                .collect(Collectors.toList());
+        final List<Date> unconvertible = unitUnderTest.convertAll(Arrays.asList("foo", "bar"), Date.class);
+
+        // Assert
+        final List<String> expected = Arrays.asList("foo", null, "bar", "baz");
+        for (List<StringBuffer> current : Arrays.asList(result1, result2, result3)) {
+            Assert.assertEquals(expected.size(), current.size());
+            for (int i = 0; i < expected.size(); i++) {
+                final StringBuffer converted = current.get(i);
+                Assert.assertEquals(expected.get(i), converted == null ? null : converted.toString());
+            }
+        }
+        Assert.assertEquals(Arrays.asList(null, null), unconvertible);
     }
 
     @Test
@@ -248,9 +442,13 @@ public class DefaultConverterRegistryTest {
     private Map<Class<?>, PrioritizedTypeConverter> getConvertersMap(final DefaultConverterRegistry instance) {
 
         try {
-            Field mapField = DefaultConverterRegistry.class.getDeclaredField("sourceTypeToTypeConvertersMap");
+            final Field snapshotField = DefaultConverterRegistry.class.getDeclaredField("snapshot");
+            snapshotField.setAccessible(true);
+            final Object snapshot = snapshotField.get(instance);
+
+            final Field mapField = snapshot.getClass().getDeclaredField("sourceTypeToTypeConvertersMap");
             mapField.setAccessible(true);
-            return (Map<Class<?>, PrioritizedTypeConverter>) mapField.get(instance);
+            return (Map<Class<?>, PrioritizedTypeConverter>) mapField.get(snapshot);
         } catch (Exception e) {
             throw new IllegalArgumentException("could not acquire field.", e);
         }
@@ -260,12 +458,27 @@ public class DefaultConverterRegistryTest {
             final Class<From> sourceType, final DefaultConverterRegistry registry) {
 
         try {
-            Method method = DefaultConverterRegistry.class.getDeclaredMethod("getPrioritizedConverters", Class.class);
+            Method method = DefaultConverterRegistry.class.getDeclaredMethod(
+                    "getPrioritizedConverters", SortedMap.class, Class.class);
             method.setAccessible(true);
 
-            return (SortedMap<Integer, PrioritizedTypeConverter>) method.invoke(registry, sourceType);
+            return (SortedMap<Integer, PrioritizedTypeConverter>) method.invoke(
+                    registry, getConvertersMap(registry), sourceType);
         } catch (Exception e) {
             throw new IllegalArgumentException("Could not aquuire prioritizedConverters", e);
         }
     }
+
+    private Collection<?> convertInstanceOfIsolatedType(final WeakReference<ClassLoader> isolatedClassLoader)
+            throws Exception {
+
+        // The converter for Object should be found for the isolated type, and its conversion path cached.
+        // No converter yields a Date from the isolated type, which requires planning a conversion chain.
+        final Object isolatedInstance = isolatedClassLoader.get().loadClass(FakeConverter.class.getName())
+                .newInstance();
+        Assert.assertNotSame(FakeConverter.class, isolatedInstance.getClass());
+        Assert.assertNull(unitUnderTest.convert(isolatedInstance, Date.class));
+
+        return unitUnderTest.convert(isolatedInstance, Collection.class);
+    }
 }
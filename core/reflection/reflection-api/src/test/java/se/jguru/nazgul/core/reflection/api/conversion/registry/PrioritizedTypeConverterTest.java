@@ -37,6 +37,7 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 
 /**
@@ -97,17 +98,48 @@ public class PrioritizedTypeConverterTest {
         Assert.assertEquals(convertersSizeBeforeReAdd, unitUnderTest.getTypeConverters(StringBuffer.class).size());
     }
 
+    @Test
+    public void validateImmutableSnapshotsOnAdd() {
+
+        // Assemble
+        final List<TypeConverter<String, StringBuffer>> convertersBeforeAdd =
+                unitUnderTest.getTypeConverters(StringBuffer.class);
+        final Set<Class<?>> targetTypesBeforeAdd = unitUnderTest.getAvailableTargetTypes();
+
+        // Act
+        unitUnderTest.add(new MultiConverter("fooBar"));
+        final List<TypeConverter<String, StringBuffer>> convertersAfterAdd =
+                unitUnderTest.getTypeConverters(StringBuffer.class);
+        final List<TypeConverter<String, CharSequence>> fuzzyConverters =
+                unitUnderTest.getTypeConverters(CharSequence.class);
+
+        // Assert
+        Assert.assertEquals(0, convertersBeforeAdd.size());
+        Assert.assertEquals(0, targetTypesBeforeAdd.size());
+        Assert.assertEquals(2, convertersAfterAdd.size());
+        Assert.assertSame(convertersAfterAdd, unitUnderTest.getTypeConverters(StringBuffer.class));
+        Assert.assertEquals(fuzzyConverters, unitUnderTest.getTypeConverters(CharSequence.class));
+        Assert.assertTrue(unitUnderTest.getAvailableTargetTypes().contains(StringBuffer.class));
+
+        try {
+            convertersAfterAdd.clear();
+            Assert.fail("TypeConverter lists should be unmodifiable.");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void validateNullValuePermittedConverter() {
 
         // Assemble
         final MultiConverter multiConverter = new MultiConverter("fooBar");
-        final SortedMap<Integer, Map<Class<?>, TypeConverter<String, ?>>> typeConverterMap =
-                getTypeConverterMap(unitUnderTest);
 
         // Act
         unitUnderTest.add(multiConverter);
+        final SortedMap<Integer, Map<Class<?>, TypeConverter<String, ?>>> typeConverterMap =
+                getTypeConverterMap(unitUnderTest);
         final StringBuffer result = unitUnderTest.convert(null, StringBuffer.class);
         final TypeConverter<String, StringBuffer> internalConverter = (TypeConverter<String, StringBuffer>)
                 typeConverterMap.get(Converter.DEFAULT_PRIORITY).get(StringBuffer.class);
@@ -126,11 +158,11 @@ public class PrioritizedTypeConverterTest {
         final String hourMinuteDateForm = "2012-05-06T07:08";
         final String isoDateTimeDateForm = "20120506T070809+0100";
         final MultiConverter multiConverter = new MultiConverter("fooBar");
-        final SortedMap<Integer, Map<Class<?>, TypeConverter<String, ?>>> typeConverterMap =
-                getTypeConverterMap(unitUnderTest);
 
         // Act
         unitUnderTest.add(multiConverter);
+        final SortedMap<Integer, Map<Class<?>, TypeConverter<String, ?>>> typeConverterMap =
+                getTypeConverterMap(unitUnderTest);
         final List<TypeConverter<String, DateTime>> typeConverters = unitUnderTest.getTypeConverters(DateTime.class);
         final TypeConverter<String, DateTime> optimumConverter = typeConverters.get(0);
         final TypeConverter<String, DateTime> specificConverter = typeConverters.get(1);
@@ -163,11 +195,11 @@ public class PrioritizedTypeConverterTest {
                 PrioritizedTypeConverter.ConstructorTypeConverter.class.getSimpleName();
 
         final MultiConverter multiConverter = new MultiConverter("fooBar");
-        final SortedMap<Integer, Map<Class<?>, TypeConverter<String, ?>>> typeConverterMap =
-                getTypeConverterMap(unitUnderTest);
 
         // Act
         unitUnderTest.add(multiConverter);
+        final SortedMap<Integer, Map<Class<?>, TypeConverter<String, ?>>> typeConverterMap =
+                getTypeConverterMap(unitUnderTest);
 
         // Assert
         final Map<Class<?>, TypeConverter<String, ?>> defaultConverters =
@@ -247,9 +279,13 @@ public class PrioritizedTypeConverterTest {
             final PrioritizedTypeConverter<From> converter) {
 
         try {
-            final Field field = converter.getClass().getDeclaredField("prioritizedTypeConverterMap");
+            final Field snapshotField = converter.getClass().getDeclaredField("snapshot");
+            snapshotField.setAccessible(true);
+            final Object snapshot = snapshotField.get(converter);
+
+            final Field field = snapshot.getClass().getDeclaredField("prioritizedTypeConverterMap");
             field.setAccessible(true);
-            return (SortedMap<Integer, Map<Class<?>, TypeConverter<From, ?>>>) field.get(converter);
+            return (SortedMap<Integer, Map<Class<?>, TypeConverter<From, ?>>>) field.get(snapshot);
         } catch (Exception e) {
             throw new IllegalArgumentException("Could not access the converterMap", e);
         }
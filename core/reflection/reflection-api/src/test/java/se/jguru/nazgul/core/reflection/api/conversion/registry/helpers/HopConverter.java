@@ -0,0 +1,68 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.reflection.api.conversion.registry.helpers;
+
+import se.jguru.nazgul.core.reflection.api.conversion.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Converters offering a cheap, four-hop chain (Integer &rarr; Long &rarr; Short &rarr; Byte &rarr; Double)
+ * and a costly, single-hop conversion (Integer &rarr; Double) to the same type, from which a BigDecimal
+ * can be reached only within one further hop.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
+ */
+public class HopConverter {
+
+    @Converter(priority = 1)
+    public Long toLong(final Integer anInteger) {
+        return anInteger.longValue();
+    }
+
+    @Converter(priority = 1)
+    public Short toShort(final Long aLong) {
+        return aLong.shortValue();
+    }
+
+    @Converter(priority = 1)
+    public Byte toByte(final Short aShort) {
+        return aShort.byteValue();
+    }
+
+    @Converter(priority = 1)
+    public Double toDouble(final Byte aByte) {
+        return aByte.doubleValue();
+    }
+
+    @Converter(priority = 1000)
+    public Double toDouble(final Integer anInteger) {
+        return anInteger.doubleValue();
+    }
+
+    @Converter
+    public BigDecimal toBigDecimal(final Double aDouble) {
+        return BigDecimal.valueOf(aDouble);
+    }
+}
@@ -0,0 +1,90 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.reflection.api.serialization;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
+ */
+public class BoundedInputStreamTest {
+
+    @Test
+    public void validateReadingWithinLimit() throws IOException {
+
+        // Assemble
+        final byte[] data = new byte[100];
+        final BoundedInputStream unitUnderTest = new BoundedInputStream(new ByteArrayInputStream(data), 100);
+        final byte[] buffer = new byte[200];
+
+        // Act
+        final int numRead = unitUnderTest.read(buffer, 0, buffer.length);
+        final int endOfStream = unitUnderTest.read();
+
+        // Assert
+        Assert.assertEquals(100, numRead);
+        Assert.assertEquals(-1, endOfStream);
+        Assert.assertEquals(100, unitUnderTest.getBytesRead());
+        Assert.assertFalse(unitUnderTest.markSupported());
+    }
+
+    @Test
+    public void validateExceptionOnReadingBeyondLimit() throws IOException {
+
+        // Assemble
+        final BoundedInputStream unitUnderTest = new BoundedInputStream(new ByteArrayInputStream(new byte[100]), 10);
+        final byte[] buffer = new byte[200];
+
+        // Act & Assert
+        try {
+            unitUnderTest.read(buffer, 0, buffer.length);
+            Assert.fail("Reading beyond the limit should yield an IOException.");
+        } catch (IOException e) {
+            Assert.assertEquals(11, unitUnderTest.getBytesRead());
+        }
+
+        try {
+            unitUnderTest.read(buffer, 0, buffer.length);
+            Assert.fail("Reading after exceeding the limit should yield an IOException.");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void validateExceptionOnSingleByteReadsBeyondLimit() throws IOException {
+
+        // Assemble
+        final BoundedInputStream unitUnderTest = new BoundedInputStream(new ByteArrayInputStream(new byte[10]), 5);
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            unitUnderTest.read();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-reflection-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.reflection.api.serialization;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
+ */
+public class DeserializationFilterTest {
+
+    @Test
+    public void validateMatchingAllowedPatterns() {
+
+        // Assemble
+        final DeserializationFilter unitUnderTest = new DeserializationFilter(
+                "java.util.*", "se.jguru.**", "java.lang.StringBuilder", "java.time.Local*");
+
+        // Act & Assert
+        Assert.assertTrue(unitUnderTest.isAllowed("java.util.ArrayList"));
+        Assert.assertFalse(unitUnderTest.isAllowed("java.util.concurrent.ConcurrentHashMap"));
+        Assert.assertTrue(unitUnderTest.isAllowed("se.jguru.Foo"));
+        Assert.assertTrue(unitUnderTest.isAllowed("se.jguru.nazgul.core.Bar"));
+        Assert.assertFalse(unitUnderTest.isAllowed("se.jgurux.Foo"));
+        Assert.assertTrue(unitUnderTest.isAllowed("java.lang.StringBuilder"));
+        Assert.assertFalse(unitUnderTest.isAllowed("java.lang.StringBuffer"));
+        Assert.assertTrue(unitUnderTest.isAllowed("java.time.LocalDate"));
+        Assert.assertFalse(unitUnderTest.isAllowed("java.time.Instant"));
+    }
+
+    @Test
+    public void validateMatchingArrays() {
+
+        // Assemble
+        final DeserializationFilter unitUnderTest = new DeserializationFilter("java.util.*");
+
+        // Act & Assert
+        Assert.assertTrue(unitUnderTest.isAllowed("[B"));
+        Assert.assertTrue(unitUnderTest.isAllowed("[[I"));
+        Assert.assertTrue(unitUnderTest.isAllowed("[[Ljava.util.Date;"));
+        Assert.assertFalse(unitUnderTest.isAllowed("[Ljava.lang.Object;"));
+    }
+
+    @Test
+    public void validateLimits() {
+
+        // Assemble
+        final DeserializationFilter unitUnderTest = new DeserializationFilter(10, 100, 1000, 5000, "*");
+
+        // Act & Assert
+        Assert.assertTrue(unitUnderTest.isWithinLimits(10, -1, 1000, 5000));
+        Assert.assertTrue(unitUnderTest.isWithinLimits(1, 100, 1, 1));
+        Assert.assertFalse(unitUnderTest.isWithinLimits(11, -1, 1, 1));
+        Assert.assertFalse(unitUnderTest.isWithinLimits(1, 101, 1, 1));
+        Assert.assertFalse(unitUnderTest.isWithinLimits(1, -1, 1001, 1));
+        Assert.assertFalse(unitUnderTest.isWithinLimits(1, -1, 1, 5001));
+        Assert.assertEquals(DeserializationFilter.DEFAULT_MAX_BYTES,
+                new DeserializationFilter(10, 100, 1000, "*").getMaxBytes());
+        Assert.assertTrue(DeserializationFilter.UNRESTRICTED.isAllowed("com.acme.Anything"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnNonPositiveMaxDepth() {
+
+        // Act & Assert
+        new DeserializationFilter(0, 100, 1000, "*");
+    }
+}
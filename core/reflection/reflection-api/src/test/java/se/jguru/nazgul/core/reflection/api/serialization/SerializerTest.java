@@ -24,8 +24,24 @@
 package se.jguru.nazgul.core.reflection.api.serialization;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid, jGuru Europe AB</a>
  */
@@ -82,4 +98,329 @@ public class SerializerTest {
         // Act & Assert
         Serializer.deSerialize("1");
     }
+
+    @Test
+    public void validateRoundTripForAllArmours() {
+
+        // Assemble
+        final List<String> data = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            data.add("FooBar_" + i);
+        }
+        final ArrayList<String> toSerialize = new ArrayList<>(data);
+
+        // Act
+        final String hex = Serializer.serialize(toSerialize, Armour.HEX);
+        final String base64 = Serializer.serialize(toSerialize, Armour.BASE64);
+        final String deflated = Serializer.serialize(toSerialize, Armour.DEFLATED_BASE64);
+
+        // Assert
+        Assert.assertEquals(Serializer.serialize(toSerialize), hex);
+        Assert.assertTrue(base64.startsWith("java:b64:"));
+        Assert.assertTrue(deflated.startsWith("java:z64:"));
+        Assert.assertTrue(base64.length() < hex.length());
+        Assert.assertTrue(deflated.length() < base64.length());
+
+        Assert.assertEquals(data, Serializer.deSerialize(hex));
+        Assert.assertEquals(data, Serializer.deSerialize(base64));
+        Assert.assertEquals(data, Serializer.deSerialize(deflated));
+    }
+
+    @Test
+    public void validateStreamingRoundTrip() {
+
+        // Assemble
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        Serializer.serializeTo(new StringBuilder("FooBar"), out);
+        final Object result = Serializer.deSerializeFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        // Assert
+        Assert.assertTrue(result instanceof StringBuilder);
+        Assert.assertEquals("FooBar", result.toString());
+    }
+
+    @Test
+    public void validateCustomCodecRoundTrip() {
+
+        // Assemble
+        final SerializationCodec reversingCodec = new ReversingCodec("reversed");
+        Serializer.registerCodec(reversingCodec);
+
+        // Act
+        final String serialized = Serializer.serialize("FooBar", Armour.HEX, "reversed");
+        final Object result = Serializer.deSerialize(serialized, DeserializationFilter.UNRESTRICTED);
+
+        // Assert
+        Assert.assertSame(reversingCodec, Serializer.getCodec("reversed"));
+        Assert.assertEquals("reversed:hex:7261426F6F46", serialized);
+        Assert.assertEquals("FooBar", result);
+    }
+
+    @Test
+    public void validateRejectionOfCodecsNotEnforcingFilters() throws Exception {
+
+        // Assemble
+        final SerializationCodec unfilteredCodec = new ReversingCodec("unfiltered");
+        Serializer.registerCodec(unfilteredCodec);
+        final String serialized = Serializer.serialize("FooBar", Armour.BASE64, "unfiltered");
+
+        // Act & Assert
+        Assert.assertFalse(unfilteredCodec.supportsFiltering());
+        Assert.assertTrue(Serializer.getCodec(JavaSerializationCodec.ID).supportsFiltering());
+        try {
+            Serializer.deSerialize(serialized);
+            Assert.fail("SerializationCodecs unable to enforce the default DeserializationFilter should be rejected.");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("unfiltered"));
+        }
+        assertRejected(serialized, new DeserializationFilter("java.lang.*"));
+
+        try {
+            unfilteredCodec.decode(new ByteArrayInputStream("raBooF".getBytes("UTF-8")), DeserializationFilter.DEFAULT);
+            Assert.fail("SerializationCodecs should not ignore DeserializationFilters.");
+        } catch (InvalidObjectException e) {
+            // Expected
+        }
+        Assert.assertEquals("FooBar", Serializer.deSerialize(serialized, DeserializationFilter.UNRESTRICTED));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnUnknownCodec() {
+
+        // Act & Assert
+        Serializer.deSerialize("unknown:hex:ACED");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnNonHexCharacters() {
+
+        // Act & Assert
+        Serializer.deSerialize("ACEG");
+    }
+
+    @Test
+    public void validateDeserializationOfAllowedClasses() {
+
+        // Assemble
+        final DeserializationFilter filter = new DeserializationFilter("java.util.*", "java.lang.StringBuilder");
+        final ArrayList<Object> toSerialize = new ArrayList<>();
+        toSerialize.add(new StringBuilder("FooBar"));
+        toSerialize.add(new int[]{1, 2, 3});
+
+        // Act
+        final Object result = Serializer.deSerialize(
+                Serializer.serialize(toSerialize, Armour.BASE64), filter);
+
+        // Assert
+        Assert.assertTrue(result instanceof ArrayList);
+        Assert.assertEquals("FooBar", ((ArrayList) result).get(0).toString());
+    }
+
+    @Test
+    public void validateRejectionOfDisallowedClasses() {
+
+        // Assemble
+        final DeserializationFilter filter = new DeserializationFilter("java.util.*");
+        final String serialized = Serializer.serialize(new StringBuilder("FooBar"));
+
+        // Act & Assert
+        try {
+            Serializer.deSerialize(serialized, filter);
+            Assert.fail("Disallowed classes should not be de-serialized.");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("java.lang.StringBuilder"));
+        }
+    }
+
+    @Test
+    public void validateRejectionOfStreamsExceedingLimits() {
+
+        // Assemble
+        final DeserializationFilter shallow = new DeserializationFilter(5, 1000, 1000, "*");
+        final DeserializationFilter shortArrays = new DeserializationFilter(100, 10, 1000, "*");
+        final DeserializationFilter fewReferences = new DeserializationFilter(100, 1000, 10, "*");
+
+        Object nested = "leaf";
+        for (int i = 0; i < 10; i++) {
+            final ArrayList<Object> current = new ArrayList<>();
+            current.add(nested);
+            nested = current;
+        }
+        final String deep = Serializer.serialize((Serializable) nested);
+        final String longArray = Serializer.serialize(new long[100]);
+        final LinkedList<Object> manyReferences = new LinkedList<>();
+        for (int i = 0; i < 100; i++) {
+            manyReferences.add(new StringBuilder("" + i));
+        }
+        final String wide = Serializer.serialize(manyReferences);
+
+        // Act & Assert
+        assertRejected(deep, shallow);
+        assertRejected(longArray, shortArrays);
+        assertRejected(wide, fewReferences);
+        Assert.assertNotNull(Serializer.deSerialize(deep, shortArrays));
+        Assert.assertNotNull(Serializer.deSerialize(longArray, fewReferences));
+        Assert.assertNotNull(Serializer.deSerialize(wide, shallow));
+    }
+
+    @Test
+    public void validateDefaultLimitsRejectNestedSetBomb() {
+
+        // Assemble
+        // Computing the hashCode of each level of nested HashSets doubles the effort, when de-serializing.
+        final Set<Object> root = new HashSet<>();
+        Set<Object> s1 = root;
+        Set<Object> s2 = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final Set<Object> t1 = new HashSet<>();
+            final Set<Object> t2 = new HashSet<>();
+            t1.add("foo");
+            s1.add(t1);
+            s1.add(t2);
+            s2.add(t1);
+            s2.add(t2);
+            s1 = t1;
+            s2 = t2;
+        }
+        final String bomb = Serializer.serialize((Serializable) root, Armour.DEFLATED_BASE64);
+
+        // Act & Assert
+        assertRejected(bomb, DeserializationFilter.DEFAULT);
+    }
+
+    @Test
+    public void validateRejectionOfStreamsExceedingMaxBytes() {
+
+        // Assemble
+        final DeserializationFilter small = new DeserializationFilter(100, Long.MAX_VALUE, 1000, 1000, "*");
+        final String inflatesToLargeArray = Serializer.serialize(new byte[100000], Armour.DEFLATED_BASE64);
+        final String largeString = Serializer.serialize(new String(new char[5000]), Armour.BASE64);
+
+        // Act & Assert
+        Assert.assertTrue(inflatesToLargeArray.length() < 1000);
+        assertRejected(inflatesToLargeArray, small);
+        assertRejected(largeString, small);
+        Assert.assertEquals(100000, ((byte[]) Serializer.deSerialize(inflatesToLargeArray)).length);
+        Assert.assertNotNull(Serializer.deSerialize(largeString, DeserializationFilter.DEFAULT));
+    }
+
+    @Test
+    public void validateJvmWideFilterIsChainedBeforeLimits() throws Exception {
+
+        // Assemble
+        // The JVM-wide filter can only be set once, so it rejects only a type unused by other tests.
+        Assume.assumeTrue(setJvmWideFilter("!" + AtomicLong.class.getName()));
+        final DeserializationFilter shallow = new DeserializationFilter(5, 1000, 1000, "*");
+
+        ArrayList<Object> nested = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final ArrayList<Object> current = new ArrayList<>();
+            current.add(nested);
+            nested = current;
+        }
+        final String deep = Serializer.serialize(nested);
+        final String rejectedByJvmWideFilter = Serializer.serialize(new AtomicLong(42L));
+
+        // Act & Assert
+        assertRejected(rejectedByJvmWideFilter, DeserializationFilter.DEFAULT);
+        assertRejected(rejectedByJvmWideFilter, new DeserializationFilter("java.**"));
+        assertRejected(deep, shallow);
+        Assert.assertEquals(nested, Serializer.deSerialize(deep, DeserializationFilter.DEFAULT));
+    }
+
+    @Test
+    public void validateDefaultFilterIsUsedUnlessSupplied() {
+
+        // Assemble
+        final DeserializationFilter originalDefault = Serializer.getDefaultFilter();
+        final String serialized = Serializer.serialize(new StringBuilder("FooBar"), Armour.DEFLATED_BASE64);
+
+        // Act & Assert
+        try {
+            Serializer.setDefaultFilter(new DeserializationFilter("java.util.*"));
+            assertRejected(serialized, Serializer.getDefaultFilter());
+            try {
+                Serializer.deSerialize(serialized);
+                Assert.fail("The default DeserializationFilter should be used.");
+            } catch (IllegalArgumentException e) {
+                // Expected
+            }
+            Assert.assertEquals("FooBar", Serializer.deSerialize(serialized, DeserializationFilter.DEFAULT).toString());
+        } finally {
+            Serializer.setDefaultFilter(originalDefault);
+        }
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static void assertRejected(final String serialized, final DeserializationFilter filter) {
+        try {
+            Serializer.deSerialize(serialized, filter);
+            Assert.fail("Streams violating " + filter + " should be rejected.");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    private static boolean setJvmWideFilter(final String pattern) {
+
+        for (String current : new String[]{"java.io.ObjectInputFilter", "sun.misc.ObjectInputFilter"}) {
+            try {
+                final Class<?> filterType = Class.forName(current);
+                final Class<?> configType = Class.forName(current + "$Config");
+                final Method getSerialFilter = configType.getMethod("getSerialFilter");
+                final Method createFilter = configType.getMethod("createFilter", String.class);
+                final Method setSerialFilter = configType.getMethod("setSerialFilter", filterType);
+
+                if (getSerialFilter.invoke(null) != null) {
+                    return false;
+                }
+                setSerialFilter.invoke(null, createFilter.invoke(null, pattern));
+                return true;
+
+            } catch (ReflectiveOperationException e) {
+                // Try the next filter type.
+            }
+        }
+
+        // No JVM-wide filter mechanism found.
+        return false;
+    }
+
+    /**
+     * SerializationCodec reversing the String form of objects, which does not enforce DeserializationFilters.
+     */
+    private static final class ReversingCodec implements SerializationCodec {
+
+        // Internal state
+        private final String id;
+
+        private ReversingCodec(final String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void encode(final Serializable toEncode, final OutputStream out) throws IOException {
+            out.write(new StringBuilder(toEncode.toString()).reverse().toString().getBytes("UTF-8"));
+        }
+
+        @Override
+        public Object decode(final InputStream in) throws IOException {
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            for (int current = in.read(); current != -1; current = in.read()) {
+                bytes.write(current);
+            }
+            return new StringBuilder(bytes.toString("UTF-8")).reverse().toString();
+        }
+    }
 }
@@ -28,16 +28,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.channels.Channels;
-import java.nio.channels.FileChannel;
-import java.nio.channels.ReadableByteChannel;
-import java.util.Enumeration;
-import java.util.jar.JarEntry;
+import java.util.List;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 
@@ -152,6 +146,8 @@ public abstract class JarExtractor {
      * Extracts all resources whose names matches the supplied resourceIdentifier from jarFile
      * to the targetDirectory. If targetDirectory does not exist and the createTargetDirectoryIfNonexistent
      * parameter is {@code true}, the directory (and any parent directories) will be created.
+     * The extraction is performed by a {@link ParallelJarExtractor}, implying that resources which
+     * are already present (and unchanged) within the targetDirectory are not re-extracted.
      *
      * @param jarFile                            The JAR file from which some resources should be extracted.
      * @param resourceIdentifier                 A Pattern matching the names of all resources which should be extracted.
@@ -169,80 +165,19 @@ public abstract class JarExtractor {
         Validate.notNull(resourceIdentifier, "Cannot handle null resourceIdentifier argument.");
         Validate.notNull(targetDirectory, "Cannot handle null targetDirectory argument.");
 
-        if (targetDirectory.exists() && !targetDirectory.isDirectory()) {
-            throw new IllegalArgumentException("Target [" + targetDirectory.getAbsolutePath()
-                    + "] exists and is not a directory.");
-        }
-
-        if (!createTargetDirectoryIfNonexistent && !targetDirectory.exists()) {
-            throw new IllegalArgumentException("Target directory [" + targetDirectory.getAbsolutePath()
-                    + "] does not exist - and instructed not to create it.");
-        }
-
-        // Do we need to create targetDir?
-        if (!targetDirectory.exists()) {
-            if (!targetDirectory.mkdirs()) {
-                throw new IllegalStateException("Could not create directory ["
-                        + targetDirectory.getAbsolutePath() + "]");
-            } else {
-                targetDirectory.mkdirs();
-            }
-        }
-
-        for (Enumeration<JarEntry> en = jarFile.entries(); en.hasMoreElements(); ) {
-
-            // Dig out the entry and its internal path.
-            final JarEntry current = en.nextElement();
-            final String entryPath = current.getName();
-
-            if (!current.isDirectory() && resourceIdentifier.matcher(entryPath).matches()) {
-
-                // Extract the file at its relative path location.
-                final File toWrite = new File(targetDirectory, entryPath);
-                final File parentFile = toWrite.getParentFile();
-
-                if (!parentFile.exists()) {
-                    parentFile.mkdirs();
-                }
-
-                log.debug("Extracting [" + current.getName() + "] to [" + toWrite.getAbsolutePath() + "]");
-
-                InputStream inStream = null;
-                ReadableByteChannel inChannel = null;
-                FileOutputStream outStream = null;
-                FileChannel outChannel = null;
-
-                try {
-                    try {
-
-                        // Copy using a NIO channel to improve performance.
-                        inStream = jarFile.getInputStream(current);
-                        inChannel = Channels.newChannel(inStream);
-                        outStream = new FileOutputStream(toWrite);
-                        outChannel = outStream.getChannel();
-                        outChannel.transferFrom(inChannel, 0, current.getSize());
-
-                    } finally {
-
-                        // Close all opened NIO objects
-                        if (inStream != null) {
-                            inStream.close();
-                        }
-                        if (inChannel != null) {
-                            inChannel.close();
-                        }
-                        if (outStream != null) {
-                            outStream.close();
-                        }
-                        if (outChannel != null) {
-                            outChannel.close();
-                        }
-                    }
-                } catch (IOException e) {
-                    throw new IllegalStateException("Could not create copy [" + entryPath + "] to ["
-                            + targetDirectory.getAbsolutePath() + "]", e);
-                }
-            }
+        // Delegate to the extraction engine.
+        final JarIndex index = JarIndex.of(jarFile);
+        final List<JarIndex.Entry> entries = resourceIdentifier == ALL_RESOURCES
+                ? index.getEntries()
+                : index.matching(resourceIdentifier);
+        final ParallelJarExtractor.Result result = new ParallelJarExtractor().extract(index,
+                entries,
+                targetDirectory,
+                createTargetDirectoryIfNonexistent);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Extracted from [" + jarFile.getName() + "] to [" + targetDirectory.getAbsolutePath()
+                    + "]: " + result);
         }
     }
 }
@@ -0,0 +1,314 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-resource-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.resource.api.extractor;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Immutable index of all file entries within a JarFile, read once from the central directory of the JAR.
+ * The entries are sorted by name, implying that entries can be selected by name prefix using binary search.
+ * Glob expressions are matched without regular expressions, and only against the entries whose names
+ * start with the literal (i.e. non-wildcard) prefix of the glob expression.</p>
+ * <p>Glob expressions support the following wildcards:</p>
+ * <dl>
+ * <dt>{@code ?}</dt><dd>Matches any single character except {@code '/'}.</dd>
+ * <dt>{@code *}</dt><dd>Matches zero or more characters except {@code '/'}.</dd>
+ * <dt>{@code **}</dt><dd>Matches zero or more characters including {@code '/'}. When followed by
+ * {@code '/'}, it also matches zero directories, so {@code a/&#42;&#42;/b} matches {@code a/b}.</dd>
+ * </dl>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class JarIndex {
+
+    // Internal state
+    private final JarFile jarFile;
+    private final Entry[] entries;
+    private final String[] names;
+
+    private JarIndex(final JarFile jarFile, final Entry[] entries) {
+
+        // Assign internal state
+        this.jarFile = jarFile;
+        this.entries = entries;
+        this.names = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            names[i] = entries[i].getName();
+        }
+    }
+
+    /**
+     * Reads the central directory of the supplied JarFile into a new JarIndex. Directory entries are ignored.
+     *
+     * @param jarFile The non-null JarFile to index.
+     * @return A JarIndex holding all file entries of the supplied JarFile.
+     */
+    public static JarIndex of(final JarFile jarFile) {
+
+        // Check sanity
+        Validate.notNull(jarFile, "Cannot handle null jarFile argument.");
+
+        final List<Entry> entries = new ArrayList<>();
+        for (Enumeration<JarEntry> en = jarFile.entries(); en.hasMoreElements(); ) {
+
+            final JarEntry current = en.nextElement();
+            if (!current.isDirectory()) {
+                entries.add(new Entry(current));
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::getName));
+
+        // All done.
+        return new JarIndex(jarFile, entries.toArray(new Entry[entries.size()]));
+    }
+
+    /**
+     * @return The JarFile indexed by this JarIndex.
+     */
+    public JarFile getJarFile() {
+        return jarFile;
+    }
+
+    /**
+     * @return An unmodifiable List holding all entries within this JarIndex, sorted by name.
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    /**
+     * Selects all entries whose names start with the supplied prefix.
+     *
+     * @param prefix The non-null name prefix. An empty prefix selects all entries.
+     * @return An unmodifiable List holding the selected entries, sorted by name.
+     */
+    public List<Entry> withPrefix(final String prefix) {
+
+        // Check sanity
+        Validate.notNull(prefix, "Cannot handle null prefix argument.");
+
+        final int start = firstIndexWithPrefix(prefix);
+        int end = start;
+        while (end < names.length && names[end].startsWith(prefix)) {
+            end++;
+        }
+
+        // All done.
+        return Collections.unmodifiableList(Arrays.asList(entries).subList(start, end));
+    }
+
+    /**
+     * Selects all entries whose names match the supplied glob expression.
+     *
+     * @param glob The non-empty glob expression.
+     * @return An unmodifiable List holding the selected entries, sorted by name.
+     */
+    public List<Entry> matching(final String glob) {
+
+        // Check sanity
+        Validate.notEmpty(glob, "Cannot handle null or empty glob argument.");
+
+        // Only entries starting with the literal prefix of the glob can match it.
+        final String literalPrefix = getLiteralPrefix(glob);
+        final List<Entry> candidates = withPrefix(literalPrefix);
+        if (literalPrefix.length() == glob.length()) {
+            return candidates.isEmpty() || !candidates.get(0).getName().equals(glob)
+                    ? Collections.<Entry>emptyList()
+                    : Collections.singletonList(candidates.get(0));
+        }
+
+        final List<Entry> toReturn = new ArrayList<>();
+        for (Entry current : candidates) {
+            if (globMatches(glob, literalPrefix.length(), current.getName(), literalPrefix.length())) {
+                toReturn.add(current);
+            }
+        }
+
+        // All done.
+        return Collections.unmodifiableList(toReturn);
+    }
+
+    /**
+     * Selects all entries whose names match the supplied regular expression Pattern.
+     *
+     * @param pattern The non-null Pattern.
+     * @return An unmodifiable List holding the selected entries, sorted by name.
+     */
+    public List<Entry> matching(final Pattern pattern) {
+
+        // Check sanity
+        Validate.notNull(pattern, "Cannot handle null pattern argument.");
+
+        final List<Entry> toReturn = new ArrayList<>();
+        for (Entry current : entries) {
+            if (pattern.matcher(current.getName()).matches()) {
+                toReturn.add(current);
+            }
+        }
+
+        // All done.
+        return Collections.unmodifiableList(toReturn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "JarIndex [" + jarFile.getName() + "]: " + entries.length + " entries";
+    }
+
+    /**
+     * Immutable entry within a JarIndex, holding the data read from the central directory of the JAR.
+     */
+    public static final class Entry {
+
+        // Internal state
+        private final JarEntry jarEntry;
+        private final String name;
+        private final long size;
+        private final long crc;
+
+        private Entry(final JarEntry jarEntry) {
+            this.jarEntry = jarEntry;
+            this.name = jarEntry.getName();
+            this.size = jarEntry.getSize();
+            this.crc = jarEntry.getCrc();
+        }
+
+        /**
+         * @return The JarEntry of this Entry.
+         */
+        public JarEntry getJarEntry() {
+            return jarEntry;
+        }
+
+        /**
+         * @return The name (i.e. the path within the JAR) of this Entry.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The uncompressed size of this Entry, or {@code -1} if unknown.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return The CRC-32 checksum of the uncompressed data of this Entry, or {@code -1} if unknown.
+         */
+        public long getCrc() {
+            return crc;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return name + " [" + size + " bytes]";
+        }
+    }
+
+    //
+    // Private helpers
+    //
+
+    private int firstIndexWithPrefix(final String prefix) {
+
+        final int index = Arrays.binarySearch(names, prefix);
+        return index < 0 ? -(index + 1) : index;
+    }
+
+    private static String getLiteralPrefix(final String glob) {
+
+        for (int i = 0; i < glob.length(); i++) {
+            final char current = glob.charAt(i);
+            if (current == '*' || current == '?') {
+                return glob.substring(0, i);
+            }
+        }
+
+        // No wildcards found.
+        return glob;
+    }
+
+    private static boolean globMatches(final String glob, final int globIndex,
+                                       final String name, final int nameIndex) {
+
+        int gi = globIndex;
+        int ni = nameIndex;
+
+        while (gi < glob.length()) {
+
+            final char current = glob.charAt(gi);
+            if (current == '*') {
+
+                final boolean crossDirectories = gi + 1 < glob.length() && glob.charAt(gi + 1) == '*';
+                final int nextGlobIndex = crossDirectories ? gi + 2 : gi + 1;
+
+                // A '**/' sequence also matches zero directories.
+                if (crossDirectories
+                        && nextGlobIndex < glob.length()
+                        && glob.charAt(nextGlobIndex) == '/'
+                        && globMatches(glob, nextGlobIndex + 1, name, ni)) {
+                    return true;
+                }
+
+                for (int k = ni; k <= name.length(); k++) {
+                    if (globMatches(glob, nextGlobIndex, name, k)) {
+                        return true;
+                    }
+                    if (k < name.length() && !crossDirectories && name.charAt(k) == '/') {
+                        return false;
+                    }
+                }
+                return false;
+            }
+
+            if (ni >= name.length()
+                    || (current == '?' ? name.charAt(ni) == '/' : name.charAt(ni) != current)) {
+                return false;
+            }
+
+            gi++;
+            ni++;
+        }
+
+        // All done.
+        return ni == name.length();
+    }
+}
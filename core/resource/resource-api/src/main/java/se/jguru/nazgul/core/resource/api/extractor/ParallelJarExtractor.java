@@ -0,0 +1,358 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-resource-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.resource.api.extractor;
+
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * <p>Extraction engine which extracts entries selected from a {@link JarIndex} to a target directory,
+ * using a bounded pool of threads. Each entry is copied into a FileChannel whose size is preallocated
+ * to the (known) uncompressed size of the entry.</p>
+ * <p>Files which already exist within the target directory, and whose size and CRC-32 checksum equal
+ * the ones found within the central directory of the JAR, are not re-extracted. Repeated extractions
+ * to the same target directory therefore only need to read the existing files.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class ParallelJarExtractor {
+
+    // Our Log
+    private static final Logger log = LoggerFactory.getLogger(ParallelJarExtractor.class);
+
+    /**
+     * The default maximum number of threads used to extract entries.
+     */
+    public static final int DEFAULT_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // Internal state
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ThreadFactory EXTRACTOR_THREADS = runnable -> {
+        final Thread toReturn = new Thread(runnable, "jar-extractor-" + THREAD_COUNTER.incrementAndGet());
+        toReturn.setDaemon(true);
+        return toReturn;
+    };
+    private final int parallelism;
+
+    /**
+     * Creates a new ParallelJarExtractor using {@link #DEFAULT_PARALLELISM} threads.
+     */
+    public ParallelJarExtractor() {
+        this(DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates a new ParallelJarExtractor using at most the supplied number of threads.
+     *
+     * @param parallelism The maximum number of threads used to extract entries. Must be positive.
+     */
+    public ParallelJarExtractor(final int parallelism) {
+
+        // Check sanity
+        Validate.isTrue(parallelism > 0, "Cannot handle non-positive parallelism argument.");
+
+        // Assign internal state
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Extracts the supplied entries of the JarIndex to the targetDirectory. If targetDirectory does not exist and
+     * the createTargetDirectoryIfNonexistent parameter is {@code true}, the directory (and any parent directories)
+     * will be created.
+     *
+     * @param index                              The JarIndex holding the entries.
+     * @param entries                            The entries (typically selected from the JarIndex) to extract.
+     * @param targetDirectory                    The directory to which all entries should be extracted.
+     * @param createTargetDirectoryIfNonexistent if {@code true}, the targetDirectory will be
+     *                                           created if it does not already exist.
+     * @return The Result of the extraction.
+     * @throws IllegalArgumentException if the targetDirectory was not a directory, or if an entry would be
+     *                                  extracted outside of the targetDirectory.
+     * @throws IllegalStateException    if any entry could not be extracted.
+     */
+    public Result extract(final JarIndex index,
+                          final List<JarIndex.Entry> entries,
+                          final File targetDirectory,
+                          final boolean createTargetDirectoryIfNonexistent)
+            throws IllegalArgumentException, IllegalStateException {
+
+        // Check sanity
+        Validate.notNull(index, "Cannot handle null index argument.");
+        Validate.notNull(entries, "Cannot handle null entries argument.");
+        validateTargetDirectory(targetDirectory, createTargetDirectoryIfNonexistent);
+
+        // Resolve all target files, and create their parent directories before extracting anything.
+        final Path targetPath = targetDirectory.toPath().toAbsolutePath().normalize();
+        final List<Callable<Boolean>> tasks = new ArrayList<>(entries.size());
+        final Set<Path> parentDirectories = new TreeSet<>();
+        for (JarIndex.Entry current : entries) {
+
+            final Path toWrite = targetPath.resolve(current.getName()).normalize();
+            Validate.isTrue(toWrite.startsWith(targetPath) && !toWrite.equals(targetPath),
+                    "Entry [" + current.getName() + "] would be extracted outside of target directory ["
+                            + targetPath + "]");
+
+            parentDirectories.add(toWrite.getParent());
+            tasks.add(() -> extractEntry(index, current, toWrite));
+        }
+
+        try {
+            for (Path current : parentDirectories) {
+                Files.createDirectories(current);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create directories within ["
+                    + targetDirectory.getAbsolutePath() + "]", e);
+        }
+
+        // Extract all entries, using the calling thread for small extractions.
+        final List<Boolean> extracted = new ArrayList<>(tasks.size());
+        final int numThreads = Math.min(parallelism, tasks.size());
+        if (numThreads <= 1) {
+            for (Callable<Boolean> current : tasks) {
+                extracted.add(call(current));
+            }
+        } else {
+
+            final ExecutorService executorService = Executors.newFixedThreadPool(numThreads, EXTRACTOR_THREADS);
+            try {
+                for (Future<Boolean> current : executorService.invokeAll(tasks)) {
+                    extracted.add(current.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while extracting from [" + index + "]", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Could not extract from [" + index + "]", e);
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+
+        // Compile the result.
+        final List<String> extractedNames = new ArrayList<>();
+        final List<String> skippedNames = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            (extracted.get(i) ? extractedNames : skippedNames).add(entries.get(i).getName());
+        }
+
+        // All done.
+        return new Result(extractedNames, skippedNames);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ParallelJarExtractor [parallelism: " + parallelism + "]";
+    }
+
+    /**
+     * Immutable result of an extraction, holding the names of the extracted and skipped (i.e. unchanged) entries.
+     */
+    public static final class Result {
+
+        // Internal state
+        private final List<String> extracted;
+        private final List<String> skipped;
+
+        private Result(final List<String> extracted, final List<String> skipped) {
+            this.extracted = Collections.unmodifiableList(extracted);
+            this.skipped = Collections.unmodifiableList(skipped);
+        }
+
+        /**
+         * @return The names of all entries which were extracted.
+         */
+        public List<String> getExtracted() {
+            return extracted;
+        }
+
+        /**
+         * @return The names of all entries which were not extracted, since an identical file was already present.
+         */
+        public List<String> getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "Extracted " + extracted.size() + " and skipped " + skipped.size() + " unchanged entries.";
+        }
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static void validateTargetDirectory(final File targetDirectory,
+                                                final boolean createTargetDirectoryIfNonexistent) {
+
+        // Check sanity
+        Validate.notNull(targetDirectory, "Cannot handle null targetDirectory argument.");
+
+        if (targetDirectory.exists() && !targetDirectory.isDirectory()) {
+            throw new IllegalArgumentException("Target [" + targetDirectory.getAbsolutePath()
+                    + "] exists and is not a directory.");
+        }
+
+        if (!createTargetDirectoryIfNonexistent && !targetDirectory.exists()) {
+            throw new IllegalArgumentException("Target directory [" + targetDirectory.getAbsolutePath()
+                    + "] does not exist - and instructed not to create it.");
+        }
+
+        // Do we need to create targetDir?
+        if (!targetDirectory.exists() && !targetDirectory.mkdirs() && !targetDirectory.isDirectory()) {
+            throw new IllegalStateException("Could not create directory ["
+                    + targetDirectory.getAbsolutePath() + "]");
+        }
+    }
+
+    private static Boolean call(final Callable<Boolean> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not extract entry", e);
+        }
+    }
+
+    private static Boolean extractEntry(final JarIndex index, final JarIndex.Entry entry, final Path toWrite) {
+
+        try {
+
+            // Skip files which are unchanged since a previous extraction.
+            if (isUnchanged(entry, toWrite)) {
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Skipping unchanged [" + entry.getName() + "] at [" + toWrite + "]");
+                }
+                return Boolean.FALSE;
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug("Extracting [" + entry.getName() + "] to [" + toWrite + "]");
+            }
+
+            try (InputStream inStream = index.getJarFile().getInputStream(entry.getJarEntry());
+                 ReadableByteChannel inChannel = Channels.newChannel(inStream);
+                 FileChannel outChannel = FileChannel.open(toWrite,
+                         StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE,
+                         StandardOpenOption.TRUNCATE_EXISTING)) {
+
+                final long size = entry.getSize();
+                if (size > 0) {
+
+                    // Preallocate the file, and copy all its data.
+                    outChannel.write(ByteBuffer.allocate(1), size - 1);
+                    long position = 0;
+                    while (position < size) {
+                        final long transferred = outChannel.transferFrom(inChannel, position, size - position);
+                        if (transferred <= 0) {
+                            break;
+                        }
+                        position += transferred;
+                    }
+
+                    if (position != size) {
+                        throw new IOException("Expected " + size + " bytes, but only found " + position);
+                    }
+
+                } else if (size < 0) {
+
+                    // Unknown size; copy until the end of the stream.
+                    final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                    while (inChannel.read(buffer) != -1) {
+                        buffer.flip();
+                        while (buffer.hasRemaining()) {
+                            outChannel.write(buffer);
+                        }
+                        buffer.clear();
+                    }
+                }
+            }
+
+            // All done.
+            return Boolean.TRUE;
+
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create copy [" + entry.getName() + "] to ["
+                    + toWrite + "]", e);
+        }
+    }
+
+    private static boolean isUnchanged(final JarIndex.Entry entry, final Path existing) throws IOException {
+
+        if (entry.getSize() < 0 || entry.getCrc() < 0 || !Files.isRegularFile(existing)
+                || Files.size(existing) != entry.getSize()) {
+            return false;
+        }
+
+        // The sizes match; compare the checksums.
+        final CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(existing, StandardOpenOption.READ)) {
+
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+
+        // All done.
+        return crc.getValue() == entry.getCrc();
+    }
+}
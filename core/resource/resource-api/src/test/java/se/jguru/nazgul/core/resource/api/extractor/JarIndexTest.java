@@ -0,0 +1,132 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-resource-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.resource.api.extractor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class JarIndexTest {
+
+    // Shared state
+    private JarIndex unitUnderTest;
+
+    @Before
+    public void setupSharedState() throws IOException {
+
+        final URL resource = getClass().getClassLoader().getResource("extractor/jar1.jar");
+        unitUnderTest = JarIndex.of(new JarFile(new File(resource.getPath())));
+    }
+
+    @Test
+    public void validateIndexingFileEntries() {
+
+        // Act
+        final List<String> names = getNames(unitUnderTest.getEntries());
+
+        // Assert
+        Assert.assertEquals(5, names.size());
+        Assert.assertTrue(names.contains("META-INF/MANIFEST.MF"));
+        Assert.assertTrue(names.contains("onlyInJar/textfiles/file1.txt"));
+
+        final List<String> sortedNames = new ArrayList<>(names);
+        sortedNames.sort(String::compareTo);
+        Assert.assertEquals(sortedNames, names);
+
+        for (JarIndex.Entry current : unitUnderTest.getEntries()) {
+            Assert.assertTrue(current.getSize() >= 0);
+            Assert.assertTrue(current.getCrc() >= 0);
+        }
+    }
+
+    @Test
+    public void validateSelectingByPrefix() {
+
+        // Act
+        final List<String> result1 = getNames(unitUnderTest.withPrefix("onlyInJar/"));
+        final List<String> result2 = getNames(unitUnderTest.withPrefix(""));
+        final List<String> result3 = getNames(unitUnderTest.withPrefix("nonexistent/"));
+
+        // Assert
+        Assert.assertEquals(2, result1.size());
+        Assert.assertTrue(result1.contains("onlyInJar/textfiles/file1.txt"));
+        Assert.assertTrue(result1.contains("onlyInJar/textfiles/file2.txt"));
+        Assert.assertEquals(5, result2.size());
+        Assert.assertEquals(0, result3.size());
+    }
+
+    @Test
+    public void validateSelectingByGlob() {
+
+        // Act
+        final List<String> result1 = getNames(unitUnderTest.matching("onlyInJar/**/*.txt"));
+        final List<String> result2 = getNames(unitUnderTest.matching("onlyInJar/*.txt"));
+        final List<String> result3 = getNames(unitUnderTest.matching("**/file?.txt"));
+        final List<String> result4 = getNames(unitUnderTest.matching("binary/orange_ball.png"));
+        final List<String> result5 = getNames(unitUnderTest.matching("*.xml"));
+        final List<String> result6 = getNames(unitUnderTest.matching("**/*.png"));
+
+        // Assert
+        Assert.assertEquals(2, result1.size());
+        Assert.assertEquals(0, result2.size());
+        Assert.assertEquals(2, result3.size());
+        Assert.assertEquals(1, result4.size());
+        Assert.assertEquals(1, result5.size());
+        Assert.assertEquals("logback-test.xml", result5.get(0));
+        Assert.assertEquals(1, result6.size());
+    }
+
+    @Test
+    public void validateSelectingByPattern() {
+
+        // Act
+        final List<String> result = getNames(unitUnderTest.matching(Pattern.compile(".*file\\d\\.txt")));
+
+        // Assert
+        Assert.assertEquals(2, result.size());
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static List<String> getNames(final List<JarIndex.Entry> entries) {
+
+        final List<String> toReturn = new ArrayList<>();
+        for (JarIndex.Entry current : entries) {
+            toReturn.add(current.getName());
+        }
+        return toReturn;
+    }
+}
@@ -0,0 +1,139 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-resource-api
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.resource.api.extractor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.jar.JarFile;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class ParallelJarExtractorTest {
+
+    // Shared state
+    private File targetDir;
+    private JarIndex index;
+
+    @Before
+    public void setupSharedState() throws IOException {
+
+        final URL resource = getClass().getClassLoader().getResource("extractor/jar1.jar");
+        final File testClassesDirectory = new File(resource.getPath()).getParentFile().getParentFile();
+        targetDir = testClassesDirectory.getParentFile();
+        index = JarIndex.of(new JarFile(new File(resource.getPath())));
+    }
+
+    @Test
+    public void validateSkippingUnchangedFilesOnRepeatedExtraction() throws IOException {
+
+        // Assemble
+        final File targetExtractionDir = getNonexistentDirectory("extracted/parallel/repeated_");
+        final ParallelJarExtractor unitUnderTest = new ParallelJarExtractor(2);
+
+        // Act
+        final ParallelJarExtractor.Result result1 = unitUnderTest.extract(
+                index, index.getEntries(), targetExtractionDir, true);
+        final ParallelJarExtractor.Result result2 = unitUnderTest.extract(
+                index, index.getEntries(), targetExtractionDir, true);
+
+        final File file1 = new File(targetExtractionDir, "onlyInJar/textfiles/file1.txt");
+        final byte[] originalData = Files.readAllBytes(file1.toPath());
+        final byte[] modifiedData = new byte[originalData.length];
+        Files.write(file1.toPath(), modifiedData);
+
+        final ParallelJarExtractor.Result result3 = unitUnderTest.extract(
+                index, index.matching("onlyInJar/**"), targetExtractionDir, true);
+
+        // Assert
+        Assert.assertEquals(5, result1.getExtracted().size());
+        Assert.assertEquals(0, result1.getSkipped().size());
+        Assert.assertEquals(0, result2.getExtracted().size());
+        Assert.assertEquals(5, result2.getSkipped().size());
+
+        Assert.assertEquals(1, result3.getExtracted().size());
+        Assert.assertEquals("onlyInJar/textfiles/file1.txt", result3.getExtracted().get(0));
+        Assert.assertEquals(1, result3.getSkipped().size());
+        Assert.assertArrayEquals(originalData, Files.readAllBytes(file1.toPath()));
+    }
+
+    @Test
+    public void validateExtractedContent() throws IOException {
+
+        // Assemble
+        final File targetExtractionDir = getNonexistentDirectory("extracted/parallel/content_");
+        final ParallelJarExtractor unitUnderTest = new ParallelJarExtractor();
+
+        // Act
+        unitUnderTest.extract(index, index.matching("**/*.txt"), targetExtractionDir, true);
+
+        // Assert
+        for (JarIndex.Entry current : index.matching("**/*.txt")) {
+
+            final File extracted = new File(targetExtractionDir, current.getName());
+            final String expected = new String(readEntry(current), StandardCharsets.UTF_8);
+
+            Assert.assertEquals(current.getSize(), extracted.length());
+            Assert.assertEquals(expected, new String(Files.readAllBytes(extracted.toPath()), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnNonPositiveParallelism() {
+
+        // Act & Assert
+        new ParallelJarExtractor(0);
+    }
+
+    //
+    // Private helpers
+    //
+
+    private File getNonexistentDirectory(final String prefix) {
+
+        for (int i = 0; true; i++) {
+            final File toReturn = new File(targetDir, prefix + i);
+            if (!toReturn.exists()) {
+                return toReturn;
+            }
+        }
+    }
+
+    private byte[] readEntry(final JarIndex.Entry entry) throws IOException {
+
+        final byte[] toReturn = new byte[(int) entry.getSize()];
+        try (DataInputStream in = new DataInputStream(
+                index.getJarFile().getInputStream(entry.getJarEntry()))) {
+            in.readFully(toReturn);
+        }
+        return toReturn;
+    }
+}
@@ -27,18 +27,25 @@ import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import se.jguru.nazgul.core.resource.api.LocalResources;
-import se.jguru.nazgul.core.resource.impl.resourcebundle.parser.CompoundParser;
+import se.jguru.nazgul.core.resource.impl.resourcebundle.parser.LocalizedMessageTemplate;
 import se.jguru.nazgul.core.resource.impl.resourcebundle.parser.Utf8ResourceBundle;
+import se.jguru.nazgul.core.resource.impl.resourcebundle.parser.Utf8ResourceBundleControl;
 
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * ResourceBundle-delegating implementation of the LocalResources
- * specification using a backing ResourceBundle to realize the protocol.
+ * <p>ResourceBundle-delegating implementation of the LocalResources
+ * specification using a backing ResourceBundle to realize the protocol.</p>
+ * <p>ResourceBundles are loaded once per Locale and cached - including the knowledge that no
+ * ResourceBundle could be found for a Locale - implying that lookups are lock-free after warm-up.
+ * ResourceBundles are loaded without falling back to (or modifying) the JVM default Locale.</p>
+ * <p>Localized values are compiled into {@link LocalizedMessageTemplate}s once per (Locale, key),
+ * implying that token substitution does not re-scan the localized value for each lookup.</p>
  *
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
  */
@@ -48,10 +55,11 @@ public class ResourceBundleLocalResources implements LocalResources {
     private static final Logger log = LoggerFactory.getLogger(ResourceBundleLocalResources.class);
 
     // Internal state
-    private final Object[] lock = new Object[0];
-    private String resourceBundleBaseName;
-    private Locale defaultLocale;
-    private Map<Locale, ResourceBundle> resourceBundleCache = new HashMap<Locale, ResourceBundle>();
+    private final String resourceBundleBaseName;
+    private volatile Locale defaultLocale;
+    private final ConcurrentMap<Locale, Optional<ResourceBundle>> resourceBundleCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Locale, ConcurrentMap<String, LocalizedMessageTemplate>> templateCache =
+            new ConcurrentHashMap<>();
 
     /**
      * Creates a new ResourceBundleLocalResources delegating typed calls to the provided ResourceBundle.
@@ -80,7 +88,7 @@ public class ResourceBundleLocalResources implements LocalResources {
                         + "] given (not found).");
             }
         } else {
-            resourceBundleCache.put(this.defaultLocale, resourceBundle);
+            resourceBundleCache.put(this.defaultLocale, Optional.of(resourceBundle));
         }
     }
 
@@ -96,7 +104,9 @@ public class ResourceBundleLocalResources implements LocalResources {
     public ResourceBundleLocalResources(final String resourceBundleBaseName,
                                         final Locale defaultLocale) {
 
-        this(Utf8ResourceBundle.getBundle(resourceBundleBaseName, defaultLocale),
+        this(Utf8ResourceBundle.getBundle(resourceBundleBaseName,
+                defaultLocale,
+                Utf8ResourceBundleControl.UNCACHED_NO_FALLBACK),
                 resourceBundleBaseName,
                 defaultLocale);
     }
@@ -181,24 +191,20 @@ public class ResourceBundleLocalResources implements LocalResources {
                                final Locale locale,
                                final String... keyValueTokens) {
 
-        // Create the parser
-        final CompoundParser parser = CompoundParser.create(keyValueTokens);
-
-        // Should we acquire the localized ResourceBundle?
-        if (!resourceBundleCache.keySet().contains(locale)) {
-            cacheResourceBundleForLocale(locale);
-        }
-
-        // Acquire and return the result.
-        String toReturn = defaultValue;
-        try {
-            toReturn = resourceBundleCache.get(locale).getString(key);
-        } catch (MissingResourceException e) {
-            // Just ignore this.
+        // Check sanity
+        Validate.notNull(locale, "Cannot handle null locale argument.");
+
+        // Acquire the (cached) template compiled from the value within the localized ResourceBundle.
+        final ResourceBundle bundle = getResourceBundle(locale);
+        if (bundle != null && bundle.containsKey(key)) {
+            return templateCache
+                    .computeIfAbsent(locale, aLocale -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(key, aKey -> LocalizedMessageTemplate.compile(bundle.getString(aKey)))
+                    .render(keyValueTokens);
         }
 
         // All done.
-        return toReturn == null ? null : parser.substituteTokens(toReturn);
+        return defaultValue == null ? null : LocalizedMessageTemplate.compile(defaultValue).render(keyValueTokens);
     }
 
     /**
@@ -215,14 +221,8 @@ public class ResourceBundleLocalResources implements LocalResources {
         // Check sanity
         Validate.notNull(defaultLocale, "Cannot handle null defaultLocale argument.");
 
-        // Is the defaultLocale already present within the cache?
-        if (this.resourceBundleCache.keySet().contains(defaultLocale)) {
-            this.defaultLocale = defaultLocale;
-            return true;
-        }
-
-        // Nopes. Let's acquire the ResourceBundle for the provided defaultLocale.
-        final boolean success = cacheResourceBundleForLocale(defaultLocale);
+        // Acquire the ResourceBundle for the provided defaultLocale.
+        final boolean success = getResourceBundle(defaultLocale) != null;
         if (success) {
             this.defaultLocale = defaultLocale;
         }
@@ -235,33 +235,22 @@ public class ResourceBundleLocalResources implements LocalResources {
     // Private helpers
     //
 
-    private boolean cacheResourceBundleForLocale(final Locale locale) {
-
-        synchronized (lock) {
+    private ResourceBundle getResourceBundle(final Locale locale) {
+        return resourceBundleCache.computeIfAbsent(locale, this::loadResourceBundle).orElse(null);
+    }
 
-            // We need to re-set the ResourceBundle, after manipulating the Default Locale briefly.
-            final Locale previousLocale = Locale.getDefault();
+    private Optional<ResourceBundle> loadResourceBundle(final Locale locale) {
 
-            try {
-                // The ResourceBundle loader always uses the default
-                // locale to load the ResourceBundle internally ...
-                Locale.setDefault(locale);
+        try {
+            return Optional.of(Utf8ResourceBundle.getBundle(resourceBundleBaseName,
+                    locale,
+                    Utf8ResourceBundleControl.UNCACHED_NO_FALLBACK));
+        } catch (MissingResourceException e) {
 
-                try {
-                    final ResourceBundle bundle = Utf8ResourceBundle.getBundle(resourceBundleBaseName, locale);
-                    resourceBundleCache.put(locale, bundle);
-                } catch (MissingResourceException e) {
-                    // Ignore this error... and note that the locale is not set.
-                    log.warn("Not caching nonexistent ResourceBundle for missing base name ["
-                            + resourceBundleBaseName + "]", e);
-                    return false;
-                }
-            } finally {
-                Locale.setDefault(previousLocale);
-            }
+            // Ignore this error... and note that the locale is not set.
+            log.warn("Caching nonexistent ResourceBundle for missing base name ["
+                    + resourceBundleBaseName + "] and locale [" + locale + "]", e);
+            return Optional.empty();
         }
-
-        // All done.
-        return true;
     }
 }
@@ -27,6 +27,7 @@ import se.jguru.nazgul.core.parser.api.DefaultTokenParser;
 import se.jguru.nazgul.core.parser.api.agent.DefaultParserAgent;
 import se.jguru.nazgul.core.parser.api.agent.HostNameParserAgent;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -78,11 +79,29 @@ public class CompoundParser extends DefaultTokenParser {
     public static CompoundParser create(final String... keyValueTokenList)
             throws IllegalArgumentException {
 
+        final Map<String, String> staticReplacementTokens = parseKeyValueTokens(keyValueTokenList);
+
+        // All done.
+        return new CompoundParser(staticReplacementTokens.isEmpty() ? null : staticReplacementTokens);
+    }
+
+    /**
+     * Parses the list of key=value elements given within the keyValueTokenList into a Map.
+     *
+     * @param keyValueTokenList Either <code>null</code>, or a list holding strings on the form key=value where
+     *                          both key and value must be non-empty.
+     * @return A Map relating the (trimmed) keys to their (trimmed) values. Never null.
+     * @throws IllegalArgumentException if any of the tokens are malformed (i.e. not on the form key=value where
+     *                                  key and value are non-empty).
+     */
+    public static Map<String, String> parseKeyValueTokens(final String... keyValueTokenList)
+            throws IllegalArgumentException {
+
         if (keyValueTokenList == null || keyValueTokenList.length == 0) {
-            return new CompoundParser(null);
+            return Collections.emptyMap();
         }
 
-        Map<String, String> staticReplacementTokens = new TreeMap<String, String>();
+        final Map<String, String> toReturn = new TreeMap<String, String>();
         for (String current : keyValueTokenList) {
             if (!current.contains(SEPARATOR)) {
                 throw new IllegalArgumentException("Illegal token [" + current + "]. Required form KEY=VALUE.");
@@ -96,10 +115,21 @@ public class CompoundParser extends DefaultTokenParser {
                         + "]. Required form KEY=VALUE (both key and value must be non-empty).");
             }
 
-            staticReplacementTokens.put(key, value);
+            toReturn.put(key, value);
         }
 
         // All done.
-        return new CompoundParser(staticReplacementTokens);
+        return toReturn;
+    }
+
+    /**
+     * Checks if the supplied token is dynamic, i.e. resolved by the default (environment,
+     * system property or host name) ParserAgents of all CompoundParsers.
+     *
+     * @param token The token to investigate.
+     * @return {@code true} if the supplied token is resolved by the default ParserAgents.
+     */
+    public static boolean isDynamicToken(final String token) {
+        return DEFAULT_PARSER_AGENT.canHandle(token) || HOST_NAME_PARSER_AGENT.canHandle(token);
     }
 }
@@ -0,0 +1,132 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-resource-impl-resourcebundle
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.resource.impl.resourcebundle.parser;
+
+import org.apache.commons.lang3.Validate;
+import se.jguru.nazgul.core.parser.api.CompiledTemplate;
+import se.jguru.nazgul.core.parser.api.DefaultTokenDefinitions;
+import se.jguru.nazgul.core.parser.api.TokenDefinitions;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Immutable, pre-compiled localized message, whose tokens are substituted by the key=value
+ * elements supplied when the message is rendered. Rendering a LocalizedMessageTemplate is a single
+ * pass over the pre-compiled literal chunks and token slots of the message.</p>
+ * <p>A {@link CompoundParser} is used only when the message contains dynamic tokens (such as
+ * environment, system property or host name tokens) or tokens not matching any supplied key,
+ * implying that the result is identical to substituting the tokens using a CompoundParser.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class LocalizedMessageTemplate {
+
+    // Constants
+    private static final TokenDefinitions TOKEN_DEFINITIONS = new DefaultTokenDefinitions();
+
+    // Internal state
+    private final CompiledTemplate template;
+    private final List<String> tokens;
+    private final boolean dynamic;
+
+    private LocalizedMessageTemplate(final CompiledTemplate template) {
+
+        // Assign internal state
+        this.template = template;
+        this.tokens = template.getTokens();
+
+        boolean hasDynamicTokens = false;
+        for (String current : tokens) {
+            if (CompoundParser.isDynamicToken(current)) {
+                hasDynamicTokens = true;
+                break;
+            }
+        }
+        this.dynamic = hasDynamicTokens;
+    }
+
+    /**
+     * Compiles the supplied message into a LocalizedMessageTemplate.
+     *
+     * @param message The non-null message to compile.
+     * @return A LocalizedMessageTemplate for the supplied message.
+     */
+    public static LocalizedMessageTemplate compile(final String message) {
+
+        // Check sanity
+        Validate.notNull(message, "Cannot handle null message argument.");
+
+        // All done.
+        return new LocalizedMessageTemplate(CompiledTemplate.compile(message, TOKEN_DEFINITIONS));
+    }
+
+    /**
+     * @return The message from which this LocalizedMessageTemplate was compiled.
+     */
+    public String getMessage() {
+        return template.getTemplate();
+    }
+
+    /**
+     * @return {@code true} if this LocalizedMessageTemplate contains dynamic tokens, which are resolved
+     * using a CompoundParser whenever this LocalizedMessageTemplate is rendered.
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * Renders this LocalizedMessageTemplate, substituting its tokens with the supplied key=value elements.
+     *
+     * @param keyValueTokens Either <code>null</code>, or a list holding strings on the form key=value where
+     *                       both key and value must be non-empty.
+     * @return The rendered message.
+     * @throws IllegalArgumentException if any of the tokens are malformed (i.e. not on the form key=value where
+     *                                  key and value are non-empty).
+     */
+    public String render(final String... keyValueTokens) throws IllegalArgumentException {
+
+        // Parse the keyValueTokens, to validate them.
+        final Map<String, String> staticTokens = CompoundParser.parseKeyValueTokens(keyValueTokens);
+        if (tokens.isEmpty()) {
+            return template.getTemplate();
+        }
+
+        // Fast path: all tokens are static, and are resolved by the supplied keyValueTokens.
+        if (!dynamic && (staticTokens.isEmpty() || staticTokens.keySet().containsAll(tokens))) {
+            return template.substitute(staticTokens::get);
+        }
+
+        // Slow path: use a CompoundParser to resolve dynamic or pattern-matched tokens.
+        return CompoundParser.create(keyValueTokens).substituteTokens(template.getTemplate());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "LocalizedMessageTemplate [" + template.getTemplate() + "]";
+    }
+}
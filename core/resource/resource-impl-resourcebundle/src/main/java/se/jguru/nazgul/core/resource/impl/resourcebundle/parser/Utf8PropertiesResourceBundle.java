@@ -0,0 +1,181 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-resource-impl-resourcebundle
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.resource.impl.resourcebundle.parser;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable ResourceBundle holding the key/value pairs read from a UTF-8 encoded .properties file.
+ * The data is decoded once, when the bundle is loaded, into a compact table of sorted keys and their
+ * corresponding values. Lookups therefore return the stored Strings without any conversion.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class Utf8PropertiesResourceBundle extends ResourceBundle {
+
+    // Internal state
+    private final String[] keys;
+    private final String[] values;
+    private final Set<String> keySet;
+
+    /**
+     * Creates a new Utf8PropertiesResourceBundle reading its key/value pairs from the supplied Reader.
+     * The Reader is not closed by this constructor.
+     *
+     * @param reader A non-null Reader providing data in the .properties file format.
+     * @throws IOException if the data could not be read.
+     */
+    public Utf8PropertiesResourceBundle(final Reader reader) throws IOException {
+
+        // Check sanity
+        Validate.notNull(reader, "Cannot handle null reader argument.");
+
+        // Parse the .properties data, sorting the key/value pairs to permit binary searching among the keys.
+        final SortingPropertiesParser parser = new SortingPropertiesParser();
+        parser.load(reader);
+        final Map<String, String> sorted = parser.sorted;
+
+        // Assign internal state
+        this.keys = sorted.keySet().toArray(new String[sorted.size()]);
+        this.values = sorted.values().toArray(new String[sorted.size()]);
+        this.keySet = new SortedKeySet();
+    }
+
+    /**
+     * Creates a new Utf8PropertiesResourceBundle reading its key/value pairs from
+     * the supplied UTF-8 encoded InputStream. The InputStream is not closed by this method.
+     *
+     * @param in A non-null InputStream providing UTF-8 encoded data in the .properties file format.
+     * @return A Utf8PropertiesResourceBundle holding the key/value pairs read from the supplied InputStream.
+     * @throws IOException if the data could not be read.
+     */
+    public static Utf8PropertiesResourceBundle load(final InputStream in) throws IOException {
+
+        // Check sanity
+        Validate.notNull(in, "Cannot handle null in argument.");
+
+        // All done.
+        return new Utf8PropertiesResourceBundle(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object handleGetObject(final String key) {
+
+        // Check sanity
+        Validate.notNull(key, "Cannot handle null key argument.");
+
+        final int index = Arrays.binarySearch(keys, key);
+        return index < 0 ? null : values[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Set<String> handleKeySet() {
+        return keySet;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Enumeration<String> getKeys() {
+
+        final Set<String> toReturn = new LinkedHashSet<String>(Arrays.asList(keys));
+        if (parent != null) {
+            toReturn.addAll(Collections.list(parent.getKeys()));
+        }
+
+        // All done.
+        return Collections.enumeration(toReturn);
+    }
+
+    /**
+     * Unmodifiable Set view of the sorted keys array, using binary search for containment checks.
+     */
+    private final class SortedKeySet extends AbstractSet<String> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Iterator<String> iterator() {
+            return Collections.unmodifiableList(Arrays.asList(keys)).iterator();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(final Object o) {
+            return o instanceof String && Arrays.binarySearch(keys, o) >= 0;
+        }
+    }
+
+    /**
+     * Properties subclass used only to parse .properties data into a sorted Map.
+     */
+    private static final class SortingPropertiesParser extends Properties {
+
+        // Internal state
+        private static final long serialVersionUID = 8829990104L;
+        private final TreeMap<String, String> sorted = new TreeMap<String, String>();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized Object put(final Object key, final Object value) {
+            return sorted.put((String) key, (String) value);
+        }
+    }
+}
@@ -43,12 +43,11 @@ public abstract class Utf8ResourceBundle {
     private static final String UTF_ENCODING = "UTF-8";
 
     /**
-     * <p>Factory method that creates a ResourceBundle for the provided baseName, and
-     * wraps it within an ISO88591 --&gt; UTF-8 transcoding shell in case the acquired
-     * ResourceBundle is a PropertyResourceBundle.</p>
+     * <p>Factory method that creates a ResourceBundle for the provided baseName, reading
+     * .properties files as UTF-8 using the {@link Utf8ResourceBundleControl#FALLBACK} control.</p>
      * <p>Due to the insanely poor coding of the ResourceBundle class, where the static
-     * getBundle(String) method is final, we have to delegate the wrapping to a
-     * private, inner class.</p>
+     * getBundle(String) method is final, we have to delegate the loading to a
+     * ResourceBundle.Control.</p>
      *
      * @param baseName the base name of the resource bundle, a fully qualified class name.
      * @param locale   the locale for which a resource bundle is desired.
@@ -56,8 +55,26 @@ public abstract class Utf8ResourceBundle {
      * @see java.util.ResourceBundle#getBundle(String)
      */
     public static ResourceBundle getBundle(final String baseName, final Locale locale) {
+        return getBundle(baseName, locale, Utf8ResourceBundleControl.FALLBACK);
+    }
+
+    /**
+     * Factory method that creates a ResourceBundle for the provided baseName using the supplied
+     * ResourceBundle.Control to govern the loading process. Should the acquired ResourceBundle be a
+     * PropertyResourceBundle (i.e. not loaded by a {@link Utf8ResourceBundleControl}), it is wrapped
+     * within an ISO88591 --&gt; UTF-8 transcoding shell.
+     *
+     * @param baseName the base name of the resource bundle, a fully qualified class name.
+     * @param locale   the locale for which a resource bundle is desired.
+     * @param control  the ResourceBundle.Control which supplies information for the resource bundle loading process.
+     * @return Unicode friendly resource bundle.
+     * @see java.util.ResourceBundle#getBundle(String, Locale, ResourceBundle.Control)
+     */
+    public static ResourceBundle getBundle(final String baseName,
+                                           final Locale locale,
+                                           final ResourceBundle.Control control) {
 
-        final ResourceBundle originalBundle = ResourceBundle.getBundle(baseName, locale);
+        final ResourceBundle originalBundle = ResourceBundle.getBundle(baseName, locale, control);
         boolean wrappable = originalBundle instanceof PropertyResourceBundle;
 
         // Return the original bundle itself unless it is wrappable.
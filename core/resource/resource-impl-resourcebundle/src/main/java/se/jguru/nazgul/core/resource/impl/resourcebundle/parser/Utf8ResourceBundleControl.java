@@ -0,0 +1,122 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-resource-impl-resourcebundle
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.resource.impl.resourcebundle.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * <p>ResourceBundle.Control which reads .properties files as UTF-8 into {@link Utf8PropertiesResourceBundle}s,
+ * instead of the ISO-8859-1 encoding mandated by the PropertyResourceBundle. Class-based ResourceBundles are
+ * loaded as done by the standard ResourceBundle.Control.</p>
+ * <p>ResourceBundles loaded by the {@link #FALLBACK} and {@link #NO_FALLBACK} controls are kept within the
+ * JDK ResourceBundle cache, using the default time-to-live. ResourceBundles loaded by the
+ * {@link #UNCACHED_NO_FALLBACK} control are not, and are intended for callers which cache them anyway.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class Utf8ResourceBundleControl extends ResourceBundle.Control {
+
+    /**
+     * Utf8ResourceBundleControl which falls back to the JVM default Locale, as done by
+     * the standard ResourceBundle.Control.
+     */
+    public static final Utf8ResourceBundleControl FALLBACK = new Utf8ResourceBundleControl(true, true);
+
+    /**
+     * Utf8ResourceBundleControl which does not fall back to the JVM default Locale. Instead, the candidate
+     * Locales of the requested Locale are searched, followed by the base bundle.
+     */
+    public static final Utf8ResourceBundleControl NO_FALLBACK = new Utf8ResourceBundleControl(false, true);
+
+    /**
+     * Utf8ResourceBundleControl which does not fall back to the JVM default Locale (as {@link #NO_FALLBACK}),
+     * and does not keep the loaded ResourceBundles within the JDK ResourceBundle cache.
+     */
+    public static final Utf8ResourceBundleControl UNCACHED_NO_FALLBACK = new Utf8ResourceBundleControl(false, false);
+
+    // Constants
+    private static final String PROPERTIES_FORMAT = "java.properties";
+    private static final String PROPERTIES_SUFFIX = "properties";
+
+    // Internal state
+    private final boolean fallbackToDefaultLocale;
+    private final boolean cached;
+
+    private Utf8ResourceBundleControl(final boolean fallbackToDefaultLocale, final boolean cached) {
+        this.fallbackToDefaultLocale = fallbackToDefaultLocale;
+        this.cached = cached;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Locale getFallbackLocale(final String baseName, final Locale locale) {
+        return fallbackToDefaultLocale ? super.getFallbackLocale(baseName, locale) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTimeToLive(final String baseName, final Locale locale) {
+        return cached ? super.getTimeToLive(baseName, locale) : TTL_DONT_CACHE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceBundle newBundle(final String baseName,
+                                    final Locale locale,
+                                    final String format,
+                                    final ClassLoader loader,
+                                    final boolean reload)
+            throws IllegalAccessException, InstantiationException, IOException {
+
+        // Delegate loading class-based ResourceBundles to the standard implementation.
+        if (!PROPERTIES_FORMAT.equals(format)) {
+            return super.newBundle(baseName, locale, format, loader, reload);
+        }
+
+        final String resourceName = toResourceName(toBundleName(baseName, locale), PROPERTIES_SUFFIX);
+        final URL resource = loader.getResource(resourceName);
+        if (resource == null) {
+            return null;
+        }
+
+        final URLConnection connection = resource.openConnection();
+        if (reload) {
+            connection.setUseCaches(false);
+        }
+
+        try (InputStream in = connection.getInputStream()) {
+            return Utf8PropertiesResourceBundle.load(in);
+        }
+    }
+}
@@ -29,9 +29,15 @@ import se.jguru.nazgul.core.resource.api.WellKnownLocale;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.PropertyResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
@@ -211,4 +217,39 @@ public class ResourceBundleLocalResourcesTest {
         Assert.assertEquals("", unitUnderTest.getLocalized("emptyValue", null, swedish));
         Assert.assertNull(unitUnderTest.getLocalized("nonexistentKey", null, swedish));
     }
+
+    @Test
+    public void validateJvmDefaultLocaleIsNotModifiedDuringConcurrentLookups() throws Exception {
+
+        // Assemble
+        final Locale jvmDefaultLocale = Locale.getDefault();
+        final Locale[] locales = {Locale.ENGLISH, WellKnownLocale.SWEDISH.getLocale(),
+                WellKnownLocale.NORWEGIAN.getLocale(), Locale.ITALIAN};
+        final String[] expected = {"bar_en", "bar_sv", "Morrn Da!", "bar_en"};
+        final ResourceBundleLocalResources unitUnderTest
+                = new ResourceBundleLocalResources("test/resources/keyvalues", Locale.ENGLISH);
+
+        final List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final int index = i % locales.length;
+            tasks.add(() -> expected[index].equals(unitUnderTest.getLocalized("foo", "fooFallback", locales[index]))
+                    && jvmDefaultLocale.equals(Locale.getDefault()));
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // Act
+        final List<Future<Boolean>> results;
+        try {
+            results = executorService.invokeAll(tasks);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // Assert
+        for (Future<Boolean> current : results) {
+            Assert.assertTrue(current.get());
+        }
+        Assert.assertEquals(jvmDefaultLocale, Locale.getDefault());
+    }
 }
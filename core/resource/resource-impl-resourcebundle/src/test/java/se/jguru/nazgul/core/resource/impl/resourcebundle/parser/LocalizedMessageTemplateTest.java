@@ -0,0 +1,91 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-resource-impl-resourcebundle
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.resource.impl.resourcebundle.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class LocalizedMessageTemplateTest {
+
+    @Test
+    public void validateRenderingStaticTokens() {
+
+        // Assemble
+        final String message = "Hello ${name}, welcome to ${place}!";
+        final LocalizedMessageTemplate unitUnderTest = LocalizedMessageTemplate.compile(message);
+
+        // Act
+        final String result1 = unitUnderTest.render("name=Gandalf", "place=Moria");
+        final String result2 = unitUnderTest.render("name=Frodo", "place = the Shire ");
+        final String result3 = unitUnderTest.render("name=Frodo");
+        final String result4 = unitUnderTest.render();
+
+        // Assert
+        Assert.assertFalse(unitUnderTest.isDynamic());
+        Assert.assertEquals(message, unitUnderTest.getMessage());
+        Assert.assertEquals("Hello Gandalf, welcome to Moria!", result1);
+        Assert.assertEquals("Hello Frodo, welcome to the Shire!", result2);
+        Assert.assertEquals("Hello Frodo, welcome to ${place}!", result3);
+        Assert.assertEquals(message, result4);
+    }
+
+    @Test
+    public void validateRenderingDynamicTokens() {
+
+        // Assemble
+        final String message = "Java ${sysprop:java.version} for ${name}";
+        final LocalizedMessageTemplate unitUnderTest = LocalizedMessageTemplate.compile(message);
+
+        // Act
+        final String result = unitUnderTest.render("name=Bilbo");
+
+        // Assert
+        Assert.assertTrue(unitUnderTest.isDynamic());
+        Assert.assertEquals("Java " + System.getProperty("java.version") + " for Bilbo", result);
+        Assert.assertEquals(CompoundParser.create("name=Bilbo").substituteTokens(message), result);
+    }
+
+    @Test
+    public void validateRenderingMessageWithoutTokens() {
+
+        // Assemble
+        final String message = "No tokens here.";
+        final LocalizedMessageTemplate unitUnderTest = LocalizedMessageTemplate.compile(message);
+
+        // Act & Assert
+        Assert.assertSame(message, unitUnderTest.render("unused=value"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnMalformedKeyValueToken() {
+
+        // Assemble
+        final LocalizedMessageTemplate unitUnderTest = LocalizedMessageTemplate.compile("Hello ${name}");
+
+        // Act & Assert
+        unitUnderTest.render("name");
+    }
+}
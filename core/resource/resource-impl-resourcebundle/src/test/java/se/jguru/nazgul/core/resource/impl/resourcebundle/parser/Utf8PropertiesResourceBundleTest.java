@@ -0,0 +1,77 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-resource-impl-resourcebundle
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.resource.impl.resourcebundle.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class Utf8PropertiesResourceBundleTest {
+
+    @Test
+    public void validateLoadingUtf8Data() throws Exception {
+
+        // Assemble
+        final String data = "# A comment\nletters=åäö\nescaped=\\u00C5\\u00C4\\u00D6\nempty=\n";
+        final byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        final Utf8PropertiesResourceBundle unitUnderTest = Utf8PropertiesResourceBundle.load(
+                new ByteArrayInputStream(bytes));
+
+        // Assert
+        Assert.assertEquals("åäö", unitUnderTest.getString("letters"));
+        Assert.assertEquals("ÅÄÖ", unitUnderTest.getString("escaped"));
+        Assert.assertEquals("", unitUnderTest.getString("empty"));
+        Assert.assertTrue(unitUnderTest.containsKey("letters"));
+        Assert.assertFalse(unitUnderTest.containsKey("nonexistent"));
+        Assert.assertEquals(3, unitUnderTest.keySet().size());
+    }
+
+    @Test
+    public void validateLoadingThroughControl() {
+
+        // Assemble
+        final Locale swedish = new Locale("sv");
+
+        // Act
+        final ResourceBundle bundle = ResourceBundle.getBundle(
+                "test/resources/keyvalues", swedish, Utf8ResourceBundleControl.NO_FALLBACK);
+        final List<String> keys = Collections.list(bundle.getKeys());
+
+        // Assert
+        Assert.assertTrue(bundle instanceof Utf8PropertiesResourceBundle);
+        Assert.assertEquals("bar_sv", bundle.getString("foo"));
+        Assert.assertTrue(keys.contains("foo"));
+        Assert.assertEquals(keys.size(), bundle.keySet().size());
+    }
+}
@@ -54,4 +54,25 @@ public class Utf8ResourceBundleTest {
         Assert.assertTrue(bundleKeys.contains("nonAsciiLetters"));
         Assert.assertTrue(bundleKeys.contains("emptyValue"));
     }
+
+    @Test
+    public void validateBundlesAreCachedUnlessLoadedByUncachedControl() {
+
+        // Assemble
+        final Locale swedish = new Locale("sv");
+        final String baseName = "test/resources/utf8chars";
+
+        // Act
+        final ResourceBundle bundle = Utf8ResourceBundle.getBundle(baseName, swedish);
+        final ResourceBundle uncached = ResourceBundle.getBundle(
+                baseName, swedish, Utf8ResourceBundleControl.UNCACHED_NO_FALLBACK);
+
+        // Assert
+        Assert.assertSame(bundle, Utf8ResourceBundle.getBundle(baseName, swedish));
+        Assert.assertEquals(ResourceBundle.Control.TTL_NO_EXPIRATION_CONTROL,
+                Utf8ResourceBundleControl.FALLBACK.getTimeToLive(baseName, swedish));
+        Assert.assertEquals(ResourceBundle.Control.TTL_DONT_CACHE,
+                Utf8ResourceBundleControl.UNCACHED_NO_FALLBACK.getTimeToLive(baseName, swedish));
+        Assert.assertEquals(bundle.getString("nonAsciiLetters"), uncached.getString("nonAsciiLetters"));
+    }
 }
@@ -0,0 +1,299 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-fastinfoset
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.xmlbinding.spi.fastinfoset;
+
+import com.sun.xml.fastinfoset.stax.StAXDocumentParser;
+import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+import se.jguru.nazgul.core.algorithms.api.Validate;
+import se.jguru.nazgul.core.xmlbinding.api.NamespacePrefixResolver;
+import se.jguru.nazgul.core.xmlbinding.api.XmlBinder;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.JaxbNamespacePrefixResolver;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.JaxbUtils;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.transport.EntityTransporter;
+import se.jguru.nazgul.tools.validation.api.Validatable;
+import se.jguru.nazgul.tools.validation.api.exception.InternalStateValidationException;
+
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Base64;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * <p>Fast Infoset (i.e. binary XML, ITU-T X.891) implementation of the XmlBinder specification, intended for
+ * compact node-to-node transport. The object graphs are converted to and from their transport form using the
+ * same EntityTransporter, JaxbConverterRegistry and (cached) JAXBContexts as the JAXB XmlBinder implementation,
+ * and the binary documents hold the same entityClasses header. Switching between the textual and binary formats
+ * is therefore a matter of configuring which XmlBinder implementation to use.</p>
+ * <p>The binary form is best handled using the {@link #marshal(OutputStream, Object...)} and
+ * {@link #unmarshal(InputStream)} methods. The {@code String}/{@code Reader} methods of the XmlBinder
+ * specification carry the Base64-encoded binary form.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ * @see se.jguru.nazgul.core.xmlbinding.spi.jaxb.JaxbXmlBinder
+ */
+public class FastInfosetXmlBinder implements XmlBinder<Object> {
+
+    private static final int STREAM_BUFFER_INITIAL_CAPACITY = 4096;
+
+    // Internal state
+    private JaxbNamespacePrefixResolver namespacePrefixResolver;
+
+    /**
+     * Default constructor, using a default JaxbNamespacePrefixResolver.
+     */
+    public FastInfosetXmlBinder() {
+        this(new JaxbNamespacePrefixResolver());
+    }
+
+    /**
+     * Compound constructor, creating a Fast Infoset XmlBinder using the provided JaxbNamespacePrefixResolver
+     * to resolve JAXB namespaces and prefixes.
+     *
+     * @param namespacePrefixResolver The JAXB-implemented NamespacePrefixResolver which is also a JAXB
+     *                                NamespacePrefixMapper.
+     */
+    public FastInfosetXmlBinder(@NotNull final JaxbNamespacePrefixResolver namespacePrefixResolver) {
+
+        // Check sanity
+        Validate.notNull(namespacePrefixResolver, "namespacePrefixResolver");
+
+        // Assign internal state
+        this.namespacePrefixResolver = namespacePrefixResolver;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final NamespacePrefixResolver getNamespacePrefixResolver() {
+        return namespacePrefixResolver;
+    }
+
+    /**
+     * Converts the provided java objects to a Base64-encoded Fast Infoset document.
+     * Order between the provided objects is preserved in the resulting document.
+     *
+     * @param toConvert The java objects to convert.
+     * @return The Base64-encoded Fast Infoset representation of the provided java objects.
+     * @throws IllegalArgumentException         If the conversion could not be completed successfully.
+     * @throws InternalStateValidationException if the Java Object Graph contained Validatable objects
+     *                                          that did not pass validation.
+     */
+    @Override
+    public String marshal(final Object... toConvert)
+            throws IllegalArgumentException, InternalStateValidationException {
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(STREAM_BUFFER_INITIAL_CAPACITY);
+        marshal(out, toConvert);
+
+        // All done.
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    /**
+     * Converts the provided java objects to a Fast Infoset document written to the supplied OutputStream.
+     * Order between the provided objects is preserved in the resulting document. The OutputStream is
+     * flushed but not closed.
+     *
+     * @param out       The OutputStream to which the Fast Infoset document should be written.
+     * @param toConvert The java objects to convert.
+     * @throws IllegalArgumentException         If the conversion could not be completed successfully.
+     * @throws InternalStateValidationException if the Java Object Graph contained Validatable objects
+     *                                          that did not pass validation.
+     */
+    public void marshal(@NotNull final OutputStream out, final Object... toConvert)
+            throws IllegalArgumentException, InternalStateValidationException {
+
+        // Check sanity
+        Validate.notNull(out, "out");
+
+        // Create an EntityTransporter holding all given objects.
+        final EntityTransporter<Object> transporter = new EntityTransporter<Object>();
+        for (Object current : toConvert) {
+            transporter.addItem(current);
+        }
+
+        // Validate without requiring resurrecting the items.
+        transporter.validateItemState();
+
+        // Acquire a Marshaller for the provided EntityTransporter
+        final JAXBContext ctx = JaxbUtils.getJaxbContext(transporter, true);
+        final Marshaller marshaller = JaxbUtils.acquireMarshaller(ctx, namespacePrefixResolver, true);
+
+        try {
+
+            final XMLStreamWriter serializer = new StAXDocumentSerializer(out);
+            marshaller.marshal(transporter, serializer);
+            serializer.flush();
+
+            // Re-use the marshaller only after a successful marshalling.
+            JaxbUtils.releaseMarshaller(ctx, marshaller);
+
+        } catch (JAXBException | XMLStreamException e) {
+            throw new IllegalArgumentException("Could not convert to Fast Infoset", e);
+        }
+    }
+
+    /**
+     * Reads the Base64-encoded Fast Infoset document from the provided transportReader, and resurrects the
+     * object graph found within it.
+     *
+     * @param transportReader The Reader holding a Base64-encoded document created by the
+     *                        {@link #marshal(Object...)} method.
+     * @return A fully unmarshalled List holding clones of the original objects written to the stream.
+     * @throws IllegalArgumentException         If the object graph could not be properly resurrected.
+     * @throws InternalStateValidationException if any object resurrected was a Validatable which did not
+     *                                          pass validation.
+     */
+    @Override
+    public List<Object> unmarshal(final Reader transportReader)
+            throws IllegalArgumentException, InternalStateValidationException {
+
+        // Check sanity
+        Validate.notNull(transportReader, "transportReader");
+
+        final StringBuilder base64 = new StringBuilder(STREAM_BUFFER_INITIAL_CAPACITY);
+        final char[] buffer = new char[STREAM_BUFFER_INITIAL_CAPACITY];
+        try {
+            for (int numRead = transportReader.read(buffer); numRead != -1; numRead = transportReader.read(buffer)) {
+                base64.append(buffer, 0, numRead);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read transport data.", e);
+        }
+
+        // All done.
+        return unmarshal(Base64.getMimeDecoder().decode(base64.toString()));
+    }
+
+    /**
+     * Reads the Fast Infoset document from the provided InputStream, and resurrects the object graph
+     * found within it. The InputStream is read to its end, but not closed.
+     *
+     * @param transportStream The InputStream holding a document created by the
+     *                        {@link #marshal(OutputStream, Object...)} method.
+     * @return A fully unmarshalled List holding clones of the original objects written to the stream.
+     * @throws IllegalArgumentException         If the object graph could not be properly resurrected.
+     * @throws InternalStateValidationException if any object resurrected was a Validatable which did not
+     *                                          pass validation.
+     */
+    public List<Object> unmarshal(@NotNull final InputStream transportStream)
+            throws IllegalArgumentException, InternalStateValidationException {
+
+        // Check sanity
+        Validate.notNull(transportStream, "transportStream");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(STREAM_BUFFER_INITIAL_CAPACITY);
+        final byte[] buffer = new byte[STREAM_BUFFER_INITIAL_CAPACITY];
+        try {
+            for (int numRead = transportStream.read(buffer); numRead != -1; numRead = transportStream.read(buffer)) {
+                bytes.write(buffer, 0, numRead);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read transport data.", e);
+        }
+
+        // All done.
+        return unmarshal(bytes.toByteArray());
+    }
+
+    /**
+     * Convenience {@code unmarshal} method which acquires a single object instance.
+     *
+     * @param transportReader The Reader holding a Base64-encoded document created by the
+     *                        {@link #marshal(Object...)} method.
+     * @param <S>             The instance type to return.
+     * @return A fully unmarshalled instance clone of the original object written to the stream.
+     * @throws IllegalArgumentException         If the object graph could not be properly resurrected.
+     * @throws InternalStateValidationException if any object resurrected was a Validatable which did not
+     *                                          pass validation.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S> S unmarshalInstance(final Reader transportReader)
+            throws IllegalArgumentException, InternalStateValidationException {
+
+        // Convert
+        final List<Object> objects = unmarshal(transportReader);
+
+        // Sane result?
+        if (objects.size() > 1) {
+            throw new IllegalArgumentException("Expected to return one object, but resurrected ["
+                    + objects.size() + "] objects.");
+        }
+
+        // All done.
+        return objects.isEmpty() ? null : (S) objects.get(0);
+    }
+
+    //
+    // Private helpers
+    //
+
+    private List<Object> unmarshal(final byte[] document) {
+
+        try {
+
+            // Peek the class information header of the transported EntityTransporter.
+            final SortedSet<String> entityClasses = JaxbUtils.readEntityClasses(
+                    new StAXDocumentParser(new ByteArrayInputStream(document)));
+
+            // Now we know all classes inside the EntityTransporter.
+            final JAXBContext ctx = JaxbUtils.getJaxbContext(entityClasses);
+            final Unmarshaller unmarshaller = JaxbUtils.acquireUnmarshaller(ctx, true);
+
+            @SuppressWarnings("unchecked")
+            final EntityTransporter<Object> transporter = (EntityTransporter<Object>)
+                    unmarshaller.unmarshal(new StAXDocumentParser(new ByteArrayInputStream(document)));
+
+            // Re-use the unmarshaller only after a successful unmarshalling.
+            JaxbUtils.releaseUnmarshaller(ctx, unmarshaller);
+
+            // If the instances are validatable, perform validation.
+            final List<Object> toReturn = transporter.getItems();
+            for (Object current : toReturn) {
+                if (current instanceof Validatable) {
+                    ((Validatable) current).validateInternalState();
+                }
+            }
+
+            // All done.
+            return toReturn;
+
+        } catch (XMLStreamException | JAXBException e) {
+            throw new IllegalArgumentException("Could not convert Fast Infoset data to java objects.", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-fastinfoset
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.xmlbinding.spi.fastinfoset;
+
+import org.junit.Assert;
+import org.junit.Test;
+import se.jguru.nazgul.core.xmlbinding.spi.fastinfoset.types.Person;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.JaxbXmlBinder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class FastInfosetXmlBinderTest {
+
+    // Shared state
+    final FastInfosetXmlBinder unitUnderTest = new FastInfosetXmlBinder();
+
+    @Test(expected = NullPointerException.class)
+    public void validateExceptionOnNullNamespacePrefixResolver() {
+
+        // Act & Assert
+        new FastInfosetXmlBinder(null);
+    }
+
+    @Test
+    public void validateBinaryRoundTripWithTypeConversion() {
+
+        // Assemble
+        final List<Object> expected = Arrays.<Object>asList(
+                new Person("Lennart", 44), "FooBar!", null, new Person("Malin", 478));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        unitUnderTest.marshal(out, expected.toArray());
+        final List<Object> result = unitUnderTest.unmarshal(new ByteArrayInputStream(out.toByteArray()));
+
+        // Assert
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void validateStringRoundTrip() {
+
+        // Assemble
+        final Person person = new Person("Lennart", 44);
+
+        // Act
+        final String marshalled = unitUnderTest.marshal(person);
+        final Person result = unitUnderTest.unmarshalInstance(new StringReader(marshalled));
+
+        // Assert
+        Assert.assertEquals(person, result);
+        Assert.assertNotNull(unitUnderTest.getNamespacePrefixResolver());
+    }
+
+    @Test
+    public void validateBinaryFormIsMoreCompactThanXml() {
+
+        // Assemble
+        final Object[] toConvert = new Object[100];
+        for (int i = 0; i < toConvert.length; i++) {
+            toConvert[i] = new Person("Person " + i, i);
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        unitUnderTest.marshal(out, toConvert);
+        final byte[] xml = new JaxbXmlBinder().marshal(toConvert).getBytes(StandardCharsets.UTF_8);
+
+        // Assert
+        Assert.assertTrue("Expected " + out.size() + " < " + xml.length, out.size() < xml.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateExceptionOnCorruptData() {
+
+        // Act & Assert
+        unitUnderTest.unmarshal(new ByteArrayInputStream("<not/>".getBytes(StandardCharsets.UTF_8)));
+    }
+}
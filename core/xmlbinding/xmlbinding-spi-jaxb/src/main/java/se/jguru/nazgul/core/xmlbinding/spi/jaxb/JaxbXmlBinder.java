@@ -23,9 +23,9 @@
 
 package se.jguru.nazgul.core.xmlbinding.spi.jaxb;
 
-import org.w3c.dom.ls.LSResourceResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import se.jguru.nazgul.core.algorithms.api.Validate;
-import se.jguru.nazgul.core.algorithms.api.collections.predicate.Tuple;
 import se.jguru.nazgul.core.xmlbinding.api.NamespacePrefixResolver;
 import se.jguru.nazgul.core.xmlbinding.api.XmlBinder;
 import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.JaxbNamespacePrefixResolver;
@@ -38,14 +38,16 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
-import javax.xml.validation.Schema;
-import javax.xml.validation.Validator;
-import java.io.BufferedReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import java.io.CharArrayWriter;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.List;
+import java.util.SortedSet;
 
 /**
  * JAXB implementation of the XmlBinder specification.
@@ -55,11 +57,14 @@ import java.util.List;
  */
 public class JaxbXmlBinder implements XmlBinder<Object> {
 
+    // Our Log
+    private static final Logger log = LoggerFactory.getLogger(JaxbXmlBinder.class);
+
     private static final int STREAM_BUFFER_INITIAL_CAPACITY = 5000;
+    static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
 
     // Internal state
     private JaxbNamespacePrefixResolver namespacePrefixResolver;
-    private JAXBContext initialTransportContext;
 
     public JaxbXmlBinder() {
         this(new JaxbNamespacePrefixResolver());
@@ -80,13 +85,6 @@ public class JaxbXmlBinder implements XmlBinder<Object> {
         Validate.notNull(namespacePrefixResolver, "namespacePrefixResolver");
 
         this.namespacePrefixResolver = namespacePrefixResolver;
-
-        // Create the initialTransportContext
-        try {
-            initialTransportContext = JAXBContext.newInstance(EntityTransporter.class);
-        } catch (JAXBException e) {
-            throw new IllegalStateException("Could not create initialTransportContext.", e);
-        }
     }
 
     /**
@@ -126,11 +124,14 @@ public class JaxbXmlBinder implements XmlBinder<Object> {
 
         // Acquire a Marshaller for the provided EntityTransporter
         final JAXBContext ctx = JaxbUtils.getJaxbContext(transporter, true);
-        final Marshaller marshaller = JaxbUtils.getHumanReadableStandardMarshaller(ctx, namespacePrefixResolver, true);
+        final Marshaller marshaller = JaxbUtils.acquireMarshaller(ctx, namespacePrefixResolver, true);
 
         try {
             StringWriter resultWriter = new StringWriter();
             marshaller.marshal(transporter, resultWriter);
+
+            // Re-use the marshaller only after a successful marshalling.
+            JaxbUtils.releaseMarshaller(ctx, marshaller);
             return resultWriter.toString();
         } catch (JAXBException e) {
             throw new IllegalArgumentException("Could not convert to XML", e);
@@ -154,29 +155,25 @@ public class JaxbXmlBinder implements XmlBinder<Object> {
 
         Validate.notNull(transportReader, "transportReader");
 
-        // Read the stream content.
-        final String content = readFully(transportReader);
+        // Peek the class information header of the transported EntityTransporter,
+        // and replay the peeked data when unmarshalling the full document.
+        final ReplayingReader replayingReader = new ReplayingReader(transportReader);
+        final SortedSet<String> entityClasses = readEntityClasses(replayingReader);
+        replayingReader.replay();
 
         try {
 
-            // Find all classes within the provided transporter
-            Unmarshaller unmarshaller = initialTransportContext.createUnmarshaller();
-            final EntityTransporter transporter = (EntityTransporter) unmarshaller.unmarshal(new StringReader(content));
-
             // Now we know all classes inside the EntityTransporter.
-            final JAXBContext ctx = JaxbUtils.getJaxbContext(transporter, false);
-            unmarshaller = ctx.createUnmarshaller();
-
-            // Generate and assign the Schema to enable XSD validation.
-            final Tuple<Schema, LSResourceResolver> transientTuple = JaxbUtils.generateTransientXSD(ctx);
-            final Schema schema = transientTuple.getKey();
-            unmarshaller.setSchema(schema);
-            final Validator validator = schema.newValidator();
-            validator.setResourceResolver(transientTuple.getValue());
+            final JAXBContext ctx = JaxbUtils.getJaxbContext(entityClasses);
+            // Acquire an unmarshaller using the (cached) Schema to enable XSD validation.
+            final Unmarshaller unmarshaller = JaxbUtils.acquireUnmarshaller(ctx, true);
 
             @SuppressWarnings("unchecked")
             final EntityTransporter<Object> toReturn = (EntityTransporter<Object>)
-                    unmarshaller.unmarshal(new StringReader(content));
+                    unmarshaller.unmarshal(new StreamSource(replayingReader));
+
+            // Re-use the unmarshaller only after a successful unmarshalling.
+            JaxbUtils.releaseUnmarshaller(ctx, unmarshaller);
 
             // If the instances are validatable, perform validation.
             validate(toReturn);
@@ -225,27 +222,40 @@ public class JaxbXmlBinder implements XmlBinder<Object> {
     // Private helpers
     //
 
+    private static XMLInputFactory createXmlInputFactory() {
+
+        final XMLInputFactory toReturn = XMLInputFactory.newInstance();
+        toReturn.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        toReturn.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return toReturn;
+    }
+
     /**
-     * Reads all data from the provided Reader.
+     * Reads the class names within the entityClasses header of a marshalled EntityTransporter,
+     * without reading the remainder of the document.
      *
-     * @param reader The reader from which to read all data.
-     * @return The data read from the reader, cast to a String.
+     * @param reader The reader from which to read the header.
+     * @return The class names found within the entityClasses header. Empty if no header was found.
      */
-    private String readFully(final Reader reader) {
+    private static SortedSet<String> readEntityClasses(final Reader reader) {
 
-        final BufferedReader tmp = new BufferedReader(reader);
-        final StringBuilder toReturn = new StringBuilder(STREAM_BUFFER_INITIAL_CAPACITY);
+        XMLStreamReader xmlReader = null;
 
         try {
-            for (String line = tmp.readLine(); line != null; line = tmp.readLine()) {
-                toReturn.append(line).append('\n');
+            xmlReader = XML_INPUT_FACTORY.createXMLStreamReader(reader);
+            return JaxbUtils.readEntityClasses(xmlReader);
+
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Could not read entityClasses from XML data.", e);
+        } finally {
+            if (xmlReader != null) {
+                try {
+                    xmlReader.close();
+                } catch (XMLStreamException e) {
+                    log.debug("Could not close XMLStreamReader", e);
+                }
             }
-        } catch (final IOException e) {
-            throw new IllegalArgumentException("Problem reading data from Reader", e);
         }
-
-        // All done.
-        return toReturn.toString();
     }
 
     /**
@@ -263,4 +273,64 @@ public class JaxbXmlBinder implements XmlBinder<Object> {
             }
         }
     }
+
+    /**
+     * Reader which records all data read from a wrapped Reader until {@link #replay()} is called.
+     * Thereafter, the recorded data is read again before the remaining data of the wrapped Reader.
+     */
+    private static final class ReplayingReader extends Reader {
+
+        // Internal state
+        private final Reader delegate;
+        private final CharArrayWriter recorded = new CharArrayWriter(STREAM_BUFFER_INITIAL_CAPACITY);
+        private boolean recording = true;
+        private char[] replayBuffer;
+        private int replayIndex;
+
+        private ReplayingReader(final Reader delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Stops recording, and replays all data recorded so far on subsequent reads.
+         */
+        private void replay() {
+            recording = false;
+            replayBuffer = recorded.toCharArray();
+            replayIndex = 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+
+            // Replay recorded data, if any remains.
+            if (replayBuffer != null && replayIndex < replayBuffer.length) {
+
+                final int numChars = Math.min(len, replayBuffer.length - replayIndex);
+                System.arraycopy(replayBuffer, replayIndex, cbuf, off, numChars);
+                replayIndex += numChars;
+                return numChars;
+            }
+            replayBuffer = null;
+
+            final int numRead = delegate.read(cbuf, off, len);
+            if (recording && numRead > 0) {
+                recorded.write(cbuf, off, numRead);
+            }
+
+            // All done.
+            return numRead;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
 }
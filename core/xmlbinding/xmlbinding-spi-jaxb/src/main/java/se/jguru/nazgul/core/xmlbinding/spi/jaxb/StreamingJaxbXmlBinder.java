@@ -0,0 +1,384 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-jaxb
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.xmlbinding.spi.jaxb;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.jguru.nazgul.core.algorithms.api.Validate;
+import se.jguru.nazgul.core.xmlbinding.api.XmlBinder;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.JaxbNamespacePrefixResolver;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.JaxbUtils;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.transport.EntityTransporter;
+import se.jguru.nazgul.tools.validation.api.Validatable;
+import se.jguru.nazgul.tools.validation.api.exception.InternalStateValidationException;
+
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * <p>Streaming JAXB XML binder, which marshals and unmarshals the items of an EntityTransporter one at a time.
+ * In contrast to the {@link JaxbXmlBinder}, neither the full list of items nor the full XML document is ever
+ * held in memory, implying that the memory used is independent of the number of items transported.</p>
+ * <p>The XML document produced by {@link #marshal(Iterator, Writer)} has the structure of a marshalled
+ * EntityTransporter. However, since the types of all items are not known until the last item has been read
+ * from the Iterator, an {@code entityClasses} element holding the newly encountered class names is emitted
+ * immediately before the first item requiring them. Documents produced by this binder should therefore be
+ * read using {@link #unmarshal(Reader)}.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ * @see JaxbXmlBinder
+ */
+public class StreamingJaxbXmlBinder {
+
+    // Our Log
+    private static final Logger log = LoggerFactory.getLogger(StreamingJaxbXmlBinder.class);
+
+    private static final String ROOT_ELEMENT = "entityTransporter";
+    private static final String ITEMS_ELEMENT = "items";
+    private static final String ITEM_ELEMENT = "item";
+    private static final QName ITEM_QNAME = new QName(ITEM_ELEMENT);
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    // Internal state
+    private JaxbNamespacePrefixResolver namespacePrefixResolver;
+
+    /**
+     * Default constructor, using a default JaxbNamespacePrefixResolver.
+     */
+    public StreamingJaxbXmlBinder() {
+        this(new JaxbNamespacePrefixResolver());
+    }
+
+    /**
+     * Compound constructor, creating a streaming XML binder using the provided JaxbNamespacePrefixResolver
+     * to resolve JAXB namespaces and prefixes.
+     *
+     * @param namespacePrefixResolver The JAXB-implemented NamespacePrefixResolver which is also a JAXB
+     *                                NamespacePrefixMapper.
+     */
+    public StreamingJaxbXmlBinder(@NotNull final JaxbNamespacePrefixResolver namespacePrefixResolver) {
+
+        // Check sanity
+        Validate.notNull(namespacePrefixResolver, "namespacePrefixResolver");
+
+        // Assign internal state
+        this.namespacePrefixResolver = namespacePrefixResolver;
+    }
+
+    /**
+     * Marshals all items from the supplied Iterator to the provided Writer, one item at a time.
+     * The Writer is flushed but not closed.
+     *
+     * @param items The items to marshal. Order between the items is preserved in the resulting XML.
+     * @param out   The Writer to which the XML document should be written.
+     * @param <T>   The type of items marshalled.
+     * @throws IllegalArgumentException         If the conversion could not be completed successfully.
+     * @throws InternalStateValidationException if any item was a Validatable which did not pass validation.
+     */
+    public <T> void marshal(@NotNull final Iterator<T> items, @NotNull final Writer out)
+            throws IllegalArgumentException, InternalStateValidationException {
+
+        // Check sanity
+        Validate.notNull(items, "items");
+        Validate.notNull(out, "out");
+
+        final SortedSet<String> knownClasses = new TreeSet<String>();
+        knownClasses.add(EntityTransporter.class.getName());
+
+        final List<Object> transportItems = new ArrayList<Object>(1);
+        final SortedSet<String> itemClasses = new TreeSet<String>();
+
+        JAXBContext ctx = null;
+        Marshaller marshaller = null;
+
+        try {
+
+            final XMLStreamWriter xmlWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(out);
+            xmlWriter.writeStartDocument("UTF-8", "1.0");
+            xmlWriter.setPrefix("core", XmlBinder.CORE_NAMESPACE);
+            xmlWriter.writeStartElement("core", ROOT_ELEMENT, XmlBinder.CORE_NAMESPACE);
+            xmlWriter.writeNamespace("core", XmlBinder.CORE_NAMESPACE);
+            writeEntityClasses(xmlWriter, knownClasses);
+            xmlWriter.writeStartElement(ITEMS_ELEMENT);
+
+            while (items.hasNext()) {
+
+                // Convert the current item to its transport form.
+                transportItems.clear();
+                itemClasses.clear();
+                JaxbUtils.extractJaxbTransportData(items.next(), EntityTransporter.getRegistry(),
+                        transportItems, itemClasses);
+                itemClasses.removeAll(knownClasses);
+
+                // Announce any new classes, and acquire a Marshaller able to handle them.
+                if (!itemClasses.isEmpty() || ctx == null) {
+
+                    writeEntityClasses(xmlWriter, itemClasses);
+                    knownClasses.addAll(itemClasses);
+
+                    final JAXBContext currentContext = JaxbUtils.getJaxbContext(knownClasses);
+                    if (currentContext != ctx) {
+                        if (marshaller != null) {
+                            JaxbUtils.releaseMarshaller(ctx, marshaller);
+                        }
+
+                        ctx = currentContext;
+                        marshaller = JaxbUtils.acquireMarshaller(ctx, namespacePrefixResolver, false);
+                        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+                    }
+                }
+
+                for (Object current : transportItems) {
+
+                    // Validate without requiring resurrecting the item.
+                    if (current instanceof Validatable) {
+                        ((Validatable) current).validateInternalState();
+                    }
+
+                    marshaller.marshal(new JAXBElement<Object>(ITEM_QNAME, Object.class, current), xmlWriter);
+                }
+            }
+
+            xmlWriter.writeEndElement();
+            xmlWriter.writeEndElement();
+            xmlWriter.writeEndDocument();
+            xmlWriter.flush();
+
+            // Re-use the marshaller only after a successful marshalling.
+            if (marshaller != null) {
+                JaxbUtils.releaseMarshaller(ctx, marshaller);
+            }
+
+        } catch (XMLStreamException | JAXBException e) {
+            throw new IllegalArgumentException("Could not convert to XML", e);
+        }
+    }
+
+    /**
+     * Creates a lazy Iterator which reads and resurrects the items within the XML document of the supplied
+     * Reader one at a time, as the Iterator is traversed. The Reader is closed when all items have been read.
+     *
+     * @param transportReader The Reader holding an XML document written by {@link #marshal(Iterator, Writer)}.
+     * @param <T>             The type of items unmarshalled.
+     * @return A lazy Iterator over the resurrected items. Its {@code hasNext} and {@code next} methods
+     * throw IllegalArgumentException if the XML document could not be read, and
+     * InternalStateValidationException if any resurrected item was a Validatable which did not pass validation.
+     * @throws IllegalArgumentException If the XML document could not be opened.
+     */
+    public <T> Iterator<T> unmarshal(@NotNull final Reader transportReader) throws IllegalArgumentException {
+
+        // Check sanity
+        Validate.notNull(transportReader, "transportReader");
+
+        try {
+            return new ItemIterator<T>(JaxbXmlBinder.XML_INPUT_FACTORY.createXMLStreamReader(transportReader),
+                    transportReader);
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Could not read XML data.", e);
+        }
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static void writeEntityClasses(final XMLStreamWriter xmlWriter, final SortedSet<String> classNames)
+            throws XMLStreamException {
+
+        if (!classNames.isEmpty()) {
+
+            xmlWriter.writeStartElement(JaxbUtils.ENTITY_CLASSES_ELEMENT);
+            for (String current : classNames) {
+                xmlWriter.writeStartElement(JaxbUtils.ENTITY_CLASS_ELEMENT);
+                xmlWriter.writeCharacters(current);
+                xmlWriter.writeEndElement();
+            }
+            xmlWriter.writeEndElement();
+        }
+    }
+
+    /**
+     * Iterator which reads one item at a time from an XMLStreamReader, collecting the class names
+     * from all entityClasses elements encountered on the way.
+     *
+     * @param <T> The type of items unmarshalled.
+     */
+    private static final class ItemIterator<T> implements Iterator<T> {
+
+        // Internal state
+        private final XMLStreamReader xmlReader;
+        private final Reader transportReader;
+        private final SortedSet<String> knownClasses = new TreeSet<String>();
+        private boolean knownClassesChanged = true;
+        private JAXBContext ctx;
+        private Unmarshaller unmarshaller;
+        private boolean atItem;
+        private boolean finished;
+
+        private ItemIterator(final XMLStreamReader xmlReader, final Reader transportReader) {
+            this.xmlReader = xmlReader;
+            this.transportReader = transportReader;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+
+            if (!atItem && !finished) {
+                try {
+                    atItem = advanceToItem();
+                } catch (XMLStreamException e) {
+                    close(false);
+                    throw new IllegalArgumentException("Could not read XML data.", e);
+                }
+
+                if (!atItem) {
+                    close(true);
+                }
+            }
+
+            // All done.
+            return atItem;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            atItem = false;
+
+            try {
+
+                // Acquire an Unmarshaller able to handle all classes announced so far.
+                if (knownClassesChanged) {
+                    final JAXBContext currentContext = JaxbUtils.getJaxbContext(knownClasses);
+                    if (currentContext != ctx) {
+                        if (unmarshaller != null) {
+                            JaxbUtils.releaseUnmarshaller(ctx, unmarshaller);
+                        }
+
+                        ctx = currentContext;
+                        unmarshaller = JaxbUtils.acquireUnmarshaller(ctx, false);
+                    }
+                    knownClassesChanged = false;
+                }
+
+                final Object transportItem = unmarshaller.unmarshal(xmlReader, Object.class).getValue();
+                final T toReturn = (T) EntityTransporter.getRegistry().resurrectAfterTransport(transportItem);
+
+                // If the instance is validatable, perform validation.
+                if (toReturn instanceof Validatable) {
+                    ((Validatable) toReturn).validateInternalState();
+                }
+
+                // All done.
+                return toReturn;
+
+            } catch (JAXBException e) {
+                close(false);
+                throw new IllegalArgumentException("Could not convert XML data to java objects.", e);
+            } catch (RuntimeException | Error e) {
+
+                // Release the XML data also when resurrection or validation fails.
+                close(false);
+                throw e;
+            }
+        }
+
+        /**
+         * Moves the XMLStreamReader to the start of the next item element, reading all
+         * entityClasses elements encountered on the way.
+         *
+         * @return {@code true} if the XMLStreamReader is positioned at the start of an item element.
+         * @throws XMLStreamException if the XML data could not be read.
+         */
+        private boolean advanceToItem() throws XMLStreamException {
+
+            while (true) {
+
+                if (xmlReader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+
+                    final String localName = xmlReader.getLocalName();
+                    if (ITEM_ELEMENT.equals(localName)) {
+                        return true;
+                    } else if (JaxbUtils.ENTITY_CLASS_ELEMENT.equals(localName)) {
+                        knownClassesChanged |= knownClasses.add(xmlReader.getElementText().trim());
+                    }
+                }
+
+                if (!xmlReader.hasNext()) {
+                    return false;
+                }
+                xmlReader.next();
+            }
+        }
+
+        private void close(final boolean successful) {
+
+            if (finished) {
+                return;
+            }
+            finished = true;
+
+            // Re-use the unmarshaller only if all items were successfully read.
+            if (unmarshaller != null && successful) {
+                JaxbUtils.releaseUnmarshaller(ctx, unmarshaller);
+            }
+            unmarshaller = null;
+
+            try {
+                xmlReader.close();
+                transportReader.close();
+            } catch (XMLStreamException | IOException e) {
+                log.debug("Could not close XML data reader", e);
+            }
+        }
+    }
+}
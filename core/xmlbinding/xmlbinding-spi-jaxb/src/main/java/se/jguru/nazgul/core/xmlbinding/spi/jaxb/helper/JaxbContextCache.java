@@ -0,0 +1,558 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-jaxb
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper;
+
+import se.jguru.nazgul.core.algorithms.api.Validate;
+
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.JAXBContext;
+import javax.xml.validation.Schema;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * <p>Bounded, approximately least-recently-used cache of JAXBContexts, keyed by the sorted class names a
+ * JAXBContext was created for. The cache is segmented by the ClassLoader used to load the classes, and segments
+ * are weakly referenced by their ClassLoader. Cached JAXBContexts are softly referenced, implying that the
+ * cache does not prevent a ClassLoader (and the classes bound within its JAXBContexts) from being
+ * garbage collected. The Marshaller and Unmarshaller pool of each JAXBContext is softly referenced along
+ * with it, since pooled instances strongly reference their JAXBContext.</p>
+ * <p>Each segment holds an inverted index relating a class name to all cached JAXBContexts bound to it.
+ * Finding a cached JAXBContext bound to a superset of the requested class names therefore only inspects
+ * the JAXBContexts bound to the least common of the requested class names.</p>
+ * <p>The cache also holds the (lazily generated) transient Schema and a pool of idle Marshallers and
+ * Unmarshallers for each JAXBContext, as well as
+ * metrics for hits, misses, evictions and the time spent building JAXBContexts.</p>
+ * <p>Lookups are lock-free, and only stamp the access time of the JAXBContext found. Adding, evicting and
+ * removing JAXBContexts is done under a lock.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public final class JaxbContextCache {
+
+    /**
+     * The default maximum number of JAXBContexts within a JaxbContextCache.
+     */
+    public static final int DEFAULT_MAX_SIZE = 128;
+
+    // Internal state
+    private final Object lock = new Object();
+    private final ConcurrentMap<IdentityKey<ClassLoader>, Segment> segments =
+            new ConcurrentHashMap<IdentityKey<ClassLoader>, Segment>();
+    private final ConcurrentMap<IdentityKey<JAXBContext>, Entry> contextEntries =
+            new ConcurrentHashMap<IdentityKey<JAXBContext>, Entry>();
+    private final ReferenceQueue<Holder> clearedHolders = new ReferenceQueue<Holder>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong buildTimeNanos = new AtomicLong();
+    private volatile int maxSize;
+
+    /**
+     * Creates a new JaxbContextCache holding at most {@link #DEFAULT_MAX_SIZE} JAXBContexts.
+     */
+    public JaxbContextCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new JaxbContextCache holding at most maxSize JAXBContexts.
+     *
+     * @param maxSize The maximum number of JAXBContexts within this JaxbContextCache. Must be positive.
+     */
+    public JaxbContextCache(final int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    /**
+     * Assigns the maximum number of JAXBContexts within this JaxbContextCache, evicting the least recently
+     * used JAXBContexts if required.
+     *
+     * @param maxSize The maximum number of JAXBContexts within this JaxbContextCache. Must be positive.
+     */
+    public void setMaxSize(final int maxSize) {
+
+        // Check sanity
+        Validate.isTrue(maxSize > 0, "Cannot handle non-positive maxSize argument.");
+
+        synchronized (lock) {
+            this.maxSize = maxSize;
+            evictIfRequired();
+        }
+    }
+
+    /**
+     * @return The maximum number of JAXBContexts within this JaxbContextCache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return The number of JAXBContexts within this JaxbContextCache.
+     */
+    public int size() {
+
+        int toReturn = 0;
+        for (Segment current : segments.values()) {
+            toReturn += current.entries.size();
+        }
+        return toReturn;
+    }
+
+    /**
+     * @return The number of lookups which found a cached JAXBContext bound to the requested class names
+     * (or a superset thereof).
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of lookups which did not find a cached JAXBContext.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of JAXBContexts evicted from this JaxbContextCache, due to its size bound.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * @return The number of JAXBContexts added to this JaxbContextCache.
+     */
+    public long getBuildCount() {
+        return builds.get();
+    }
+
+    /**
+     * @return The total time, in nanoseconds, spent building the JAXBContexts added to this JaxbContextCache.
+     */
+    public long getTotalBuildTimeNanos() {
+        return buildTimeNanos.get();
+    }
+
+    /**
+     * Removes all JAXBContexts from this JaxbContextCache. Metrics are not reset.
+     */
+    public void clear() {
+        synchronized (lock) {
+            for (Segment currentSegment : segments.values()) {
+                for (Entry currentEntry : currentSegment.entries.values()) {
+                    currentEntry.drain();
+                }
+            }
+            segments.clear();
+            contextEntries.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "JaxbContextCache [size: " + size() + "/" + maxSize + ", hits: " + hits.get()
+                + ", misses: " + misses.get() + ", evictions: " + evictions.get() + ", builds: " + builds.get()
+                + ", buildTime: " + (buildTimeNanos.get() / 1000000L) + " ms]";
+    }
+
+    //
+    // Package-private operations
+    //
+
+    /**
+     * Retrieves a cached JAXBContext bound to all the supplied class names, loaded by the supplied ClassLoader.
+     *
+     * @param classLoader The ClassLoader used to load the classes.
+     * @param classNames  The class names to which the JAXBContext must be bound.
+     * @return A cached JAXBContext bound to the supplied class names (or a superset thereof),
+     * or {@code null} if no such JAXBContext was found.
+     */
+    JAXBContext get(@NotNull final ClassLoader classLoader, @NotNull final SortedSet<String> classNames) {
+
+        final Segment segment = segments.get(new IdentityKey<ClassLoader>(classLoader));
+        final Entry entry = segment == null ? null : segment.find(classNames);
+        final Holder holder = entry == null ? null : entry.holder.get();
+        if (holder == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        // All done.
+        hits.incrementAndGet();
+        entry.lastAccess = clock.incrementAndGet();
+        return holder.context;
+    }
+
+    /**
+     * Adds the supplied JAXBContext to this JaxbContextCache, evicting the least recently used
+     * JAXBContext if the maximum size is exceeded.
+     *
+     * @param classLoader    The ClassLoader used to load the classes bound within the JAXBContext.
+     * @param key            The class names to which the JAXBContext is bound.
+     * @param context        The JAXBContext to add.
+     * @param buildTimeNanos The time, in nanoseconds, spent building the JAXBContext.
+     */
+    void put(@NotNull final ClassLoader classLoader,
+             @NotNull final SortedClassNameSetKey key,
+             @NotNull final JAXBContext context,
+             final long buildTimeNanos) {
+
+        // Check sanity
+        Validate.notNull(classLoader, "classLoader");
+        Validate.notNull(key, "key");
+        Validate.notNull(context, "context");
+
+        builds.incrementAndGet();
+        this.buildTimeNanos.addAndGet(buildTimeNanos);
+
+        synchronized (lock) {
+
+            removeClearedEntries();
+
+            final IdentityKey<ClassLoader> classLoaderKey = new IdentityKey<ClassLoader>(classLoader);
+            Segment segment = segments.get(classLoaderKey);
+            if (segment == null) {
+                segment = new Segment(classLoaderKey);
+                segments.put(classLoaderKey, segment);
+            }
+
+            final Entry entry = new Entry(segment, key, context, clearedHolders);
+            entry.lastAccess = clock.incrementAndGet();
+
+            final Entry replaced = segment.add(entry);
+            if (replaced != null) {
+                contextEntries.remove(replaced.contextKey, replaced);
+                replaced.drain();
+            }
+            contextEntries.put(entry.contextKey, entry);
+
+            evictIfRequired();
+        }
+    }
+
+    /**
+     * Retrieves the Schema for the supplied JAXBContext, generating it if required. Schemas are cached
+     * only for JAXBContexts within this JaxbContextCache.
+     *
+     * @param context   The JAXBContext for which a Schema should be retrieved.
+     * @param generator The Function used to generate the Schema from the supplied JAXBContext.
+     * @return The Schema of the supplied JAXBContext.
+     */
+    Schema getSchema(@NotNull final JAXBContext context, @NotNull final Function<JAXBContext, Schema> generator) {
+
+        final Holder holder = getHolder(context);
+        if (holder == null) {
+            return generator.apply(context);
+        }
+
+        // Generating the same Schema twice is harmless, so no locking is required.
+        Schema toReturn = holder.schema;
+        if (toReturn == null) {
+            toReturn = generator.apply(context);
+            holder.schema = toReturn;
+        }
+
+        // All done.
+        return toReturn;
+    }
+
+    /**
+     * Retrieves the JaxbMarshallerPool of the supplied JAXBContext.
+     *
+     * @param context The JAXBContext for which the JaxbMarshallerPool should be retrieved.
+     * @return The JaxbMarshallerPool of the supplied JAXBContext, or {@code null} if the supplied JAXBContext
+     * is not within this JaxbContextCache.
+     */
+    JaxbMarshallerPool getMarshallerPool(@NotNull final JAXBContext context) {
+
+        final Holder holder = getHolder(context);
+        return holder == null ? null : holder.marshallerPool;
+    }
+
+    //
+    // Private helpers
+    //
+
+    private Holder getHolder(final JAXBContext context) {
+
+        final Entry entry = contextEntries.get(new IdentityKey<JAXBContext>(context));
+        return entry == null ? null : entry.holder.get();
+    }
+
+    private void evictIfRequired() {
+
+        for (int size = size(); size > maxSize; size--) {
+
+            // Find the least recently used Entry.
+            Entry lruEntry = null;
+            for (Segment currentSegment : segments.values()) {
+                for (Entry currentEntry : currentSegment.entries.values()) {
+                    if (lruEntry == null || currentEntry.lastAccess < lruEntry.lastAccess) {
+                        lruEntry = currentEntry;
+                    }
+                }
+            }
+
+            if (lruEntry == null) {
+                return;
+            }
+
+            remove(lruEntry);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void removeClearedEntries() {
+
+        for (Reference<? extends Holder> current = clearedHolders.poll();
+             current != null;
+             current = clearedHolders.poll()) {
+            remove(((HolderReference) current).entry);
+        }
+    }
+
+    private void remove(final Entry entry) {
+
+        // Removing the Entry from contextEntries, and draining its pool, releases its JAXBContext
+        // even if the JAXBContext is still referenced from elsewhere.
+        final Segment segment = entry.segment;
+        if (segment.remove(entry) && segment.entries.isEmpty()) {
+            segments.remove(segment.classLoaderKey, segment);
+        }
+        contextEntries.remove(entry.contextKey, entry);
+        entry.drain();
+    }
+
+    /**
+     * Weak reference with identity semantics for equals and hashCode, usable as a ConcurrentMap key.
+     *
+     * @param <T> The type of the referent.
+     */
+    private static final class IdentityKey<T> extends WeakReference<T> {
+
+        // Internal state
+        private final int hashCode;
+
+        private IdentityKey(final T referent) {
+            super(referent);
+            this.hashCode = System.identityHashCode(referent);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object obj) {
+
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof IdentityKey)) {
+                return false;
+            }
+
+            // Cleared keys are only equal to themselves.
+            final Object referent = get();
+            return referent != null && referent == ((IdentityKey<?>) obj).get();
+        }
+    }
+
+    /**
+     * SoftReference to a Holder, which knows its Entry for removal when cleared.
+     */
+    private static final class HolderReference extends SoftReference<Holder> {
+
+        // Internal state
+        private final Entry entry;
+
+        private HolderReference(final Holder holder, final Entry entry, final ReferenceQueue<Holder> queue) {
+            super(holder, queue);
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Cache entry holding a softly referenced Holder. The JAXBContext is referenced weakly only,
+     * to remove the Entry from the contextEntries Map.
+     */
+    private static final class Entry {
+
+        // Internal state
+        private final Segment segment;
+        private final SortedClassNameSetKey key;
+        private final IdentityKey<JAXBContext> contextKey;
+        private final HolderReference holder;
+        private volatile long lastAccess;
+
+        private Entry(final Segment segment,
+                      final SortedClassNameSetKey key,
+                      final JAXBContext context,
+                      final ReferenceQueue<Holder> queue) {
+            this.segment = segment;
+            this.key = key;
+            this.contextKey = new IdentityKey<JAXBContext>(context);
+            this.holder = new HolderReference(new Holder(context), this, queue);
+        }
+
+        private void drain() {
+            final Holder current = holder.get();
+            if (current != null) {
+                current.marshallerPool.clear();
+            }
+        }
+    }
+
+    /**
+     * Holds a JAXBContext, its Schema and its pooled Marshallers/Unmarshallers.
+     */
+    private static final class Holder {
+
+        // Internal state
+        private final JAXBContext context;
+        private final JaxbMarshallerPool marshallerPool = new JaxbMarshallerPool();
+        private volatile Schema schema;
+
+        private Holder(final JAXBContext context) {
+            this.context = context;
+        }
+    }
+
+    /**
+     * The entries for a single ClassLoader, along with the inverted class name index.
+     * Mutated only under the JaxbContextCache lock, but read without locking.
+     */
+    private static final class Segment {
+
+        // Internal state
+        private final IdentityKey<ClassLoader> classLoaderKey;
+        private final ConcurrentMap<SortedClassNameSetKey, Entry> entries =
+                new ConcurrentHashMap<SortedClassNameSetKey, Entry>();
+        private final ConcurrentMap<String, Set<Entry>> index = new ConcurrentHashMap<String, Set<Entry>>();
+
+        private Segment(final IdentityKey<ClassLoader> classLoaderKey) {
+            this.classLoaderKey = classLoaderKey;
+        }
+
+        private Entry add(final Entry entry) {
+
+            // Index the Entry before publishing it.
+            for (String current : entry.key.getClassNames()) {
+                index.computeIfAbsent(current, k -> ConcurrentHashMap.newKeySet()).add(entry);
+            }
+
+            final Entry replaced = entries.put(entry.key, entry);
+            if (replaced != null) {
+                unindex(replaced);
+            }
+
+            // All done.
+            return replaced;
+        }
+
+        private boolean remove(final Entry entry) {
+
+            if (entries.remove(entry.key, entry)) {
+                unindex(entry);
+                return true;
+            }
+            return false;
+        }
+
+        private Entry find(final SortedSet<String> classNames) {
+
+            // Exact match?
+            final Entry exact = entries.get(new SortedClassNameSetKey(classNames));
+            if (exact != null && exact.holder.get() != null) {
+                return exact;
+            }
+
+            // Find the least common class name, whose indexed entries are the only superset candidates.
+            Set<Entry> candidates = null;
+            for (String current : classNames) {
+
+                final Set<Entry> indexed = index.get(current);
+                if (indexed == null) {
+                    return null;
+                }
+                if (candidates == null || indexed.size() < candidates.size()) {
+                    candidates = indexed;
+                }
+            }
+
+            if (candidates == null) {
+                return null;
+            }
+
+            // Pick the smallest superset whose JAXBContext is still reachable.
+            // Cleared entries are removed by the next put.
+            Entry toReturn = null;
+            for (Entry current : candidates) {
+                if (current.holder.get() != null
+                        && current.key.containsAll(classNames)
+                        && (toReturn == null
+                        || current.key.getClassNames().size() < toReturn.key.getClassNames().size())) {
+                    toReturn = current;
+                }
+            }
+
+            // All done.
+            return toReturn;
+        }
+
+        private void unindex(final Entry entry) {
+            for (String current : entry.key.getClassNames()) {
+                final Set<Entry> indexed = index.get(current);
+                if (indexed != null) {
+                    indexed.remove(entry);
+                    if (indexed.isEmpty()) {
+                        index.remove(current, indexed);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-jaxb
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper;
+
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of idle Marshaller and Unmarshaller instances created from a single JAXBContext.
+ * Marshallers and Unmarshallers are not thread-safe, so an instance is used by a single thread
+ * between being polled from and offered back to the pool. Instances offered to a full pool are dropped.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+final class JaxbMarshallerPool {
+
+    /**
+     * The maximum number of idle Marshallers and Unmarshallers (respectively) within a JaxbMarshallerPool.
+     */
+    static final int MAX_IDLE_INSTANCES = 16;
+
+    // Internal state
+    private final BlockingQueue<Marshaller> marshallers = new ArrayBlockingQueue<Marshaller>(MAX_IDLE_INSTANCES);
+    private final BlockingQueue<Unmarshaller> unmarshallers =
+            new ArrayBlockingQueue<Unmarshaller>(MAX_IDLE_INSTANCES);
+
+    /**
+     * @return An idle Marshaller, or {@code null} if none was available.
+     */
+    Marshaller pollMarshaller() {
+        return marshallers.poll();
+    }
+
+    /**
+     * Returns the supplied Marshaller to this pool.
+     *
+     * @param marshaller The Marshaller, which must not be used by the caller after this call.
+     */
+    void offer(final Marshaller marshaller) {
+        marshallers.offer(marshaller);
+    }
+
+    /**
+     * @return An idle Unmarshaller, or {@code null} if none was available.
+     */
+    Unmarshaller pollUnmarshaller() {
+        return unmarshallers.poll();
+    }
+
+    /**
+     * Returns the supplied Unmarshaller to this pool.
+     *
+     * @param unmarshaller The Unmarshaller, which must not be used by the caller after this call.
+     */
+    void offer(final Unmarshaller unmarshaller) {
+        unmarshallers.offer(unmarshaller);
+    }
+
+    /**
+     * Drops all idle Marshallers and Unmarshallers within this pool.
+     */
+    void clear() {
+        marshallers.clear();
+        unmarshallers.clear();
+    }
+}
@@ -0,0 +1,232 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-jaxb
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Per-class plan for extracting the runtime types of the XML-marshallable fields of objects packaged for
+ * transport, computed once per class and cached in a ClassValue. Each plan holds the marshallable fields
+ * (as defined by the {@link XmlMarshallableFieldPredicate}) along with MethodHandle accessors and the
+ * statically known types of their values.</p>
+ * <p>A plan is <em>closed</em> if all marshallable fields have final, non-Collection and non-Map declared types.
+ * All instances of a closed class therefore yield a subset of its closed types (the class itself and the declared
+ * types of its marshallable fields), since null fields yield no types. Collections whose declared element type
+ * is closed need only have their elements inspected until all closed types of the element type are found.</p>
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+final class JaxbTransportPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<JaxbTransportPlan> PLANS = new ClassValue<JaxbTransportPlan>() {
+        @Override
+        protected JaxbTransportPlan computeValue(final Class<?> type) {
+            return new JaxbTransportPlan(type);
+        }
+    };
+
+    // Internal state
+    private final FieldPlan[] fields;
+    private final List<Class<?>> closedTypes;
+
+    private JaxbTransportPlan(final Class<?> type) {
+
+        final List<FieldPlan> fieldPlans = new ArrayList<FieldPlan>();
+        for (Field current : XmlMarshallableFieldPredicate.getMarshallableFields(type)) {
+            fieldPlans.add(new FieldPlan(current));
+        }
+
+        // Assign internal state
+        this.fields = fieldPlans.toArray(new FieldPlan[fieldPlans.size()]);
+        this.closedTypes = getClosedTypes(type);
+    }
+
+    /**
+     * Retrieves the (cached) JaxbTransportPlan for the supplied class.
+     *
+     * @param type A non-null class.
+     * @return The JaxbTransportPlan for the supplied class.
+     */
+    static JaxbTransportPlan of(final Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * @return The plans for all XML-marshallable fields of the class of this JaxbTransportPlan.
+     */
+    FieldPlan[] getFields() {
+        return fields;
+    }
+
+    /**
+     * @return {@code true} if all marshallable fields of the class of this JaxbTransportPlan have final,
+     * non-Collection and non-Map declared types.
+     */
+    boolean isClosed() {
+        return closedTypes != null;
+    }
+
+    /**
+     * @return The types yielded by instances of the class of this JaxbTransportPlan whose marshallable fields
+     * are all non-null (i.e. the class itself and the declared types of its marshallable fields),
+     * or {@code null} if this JaxbTransportPlan is not closed.
+     */
+    List<Class<?>> getClosedTypes() {
+        return closedTypes;
+    }
+
+    /**
+     * Plan for a single XML-marshallable field.
+     */
+    static final class FieldPlan {
+
+        // Internal state
+        private final Field field;
+        private final MethodHandle getter;
+        private final Class<?> closedElementType;
+        private final List<Class<?>> finalKeyAndValueTypes;
+
+        private FieldPlan(final Field field) {
+
+            this.field = field;
+            this.getter = createGetter(field);
+
+            // Find the declared element/key/value types of Collection and Map fields.
+            final Type[] typeArguments = field.getGenericType() instanceof ParameterizedType
+                    ? ((ParameterizedType) field.getGenericType()).getActualTypeArguments()
+                    : new Type[0];
+
+            final Class<?> fieldType = field.getType();
+            this.closedElementType = Collection.class.isAssignableFrom(fieldType)
+                    && typeArguments.length == 1
+                    && isFinal(typeArguments[0])
+                    && getClosedTypes((Class<?>) typeArguments[0]) != null
+                    ? (Class<?>) typeArguments[0]
+                    : null;
+            this.finalKeyAndValueTypes = Map.class.isAssignableFrom(fieldType)
+                    && typeArguments.length == 2
+                    && isFinal(typeArguments[0])
+                    && isFinal(typeArguments[1])
+                    ? Collections.unmodifiableList(Arrays.<Class<?>>asList(
+                    (Class<?>) typeArguments[0], (Class<?>) typeArguments[1]))
+                    : null;
+        }
+
+        /**
+         * Retrieves the value of this field within the supplied object.
+         *
+         * @param anObject The object from which the field value should be retrieved.
+         * @return The value of this field within the supplied object, or {@code null} if it could not be read.
+         */
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        Object get(final Object anObject) {
+
+            try {
+                return getter == null ? field.get(anObject) : getter.invokeExact(anObject);
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return The declared element type of a Collection field, if that type is final and closed
+         * (implying that elements need only be inspected until all closed types of the element type are found).
+         * Otherwise {@code null}.
+         */
+        Class<?> getClosedElementType() {
+            return closedElementType;
+        }
+
+        /**
+         * @return The declared key and value types of a Map field, if both are final (implying that the types of
+         * all keys and values are known). Otherwise {@code null}.
+         */
+        List<Class<?>> getFinalKeyAndValueTypes() {
+            return finalKeyAndValueTypes;
+        }
+
+        private static MethodHandle createGetter(final Field field) {
+
+            try {
+                field.setAccessible(true);
+                final MethodHandle toReturn = MethodHandles.lookup().unreflectGetter(field);
+                return Modifier.isStatic(field.getModifiers())
+                        ? MethodHandles.dropArguments(toReturn, 0, Object.class).asType(GETTER_TYPE)
+                        : toReturn.asType(GETTER_TYPE);
+            } catch (IllegalAccessException | SecurityException e) {
+                return null;
+            }
+        }
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static List<Class<?>> getClosedTypes(final Class<?> type) {
+
+        final List<Class<?>> toReturn = new ArrayList<Class<?>>();
+        toReturn.add(type);
+
+        for (Field current : XmlMarshallableFieldPredicate.getMarshallableFields(type)) {
+
+            final Class<?> fieldType = current.getType();
+            if (!isFinal(fieldType)
+                    || Collection.class.isAssignableFrom(fieldType)
+                    || Map.class.isAssignableFrom(fieldType)) {
+                return null;
+            }
+            toReturn.add(fieldType);
+        }
+
+        // All done.
+        return Collections.unmodifiableList(toReturn);
+    }
+
+    private static boolean isFinal(final Type type) {
+
+        if (!(type instanceof Class)) {
+            return false;
+        }
+
+        // The modifiers of array classes are always final; inspect their component types.
+        Class<?> theClass = (Class<?>) type;
+        while (theClass.isArray()) {
+            theClass = theClass.getComponentType();
+        }
+        return theClass.isPrimitive() || Modifier.isFinal(theClass.getModifiers());
+    }
+}
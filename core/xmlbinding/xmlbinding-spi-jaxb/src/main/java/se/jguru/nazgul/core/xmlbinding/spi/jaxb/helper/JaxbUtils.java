@@ -42,7 +42,11 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.SchemaOutputResolver;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlTransient;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Result;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -51,8 +55,9 @@ import javax.xml.validation.SchemaFactory;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -61,8 +66,6 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * JAXB utility methods to simplify complex JAXB-related tasks.
@@ -75,6 +78,16 @@ public abstract class JaxbUtils {
     // Our log
     private static final Logger log = LoggerFactory.getLogger(JaxbUtils.class.getName());
 
+    /**
+     * Local name of the header element holding the class names of a marshalled EntityTransporter.
+     */
+    public static final String ENTITY_CLASSES_ELEMENT = "entityClasses";
+
+    /**
+     * Local name of each class name element within the {@link #ENTITY_CLASSES_ELEMENT} header.
+     */
+    public static final String ENTITY_CLASS_ELEMENT = "entityClass";
+
     /**
      * The namespace prefix key for external (i.e. non-JDK-internal) JAXB distribution.
      */
@@ -94,8 +107,7 @@ public abstract class JaxbUtils {
     private static final ClassnameToClassTransformer THREADLOCAL_TRANSFORMER = new ClassnameToClassTransformer();
 
     // Internal state
-    private static ConcurrentMap<SortedClassNameSetKey, JAXBContext> jaxbContextCache =
-            new ConcurrentHashMap<SortedClassNameSetKey, JAXBContext>();
+    private static final JaxbContextCache jaxbContextCache = new JaxbContextCache();
 
     /**
      * Acquires a properly configured JAXB marshaller from the provided JAXBContext.
@@ -130,14 +142,12 @@ public abstract class JaxbUtils {
         try {
 
             // Acquire the properly configured Marshaller.
-            final Marshaller toReturn = ctx.createMarshaller();
-            toReturn.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
-            toReturn.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            final Marshaller toReturn = createHumanReadableMarshaller(ctx);
             toReturn.setProperty(EXTERNAL_JAXB_NAMESPACEPREFIXMAPPER_KEY, namespacePrefixMapper);
 
             // Should we validate what we write?
             if (validate) {
-                toReturn.setSchema(generateTransientXSD(ctx).getKey());
+                toReturn.setSchema(getTransientSchema(ctx));
             }
 
             return toReturn;
@@ -146,6 +156,121 @@ public abstract class JaxbUtils {
         }
     }
 
+    /**
+     * Acquires a Marshaller configured as done by
+     * {@link #getHumanReadableStandardMarshaller(JAXBContext, NamespacePrefixMapper, boolean)}, re-using
+     * a pooled Marshaller if the JAXBContext is within the {@link JaxbContextCache}. The acquired Marshaller
+     * must only be used by the calling thread, and should be handed back using
+     * {@link #releaseMarshaller(JAXBContext, Marshaller)} after a successful marshalling.
+     *
+     * @param ctx                   The JAXBContext from which the Marshaller should be acquired.
+     * @param namespacePrefixMapper A JAXB NamespacePrefixMapper to be used by the provided marshaller.
+     *                              Cannot be {@code null}.
+     * @param validate              if {@code true}, the Marshaller validates the data it marshals.
+     * @return A Marshaller for human-readable XML marshalling.
+     * @throws NullPointerException if the {@code ctx} or {@code namespacePrefixMapper} was {@code null}.
+     */
+    public static Marshaller acquireMarshaller(@NotNull final JAXBContext ctx,
+                                               @NotNull final NamespacePrefixMapper namespacePrefixMapper,
+                                               final boolean validate) throws NullPointerException {
+
+        // Check sanity
+        Validate.notNull(ctx, "ctx");
+        Validate.notNull(namespacePrefixMapper, "namespacePrefixMapper");
+
+        final JaxbMarshallerPool pool = jaxbContextCache.getMarshallerPool(ctx);
+        final Marshaller pooled = pool == null ? null : pool.pollMarshaller();
+
+        try {
+
+            final Marshaller toReturn = pooled == null ? createHumanReadableMarshaller(ctx) : pooled;
+
+            // (Re-)assign all per-use state.
+            toReturn.setProperty(EXTERNAL_JAXB_NAMESPACEPREFIXMAPPER_KEY, namespacePrefixMapper);
+            toReturn.setProperty(Marshaller.JAXB_FRAGMENT, false);
+            toReturn.setSchema(validate ? getTransientSchema(ctx) : null);
+            toReturn.setEventHandler(null);
+            toReturn.setListener(null);
+
+            return toReturn;
+        } catch (final JAXBException e) {
+            throw new IllegalStateException("Could not create marshaller", e);
+        }
+    }
+
+    /**
+     * Hands back a Marshaller acquired from {@link #acquireMarshaller(JAXBContext, NamespacePrefixMapper, boolean)}
+     * for re-use. The Marshaller must not be used by the caller after this call.
+     *
+     * @param ctx        The JAXBContext from which the Marshaller was acquired.
+     * @param marshaller The Marshaller to hand back.
+     */
+    public static void releaseMarshaller(@NotNull final JAXBContext ctx, @NotNull final Marshaller marshaller) {
+
+        // Check sanity
+        Validate.notNull(ctx, "ctx");
+        Validate.notNull(marshaller, "marshaller");
+
+        final JaxbMarshallerPool pool = jaxbContextCache.getMarshallerPool(ctx);
+        if (pool != null) {
+            pool.offer(marshaller);
+        }
+    }
+
+    /**
+     * Acquires an Unmarshaller from the supplied JAXBContext, re-using a pooled Unmarshaller if the JAXBContext
+     * is within the {@link JaxbContextCache}. The acquired Unmarshaller must only be used by the calling thread,
+     * and should be handed back using {@link #releaseUnmarshaller(JAXBContext, Unmarshaller)} after a successful
+     * unmarshalling.
+     *
+     * @param ctx      The JAXBContext from which the Unmarshaller should be acquired.
+     * @param validate if {@code true}, the Unmarshaller validates the data it unmarshals.
+     * @return An Unmarshaller for the supplied JAXBContext.
+     * @throws NullPointerException if the {@code ctx} was {@code null}.
+     */
+    public static Unmarshaller acquireUnmarshaller(@NotNull final JAXBContext ctx, final boolean validate)
+            throws NullPointerException {
+
+        // Check sanity
+        Validate.notNull(ctx, "ctx");
+
+        final JaxbMarshallerPool pool = jaxbContextCache.getMarshallerPool(ctx);
+        final Unmarshaller pooled = pool == null ? null : pool.pollUnmarshaller();
+
+        try {
+
+            final Unmarshaller toReturn = pooled == null ? ctx.createUnmarshaller() : pooled;
+
+            // (Re-)assign all per-use state.
+            toReturn.setSchema(validate ? getTransientSchema(ctx) : null);
+            toReturn.setEventHandler(null);
+            toReturn.setListener(null);
+
+            return toReturn;
+        } catch (final JAXBException e) {
+            throw new IllegalStateException("Could not create unmarshaller", e);
+        }
+    }
+
+    /**
+     * Hands back an Unmarshaller acquired from {@link #acquireUnmarshaller(JAXBContext, boolean)} for re-use.
+     * The Unmarshaller must not be used by the caller after this call.
+     *
+     * @param ctx          The JAXBContext from which the Unmarshaller was acquired.
+     * @param unmarshaller The Unmarshaller to hand back.
+     */
+    public static void releaseUnmarshaller(@NotNull final JAXBContext ctx, @NotNull final Unmarshaller unmarshaller) {
+
+        // Check sanity
+        Validate.notNull(ctx, "ctx");
+        Validate.notNull(unmarshaller, "unmarshaller");
+
+        final JaxbMarshallerPool pool = jaxbContextCache.getMarshallerPool(ctx);
+        if (pool != null) {
+            pool.offer(unmarshaller);
+        }
+    }
+
     /**
      * Retrieves a JAXBContext instance, geared to converting all class types found within the
      * provided transporter.
@@ -164,41 +289,106 @@ public abstract class JaxbUtils {
         // Check sanity
         Validate.notNull(transporter, "transporter");
 
-        // Does a cached JAXBContext exist?
-        final Tuple<SortedClassNameSetKey, JAXBContext> cachedContext
-                = getCachedJaxbContext(transporter.getClassInformation());
-        if (cachedContext.getValue() != null) {
-            return cachedContext.getValue();
-        }
+        // All done.
+        return getJaxbContext(transporter.getClassInformation(), isMarshalling ? transporter.getItems() : null);
+    }
 
-        // Load all relevant classes
-        Set<Class<?>> loadedClasses = new HashSet<Class<?>>();
-        for (Object current : transporter.getClassInformation()) {
+    /**
+     * Retrieves a JAXBContext instance, geared to unmarshalling an EntityTransporter holding the
+     * supplied class information (i.e. the entityClasses of a marshalled EntityTransporter).
+     *
+     * @param classInformation The class names of all types within a marshalled EntityTransporter.
+     * @return A JAXBContext able to unmarshal an EntityTransporter holding the supplied classInformation.
+     * @throws NullPointerException if the classInformation argument was {@code null}.
+     */
+    public static JAXBContext getJaxbContext(@NotNull final SortedSet<String> classInformation)
+            throws NullPointerException {
 
-            final Class<?> classType = THREADLOCAL_TRANSFORMER.transform((String) current);
-            addNonTransientInternalClass(loadedClasses, classType);
-        }
+        // Check sanity
+        Validate.notNull(classInformation, "classInformation");
 
-        // If we are marshalling, acquire the non-transient internal
-        // field types for the
-        if (isMarshalling) {
+        // All done.
+        return getJaxbContext(classInformation, null);
+    }
 
-            // The items List should be fully populated here.
-            for (Object currentItem : transporter.getItems()) {
-                addNonTransientInternalFieldTypes(loadedClasses, currentItem);
+    /**
+     * Reads the class names within the entityClasses header of a marshalled EntityTransporter from the supplied
+     * XMLStreamReader, without reading the remainder of the document. This permits acquiring the JAXBContext
+     * required to unmarshal the document regardless of its encoding (i.e. textual XML or binary).
+     *
+     * @param xmlReader The XMLStreamReader, positioned at the start of the document.
+     * @return The class names found within the entityClasses header. Empty if no header was found.
+     * @throws NullPointerException if the xmlReader was {@code null}.
+     * @throws XMLStreamException   if the XML data could not be read.
+     */
+    public static SortedSet<String> readEntityClasses(@NotNull final XMLStreamReader xmlReader)
+            throws NullPointerException, XMLStreamException {
+
+        // Check sanity
+        Validate.notNull(xmlReader, "xmlReader");
+
+        // The entityClasses element is the first child of the document element.
+        final SortedSet<String> toReturn = new TreeSet<String>();
+        int depth = 0;
+        boolean inEntityClasses = false;
+        while (xmlReader.hasNext()) {
+
+            final int event = xmlReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+
+                depth++;
+                final String localName = xmlReader.getLocalName();
+                if (depth == 2) {
+                    if (!ENTITY_CLASSES_ELEMENT.equals(localName)) {
+                        break;
+                    }
+                    inEntityClasses = true;
+                } else if (depth == 3 && inEntityClasses && ENTITY_CLASS_ELEMENT.equals(localName)) {
+                    toReturn.add(xmlReader.getElementText().trim());
+                    depth--;
+                }
+
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+
+                depth--;
+                if (inEntityClasses && depth == 1) {
+                    break;
+                }
             }
         }
 
-        try {
+        // All done.
+        return toReturn;
+    }
 
-            // Create the JAXBContext and cache it.
-            JAXBContext toReturn = JAXBContext.newInstance(loadedClasses.toArray(new Class[loadedClasses.size()]));
-            jaxbContextCache.put(cachedContext.getKey(), toReturn);
+    /**
+     * Retrieves the (cached) Schema generated from the supplied JAXBContext. Schemas are cached for
+     * JAXBContexts within the {@link JaxbContextCache}; Schemas for other JAXBContexts
+     * are generated for each call, using {@link #generateTransientXSD(JAXBContext)}.
+     *
+     * @param ctx The JAXBContext for which a Schema should be retrieved.
+     * @return The Schema generated from the supplied JAXBContext.
+     * @throws NullPointerException     if ctx was {@code null}.
+     * @throws IllegalArgumentException if a JAXB-related exception occurred while generating the schema.
+     */
+    public static Schema getTransientSchema(@NotNull final JAXBContext ctx)
+            throws NullPointerException, IllegalArgumentException {
 
-            return toReturn;
-        } catch (JAXBException e) {
-            throw new IllegalStateException("Could not create JAXBContext", e);
-        }
+        // Check sanity
+        Validate.notNull(ctx, "ctx");
+
+        // All done.
+        return jaxbContextCache.getSchema(ctx, aContext -> generateTransientXSD(aContext).getKey());
+    }
+
+    /**
+     * Retrieves the JaxbContextCache holding all JAXBContexts (and their Schemas) created by
+     * the {@code getJaxbContext} methods. Use it to inspect cache metrics or adjust its maximum size.
+     *
+     * @return The JaxbContextCache used by JaxbUtils.
+     */
+    public static JaxbContextCache getJaxbContextCache() {
+        return jaxbContextCache;
     }
 
     /**
@@ -321,6 +511,89 @@ public abstract class JaxbUtils {
             added = registry.packageForTransport(toWrapAndPackageForTransport);
         }
 
+        // ### 2-5) Add the item and its transport types.
+        addTransportData(toWrapAndPackageForTransport, added, wrapInTransportType, registry,
+                resultingTransportableObjects, resultingTransportTypes);
+    }
+
+    /**
+     * Extracts relevant data from all supplied {@code toWrapAndPackageForTransport} objects, in the same way
+     * as {@link #extractJaxbTransportData(Object, JaxbConverterRegistry, List, SortedSet)}, but acquiring the
+     * transport type only once per distinct type and converting all objects requiring a transport type
+     * wrapper in bulk using {@link JaxbConverterRegistry#packageAllForTransport(Collection)}.
+     *
+     * @param toWrapAndPackageForTransport  The instances from which transport data should be extracted
+     *                                      and appended onto the resultingTransportableObjects and
+     *                                      resultingTransportTypes Lists, respectively.
+     * @param registry                      The TransportTypeConverterRegistry instance used to extract
+     *                                      TransportTypeConverter instances, in turn used to translate
+     *                                      non-JAXB-annotated types to JaxbAnnotatedTypes for transport.
+     * @param resultingTransportableObjects The non-null List holding JAXB-convertible objects.
+     * @param resultingTransportTypes       The non-null SortedSet holding the class names of all
+     *                                      transport types.
+     */
+    public static void extractAllJaxbTransportData(@NotNull final Collection<?> toWrapAndPackageForTransport,
+                                                   @NotNull final JaxbConverterRegistry registry,
+                                                   @NotNull final List<Object> resultingTransportableObjects,
+                                                   @NotNull final SortedSet<String> resultingTransportTypes) {
+
+        // Check sanity
+        Validate.notNull(toWrapAndPackageForTransport, "toWrapAndPackageForTransport");
+        Validate.notNull(registry, "registry");
+        Validate.notNull(resultingTransportableObjects, "resultingTransportableObjects");
+        Validate.notNull(resultingTransportTypes, "resultingTransportTypes");
+
+        // ### 1) Find which items require conversion, acquiring each transport type only once.
+        final Map<Class<?>, Class<?>> transportTypes = new HashMap<Class<?>, Class<?>>();
+        final boolean[] wrapInTransportType = new boolean[toWrapAndPackageForTransport.size()];
+        final List<Object> toWrap = new ArrayList<Object>();
+
+        int index = 0;
+        for (Object current : toWrapAndPackageForTransport) {
+
+            boolean wrap = true;
+            if (current != null) {
+
+                final Class<?> currentType = current.getClass();
+                if (!transportTypes.containsKey(currentType)) {
+                    transportTypes.put(currentType, registry.getTransportType(currentType));
+                }
+                wrap = currentType != transportTypes.get(currentType);
+            }
+
+            if (wrap) {
+                toWrap.add(current);
+            }
+            wrapInTransportType[index++] = wrap;
+        }
+
+        // Convert all items requiring a transport type wrapper in bulk.
+        final List<Object> wrapped = toWrap.isEmpty()
+                ? toWrap
+                : registry.packageAllForTransport(toWrap);
+
+        // ### 2-5) Add the items and their transport types.
+        index = 0;
+        int wrappedIndex = 0;
+        for (Object current : toWrapAndPackageForTransport) {
+
+            final boolean wrap = wrapInTransportType[index++];
+            final Object added = wrap ? wrapped.get(wrappedIndex++) : current;
+            addTransportData(current, added, wrap, registry, resultingTransportableObjects, resultingTransportTypes);
+        }
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static void addTransportData(final Object toWrapAndPackageForTransport,
+                                         final Object added,
+                                         final boolean wrapInTransportType,
+                                         final JaxbConverterRegistry registry,
+                                         final List<Object> resultingTransportableObjects,
+                                         final SortedSet<String> resultingTransportTypes) {
+
         // ### 2) Add the item itself.
         resultingTransportableObjects.add(added);
 
@@ -373,9 +646,51 @@ public abstract class JaxbUtils {
         }
     }
 
-    //
-    // Private helpers
-    //
+    private static JAXBContext getJaxbContext(final SortedSet<String> classInformation, final List<?> items) {
+
+        // Does a cached JAXBContext exist?
+        final SortedSet<String> classNames = new TreeSet<String>(classInformation);
+        classNames.add(EntityTransporter.class.getName());
+        final ClassLoader classLoader = getClassLoader();
+
+        final JAXBContext cachedContext = jaxbContextCache.get(classLoader, classNames);
+        if (cachedContext != null) {
+            return cachedContext;
+        }
+
+        // Load all relevant classes
+        Set<Class<?>> loadedClasses = new HashSet<Class<?>>();
+        for (String current : classInformation) {
+
+            final Class<?> classType = THREADLOCAL_TRANSFORMER.transform(current);
+            addNonTransientInternalClass(loadedClasses, classType);
+        }
+
+        // If we are marshalling, acquire the non-transient internal
+        // field types for the items.
+        if (items != null) {
+
+            // The items List should be fully populated here.
+            for (Object currentItem : items) {
+                addNonTransientInternalFieldTypes(loadedClasses, currentItem);
+            }
+        }
+
+        try {
+
+            // Create the JAXBContext and cache it.
+            final long startTime = System.nanoTime();
+            JAXBContext toReturn = JAXBContext.newInstance(loadedClasses.toArray(new Class[loadedClasses.size()]));
+            jaxbContextCache.put(classLoader,
+                    new SortedClassNameSetKey(classNames),
+                    toReturn,
+                    System.nanoTime() - startTime);
+
+            return toReturn;
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Could not create JAXBContext", e);
+        }
+    }
 
     /**
      * Adds all field types found in the {@code toReflect} object to the provided types Set.
@@ -402,38 +717,79 @@ public abstract class JaxbUtils {
             return;
         }
 
-        for (Field current : XmlMarshallableFieldPredicate.getMarshallableFields(toReflect)) {
+        // The non-null fields of closed types hold values of their declared types,
+        // and contain no Collections or Maps to dig into.
+        final JaxbTransportPlan plan = JaxbTransportPlan.of(theType);
+        if (plan.isClosed()) {
+            for (JaxbTransportPlan.FieldPlan current : plan.getFields()) {
+                final Object currentValue = current.get(toReflect);
+                if (currentValue != null) {
+                    addNonTransientInternalClass(types, currentValue.getClass());
+                }
+            }
+            return;
+        }
+
+        for (JaxbTransportPlan.FieldPlan current : plan.getFields()) {
 
             // Get the type of the object stored within the current field
-            Object currentValue = get(current, toReflect);
+            final Object currentValue = current.get(toReflect);
             if (currentValue != null) {
 
                 // Add the class of the currentValue
                 final Class<?> currentType = currentValue.getClass();
                 addNonTransientInternalClass(types, currentType);
 
-                // Handle Collections, Arrays and Maps, which may contain
+                // Handle Collections and Maps, which may contain
                 // implementation types which should be included.
-
-                if (currentType.getClass().isArray()) {
-                    addNonTransientInternalClass(types, currentType.getComponentType());
-                } else if (Collection.class.isAssignableFrom(currentType)) {
-
-                    // This is a collection. Dig out the types of all Elements.
-                    for (Object currentElement : Collection.class.cast(get(current, toReflect))) {
+                if (currentValue instanceof Collection) {
+
+                    // This is a collection. Dig out the types of all Elements, or only of the
+                    // Elements required to find all types of a closed Element type.
+                    final Class<?> closedElementType = current.getClosedElementType();
+                    final List<Class<?>> closedElementTypes = closedElementType == null
+                            ? null
+                            : JaxbTransportPlan.of(closedElementType).getClosedTypes();
+                    for (Object currentElement : (Collection<?>) currentValue) {
                         addNonTransientInternalFieldTypes(types, currentElement);
+
+                        if (closedElementTypes != null && containsAllTransportCandidates(types, closedElementTypes)) {
+                            break;
+                        }
                     }
-                } else if (Map.class.isAssignableFrom(currentType)) {
+                } else if (currentValue instanceof Map) {
 
                     // This is a map. Dig out the types of all Keys and Value.
-                    final Map theMap = Map.class.cast(get(current, toReflect));
-                    for (Object currentKey : theMap.keySet()) {
-
-                        addNonTransientInternalClass(types, currentKey.getClass());
+                    final Map<?, ?> theMap = (Map<?, ?>) currentValue;
+                    final List<Class<?>> finalKeyAndValueTypes = current.getFinalKeyAndValueTypes();
+                    if (finalKeyAndValueTypes != null) {
+
+                        // All non-null keys and values have the final declared types.
+                        boolean foundKey = false;
+                        boolean foundValue = false;
+                        for (Map.Entry<?, ?> currentEntry : theMap.entrySet()) {
+
+                            foundKey |= currentEntry.getKey() != null;
+                            foundValue |= currentEntry.getValue() != null;
+                            if (foundKey && foundValue) {
+                                break;
+                            }
+                        }
 
-                        final Object currentMapValue = theMap.get(currentKey);
-                        if (currentMapValue != null) {
-                            addNonTransientInternalClass(types, currentMapValue.getClass());
+                        if (foundKey) {
+                            addNonTransientInternalClass(types, finalKeyAndValueTypes.get(0));
+                        }
+                        if (foundValue) {
+                            addNonTransientInternalClass(types, finalKeyAndValueTypes.get(1));
+                        }
+                    } else {
+                        for (Map.Entry<?, ?> currentEntry : theMap.entrySet()) {
+                            if (currentEntry.getKey() != null) {
+                                addNonTransientInternalClass(types, currentEntry.getKey().getClass());
+                            }
+                            if (currentEntry.getValue() != null) {
+                                addNonTransientInternalClass(types, currentEntry.getValue().getClass());
+                            }
                         }
                     }
                 }
@@ -441,24 +797,6 @@ public abstract class JaxbUtils {
         }
     }
 
-    /**
-     * Retrieves the value of the supplied Field from the given instance.
-     *
-     * @param aField   The Field whose value should be retrieved.
-     * @param anObject The instance whose class contains the supplied Field, and
-     *                 from which the value should be retrieved.
-     * @return the value of the supplied Field from the given instance.
-     */
-    private static Object get(final Field aField, final Object anObject) {
-
-        aField.setAccessible(true);
-        try {
-            return aField.get(anObject);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     /**
      * Adds the given candidate Class to the supplied set of types, given that the candidate
      * passes some trivial checks.
@@ -468,8 +806,28 @@ public abstract class JaxbUtils {
      */
     private static void addNonTransientInternalClass(final Set<Class<?>> types, final Class<?> candidate) {
 
+        if (isTransportCandidate(candidate)) {
+            types.add(candidate);
+        }
+    }
+
+    private static boolean containsAllTransportCandidates(final Set<Class<?>> types,
+                                                          final List<Class<?>> candidates) {
+
+        for (Class<?> current : candidates) {
+            if (isTransportCandidate(current) && !types.contains(current)) {
+                return false;
+            }
+        }
+
+        // All done.
+        return true;
+    }
+
+    private static boolean isTransportCandidate(final Class<?> candidate) {
+
         if (candidate == null) {
-            return;
+            return false;
         }
 
         // Don't add XmlTransient classes
@@ -485,50 +843,26 @@ public abstract class JaxbUtils {
         // Ignore array types
         final boolean isArray = candidate.isArray();
 
-        if (!isXmlTransient && !isInterface && !isPrimitive && !isObject && !isArray) {
-            types.add(candidate);
-        }
+        return !isXmlTransient && !isInterface && !isPrimitive && !isObject && !isArray;
+    }
+
+    private static Marshaller createHumanReadableMarshaller(final JAXBContext ctx) throws JAXBException {
+
+        final Marshaller toReturn = ctx.createMarshaller();
+        toReturn.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+        toReturn.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        return toReturn;
     }
 
     /**
-     * Creating new JAXBContexts is an expensive operation; caching a few pre-created ones and re-using
-     * them speeds up the process of marshalling and unmarshalling considerably.
+     * Retrieves the ClassLoader used by the THREADLOCAL_TRANSFORMER to load classes, which is the
+     * context ClassLoader of the current thread (or the ClassLoader of JaxbUtils if none is set).
      *
-     * @param classInformation The classes from an EntityTransporter for which a JAXBContext should be acquired.
-     * @return A Tuple holding the best-match cache key for the EntityTransporter, and the corresponding
-     * cached JAXBContext. The JAXBContext value might be {@code null}, indicating that a
-     * cached JAXBContext was not found.
+     * @return The ClassLoader used to load the classes of a JAXBContext.
      */
-    private static Tuple<SortedClassNameSetKey, JAXBContext> getCachedJaxbContext(
-            final SortedSet<String> classInformation) {
-
-        // Create a sorted clone.
-        final SortedSet<String> copy = new TreeSet<String>(classInformation);
-        copy.add(EntityTransporter.class.getName());
-        final SortedClassNameSetKey key = new SortedClassNameSetKey(copy);
-
-        JAXBContext jaxbContext = jaxbContextCache.get(key);
-        if (jaxbContext != null) {
-
-            // Exact existing match. All done.
-            return new Tuple<SortedClassNameSetKey, JAXBContext>(key, jaxbContext);
-        }
+    private static ClassLoader getClassLoader() {
 
-        // Search for matching/compatible SortedClassNameSetKeys.
-        // The first matching one can be used for JAXBContext.
-        Tuple<SortedClassNameSetKey, JAXBContext> toReturn = null;
-        for (Map.Entry<SortedClassNameSetKey, JAXBContext> current : jaxbContextCache.entrySet()) {
-            if (current.getKey().containsAll(copy)) {
-                toReturn = new Tuple<SortedClassNameSetKey, JAXBContext>(current.getKey(), current.getValue());
-            }
-        }
-
-        if (toReturn == null) {
-            // No cache entry found. Create one.
-            toReturn = new Tuple<SortedClassNameSetKey, JAXBContext>(key, null);
-        }
-
-        // All done.
-        return toReturn;
+        final ClassLoader toReturn = Thread.currentThread().getContextClassLoader();
+        return toReturn == null ? ClassnameToClassTransformer.class.getClassLoader() : toReturn;
     }
 }
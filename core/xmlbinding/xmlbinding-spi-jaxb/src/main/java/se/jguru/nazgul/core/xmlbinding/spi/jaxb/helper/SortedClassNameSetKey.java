@@ -26,6 +26,7 @@ package se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper;
 import se.jguru.nazgul.core.algorithms.api.Validate;
 
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
 import java.util.Set;
 import java.util.SortedSet;
 
@@ -53,6 +54,13 @@ class SortedClassNameSetKey implements Comparable<SortedClassNameSetKey> {
         syntheticKey = classNames.toString();
     }
 
+    /**
+     * @return An unmodifiable view of the class names within this SortedClassNameSetKey.
+     */
+    public SortedSet<String> getClassNames() {
+        return Collections.unmodifiableSortedSet(classNames);
+    }
+
     /**
      * Checks if classNames within this SortedClassNameSetKey contains all classNames provided.
      *
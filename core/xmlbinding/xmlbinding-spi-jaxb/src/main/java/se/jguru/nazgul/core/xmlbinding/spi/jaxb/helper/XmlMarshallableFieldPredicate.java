@@ -136,9 +136,25 @@ public final class XmlMarshallableFieldPredicate implements Predicate<Field> {
         // Check sanity
         Validate.notNull(object, "object");
 
-        // Map the class of the submitted object.
+        // All done.
+        return getMarshallableFields(object.getClass());
+    }
+
+    /**
+     * Retrieves a List holding all Fields within the supplied class (including all superclasses,
+     * except java.lang.Object) which should be queried for dynamic class names in order to compile
+     * a complete Set of classes to be used within a JAXBContext.
+     *
+     * @param type The class from which Fields should be extracted.
+     * @return a List holding all Fields within the supplied class which should be included in XmlMarshalling.
+     */
+    public static SortedSet<Field> getMarshallableFields(@NotNull final Class<?> type) {
+
+        // Check sanity
+        Validate.notNull(type, "type");
+
+        // Map the supplied class.
         // ... or only map it if it was JAXB annotated?
-        final Class<?> type = object.getClass();
         INSTANCE.mapClass(type);
 
         final SortedSet<Field> toReturn = new TreeSet<>(TypeAlgorithms.MEMBER_COMPARATOR);
@@ -33,8 +33,13 @@ import se.jguru.nazgul.core.xmlbinding.spi.jaxb.transport.type.JaxbAnnotatedNull
 import javax.validation.constraints.NotNull;
 import javax.xml.bind.annotation.XmlType;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -56,12 +61,24 @@ public class DefaultJaxbConverterRegistry implements JaxbConverterRegistry {
 
     /**
      * Default constructor, creating a default ConverterRegistry to
-     * which most calls are delegated.
+     * which most calls are delegated, and which always converts sequentially.
      */
     public DefaultJaxbConverterRegistry() {
+        this(DefaultConverterRegistry.DEFAULT_PARALLEL_CONVERSION_THRESHOLD);
+    }
+
+    /**
+     * Compound constructor, creating a default ConverterRegistry to which most calls are delegated.
+     *
+     * @param parallelConversionThreshold The minimum number of sources sharing a transport type for which
+     *                                    {@link #packageAllForTransport(Collection)} converts in parallel.
+     *                                    Parallel conversion requires thread-safe converters.
+     * @see DefaultConverterRegistry#DefaultConverterRegistry(int)
+     */
+    public DefaultJaxbConverterRegistry(final int parallelConversionThreshold) {
 
         // Create internal state
-        registry = new DefaultConverterRegistry();
+        registry = new DefaultConverterRegistry(parallelConversionThreshold);
 
         // Add the standard converters
         addConverters(new StandardConverters());
@@ -168,6 +185,73 @@ public class DefaultJaxbConverterRegistry implements JaxbConverterRegistry {
         return toReturn;
     }
 
+    /**
+     * Converts all provided instances to transport types, acquiring the transport type only once per
+     * distinct source type and delegating the conversion of each group of sources sharing a transport
+     * type to {@link ConverterRegistry#convertAll(Collection, Class)}. The groups are converted sequentially,
+     * unless a parallelConversionThreshold was supplied to the constructor of this DefaultJaxbConverterRegistry.
+     *
+     * @param sources         The objects to convert.
+     * @param <TransportType> The JAXB-annotated TransportType corresponding to the supplied originalType;
+     * @param <OriginalType>  The OriginalType for which we would like to acquire the JAXB-annotated TransportType.
+     * @return A List holding the converted objects, in the iteration order of the sources Collection.
+     * @throws IllegalArgumentException if any conversion failed.
+     */
+    @Override
+    public <OriginalType, TransportType> List<TransportType> packageAllForTransport(
+            @NotNull final Collection<OriginalType> sources) throws IllegalArgumentException {
+
+        // Check sanity
+        Validate.notNull(sources, "sources");
+
+        final Object[] toReturn = new Object[sources.size()];
+        final Map<Class<?>, Class<?>> transportTypes = new HashMap<>();
+        final Map<Class<?>, List<Integer>> groupedIndices = new LinkedHashMap<>();
+        final Map<Class<?>, List<Object>> groupedSources = new LinkedHashMap<>();
+
+        // Find the transport type of each distinct source type, and group the sources requiring conversion.
+        int index = 0;
+        for (OriginalType current : sources) {
+
+            if (current == null) {
+
+                // Null values --> JaxbAnnotatedNull
+                toReturn[index] = JaxbAnnotatedNull.getInstance();
+
+            } else {
+
+                final Class<?> sourceType = current.getClass();
+                Class<?> transportType = transportTypes.get(sourceType);
+                if (transportType == null && !transportTypes.containsKey(sourceType)) {
+                    transportType = getTransportType(sourceType);
+                    transportTypes.put(sourceType, transportType);
+                }
+
+                if (transportType == null) {
+                    toReturn[index] = current;
+                } else {
+                    groupedIndices.computeIfAbsent(transportType, k -> new ArrayList<>()).add(index);
+                    groupedSources.computeIfAbsent(transportType, k -> new ArrayList<>()).add(current);
+                }
+            }
+
+            index++;
+        }
+
+        // Convert each group in bulk, and place the results in their original positions.
+        for (Map.Entry<Class<?>, List<Object>> current : groupedSources.entrySet()) {
+
+            final List<?> converted = registry.convertAll(current.getValue(), current.getKey());
+            final List<Integer> indices = groupedIndices.get(current.getKey());
+            for (int i = 0; i < indices.size(); i++) {
+                toReturn[indices.get(i)] = converted.get(i);
+            }
+        }
+
+        // All done.
+        return new ArrayList<>((List<TransportType>) Arrays.asList(toReturn));
+    }
+
     /**
      * {@inheritDoc}
      */
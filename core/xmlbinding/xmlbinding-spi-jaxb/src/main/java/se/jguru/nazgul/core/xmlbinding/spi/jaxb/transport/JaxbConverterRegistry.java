@@ -22,6 +22,10 @@
 
 package se.jguru.nazgul.core.xmlbinding.spi.jaxb.transport;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Usage specification for a registry holding JAXB converters.
  *
@@ -74,6 +78,30 @@ public interface JaxbConverterRegistry {
     <OriginalType, TransportType> TransportType packageForTransport(OriginalType source)
             throws IllegalArgumentException;
 
+    /**
+     * Converts all provided instances to transport types, ready for transmission in serialized form.
+     * The default implementation simply invokes {@link #packageForTransport(Object)} for each source;
+     * implementations should override this method to resolve transport types and conversion paths
+     * only once per distinct source type.
+     *
+     * @param sources         The objects to convert.
+     * @param <TransportType> The JAXB-annotated TransportType corresponding to the supplied originalType;
+     * @param <OriginalType>  The OriginalType for which we would like to acquire the JAXB-annotated TransportType.
+     * @return A List holding the converted objects, in the iteration order of the sources Collection.
+     * @throws IllegalArgumentException if any conversion failed.
+     */
+    default <OriginalType, TransportType> List<TransportType> packageAllForTransport(
+            final Collection<OriginalType> sources) throws IllegalArgumentException {
+
+        final List<TransportType> toReturn = new ArrayList<>(sources.size());
+        for (OriginalType current : sources) {
+            toReturn.add(packageForTransport(current));
+        }
+
+        // All done.
+        return toReturn;
+    }
+
     /**
      * Converts the provided transport type instance (back) to its original type, ready for normal use.
      *
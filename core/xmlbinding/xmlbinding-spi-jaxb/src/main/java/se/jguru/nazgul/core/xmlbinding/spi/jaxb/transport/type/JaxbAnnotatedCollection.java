@@ -90,9 +90,7 @@ public class JaxbAnnotatedCollection<T extends Collection> extends AbstractJaxbA
         final SortedSet<String> classInformation = new TreeSet<String>();
 
         // Add/convert all elements.
-        for (Object current : value) {
-            JaxbUtils.extractJaxbTransportData(current, EntityTransporter.getRegistry(), items, classInformation);
-        }
+        JaxbUtils.extractAllJaxbTransportData(value, EntityTransporter.getRegistry(), items, classInformation);
 
         // Assign internal state
         super.value = null;
@@ -35,6 +35,8 @@ import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.Person;
 import se.jguru.nazgul.test.xmlbinding.XmlTestUtils;
 
 import java.io.BufferedReader;
+import java.io.FilterReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -267,4 +269,37 @@ public class JaxbXmlBinderTest {
         // Assert
         Assert.assertEquals(expected, result);
     }
+
+    @Test
+    public void validateRoundTripStreamingLargePayloadInSmallChunks() {
+
+        // Assemble
+        final List<Object> expected = new ArrayList<Object>();
+        for (int i = 0; i < 500; i++) {
+            expected.add(new Person("Person_" + i, i));
+        }
+        final String marshalled = unitUnderTest.marshal(expected.toArray());
+
+        // Act
+        final List<Object> result = unitUnderTest.unmarshal(new SmallChunkReader(new StringReader(marshalled)));
+
+        // Assert
+        Assert.assertEquals(expected, result);
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static final class SmallChunkReader extends FilterReader {
+
+        private SmallChunkReader(final Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 7));
+        }
+    }
 }
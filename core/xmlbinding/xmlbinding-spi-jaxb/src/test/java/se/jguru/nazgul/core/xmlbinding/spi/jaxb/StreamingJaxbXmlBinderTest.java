@@ -0,0 +1,168 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-jaxb
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.xmlbinding.spi.jaxb;
+
+import org.junit.Assert;
+import org.junit.Test;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.Account;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.Person;
+import se.jguru.nazgul.tools.validation.api.exception.InternalStateValidationException;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class StreamingJaxbXmlBinderTest {
+
+    // Shared state
+    final StreamingJaxbXmlBinder unitUnderTest = new StreamingJaxbXmlBinder();
+
+    @Test(expected = NullPointerException.class)
+    public void validateExceptionOnNullNamespacePrefixResolver() {
+
+        // Act & Assert
+        new StreamingJaxbXmlBinder(null);
+    }
+
+    @Test
+    public void validateRoundTripWithTypeConversion() {
+
+        // Assemble
+        final List<Object> expected = Arrays.<Object>asList(
+                new Person("Lennart", 44), "FooBar!", null, new Account("savings", 35.50), new Person("Malin", 478));
+        final StringWriter out = new StringWriter();
+
+        // Act
+        unitUnderTest.marshal(expected.iterator(), out);
+
+        final List<Object> result = new ArrayList<Object>();
+        final Iterator<Object> it = unitUnderTest.unmarshal(new StringReader(out.toString()));
+        while (it.hasNext()) {
+            result.add(it.next());
+        }
+
+        // Assert
+        Assert.assertEquals(expected.size(), result.size());
+        Assert.assertEquals(expected.get(0), result.get(0));
+        Assert.assertEquals(expected.get(1), result.get(1));
+        Assert.assertNull(result.get(2));
+        Assert.assertEquals(expected.get(3).toString(), result.get(3).toString());
+        Assert.assertEquals(expected.get(4), result.get(4));
+        Assert.assertFalse(it.hasNext());
+        Assert.assertTrue(out.toString().contains(Account.class.getName()));
+    }
+
+    @Test
+    public void validateEmptyRoundTrip() {
+
+        // Assemble
+        final StringWriter out = new StringWriter();
+
+        // Act
+        unitUnderTest.marshal(new ArrayList<Person>().iterator(), out);
+        final Iterator<Person> result = unitUnderTest.unmarshal(new StringReader(out.toString()));
+
+        // Assert
+        Assert.assertFalse(result.hasNext());
+        try {
+            result.next();
+            Assert.fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void validateLazyRoundTripOfGeneratedItems() {
+
+        // Assemble
+        final int numItems = 5000;
+        final Iterator<Person> generator = new Iterator<Person>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < numItems;
+            }
+
+            @Override
+            public Person next() {
+                return new Person("Person " + index, index++);
+            }
+        };
+        final StringWriter out = new StringWriter();
+
+        // Act
+        unitUnderTest.marshal(generator, out);
+        final Iterator<Person> result = unitUnderTest.unmarshal(new StringReader(out.toString()));
+
+        // Assert
+        for (int i = 0; i < numItems; i++) {
+            Assert.assertTrue(result.hasNext());
+            Assert.assertEquals(new Person("Person " + i, i), result.next());
+        }
+        Assert.assertFalse(result.hasNext());
+    }
+
+    @Test
+    public void validateReaderIsClosedWhenItemValidationFails() {
+
+        // Assemble
+        final StringWriter out = new StringWriter();
+        unitUnderTest.marshal(Arrays.<Object>asList(
+                new Account("savings", 35.5), new Account("checking", 10.0)).iterator(), out);
+        final String invalidData = out.toString().replace("\"35.5\"", "\"-35.5\"");
+        final AtomicBoolean closed = new AtomicBoolean();
+        final StringReader transportReader = new StringReader(invalidData) {
+            @Override
+            public void close() {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        // Act
+        final Iterator<Account> result = unitUnderTest.unmarshal(transportReader);
+        Assert.assertTrue(result.hasNext());
+        try {
+            result.next();
+            Assert.fail("Invalid Validatable items should yield an InternalStateValidationException.");
+        } catch (InternalStateValidationException e) {
+            // Expected
+        }
+
+        // Assert
+        Assert.assertNotEquals(out.toString(), invalidData);
+        Assert.assertTrue(closed.get());
+        Assert.assertFalse(result.hasNext());
+    }
+}
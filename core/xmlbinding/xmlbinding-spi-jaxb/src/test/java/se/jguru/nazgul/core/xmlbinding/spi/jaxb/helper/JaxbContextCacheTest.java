@@ -0,0 +1,208 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-jaxb
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.Account;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.Person;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.transport.EntityTransporter;
+
+import javax.xml.bind.JAXBContext;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class JaxbContextCacheTest {
+
+    // Shared state
+    private ClassLoader classLoader;
+    private JAXBContext context;
+
+    @Before
+    public void setupSharedState() throws Exception {
+        classLoader = getClass().getClassLoader();
+        context = JAXBContext.newInstance(EntityTransporter.class);
+    }
+
+    @Test
+    public void validateExactAndSupersetLookups() {
+
+        // Assemble
+        final JaxbContextCache unitUnderTest = new JaxbContextCache();
+        unitUnderTest.put(classLoader, key(Person.class, Account.class), context, 1000L);
+
+        // Act
+        final JAXBContext result1 = unitUnderTest.get(classLoader, classNames(Person.class, Account.class));
+        final JAXBContext result2 = unitUnderTest.get(classLoader, classNames(Person.class));
+        final JAXBContext result3 = unitUnderTest.get(classLoader, classNames(Person.class, String.class));
+        final JAXBContext result4 = unitUnderTest.get(new ClassLoader(classLoader) {
+        }, classNames(Person.class));
+
+        // Assert
+        Assert.assertSame(context, result1);
+        Assert.assertSame(context, result2);
+        Assert.assertNull(result3);
+        Assert.assertNull(result4);
+
+        Assert.assertEquals(2, unitUnderTest.getHitCount());
+        Assert.assertEquals(2, unitUnderTest.getMissCount());
+        Assert.assertEquals(1, unitUnderTest.getBuildCount());
+        Assert.assertEquals(1000L, unitUnderTest.getTotalBuildTimeNanos());
+    }
+
+    @Test
+    public void validateLeastRecentlyUsedEviction() throws Exception {
+
+        // Assemble
+        final JAXBContext context2 = JAXBContext.newInstance(EntityTransporter.class);
+        final JAXBContext context3 = JAXBContext.newInstance(EntityTransporter.class);
+        final JaxbContextCache unitUnderTest = new JaxbContextCache(2);
+
+        // Act
+        unitUnderTest.put(classLoader, key(Person.class), context, 1L);
+        unitUnderTest.put(classLoader, key(Account.class), context2, 1L);
+        unitUnderTest.get(classLoader, classNames(Person.class));
+        unitUnderTest.put(classLoader, key(String.class), context3, 1L);
+
+        // Assert
+        Assert.assertEquals(2, unitUnderTest.size());
+        Assert.assertEquals(1, unitUnderTest.getEvictionCount());
+        Assert.assertSame(context, unitUnderTest.get(classLoader, classNames(Person.class)));
+        Assert.assertNull(unitUnderTest.get(classLoader, classNames(Account.class)));
+        Assert.assertSame(context3, unitUnderTest.get(classLoader, classNames(String.class)));
+
+        unitUnderTest.setMaxSize(1);
+        Assert.assertEquals(1, unitUnderTest.size());
+    }
+
+    @Test
+    public void validateSchemaCaching() {
+
+        // Assemble
+        final JaxbContextCache unitUnderTest = new JaxbContextCache();
+        unitUnderTest.put(classLoader, key(Person.class), context, 1L);
+
+        // Act & Assert
+        Assert.assertSame(unitUnderTest.getSchema(context, JaxbUtils::getTransientSchema),
+                unitUnderTest.getSchema(context, aContext -> null));
+    }
+
+    @Test
+    public void validateEvictedContextsAreCollected() throws Exception {
+
+        // Assemble
+        final JaxbContextCache unitUnderTest = new JaxbContextCache(1);
+        final List<WeakReference<JAXBContext>> evicted = new ArrayList<WeakReference<JAXBContext>>();
+
+        // Act
+        evicted.add(putWithPooledInstances(unitUnderTest, key(Person.class)));
+        evicted.add(putWithPooledInstances(unitUnderTest, key(Account.class)));
+        final WeakReference<JAXBContext> retained = putWithPooledInstances(unitUnderTest, key(String.class));
+
+        for (int i = 0; i < 50 && (evicted.get(0).get() != null || evicted.get(1).get() != null); i++) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+
+        // Assert
+        Assert.assertEquals(1, unitUnderTest.size());
+        Assert.assertEquals(2, unitUnderTest.getEvictionCount());
+        Assert.assertNull(evicted.get(0).get());
+        Assert.assertNull(evicted.get(1).get());
+        Assert.assertSame(retained.get(), unitUnderTest.get(classLoader, classNames(String.class)));
+    }
+
+    @Test
+    public void validateConcurrentLookupsAndInsertions() throws Exception {
+
+        // Assemble
+        final JaxbContextCache unitUnderTest = new JaxbContextCache(2);
+        final Class<?>[] types = {Person.class, Account.class, String.class, Integer.class};
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<?>> results = new ArrayList<Future<?>>();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            final Class<?> type = types[i];
+            results.add(executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    final JAXBContext found = unitUnderTest.get(classLoader, classNames(type));
+                    if (found == null) {
+                        unitUnderTest.put(classLoader, key(type), context, 1L);
+                    } else {
+                        Assert.assertSame(context, found);
+                        unitUnderTest.getMarshallerPool(found);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> current : results) {
+            current.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        Assert.assertTrue(unitUnderTest.size() <= 2);
+        Assert.assertEquals(4000L, unitUnderTest.getHitCount() + unitUnderTest.getMissCount());
+    }
+
+    //
+    // Private helpers
+    //
+
+    private WeakReference<JAXBContext> putWithPooledInstances(final JaxbContextCache cache,
+                                                              final SortedClassNameSetKey key) throws Exception {
+
+        final JAXBContext toPut = JAXBContext.newInstance(EntityTransporter.class);
+        cache.put(classLoader, key, toPut, 1L);
+
+        final JaxbMarshallerPool pool = cache.getMarshallerPool(toPut);
+        pool.offer(toPut.createMarshaller());
+        pool.offer(toPut.createUnmarshaller());
+
+        return new WeakReference<JAXBContext>(toPut);
+    }
+
+    private static SortedSet<String> classNames(final Class<?>... classes) {
+
+        final SortedSet<String> toReturn = new TreeSet<String>();
+        Arrays.stream(classes).map(Class::getName).forEach(toReturn::add);
+        return toReturn;
+    }
+
+    private static SortedClassNameSetKey key(final Class<?>... classes) {
+        return new SortedClassNameSetKey(classNames(classes));
+    }
+}
@@ -0,0 +1,113 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-jaxb
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+public class JaxbTransportPlanTest {
+
+    @Test
+    public void validateClosedPlans() {
+
+        // Act
+        final JaxbTransportPlan closedPlan = JaxbTransportPlan.of(Leaf.class);
+        final JaxbTransportPlan openPlan = JaxbTransportPlan.of(Branch.class);
+
+        // Assert
+        Assert.assertSame(closedPlan, JaxbTransportPlan.of(Leaf.class));
+        Assert.assertTrue(closedPlan.isClosed());
+        Assert.assertEquals(Arrays.<Class<?>>asList(Leaf.class, Integer.class), closedPlan.getClosedTypes());
+
+        Assert.assertFalse(openPlan.isClosed());
+        Assert.assertNull(openPlan.getClosedTypes());
+        Assert.assertEquals(4, openPlan.getFields().length);
+    }
+
+    @Test
+    public void validateFieldPlans() {
+
+        // Assemble
+        final Branch branch = new Branch();
+        branch.leaves.add(new Leaf());
+        branch.things.add("aThing");
+        branch.counts.put("one", 1);
+        branch.anything = 42L;
+
+        // Act
+        final Map<String, JaxbTransportPlan.FieldPlan> fieldPlans = new TreeMap<String, JaxbTransportPlan.FieldPlan>();
+        for (JaxbTransportPlan.FieldPlan current : JaxbTransportPlan.of(Branch.class).getFields()) {
+            fieldPlans.put(getName(current, branch), current);
+        }
+
+        // Assert
+        Assert.assertEquals(Leaf.class, fieldPlans.get("leaves").getClosedElementType());
+        Assert.assertNull(fieldPlans.get("things").getClosedElementType());
+        Assert.assertEquals(Arrays.<Class<?>>asList(String.class, Integer.class),
+                fieldPlans.get("counts").getFinalKeyAndValueTypes());
+        Assert.assertNull(fieldPlans.get("anything").getFinalKeyAndValueTypes());
+        Assert.assertSame(branch.anything, fieldPlans.get("anything").get(branch));
+    }
+
+    //
+    // Private helpers
+    //
+
+    private static String getName(final JaxbTransportPlan.FieldPlan plan, final Branch branch) {
+
+        final Object value = plan.get(branch);
+        if (value == branch.leaves) {
+            return "leaves";
+        } else if (value == branch.things) {
+            return "things";
+        } else if (value == branch.counts) {
+            return "counts";
+        }
+        return "anything";
+    }
+
+    static final class Leaf {
+
+        // Internal state
+        private Integer weight = 5;
+        private String name = "leaf";
+    }
+
+    static class Branch {
+
+        // Internal state
+        private List<Leaf> leaves = new ArrayList<Leaf>();
+        private List<Object> things = new ArrayList<Object>();
+        private Map<String, Integer> counts = new TreeMap<String, Integer>();
+        private Object anything;
+    }
+}
@@ -30,6 +30,8 @@ import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.Account;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.IdHolder;
+import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.IdHolders;
 import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.Person;
 import se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types.ThreePartCereal;
 import se.jguru.nazgul.core.xmlbinding.spi.jaxb.transport.DefaultJaxbConverterRegistry;
@@ -40,19 +42,19 @@ import se.jguru.nazgul.core.xmlbinding.spi.jaxb.transport.type.helper.TrivialCha
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.Validator;
 import java.io.StringReader;
 import java.io.StringWriter;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentMap;
+import java.util.UUID;
 
 /**
  * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
@@ -64,11 +66,7 @@ public class JaxbUtilsTest {
 
     @Before
     public void resetJaxbUtilsCache() throws Exception {
-
-        Field cacheField = JaxbUtils.class.getDeclaredField("jaxbContextCache");
-        cacheField.setAccessible(true);
-        ConcurrentMap<String, JAXBContext> jaxbCache = (ConcurrentMap<String, JAXBContext>) cacheField.get(null);
-        jaxbCache.clear();
+        JaxbUtils.getJaxbContextCache().clear();
     }
 
     @Test
@@ -115,6 +113,59 @@ public class JaxbUtilsTest {
         Assert.assertSame(ctx1, ctx3);
     }
 
+    @Test
+    public void validateCachingTransientSchemas() throws Exception {
+
+        // Assemble
+        final EntityTransporter<Object> transporter = new EntityTransporter<Object>(new Person("Lennart", 43));
+        final JAXBContext cachedContext = JaxbUtils.getJaxbContext(transporter, true);
+        final JAXBContext uncachedContext = JAXBContext.newInstance(EntityTransporter.class);
+
+        // Act
+        final Schema schema1 = JaxbUtils.getTransientSchema(cachedContext);
+        final Schema schema2 = JaxbUtils.getTransientSchema(
+                JaxbUtils.getJaxbContext(new TreeSet<String>(transporter.getClassInformation())));
+        final Schema schema3 = JaxbUtils.getTransientSchema(uncachedContext);
+        final Schema schema4 = JaxbUtils.getTransientSchema(uncachedContext);
+
+        // Assert
+        Assert.assertNotNull(schema1);
+        Assert.assertSame(schema1, schema2);
+        Assert.assertNotNull(schema3);
+        Assert.assertNotSame(schema3, schema4);
+    }
+
+    @Test
+    public void validatePoolingMarshallersForCachedContexts() throws Exception {
+
+        // Assemble
+        final EntityTransporter<Object> transporter = new EntityTransporter<Object>(new Person("Lennart", 43));
+        final JAXBContext cachedContext = JaxbUtils.getJaxbContext(transporter, true);
+        final JAXBContext uncachedContext = JAXBContext.newInstance(EntityTransporter.class);
+
+        // Act
+        final Marshaller marshaller1 = JaxbUtils.acquireMarshaller(cachedContext, defaultResolver, true);
+        JaxbUtils.releaseMarshaller(cachedContext, marshaller1);
+        final Marshaller marshaller2 = JaxbUtils.acquireMarshaller(cachedContext, defaultResolver, false);
+        final Marshaller marshaller3 = JaxbUtils.acquireMarshaller(cachedContext, defaultResolver, false);
+
+        final Unmarshaller unmarshaller1 = JaxbUtils.acquireUnmarshaller(cachedContext, true);
+        JaxbUtils.releaseUnmarshaller(cachedContext, unmarshaller1);
+        final Unmarshaller unmarshaller2 = JaxbUtils.acquireUnmarshaller(cachedContext, true);
+
+        final Marshaller uncached1 = JaxbUtils.acquireMarshaller(uncachedContext, defaultResolver, true);
+        JaxbUtils.releaseMarshaller(uncachedContext, uncached1);
+        final Marshaller uncached2 = JaxbUtils.acquireMarshaller(uncachedContext, defaultResolver, true);
+
+        // Assert
+        Assert.assertSame(marshaller1, marshaller2);
+        Assert.assertNotSame(marshaller2, marshaller3);
+        Assert.assertNull(marshaller2.getSchema());
+        Assert.assertSame(unmarshaller1, unmarshaller2);
+        Assert.assertSame(JaxbUtils.getTransientSchema(cachedContext), unmarshaller2.getSchema());
+        Assert.assertNotSame(uncached1, uncached2);
+    }
+
     @Test
     public void validateGenerateTransientXSDs() throws Exception {
 
@@ -194,4 +245,87 @@ public class JaxbUtilsTest {
         Assert.assertEquals(1, transportTypes.size());
         Assert.assertEquals(JaxbAnnotatedTrivialCharSequence.class.getName(), transportTypes.iterator().next());
     }
+
+    @Test
+    public void validateBulkExtractionEqualsSingleExtraction() {
+
+        // Assemble
+        final DefaultJaxbConverterRegistry registry = new DefaultJaxbConverterRegistry();
+        registry.addConverters(new TrivialCharSequenceConverter());
+
+        final List<Object> items = new ArrayList<Object>();
+        items.add(new TrivialCharSequence(new StringBuffer("FooBar!")));
+        items.add(null);
+        items.add(new Person("Lennart", 43));
+        items.add(new TrivialCharSequence(new StringBuffer("Gnat!")));
+        items.add(new Account("savings", 35.50));
+
+        final List<Object> singleTransportableObjects = new ArrayList<Object>();
+        final SortedSet<String> singleTransportTypes = new TreeSet<String>();
+        final List<Object> bulkTransportableObjects = new ArrayList<Object>();
+        final SortedSet<String> bulkTransportTypes = new TreeSet<String>();
+
+        // Act
+        for (Object current : items) {
+            JaxbUtils.extractJaxbTransportData(current, registry, singleTransportableObjects, singleTransportTypes);
+        }
+        JaxbUtils.extractAllJaxbTransportData(items, registry, bulkTransportableObjects, bulkTransportTypes);
+
+        // Assert
+        Assert.assertEquals(singleTransportTypes, bulkTransportTypes);
+        Assert.assertEquals(singleTransportableObjects.size(), bulkTransportableObjects.size());
+        for (int i = 0; i < items.size(); i++) {
+            Assert.assertEquals(singleTransportableObjects.get(i).getClass(),
+                    bulkTransportableObjects.get(i).getClass());
+        }
+        Assert.assertSame(items.get(2), bulkTransportableObjects.get(2));
+    }
+
+    @Test
+    public void validateNullFieldsOfClosedTypesYieldNoTypes() {
+
+        // Assemble
+        final DefaultJaxbConverterRegistry registry = new DefaultJaxbConverterRegistry();
+        final List<Object> transportableObjects = new ArrayList<Object>();
+        final SortedSet<String> nullFieldTypes = new TreeSet<String>();
+        final SortedSet<String> populatedFieldTypes = new TreeSet<String>();
+        final SortedSet<String> sampledElementTypes = new TreeSet<String>();
+
+        final IdHolders holders = new IdHolders();
+        holders.getHolders().add(new IdHolder(null));
+        holders.getHolders().add(new IdHolder(UUID.randomUUID()));
+        holders.getIdMap().put("nullValue", null);
+
+        // Act
+        JaxbUtils.extractJaxbTransportData(new IdHolder(null), registry, transportableObjects, nullFieldTypes);
+        JaxbUtils.extractJaxbTransportData(new IdHolder(UUID.randomUUID()),
+                registry, transportableObjects, populatedFieldTypes);
+        JaxbUtils.extractJaxbTransportData(holders, registry, transportableObjects, sampledElementTypes);
+
+        // Assert
+        Assert.assertTrue(JaxbTransportPlan.of(IdHolder.class).isClosed());
+        Assert.assertTrue(nullFieldTypes.contains(IdHolder.class.getName()));
+        Assert.assertFalse(nullFieldTypes.contains(UUID.class.getName()));
+        Assert.assertTrue(populatedFieldTypes.contains(UUID.class.getName()));
+        Assert.assertTrue(sampledElementTypes.contains(IdHolder.class.getName()));
+        Assert.assertTrue(sampledElementTypes.contains(UUID.class.getName()));
+    }
+
+    @Test
+    public void validateNullMapValuesOfFinalTypesYieldNoTypes() {
+
+        // Assemble
+        final DefaultJaxbConverterRegistry registry = new DefaultJaxbConverterRegistry();
+        final List<Object> transportableObjects = new ArrayList<Object>();
+        final SortedSet<String> transportTypes = new TreeSet<String>();
+
+        final IdHolders holders = new IdHolders();
+        holders.getIdMap().put("nullValue", null);
+
+        // Act
+        JaxbUtils.extractJaxbTransportData(holders, registry, transportableObjects, transportTypes);
+
+        // Assert
+        Assert.assertFalse(transportTypes.contains(UUID.class.getName()));
+    }
 }
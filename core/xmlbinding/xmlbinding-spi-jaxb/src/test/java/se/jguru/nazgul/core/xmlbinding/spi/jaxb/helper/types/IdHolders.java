@@ -0,0 +1,61 @@
+/*-
+ * #%L
+ * Nazgul Project: nazgul-core-xmlbinding-spi-jaxb
+ * %%
+ * Copyright (C) 2010 - 2018 jGuru Europe AB
+ * %%
+ * Licensed under the jGuru Europe AB license (the "License"), based
+ * on Apache License, Version 2.0; you may not use this file except
+ * in compliance with the License.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ *       http://www.jguru.se/licenses/jguruCorporateSourceLicense-2.0.txt
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+package se.jguru.nazgul.core.xmlbinding.spi.jaxb.helper.types;
+
+import se.jguru.nazgul.core.xmlbinding.api.XmlBinder;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Type holding a List of closed IdHolder elements, and a Map with final key and value types.
+ *
+ * @author <a href="mailto:lj@jguru.se">Lennart J&ouml;relid</a>, jGuru Europe AB
+ */
+@XmlType(namespace = XmlBinder.CORE_NAMESPACE, propOrder = {"holders", "idMap"})
+@XmlAccessorType(XmlAccessType.FIELD)
+public class IdHolders {
+
+    // Internal state
+    @XmlElement
+    private List<IdHolder> holders = new ArrayList<IdHolder>();
+
+    @XmlElement
+    private Map<String, UUID> idMap = new TreeMap<String, UUID>();
+
+    public List<IdHolder> getHolders() {
+        return holders;
+    }
+
+    public Map<String, UUID> getIdMap() {
+        return idMap;
+    }
+}
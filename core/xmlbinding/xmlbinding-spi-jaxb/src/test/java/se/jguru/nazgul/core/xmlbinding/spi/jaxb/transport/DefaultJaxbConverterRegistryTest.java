@@ -127,6 +127,31 @@ public class DefaultJaxbConverterRegistryTest extends AbstractStandardizedTimezo
         }
     }
 
+    @Test
+    public void validatePackagingAllForTransport() {
+
+        // Assemble
+        final DateTime secondAprilThreePm = firstAprilThreePm.plusDays(1);
+        final List<Object> sources = new ArrayList<Object>();
+        sources.add(firstAprilThreePm);
+        sources.add(null);
+        sources.add(fooBar);
+        sources.add(secondAprilThreePm);
+
+        // Act
+        final List<Object> result = unitUnderTest.packageAllForTransport(sources);
+
+        // Assert
+        Assert.assertEquals(sources.size(), result.size());
+        for (int i = 0; i < sources.size(); i++) {
+            final Object expected = unitUnderTest.packageForTransport(sources.get(i));
+            Assert.assertEquals(expected.getClass(), result.get(i).getClass());
+            Assert.assertEquals(sources.get(i), unitUnderTest.resurrectAfterTransport(result.get(i)));
+        }
+        Assert.assertSame(JaxbAnnotatedNull.getInstance(), result.get(1));
+        Assert.assertSame(fooBar, result.get(2));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void validateExceptionOnGettingOriginalTypeUsingNonAnnotatedTransportType() {
 
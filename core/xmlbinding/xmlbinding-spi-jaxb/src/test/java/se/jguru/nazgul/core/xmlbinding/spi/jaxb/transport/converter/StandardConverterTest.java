@@ -53,12 +53,10 @@ public class StandardConverterTest {
         final DefaultConverterRegistry registry = new DefaultConverterRegistry();
         final StandardConverters converters = new StandardConverters();
 
-        final Map<Class<?>, PrioritizedTypeConverter> convertersMap = getConvertersMap(registry);
-
         // Act
         registry.add(converters);
 
-        final Set<Class<?>> knownFromTypes = convertersMap.keySet();
+        final Set<Class<?>> knownFromTypes = getConvertersMap(registry).keySet();
 
         // Assert
         for (Class<?> current : expectedConverterTypes) {
@@ -88,9 +86,13 @@ public class StandardConverterTest {
     private Map<Class<?>, PrioritizedTypeConverter> getConvertersMap(final DefaultConverterRegistry instance) {
 
         try {
-            Field mapField = DefaultConverterRegistry.class.getDeclaredField("sourceTypeToTypeConvertersMap");
+            final Field snapshotField = DefaultConverterRegistry.class.getDeclaredField("snapshot");
+            snapshotField.setAccessible(true);
+            final Object snapshot = snapshotField.get(instance);
+
+            final Field mapField = snapshot.getClass().getDeclaredField("sourceTypeToTypeConvertersMap");
             mapField.setAccessible(true);
-            return (Map<Class<?>, PrioritizedTypeConverter>) mapField.get(instance);
+            return (Map<Class<?>, PrioritizedTypeConverter>) mapField.get(snapshot);
         } catch (Exception e) {
             throw new IllegalArgumentException("could not acquire field.", e);
         }